@@ -0,0 +1,106 @@
+package ru.yojo.codegen.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.yojo.codegen.context.ProcessContext;
+import ru.yojo.codegen.domain.FillParameters;
+import ru.yojo.codegen.domain.ValidationApi;
+import ru.yojo.codegen.mapper.SchemaMapper;
+import ru.yojo.codegen.util.Logger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@code SchemaMapper.getSchemaVariableProperties} for a schema composed via {@code allOf}
+ * of {@code parts} sibling referenced parts, i.e. how field merging scales with the number of merged fields.
+ * <p>
+ * Every part contributes {@value #PART_FIELDS} own fields and one field shared by all parts;
+ * the schema itself declares {@value #ROOT_FIELDS} fields. Console logging is limited to warnings for the trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class AllOfMergeBenchmark {
+
+    private static final String REF_PREFIX = "#/components/schemas/";
+    private static final int ROOT_FIELDS = 20;
+    private static final int PART_FIELDS = 8;
+
+    @Param({"8", "32", "128"})
+    public int parts;
+
+    private Map<String, Object> schemas;
+    private Map<String, Object> leaf;
+    private Map<String, Object> rootProperties;
+    private ProcessContext processContext;
+    private Logger.Level originalLevel;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        originalLevel = Logger.getGlobalLevel();
+        Logger.setGlobalLevel(Logger.Level.WARN);
+        schemas = new LinkedHashMap<>();
+        rootProperties = new LinkedHashMap<>();
+        for (int i = 0; i < ROOT_FIELDS; i++) {
+            rootProperties.put("field" + i, property("string"));
+        }
+        List<Object> allOf = new ArrayList<>();
+        for (int part = 0; part < parts; part++) {
+            Map<String, Object> partProperties = new LinkedHashMap<>();
+            partProperties.put("common", property("string"));
+            for (int j = 0; j < PART_FIELDS; j++) {
+                partProperties.put("part" + part + "Field" + j, property("integer"));
+            }
+            Map<String, Object> partSchema = new LinkedHashMap<>();
+            partSchema.put("type", "object");
+            partSchema.put("properties", partProperties);
+            schemas.put("Part" + part, partSchema);
+            allOf.add(new LinkedHashMap<>(Map.of("$ref", REF_PREFIX + "Part" + part)));
+        }
+        leaf = new LinkedHashMap<>();
+        leaf.put("type", "object");
+        leaf.put("properties", rootProperties);
+        leaf.put("allOf", allOf);
+        schemas.put("Leaf", leaf);
+        processContext = new ProcessContext(new HashMap<>());
+        processContext.setSchemasMap(schemas);
+        processContext.setValidationApi(ValidationApi.JAKARTA);
+        processContext.setCommonPackage(SpecState.PACKAGE + ".common;");
+    }
+
+    @TearDown(Level.Trial)
+    public void restoreLogging() {
+        Logger.setGlobalLevel(originalLevel);
+    }
+
+    @Benchmark
+    public FillParameters mergeAllOf() {
+        return new SchemaMapper().getSchemaVariableProperties(
+                "Leaf", leaf, schemas, rootProperties, processContext, new HashMap<>());
+    }
+
+    private static Map<String, Object> property(String type) {
+        Map<String, Object> property = new LinkedHashMap<>();
+        property.put("type", type);
+        return property;
+    }
+}
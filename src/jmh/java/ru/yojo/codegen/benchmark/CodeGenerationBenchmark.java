@@ -0,0 +1,54 @@
+package ru.yojo.codegen.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.yojo.codegen.context.ProcessContext;
+import ru.yojo.codegen.domain.schema.Schema;
+import ru.yojo.codegen.generator.code.SchemaCodeGenerator;
+import ru.yojo.codegen.mapper.MessageMapper;
+import ru.yojo.codegen.mapper.SchemaMapper;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@code SchemaCodeGenerator.generate} over all schemas of a specification.
+ * <p>
+ * Schemas are mapped once per trial, exactly as in the generation pipeline (messages first).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CodeGenerationBenchmark {
+
+    private List<Schema> schemas;
+
+    @Setup(Level.Trial)
+    public void map(SpecState state) throws IOException {
+        ProcessContext ctx = state.newContext();
+        SchemaMapper schemaMapper = new SchemaMapper();
+        new MessageMapper(schemaMapper).mapMessagesToObjects(ctx);
+        schemas = schemaMapper.mapSchemasToObjects(ctx);
+    }
+
+    @Benchmark
+    public void generateSchemas(Blackhole blackhole) {
+        for (Schema schema : schemas) {
+            blackhole.consume(new SchemaCodeGenerator(schema).generate());
+        }
+    }
+}
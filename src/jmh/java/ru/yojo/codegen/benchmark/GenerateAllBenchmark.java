@@ -0,0 +1,62 @@
+package ru.yojo.codegen.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.yojo.codegen.context.SpecificationProperties;
+import ru.yojo.codegen.context.YojoContext;
+import ru.yojo.codegen.domain.ValidationApi;
+import ru.yojo.codegen.domain.lombok.Accessors;
+import ru.yojo.codegen.domain.lombok.LombokProperties;
+import ru.yojo.codegen.generator.GenerationReport;
+import ru.yojo.codegen.generator.YojoGenerator;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures end-to-end {@code YojoGenerator.generateAll} in dry-run mode
+ * (parse, map and render everything, write nothing).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class GenerateAllBenchmark {
+
+    private YojoGenerator generator;
+    private YojoContext context;
+
+    @Setup(Level.Trial)
+    public void configure(SpecState state) {
+        generator = new YojoGenerator();
+
+        SpecificationProperties spec = new SpecificationProperties();
+        spec.setSpecName(state.specFile.getFileName().toString());
+        spec.setInputDirectory(state.inputDirectory.toString());
+        spec.setOutputDirectory(state.workDirectory.resolve("out").toString());
+        spec.setPackageLocation(SpecState.PACKAGE);
+
+        context = new YojoContext();
+        context.setValidationApi(ValidationApi.JAKARTA);
+        context.setLombokProperties(new LombokProperties(true, false, new Accessors(false, false, false)));
+        context.setSpecificationProperties(List.of(spec));
+        context.setDryRun(true);
+    }
+
+    @Benchmark
+    public GenerationReport generateAll() throws IOException {
+        return generator.generateAll(context);
+    }
+}
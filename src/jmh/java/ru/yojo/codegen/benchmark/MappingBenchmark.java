@@ -0,0 +1,54 @@
+package ru.yojo.codegen.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.yojo.codegen.context.ProcessContext;
+import ru.yojo.codegen.domain.message.Message;
+import ru.yojo.codegen.domain.schema.Schema;
+import ru.yojo.codegen.mapper.MessageMapper;
+import ru.yojo.codegen.mapper.SchemaMapper;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@code SchemaMapper.mapSchemasToObjects} and {@code MessageMapper.mapMessagesToObjects}.
+ * <p>
+ * Mappers mutate the parsed schema maps, so each invocation gets a freshly parsed context
+ * (parsing happens in the invocation-level setup and is not measured).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MappingBenchmark {
+
+    private ProcessContext ctx;
+
+    @Setup(Level.Invocation)
+    public void parse(SpecState state) throws IOException {
+        ctx = state.newContext();
+    }
+
+    @Benchmark
+    public List<Schema> mapSchemas() {
+        return new SchemaMapper().mapSchemasToObjects(ctx);
+    }
+
+    @Benchmark
+    public List<Message> mapMessages() {
+        return new MessageMapper(new SchemaMapper()).mapMessagesToObjects(ctx);
+    }
+}
@@ -0,0 +1,135 @@
+package ru.yojo.codegen.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.yojo.codegen.domain.VariableProperties;
+import ru.yojo.codegen.mapper.ArrayTypeHandler;
+import ru.yojo.codegen.mapper.DefaultTypeHandler;
+import ru.yojo.codegen.mapper.EmptyPropertiesHandler;
+import ru.yojo.codegen.mapper.EnumTypeHandler;
+import ru.yojo.codegen.mapper.ExistingObjectHandler;
+import ru.yojo.codegen.mapper.FormatObjectHandler;
+import ru.yojo.codegen.mapper.MapTypeHandler;
+import ru.yojo.codegen.mapper.ObjectTypeHandler;
+import ru.yojo.codegen.mapper.PolymorphicTypeHandler;
+import ru.yojo.codegen.mapper.PropertyResolutionContext;
+import ru.yojo.codegen.mapper.PropertyTypeHandler;
+import ru.yojo.codegen.mapper.PropertyTypeResolver;
+import ru.yojo.codegen.mapper.ReferenceTypeHandler;
+import ru.yojo.codegen.mapper.SchemaMapper;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static ru.yojo.codegen.util.MapperUtil.capitalize;
+
+/**
+ * Measures the per-property cost of finding the {@link PropertyTypeHandler} for a property:
+ * the handler chain asking every {@code canHandle} in turn (as {@code PropertyTypeResolver} did before)
+ * versus shape-keyed dispatch ({@link PropertyTypeResolver#findHandler(PropertyResolutionContext)}).
+ * <p>
+ * Only the lookup is measured; handlers are not invoked, so the properties are not mutated.
+ * The property mix follows a typical contract: mostly scalars, then references, arrays, enums and maps.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PropertyResolutionBenchmark {
+
+    private static final int PROPERTIES = 64;
+
+    private PropertyResolutionContext[] contexts;
+    private List<PropertyTypeHandler> chain;
+    private PropertyTypeResolver resolver;
+
+    @Setup
+    public void prepare() {
+        SchemaMapper mapper = new SchemaMapper();
+        resolver = new PropertyTypeResolver(mapper);
+        // the default chain, in the order PropertyTypeResolver builds it
+        chain = List.of(
+                new EmptyPropertiesHandler(),
+                new MapTypeHandler(mapper),
+                new FormatObjectHandler(),
+                new ArrayTypeHandler(mapper),
+                new ReferenceTypeHandler(mapper),
+                new ObjectTypeHandler(mapper),
+                new EnumTypeHandler(mapper),
+                new ExistingObjectHandler(),
+                new PolymorphicTypeHandler(mapper),
+                new DefaultTypeHandler());
+        List<Map<String, Object>> mix = List.of(
+                Map.of("type", "string", "description", "Name", "maxLength", 64),
+                Map.of("type", "integer", "format", "int64"),
+                Map.of("type", "string", "format", "date-time"),
+                Map.of("type", "boolean"),
+                Map.of("type", "number", "format", "big-decimal", "x-digits", "integer = 10, fraction = 2"),
+                Map.of("type", "string", "format", "uuid"),
+                Map.of("$ref", "#/components/schemas/Address"),
+                Map.of("$ref", "#/components/schemas/Status"),
+                Map.of("type", "array", "items", Map.of("$ref", "#/components/schemas/Item")),
+                Map.of("type", "array", "items", Map.of("type", "string")),
+                Map.of("type", "string", "enum", List.of("ACTIVE", "BLOCKED")),
+                Map.of("type", "object", "additionalProperties", Map.of("type", "string")),
+                Map.of("type", "object", "properties", Map.of("id", Map.of("type", "string"))),
+                Map.of("type", "object", "format", "uuid"),
+                Map.of("type", "object", "format", "existing", "package", "com.example", "name", "Money"),
+                Map.of()
+        );
+        contexts = new PropertyResolutionContext[PROPERTIES];
+        for (int i = 0; i < PROPERTIES; i++) {
+            // scalars dominate real contracts: every other property is one of the first six
+            Map<String, Object> propertiesMap = i % 2 == 0 ? mix.get(i % 6) : mix.get(i % mix.size());
+            contexts[i] = context("field" + i, propertiesMap);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PROPERTIES)
+    public void handlerChain(Blackhole blackhole) {
+        for (PropertyResolutionContext ctx : contexts) {
+            for (PropertyTypeHandler handler : chain) {
+                if (handler.canHandle(ctx)) {
+                    blackhole.consume(handler);
+                    break;
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PROPERTIES)
+    public void shapeDispatch(Blackhole blackhole) {
+        for (PropertyResolutionContext ctx : contexts) {
+            blackhole.consume(resolver.findHandler(ctx));
+        }
+    }
+
+    private static PropertyResolutionContext context(String propertyName, Map<String, Object> propertiesMap) {
+        VariableProperties variableProperties = new VariableProperties();
+        Object type = propertiesMap.get("type");
+        variableProperties.setType(type == null ? null : capitalize(type.toString()));
+        Object packageName = propertiesMap.get("package");
+        if (packageName != null) {
+            variableProperties.setPackageOfExisingObject(packageName.toString());
+            variableProperties.setNameOfExisingObject(propertiesMap.get("name").toString());
+        }
+        return new PropertyResolutionContext("Benchmark", variableProperties, Map.of(), Map.of(),
+                propertyName, propertiesMap, null, new HashMap<>());
+    }
+}
@@ -0,0 +1,126 @@
+package ru.yojo.codegen.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import ru.yojo.codegen.context.ProcessContext;
+import ru.yojo.codegen.domain.ValidationApi;
+import ru.yojo.codegen.domain.lombok.Accessors;
+import ru.yojo.codegen.domain.lombok.LombokProperties;
+import ru.yojo.codegen.generator.base.SyntheticSpecGenerator;
+import ru.yojo.codegen.parser.AsyncAPIParser;
+import ru.yojo.codegen.parser.ParseResult;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Benchmark input: one bundled contract or a synthetic specification of a given size.
+ * <p>
+ * {@code spec} is either a file name from {@code src/test/resources/example/contract}
+ * or {@code synthetic-<schemas>} (rendered by {@link SyntheticSpecGenerator} into a temporary directory,
+ * with a mix of nested objects, {@code allOf} chains, {@code oneOf}, discriminators, enums and external files).
+ * Console output of the generator is discarded for the duration of the trial, so that the
+ * benchmarks measure generation rather than terminal I/O.
+ */
+@State(Scope.Benchmark)
+public class SpecState {
+
+    /**
+     * Directory with the bundled contracts (benchmarks run from the project directory).
+     */
+    static final Path CONTRACTS = Path.of("src/test/resources/example/contract");
+
+    static final String PACKAGE = "example.benchmark";
+
+    private static final String SYNTHETIC = "synthetic-";
+    private static final int SYNTHETIC_FAN_OUT = 8;
+
+    @Param({"test.yaml", "slack-real-time-async-api-v3.0.yaml", "synthetic-500", "synthetic-2000"})
+    public String spec;
+
+    Path inputDirectory;
+    Path specFile;
+    Path workDirectory;
+
+    private PrintStream originalOut;
+    private PrintStream originalErr;
+
+    @Setup(Level.Trial)
+    public void prepare() throws IOException {
+        workDirectory = Files.createTempDirectory("yojo-jmh");
+        if (spec.startsWith(SYNTHETIC)) {
+            int schemaCount = Integer.parseInt(spec.substring(SYNTHETIC.length()));
+            inputDirectory = workDirectory.resolve("contract");
+            specFile = new SyntheticSpecGenerator()
+                    .schemaCount(schemaCount)
+                    .fanOut(SYNTHETIC_FAN_OUT)
+                    .depth(2)
+                    .allOfRatio(0.15)
+                    .oneOfRatio(0.05)
+                    .discriminatorRatio(0.1)
+                    .enumDensity(0.1)
+                    .externalFiles(schemaCount / 250)
+                    .write(inputDirectory, spec + ".yaml");
+        } else {
+            inputDirectory = CONTRACTS.toAbsolutePath().normalize();
+            specFile = inputDirectory.resolve(spec);
+        }
+        originalOut = System.out;
+        originalErr = System.err;
+        PrintStream discard = new PrintStream(OutputStream.nullOutputStream());
+        System.setOut(discard);
+        System.setErr(discard);
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanUp() throws IOException {
+        System.setOut(originalOut);
+        System.setErr(originalErr);
+        try (Stream<Path> paths = Files.walk(workDirectory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    /**
+     * Parses the specification.
+     *
+     * @return parse result
+     * @throws IOException if the specification cannot be read
+     */
+    ParseResult parse() throws IOException {
+        return new AsyncAPIParser().parse(specFile, inputDirectory, PACKAGE);
+    }
+
+    /**
+     * Parses the specification and prepares a context the same way {@code YojoGenerator} does.
+     * Mappers mutate the schema maps, so every mapping run needs a fresh context.
+     *
+     * @return ready-to-map context
+     * @throws IOException if the specification cannot be read
+     */
+    ProcessContext newContext() throws IOException {
+        ParseResult result = parse();
+        ProcessContext ctx = new ProcessContext(result.rootDoc());
+        ctx.setFilePath(specFile.toString());
+        ctx.setPackageLocation(PACKAGE);
+        ctx.setLombokProperties(new LombokProperties(true, false, new Accessors(false, false, false)));
+        ctx.setValidationApi(ValidationApi.JAKARTA);
+        ctx.setOutputDirectory(workDirectory.resolve("out").toString());
+        ctx.setMessagePackage(PACKAGE + ".messages;");
+        ctx.setCommonPackage(PACKAGE + ".common;");
+        ctx.setSchemasMap(result.schemas());
+        ctx.setMessagesMap(result.messages());
+        return ctx;
+    }
+}
@@ -5,10 +5,17 @@ import ru.yojo.codegen.context.YojoContext;
 import ru.yojo.codegen.domain.ValidationApi;
 import ru.yojo.codegen.domain.lombok.Accessors;
 import ru.yojo.codegen.domain.lombok.LombokProperties;
+import ru.yojo.codegen.generator.SpecificationWatcher;
 import ru.yojo.codegen.generator.YojoGenerator;
+import ru.yojo.codegen.generator.sink.ZipOutputSink;
 import ru.yojo.codegen.util.Logger;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
 
 import static ru.yojo.codegen.util.MapperUtil.isTrue;
 
@@ -26,7 +33,9 @@ import static ru.yojo.codegen.util.MapperUtil.isTrue;
  *   &lt;packageLocation&gt; \
  *   [lombokEnabled=false] \
  *   [allArgs=false] \
- *   [accessors=false]
+ *   [accessors=false] \
+ *   [--quiet] [--log-level=INFO] [--log-output=console] [--watch] [--sources-jar=api-sources.jar [--zip-store]] \
+ *   [--writer-threads=0] [--codegen-threads=1]
  * </pre>
  *
  * <h3>Arguments</h3>
@@ -39,6 +48,23 @@ import static ru.yojo.codegen.util.MapperUtil.isTrue;
  *   <li>{@code accessors} — enable {@code @Accessors(fluent = true, chain = true)} (default: {@code false})</li>
  * </ul>
  *
+ * <h3>Options</h3>
+ * Options may appear anywhere among the arguments.
+ * <ul>
+ *   <li>{@code --quiet} — print only warnings and errors (no banner, no per-schema progress)</li>
+ *   <li>{@code --log-level=DEBUG|INFO|WARN|ERROR|OFF} — minimum log level (default: {@code INFO})</li>
+ *   <li>{@code --log-output=console|buffered|async} — how log lines reach the console (default: {@code console})</li>
+ *   <li>{@code --watch} — keep running and regenerate whenever the specification or one of its
+ *       external {@code $ref} files changes (see {@link SpecificationWatcher}); stop with Ctrl+C</li>
+ *   <li>{@code --sources-jar=<file>} — pack all generated classes into a single reproducible zip / {@code -sources.jar}
+ *       instead of writing separate files (see {@link ZipOutputSink}); cannot be combined with {@code --watch}</li>
+ *   <li>{@code --zip-store} — store zip entries uncompressed instead of deflating them</li>
+ *   <li>{@code --writer-threads=N} — write files on {@code N} background threads while generation continues
+ *       (default: {@code 0}, synchronous writes)</li>
+ *   <li>{@code --codegen-threads=N} — render the classes of a specification on {@code N} threads; files are still
+ *       written in declaration order, so the output is unchanged (default: {@code 1}, sequential rendering)</li>
+ * </ul>
+ *
  * @author Vladimir Morozkin (TG @vmorozkin)
  */
 @SuppressWarnings("all")
@@ -46,14 +72,63 @@ public class YojoCLI {
 
     private static final Logger LOG = new Logger(YojoCLI.class);
 
+    private static final String QUIET_OPTION = "--quiet";
+    private static final String LOG_LEVEL_OPTION = "--log-level=";
+    private static final String LOG_OUTPUT_OPTION = "--log-output=";
+    private static final String WATCH_OPTION = "--watch";
+    private static final String SOURCES_JAR_OPTION = "--sources-jar=";
+    private static final String ZIP_STORE_OPTION = "--zip-store";
+    private static final String WRITER_THREADS_OPTION = "--writer-threads=";
+    private static final String CODEGEN_THREADS_OPTION = "--codegen-threads=";
+
     /**
      * Entry point for command-line execution.
      *
-     * @param args command-line arguments (see class-level Javadoc for format)
+     * @param rawArgs command-line arguments and options (see class-level Javadoc for format)
      */
-    public static void main(String[] args) {
+    public static void main(String[] rawArgs) {
+        List<String> positional = new ArrayList<>();
+        boolean quiet = false;
+        Logger.Level logLevel = null;
+        Logger.Output logOutput = null;
+        boolean watch = false;
+        String sourcesJar = null;
+        boolean zipStore = false;
+        int writerThreads = 0;
+        int codegenThreads = 1;
+        try {
+            for (String arg : rawArgs) {
+                if (QUIET_OPTION.equals(arg)) {
+                    quiet = true;
+                } else if (WATCH_OPTION.equals(arg)) {
+                    watch = true;
+                } else if (ZIP_STORE_OPTION.equals(arg)) {
+                    zipStore = true;
+                } else if (arg.startsWith(SOURCES_JAR_OPTION)) {
+                    sourcesJar = arg.substring(SOURCES_JAR_OPTION.length());
+                } else if (arg.startsWith(WRITER_THREADS_OPTION)) {
+                    writerThreads = Integer.parseInt(arg.substring(WRITER_THREADS_OPTION.length()));
+                } else if (arg.startsWith(CODEGEN_THREADS_OPTION)) {
+                    codegenThreads = Integer.parseInt(arg.substring(CODEGEN_THREADS_OPTION.length()));
+                } else if (arg.startsWith(LOG_LEVEL_OPTION)) {
+                    logLevel = Logger.Level.valueOf(arg.substring(LOG_LEVEL_OPTION.length()).toUpperCase(Locale.ROOT));
+                } else if (arg.startsWith(LOG_OUTPUT_OPTION)) {
+                    logOutput = Logger.Output.valueOf(arg.substring(LOG_OUTPUT_OPTION.length()).toUpperCase(Locale.ROOT));
+                } else {
+                    positional.add(arg);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            LOG.error("Invalid option: " + e.getMessage());
+            System.exit(1);
+        }
+        String[] args = positional.toArray(new String[0]);
         if (args.length < 3) {
-            LOG.error("Usage: java -cp ... YojoCLI <inputFileOrDir> <outputDir> <packageLocation> [lombokEnabled=false] [allArgs=false] [accessors=false]");
+            LOG.error("Usage: java -cp ... YojoCLI <inputFileOrDir> <outputDir> <packageLocation> [lombokEnabled=false] [allArgs=false] [accessors=false] [--quiet] [--log-level=<level>] [--log-output=<console|buffered|async>] [--watch] [--sources-jar=<file> [--zip-store]] [--writer-threads=<n>] [--codegen-threads=<n>]");
+            System.exit(1);
+        }
+        if (watch && sourcesJar != null) {
+            LOG.error("Invalid option: --watch cannot be combined with --sources-jar");
             System.exit(1);
         }
 
@@ -74,8 +149,8 @@ public class YojoCLI {
         String specName;
         if (isFile) {
             java.io.File inputFile = new java.io.File(inputPath);
-            inputDir = inputFile.getParentFile().getAbsolutePath();
-            specName = inputFile.getName().replaceFirst("\\.[^.]+$", ""); // strip extension
+            inputDir = inputFile.getAbsoluteFile().getParentFile().getAbsolutePath();
+            specName = inputFile.getName();
         } else {
             inputDir = inputPath;
             specName = "cli-spec";
@@ -95,14 +170,50 @@ public class YojoCLI {
                 allArgs,
                 new Accessors(accessorsEnabled, accessorsEnabled, accessorsEnabled)
         ));
+        context.setWriterThreads(writerThreads);
+        context.setCodeGenerationThreads(codegenThreads);
+        context.setQuiet(quiet);
+        context.setLogLevel(logLevel);
+        context.setLogOutput(logOutput);
+        // generateAll applies the level only for its own run; the CLI and watcher messages need it as well
+        if (context.getEffectiveLogLevel() != null) {
+            Logger.setGlobalLevel(context.getEffectiveLogLevel());
+        }
 
         // --- Run generator ---
         try {
+            if (sourcesJar != null) {
+                // Entries arrive in a deterministic order only when written on the generating thread
+                boolean buffered = context.getWriterThreads() > 0 || context.getParallelism() > 1;
+                try (ZipOutputSink zip = new ZipOutputSink(Path.of(sourcesJar), !zipStore, buffered)) {
+                    try {
+                        new YojoGenerator(zip).generateAll(context);
+                    } catch (IOException | RuntimeException | Error e) {
+                        // Keep the previous archive instead of replacing it with a partial one
+                        try {
+                            zip.abort();
+                        } catch (IOException abortFailure) {
+                            e.addSuppressed(abortFailure);
+                        }
+                        throw e;
+                    }
+                }
+                LOG.info(" Generation completed successfully: " + sourcesJar);
+                return;
+            }
             YojoGenerator yojoGenerator = new YojoGenerator();
+            if (watch) {
+                try (SpecificationWatcher watcher = new SpecificationWatcher(
+                        yojoGenerator, context, SpecificationWatcher.DEFAULT_DEBOUNCE_MILLIS)) {
+                    watcher.run();
+                }
+                return;
+            }
             yojoGenerator.generateAll(context);
             LOG.info(" Generation completed successfully.");
         } catch (Exception e) {
             LOG.error("  Generation failed: " + e.getMessage(), e);
+            Logger.flush();
             System.exit(1);
         }
     }
@@ -1,10 +1,15 @@
 package ru.yojo.codegen.context;
 
 import ru.yojo.codegen.domain.ValidationApi;
+import ru.yojo.codegen.domain.VariableProperties;
 import ru.yojo.codegen.domain.lombok.LombokProperties;
 import ru.yojo.codegen.mapper.Helper;
+import ru.yojo.codegen.mapper.ResolvedAliasMemo;
+import ru.yojo.codegen.mapper.SchemaDependencyGraph;
+import ru.yojo.codegen.mapper.SchemaIndex;
 
 import java.io.File;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -98,17 +103,49 @@ public class ProcessContext {
      */
     private Map<String, Object> schemasMap;
 
+    /**
+     * {@code $ref} index over {@link #schemasMap}, built lazily on first use.
+     */
+    private volatile SchemaIndex schemaIndex;
+
     /**
      * Shared helper for cross-mapper state (e.g., inner schemas, removal flags).
      */
     private Helper helper = new Helper();
 
+    /**
+     * Dependencies between the generated classes, recorded while mapping; {@code null} — not recorded.
+     */
+    private SchemaDependencyGraph dependencyGraph;
+
+    /**
+     * Simple-type aliases referenced via {@code $ref} that are already resolved for this specification.
+     */
+    private final ResolvedAliasMemo resolvedAliases = new ResolvedAliasMemo();
+
     /**
      * Fully qualified class name of the @Nullable annotation to use for non-required fields.
      * Example: "org.jspecify.annotations.Nullable"
      */
     private String nullableAnnotation;
 
+    /**
+     * Settings shared by every mapped field, built on first use from the three settings above.
+     */
+    private VariableProperties.Settings fieldSettings;
+
+    /**
+     * Returns the spec-wide field settings; every call returns the same instance until a setting changes.
+     *
+     * @return validation API, Spring Boot version and nullable annotation of this specification
+     */
+    public VariableProperties.Settings getFieldSettings() {
+        if (fieldSettings == null) {
+            fieldSettings = new VariableProperties.Settings(validationApi, springBootVersion, nullableAnnotation);
+        }
+        return fieldSettings;
+    }
+
     /**
      * Returns the fully qualified class name of the @Nullable annotation to use for non-required fields.
      *
@@ -125,6 +162,8 @@ public class ProcessContext {
      */
     public void setNullableAnnotation(String nullableAnnotation) {
         this.nullableAnnotation = nullableAnnotation;
+        fieldSettings = null;
+        resolvedAliases.clear();
     }
 
     /**
@@ -185,6 +224,8 @@ public class ProcessContext {
      */
     public void setValidationApi(ValidationApi validationApi) {
         this.validationApi = validationApi;
+        fieldSettings = null;
+        resolvedAliases.clear();
     }
 
     /**
@@ -208,6 +249,8 @@ public class ProcessContext {
     @Deprecated
     public void setSpringBootVersion(String springBootVersion) {
         this.springBootVersion = springBootVersion;
+        fieldSettings = null;
+        resolvedAliases.clear();
     }
 
     /**
@@ -394,6 +437,53 @@ public class ProcessContext {
      */
     public void setSchemasMap(Map<String, Object> schemasMap) {
         this.schemasMap = schemasMap;
+        this.schemaIndex = null;
+        resolvedAliases.clear();
+    }
+
+    /**
+     * Returns the {@code $ref} index over the current schema map.
+     * <p>
+     * Built once per schema map; replacing the map via {@link #setSchemasMap(Map)} discards it.
+     *
+     * @return schema index (never {@code null})
+     */
+    public SchemaIndex getSchemaIndex() {
+        SchemaIndex index = schemaIndex;
+        if (index == null) {
+            index = new SchemaIndex(schemasMap == null ? new LinkedHashMap<>() : schemasMap);
+            schemaIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * Returns the dependency graph of the classes generated for this specification.
+     *
+     * @return dependency graph, or {@code null} if dependencies are not recorded
+     */
+    public SchemaDependencyGraph getDependencyGraph() {
+        return dependencyGraph;
+    }
+
+    /**
+     * Enables recording of dependencies between the generated classes while mapping.
+     *
+     * @param dependencyGraph graph to record into, or {@code null} to disable recording
+     */
+    public void setDependencyGraph(SchemaDependencyGraph dependencyGraph) {
+        this.dependencyGraph = dependencyGraph;
+    }
+
+    /**
+     * Returns the memo of resolved simple-type aliases.
+     * <p>
+     * Replacing the schema map or changing the validation settings discards it.
+     *
+     * @return memo (never {@code null})
+     */
+    public ResolvedAliasMemo getResolvedAliases() {
+        return resolvedAliases;
     }
 
     /**
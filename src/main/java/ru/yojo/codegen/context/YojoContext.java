@@ -2,6 +2,7 @@ package ru.yojo.codegen.context;
 
 import ru.yojo.codegen.domain.ValidationApi;
 import ru.yojo.codegen.domain.lombok.LombokProperties;
+import ru.yojo.codegen.util.Logger;
 
 import java.util.List;
 
@@ -60,6 +61,73 @@ public class YojoContext {
      */
     private String nullableAnnotation;
 
+    /**
+     * Maximum number of specifications generated concurrently.
+     * {@code 1} (default) keeps the classic sequential behaviour.
+     */
+    private int parallelism = 1;
+
+    /**
+     * Number of threads writing generated files of a specification while code generation continues.
+     * {@code 0} (default) writes every file synchronously right after it is generated.
+     */
+    private int writerThreads = 0;
+
+    /**
+     * Number of threads rendering the classes of a specification once its model is mapped.
+     * {@code 1} (default) renders every class on the generating thread.
+     */
+    private int codeGenerationThreads = 1;
+
+    /**
+     * When enabled, specifications whose inputs and settings are unchanged since the previous run
+     * (according to the manifest stored in the output directory) are skipped entirely.
+     */
+    private boolean incremental = false;
+
+    /**
+     * When enabled, generated files whose content is identical to the existing file are not rewritten,
+     * preserving their timestamps for incremental compilation.
+     */
+    private boolean writeIfChanged = false;
+
+    /**
+     * When enabled, files generated by the previous run (recorded in the per-spec manifest)
+     * that are no longer produced are deleted from the output directory.
+     */
+    private boolean pruneStaleFiles = false;
+
+    /**
+     * When enabled, parsed external {@code $ref} documents are cached JVM-wide instead of per
+     * {@code generateAll} call (useful for daemons and watch mode running many generations).
+     */
+    private boolean shareExternalRefCache = false;
+
+    /**
+     * When enabled, the whole pipeline runs but no files (including manifests) are written.
+     */
+    private boolean dryRun = false;
+
+    /**
+     * When enabled, a JSON report with per-phase timings and counters is written next to each specification's manifest.
+     */
+    private boolean writeReport = false;
+
+    /**
+     * Minimum log level for the duration of {@code generateAll}; {@code null} keeps the current global level.
+     */
+    private Logger.Level logLevel;
+
+    /**
+     * When enabled, only warnings and errors are logged (overrides {@link #logLevel} if it is more verbose).
+     */
+    private boolean quiet = false;
+
+    /**
+     * Console output mode of the logger for the duration of {@code generateAll}; {@code null} keeps the current mode.
+     */
+    private Logger.Output logOutput;
+
     /**
      * Returns the fully qualified class name of the @Nullable annotation to use.
      *
@@ -78,6 +146,244 @@ public class YojoContext {
         this.nullableAnnotation = nullableAnnotation;
     }
 
+    /**
+     * Returns the maximum number of specifications generated concurrently.
+     *
+     * @return parallelism level ({@code 1} means sequential)
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sets the maximum number of specifications generated concurrently.
+     * Each specification is processed in isolation; values below {@code 1} are treated as {@code 1}.
+     *
+     * @param parallelism parallelism level
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Returns the number of asynchronous file writer threads per specification.
+     *
+     * @return writer threads ({@code 0} means synchronous writes)
+     */
+    public int getWriterThreads() {
+        return writerThreads;
+    }
+
+    /**
+     * Sets the number of asynchronous file writer threads per specification.
+     * Writes of the same file keep their order, so the output is identical to synchronous writing;
+     * values below {@code 1} mean synchronous writes.
+     *
+     * @param writerThreads writer threads
+     */
+    public void setWriterThreads(int writerThreads) {
+        this.writerThreads = writerThreads;
+    }
+
+    /**
+     * Returns the number of code generation threads per specification.
+     *
+     * @return code generation threads ({@code 1} means sequential rendering)
+     */
+    public int getCodeGenerationThreads() {
+        return codeGenerationThreads;
+    }
+
+    /**
+     * Sets the number of threads rendering the classes of a specification.
+     * Generated sources are still written in declaration order, so the output is identical to sequential
+     * rendering; values below {@code 2} mean sequential rendering.
+     *
+     * @param codeGenerationThreads code generation threads
+     */
+    public void setCodeGenerationThreads(int codeGenerationThreads) {
+        this.codeGenerationThreads = codeGenerationThreads;
+    }
+
+    /**
+     * Returns whether incremental generation is enabled.
+     *
+     * @return {@code true} if unchanged specifications are skipped
+     */
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    /**
+     * Enables or disables incremental generation based on the per-spec content-hash manifest.
+     *
+     * @param incremental incremental mode flag
+     */
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
+    /**
+     * Returns whether unchanged generated files are left untouched.
+     *
+     * @return {@code true} if write-if-changed mode is active
+     */
+    public boolean isWriteIfChanged() {
+        return writeIfChanged;
+    }
+
+    /**
+     * Enables or disables write-if-changed mode for generated files.
+     *
+     * @param writeIfChanged write-if-changed flag
+     */
+    public void setWriteIfChanged(boolean writeIfChanged) {
+        this.writeIfChanged = writeIfChanged;
+    }
+
+    /**
+     * Returns whether stale generated files are pruned.
+     *
+     * @return {@code true} if orphaned files from the previous run are deleted
+     */
+    public boolean isPruneStaleFiles() {
+        return pruneStaleFiles;
+    }
+
+    /**
+     * Enables or disables pruning of files that the previous run generated but the current run no longer produces.
+     *
+     * @param pruneStaleFiles prune flag
+     */
+    public void setPruneStaleFiles(boolean pruneStaleFiles) {
+        this.pruneStaleFiles = pruneStaleFiles;
+    }
+
+    /**
+     * Returns whether the external {@code $ref} document cache is shared JVM-wide.
+     *
+     * @return {@code true} if the JVM-wide cache is used
+     */
+    public boolean isShareExternalRefCache() {
+        return shareExternalRefCache;
+    }
+
+    /**
+     * Enables or disables the JVM-wide external {@code $ref} document cache.
+     * When disabled, a fresh cache lives for the duration of a single {@code generateAll} call.
+     *
+     * @param shareExternalRefCache shared cache flag
+     */
+    public void setShareExternalRefCache(boolean shareExternalRefCache) {
+        this.shareExternalRefCache = shareExternalRefCache;
+    }
+
+    /**
+     * Returns whether generation runs without writing any files.
+     *
+     * @return {@code true} in dry-run mode
+     */
+    public boolean isDryRun() {
+        return dryRun;
+    }
+
+    /**
+     * Enables or disables dry-run mode: specifications are parsed, mapped and rendered,
+     * but nothing is written to the output directory.
+     *
+     * @param dryRun dry-run flag
+     */
+    public void setDryRun(boolean dryRun) {
+        this.dryRun = dryRun;
+    }
+
+    /**
+     * Returns whether a generation report is written for each specification.
+     *
+     * @return {@code true} if {@code .yojo/<specName>.report.json} is written
+     */
+    public boolean isWriteReport() {
+        return writeReport;
+    }
+
+    /**
+     * Enables or disables writing of {@code .yojo/<specName>.report.json} into the output directory of each specification.
+     * The report is returned by {@code generateAll} regardless of this flag.
+     *
+     * @param writeReport report flag
+     */
+    public void setWriteReport(boolean writeReport) {
+        this.writeReport = writeReport;
+    }
+
+    /**
+     * Returns the minimum log level used during generation.
+     *
+     * @return log level, or {@code null} to keep the global level
+     */
+    public Logger.Level getLogLevel() {
+        return logLevel;
+    }
+
+    /**
+     * Sets the minimum log level used during generation.
+     *
+     * @param logLevel log level, or {@code null} to keep the global level
+     */
+    public void setLogLevel(Logger.Level logLevel) {
+        this.logLevel = logLevel;
+    }
+
+    /**
+     * Returns whether quiet mode is enabled.
+     *
+     * @return {@code true} if only warnings and errors are logged
+     */
+    public boolean isQuiet() {
+        return quiet;
+    }
+
+    /**
+     * Enables or disables quiet mode: the banner and per-schema progress messages are suppressed,
+     * warnings and errors are still printed.
+     *
+     * @param quiet quiet mode flag
+     */
+    public void setQuiet(boolean quiet) {
+        this.quiet = quiet;
+    }
+
+    /**
+     * Returns the logger console output mode used during generation.
+     *
+     * @return output mode, or {@code null} to keep the current mode
+     */
+    public Logger.Output getLogOutput() {
+        return logOutput;
+    }
+
+    /**
+     * Sets the logger console output mode used during generation
+     * ({@link Logger.Output#BUFFERED} or {@link Logger.Output#ASYNC} for large batch runs).
+     *
+     * @param logOutput output mode, or {@code null} to keep the current mode
+     */
+    public void setLogOutput(Logger.Output logOutput) {
+        this.logOutput = logOutput;
+    }
+
+    /**
+     * Returns the log level that applies during generation, taking quiet mode into account.
+     *
+     * @return effective level, or {@code null} if neither a level nor quiet mode is configured
+     */
+    public Logger.Level getEffectiveLogLevel() {
+        if (!quiet) {
+            return logLevel;
+        }
+        return logLevel != null && logLevel.ordinal() > Logger.Level.WARN.ordinal() ? logLevel : Logger.Level.WARN;
+    }
+
     /**
      * Returns whether experimental features are enabled.
      *
@@ -100,6 +100,30 @@ public class FillParameters {
         this.variableProperties = variableProperties;
     }
 
+    /**
+     * Creates a copy of the given container with every field copied via
+     * {@link VariableProperties#newVariableProperties(VariableProperties)}.
+     * <p>
+     * Code generators render from such a copy, so rendering never mutates the mapped model
+     * and the same model can be rendered concurrently or repeatedly with identical results.
+     *
+     * @param fillParameters source container
+     * @return new instance with copied fields, validation groups and Lombok configuration reference
+     */
+    public static FillParameters newFillParameters(FillParameters fillParameters) {
+        List<VariableProperties> properties = new ArrayList<>(fillParameters.variableProperties.size());
+        for (VariableProperties vp : fillParameters.variableProperties) {
+            properties.add(VariableProperties.newVariableProperties(vp));
+        }
+        FillParameters copy = new FillParameters(properties);
+        copy.validationGroups = fillParameters.validationGroups == null ? null : new HashSet<>(fillParameters.validationGroups);
+        copy.validationGroupsImports = fillParameters.validationGroupsImports == null
+                ? null
+                : new HashSet<>(fillParameters.validationGroupsImports);
+        copy.lombokProperties = fillParameters.lombokProperties;
+        return copy;
+    }
+
     /**
      * Returns the list of all field definitions.
      *
@@ -122,6 +146,17 @@ public class FillParameters {
      */
     public String toWrite() {
         StringBuilder stringBuilder = new StringBuilder();
+        appendTo(stringBuilder);
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Appends the source of all fields (see {@link #toWrite()}) to {@code stringBuilder},
+     * so generators can render fields straight into the class body.
+     *
+     * @param stringBuilder target builder
+     */
+    public void appendTo(StringBuilder stringBuilder) {
         if (variableProperties.stream().anyMatch(vp -> vp.getEnumeration() != null)) {
             // Enum constant declaration block (e.g., SUCCESS("desc"), ERROR;)
             stringBuilder.append(lineSeparator());
@@ -155,14 +190,12 @@ public class FillParameters {
                             .append(i == variableProperties.size() - 1 ? ";" : ",");
                 }
             }
-            return stringBuilder.toString();
         } else {
             // Regular fields mode
-            variableProperties.forEach(vp ->
-                    stringBuilder
-                            .append(lineSeparator())
-                            .append(vp.toWrite()));
-            return stringBuilder.toString();
+            variableProperties.forEach(vp -> {
+                stringBuilder.append(lineSeparator());
+                vp.appendTo(stringBuilder);
+            });
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,343 @@
+package ru.yojo.codegen.domain;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static ru.yojo.codegen.constants.Dictionary.*;
+
+/**
+ * Immutable, interned reference to a Java type of a generated field (e.g., {@code String}, {@code long},
+ * {@code List<LocalDate>}, {@code Map<String, List<User>>}).
+ * <p>
+ * Mappers compose types structurally ({@link #list(TypeRef)}, {@link #map(TypeRef, TypeRef)}) instead of
+ * formatting strings, and generators query the structure ({@link #isCollection()}, {@link #collectImports(Set)})
+ * instead of sniffing prefixes. The declaration string is computed once per distinct type: instances are interned,
+ * so equal types are the same object and {@link #toString()} is a field read.
+ * <p>
+ * The intern pool is JVM-wide but holds its types weakly: a type no longer referenced by any mapped model
+ * (e.g., a class name of a specification generated earlier by a long-running daemon) is released.
+ * <p>
+ * Types built from strings ({@link #of(String)}) keep the exact declaration they were parsed from.
+ *
+ * @author Vladimir Morozkin (TG @vmorozkin)
+ */
+public final class TypeRef {
+
+    private static final String LIST = "List";
+    private static final String SET = "Set";
+    private static final String MAP = "Map";
+
+    private static final Map<String, InternedRef> INTERNED = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<TypeRef> COLLECTED = new ReferenceQueue<>();
+
+    /**
+     * Imports of JDK types that generated fields may use, by simple name.
+     */
+    private static final Map<String, String> JDK_IMPORTS = Map.ofEntries(
+            Map.entry(LIST, LIST_IMPORT),
+            Map.entry(SET, SET_IMPORT),
+            Map.entry(MAP, MAP_IMPORT),
+            Map.entry(BIG_DECIMAL, BIG_DECIMAL_IMPORT),
+            Map.entry(BIG_INTEGER, BIG_INTEGER_IMPORT),
+            Map.entry(LOCAL_DATE, LOCAL_DATE_IMPORT),
+            Map.entry(LOCAL_DATE_TIME, LOCAL_DATE_TIME_IMPORT),
+            Map.entry(OFFSET_DATE_TIME, OFFSET_DATE_TIME_IMPORT),
+            Map.entry(SIMPLE_DATE, SIMPLE_DATE_IMPORT),
+            Map.entry(UUID, UUID_IMPORT),
+            Map.entry(URI, URI_IMPORT)
+    );
+
+    private static final Set<String> PRIMITIVES = Set.of(
+            "boolean", "byte", "short", "int", "long", "char", "float", "double");
+
+    /**
+     * Full declaration as written in generated code.
+     */
+    private final String declaration;
+
+    /**
+     * Type without type arguments (e.g., {@code List} for {@code List<String>}).
+     */
+    private final String rawName;
+
+    /**
+     * Package of a known JDK type (e.g., {@code java.util}); {@code null} for {@code java.lang},
+     * primitives and generated/custom classes.
+     */
+    private final String packageName;
+
+    private final List<TypeRef> typeArguments;
+
+    private final boolean primitive;
+
+    private TypeRef(String declaration, String rawName, List<TypeRef> typeArguments) {
+        this.declaration = declaration;
+        this.rawName = rawName;
+        this.typeArguments = typeArguments;
+        String knownImport = JDK_IMPORTS.get(rawName);
+        this.packageName = knownImport == null
+                ? null
+                : knownImport.substring(0, knownImport.length() - rawName.length() - 2);
+        this.primitive = PRIMITIVES.contains(rawName);
+    }
+
+    /**
+     * Returns the type for a declaration, parsing type arguments on first use.
+     *
+     * @param declaration Java type as written in code (e.g., {@code "Map<String, List<User>>"})
+     * @return interned type
+     */
+    public static TypeRef of(String declaration) {
+        TypeRef typeRef = lookup(declaration);
+        return typeRef != null ? typeRef : intern(parse(declaration));
+    }
+
+    /**
+     * Returns {@code List<element>}.
+     *
+     * @param element element type
+     * @return interned list type
+     */
+    public static TypeRef list(TypeRef element) {
+        return generic(LIST, element);
+    }
+
+    /**
+     * Returns {@code Set<element>}.
+     *
+     * @param element element type
+     * @return interned set type
+     */
+    public static TypeRef set(TypeRef element) {
+        return generic(SET, element);
+    }
+
+    /**
+     * Returns {@code Set<element>} for collection type {@code "set"} (case-insensitive), otherwise {@code List<element>}.
+     *
+     * @param collectionType {@code "list"} or {@code "set"}
+     * @param element        element type
+     * @return interned collection type
+     */
+    public static TypeRef collection(String collectionType, TypeRef element) {
+        return "set".equalsIgnoreCase(collectionType) ? set(element) : list(element);
+    }
+
+    /**
+     * Returns {@code Map<key, value>}.
+     *
+     * @param key   key type
+     * @param value value type
+     * @return interned map type
+     */
+    public static TypeRef map(TypeRef key, TypeRef value) {
+        return generic(MAP, key, value);
+    }
+
+    private static TypeRef generic(String rawName, TypeRef... arguments) {
+        StringBuilder declaration = new StringBuilder(rawName).append('<');
+        for (int i = 0; i < arguments.length; i++) {
+            if (i > 0) {
+                declaration.append(", ");
+            }
+            declaration.append(arguments[i].declaration);
+        }
+        String key = declaration.append('>').toString();
+        TypeRef typeRef = lookup(key);
+        return typeRef != null ? typeRef : intern(new TypeRef(key, rawName, List.of(arguments)));
+    }
+
+    private static TypeRef lookup(String declaration) {
+        InternedRef ref = INTERNED.get(declaration);
+        return ref != null ? ref.get() : null;
+    }
+
+    // parsing interns type arguments first, so this cannot run inside ConcurrentHashMap#computeIfAbsent
+    private static TypeRef intern(TypeRef typeRef) {
+        expungeCollected();
+        InternedRef candidate = new InternedRef(typeRef);
+        while (true) {
+            InternedRef existing = INTERNED.putIfAbsent(typeRef.declaration, candidate);
+            if (existing == null) {
+                return typeRef;
+            }
+            TypeRef live = existing.get();
+            if (live != null) {
+                return live;
+            }
+            if (INTERNED.replace(typeRef.declaration, existing, candidate)) {
+                return typeRef;
+            }
+        }
+    }
+
+    private static void expungeCollected() {
+        Reference<? extends TypeRef> collected;
+        while ((collected = COLLECTED.poll()) != null) {
+            InternedRef ref = (InternedRef) collected;
+            INTERNED.remove(ref.declaration, ref);
+        }
+    }
+
+    /**
+     * Returns the number of pooled declarations, including types collected but not yet expunged.
+     *
+     * @return pool size
+     */
+    static int internedCount() {
+        expungeCollected();
+        return INTERNED.size();
+    }
+
+    /**
+     * Weak pool entry; remembers its key so that it can be removed once the type is collected.
+     */
+    private static final class InternedRef extends WeakReference<TypeRef> {
+
+        private final String declaration;
+
+        private InternedRef(TypeRef typeRef) {
+            super(typeRef, COLLECTED);
+            this.declaration = typeRef.declaration;
+        }
+    }
+
+    private static TypeRef parse(String declaration) {
+        int open = declaration.indexOf('<');
+        if (open < 0 || !declaration.endsWith(">")) {
+            return new TypeRef(declaration, declaration.trim(), List.of());
+        }
+        List<TypeRef> arguments = new ArrayList<>();
+        int depth = 0;
+        int start = open + 1;
+        int end = declaration.length() - 1;
+        for (int i = start; i < end; i++) {
+            char c = declaration.charAt(i);
+            if (c == '<') {
+                depth++;
+            } else if (c == '>') {
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                arguments.add(of(declaration.substring(start, i).trim()));
+                start = i + 1;
+            }
+        }
+        if (depth != 0) {
+            return new TypeRef(declaration, declaration.trim(), List.of());
+        }
+        arguments.add(of(declaration.substring(start, end).trim()));
+        return new TypeRef(declaration, declaration.substring(0, open).trim(), List.copyOf(arguments));
+    }
+
+    /**
+     * Returns the type without type arguments.
+     *
+     * @return raw simple name (e.g., {@code "List"})
+     */
+    public String getRawName() {
+        return rawName;
+    }
+
+    /**
+     * Returns the package of a known JDK type.
+     *
+     * @return package name (e.g., {@code "java.util"}) or {@code null}
+     */
+    public String getPackageName() {
+        return packageName;
+    }
+
+    /**
+     * Returns the type arguments.
+     *
+     * @return immutable list, empty for non-generic types
+     */
+    public List<TypeRef> getTypeArguments() {
+        return typeArguments;
+    }
+
+    /**
+     * Returns whether this is a primitive type (e.g., {@code boolean}); boxed types are not.
+     *
+     * @return {@code true} for primitives
+     */
+    public boolean isPrimitive() {
+        return primitive;
+    }
+
+    /**
+     * Returns whether this is a {@code List}.
+     *
+     * @return {@code true} for {@code List<...>}
+     */
+    public boolean isList() {
+        return LIST.equals(rawName);
+    }
+
+    /**
+     * Returns whether this is a {@code Set}.
+     *
+     * @return {@code true} for {@code Set<...>}
+     */
+    public boolean isSet() {
+        return SET.equals(rawName);
+    }
+
+    /**
+     * Returns whether this is a {@code Map}.
+     *
+     * @return {@code true} for {@code Map<...>}
+     */
+    public boolean isMap() {
+        return MAP.equals(rawName);
+    }
+
+    /**
+     * Returns whether this is a {@code List} or a {@code Set}.
+     *
+     * @return {@code true} for collections
+     */
+    public boolean isCollection() {
+        return isList() || isSet();
+    }
+
+    /**
+     * Returns the element type of a collection.
+     *
+     * @return first type argument, or this type if it has none
+     */
+    public TypeRef getElementType() {
+        return typeArguments.isEmpty() ? this : typeArguments.get(0);
+    }
+
+    /**
+     * Adds the imports of this type and of all its type arguments that are known JDK types.
+     *
+     * @param imports import declarations (e.g., {@code "java.util.List;"})
+     */
+    public void collectImports(Set<String> imports) {
+        String knownImport = packageName == null ? null : JDK_IMPORTS.get(rawName);
+        if (knownImport != null) {
+            imports.add(knownImport);
+        }
+        for (TypeRef typeArgument : typeArguments) {
+            typeArgument.collectImports(imports);
+        }
+    }
+
+    /**
+     * Returns the declaration as written in generated code.
+     *
+     * @return Java type (e.g., {@code "List<String>"})
+     */
+    @Override
+    public String toString() {
+        return declaration;
+    }
+}
@@ -1,7 +1,10 @@
 package ru.yojo.codegen.domain;
 
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 import static java.lang.String.format;
@@ -28,18 +31,16 @@ import static ru.yojo.codegen.util.MapperUtil.*;
 public class VariableProperties {
 
     /**
-     * Validation API namespace to use for generated annotations.
-     * When set, takes precedence over the legacy {@link #springBootVersion} heuristic.
+     * Interned immutable empty set every fresh instance starts with; see {@link #compact(Map)}.
      */
-    private ValidationApi validationApi;
+    private static final Set<String> NO_STRINGS = Set.of();
 
     /**
-     * Spring Boot version string (e.g., {@code "3.x.x"}) used to select jakarta vs javax validation imports.
-     *
-     * @deprecated Use {@link #validationApi} instead.
+     * Spec-wide settings (validation API, Spring Boot version, nullable annotation).
+     * They are identical for every field of a specification, so mapped fields reference the single instance
+     * built by {@link ru.yojo.codegen.context.ProcessContext#getFieldSettings()}.
      */
-    @Deprecated
-    private String springBootVersion;
+    private Settings settings = Settings.DEFAULT;
 
     /**
      * Java field name (converted to valid Java identifier: camelCase, no keywords).
@@ -49,17 +50,7 @@ public class VariableProperties {
     /**
      * Java type (e.g., {@code String}, {@code List<LocalDate>}, {@code MyCustomDto}, {@code boolean} ).
      */
-    private String type;
-
-    /**
-     * Value for {@code @Size(min = ...)} on {@code String} fields.
-     */
-    private String minLength;
-
-    /**
-     * Value for {@code @Size(max = ...)} on {@code String} fields.
-     */
-    private String maxLength;
+    private TypeRef type;
 
     /**
      * Format hint from AsyncAPI spec (e.g., {@code date}, {@code uuid}, {@code int64}).
@@ -67,11 +58,6 @@ public class VariableProperties {
      */
     private String format;
 
-    /**
-     * Value for {@code @Pattern(regexp = "...")} validation.
-     */
-    private String pattern;
-
     /**
      * Description from the schema; used in field-level JavaDoc.
      */
@@ -98,62 +84,16 @@ public class VariableProperties {
     private String reference;
 
     /**
-     * Title from schema (rarely used; fallback for description).
-     */
-    private String title;
-
-    /**
-     * {@code @Digits(integer = ..., fraction = ...)} parameters for {@code BigDecimal}.
-     */
-    private String digits;
-
-    /**
-     * Alternative way to calculate {@code @Digits} from {@code multipleOf} precision (e.g., {@code 0.01} → {@code fraction = 2}).
-     */
-    private String multipleOf;
-
-    /**
-     * Value for {@code @Min(...)} on numeric fields.
-     */
-    private String minimum;
-
-    /**
-     * Value for {@code @Max(...)} on numeric fields.
-     */
-    private String maximum;
-
-    /**
-     * Default value literal (e.g., {@code "default"}, {@code 123L}, {@code new Date()}).
-     */
-    private String defaultProperty;
-
-    /**
-     * Collection realization (e.g., {@code ArrayList}, {@code HashSet}).
-     * Used to generate initializer: {@code = new ArrayList<>();}.
-     */
-    private String realisation;
-
-    /**
-     * Human-readable description for enum constant (from {@code x-enumNames}).
+     * Rarely used attributes (constraints, defaults, enum details, existing objects);
+     * {@code null} until one of them is set.
      */
-    private String enumNames;
-
-    /**
-     * Wire/serialized value for enum constant (from {@code x-enumValues}).
-     * Used together with {@code @JsonValue}/{@code @JsonCreator} for custom enum serialization.
-     */
-    private String enumValues;
+    private Extras extras;
 
     /**
      * {@code true} if this property is an enum reference (not a regular field).
      */
     private boolean isEnum = false;
 
-    /**
-     * Original enum constant name from schema (e.g., {@code "success"} vs generated {@code "SUCCESS"}).
-     */
-    private String originalEnumName;
-
     /**
      * {@code false} for collections/enums where {@code @Valid} should NOT be added.
      */
@@ -169,16 +109,6 @@ public class VariableProperties {
      */
     private String collectionType = "list";
 
-    /**
-     * Class name for {@code format: existing} references (e.g., {@code "ExistingClass"}).
-     */
-    private String nameOfExisingObject;
-
-    /**
-     * Package for {@code format: existing} references (e.g., {@code "com.example"}).
-     */
-    private String packageOfExisingObject;
-
     /**
      * {@code true} if this property involves polymorphism ({@code oneOf}, {@code allOf}, {@code anyOf}).
      */
@@ -186,18 +116,21 @@ public class VariableProperties {
 
     /**
      * Validation/annotation strings to prepend before the field (e.g., {@code @NotNull}, {@code @Size(min = 1)}).
+     * Immutable (possibly shared) until {@link #getAnnotationSet()} hands it out for modification.
      */
-    private Set<String> annotationSet = new HashSet<>();
+    private Set<String> annotationSet = NO_STRINGS;
 
     /**
      * Import declarations required by this field (e.g., {@code java.time.LocalDate}, {@code jakarta.validation.constraints.Size}).
+     * Immutable (possibly shared) until {@link #getRequiredImports()} hands it out for modification.
      */
-    private Set<String> requiredImports = new HashSet<>();
+    private Set<String> requiredImports = NO_STRINGS;
 
     /**
      * Field-level annotations specified via x-field-annotation.
+     * Immutable (possibly shared) until {@link #getFieldAnnotations()} hands it out for modification.
      */
-    private Set<String> fieldAnnotations = new HashSet<>();
+    private Set<String> fieldAnnotations = NO_STRINGS;
 
     /**
      * {@code true} if this field should be declared as {@code final}.
@@ -206,10 +139,151 @@ public class VariableProperties {
     private boolean isFinal = false;
 
     /**
-     * Fully qualified class name of the @Nullable annotation to apply when the field is not required.
-     * Used only if the field is not annotated with @NotNull/@NotBlank/@NotEmpty.
+     * Spec-wide settings of a field, kept in one immutable record instead of three fields.
+     * Fields that never change their settings share {@link #DEFAULT}; fields mapped from one specification share
+     * the instance of its {@link ru.yojo.codegen.context.ProcessContext}.
+     *
+     * @param validationApi      validation API namespace to use for generated annotations;
+     *                           when set, takes precedence over {@code springBootVersion}
+     * @param springBootVersion  legacy Spring Boot version string (e.g., {@code "3.x.x"}) used to select
+     *                           jakarta vs javax validation imports
+     * @param nullableAnnotation fully qualified class name of the @Nullable annotation to apply when the field
+     *                           is not required (only if it is not annotated with @NotNull/@NotBlank/@NotEmpty)
      */
-    private String nullableAnnotation;
+    public record Settings(ValidationApi validationApi, String springBootVersion, String nullableAnnotation) {
+
+        /**
+         * Settings with nothing configured.
+         */
+        public static final Settings DEFAULT = new Settings(null, null, null);
+
+        private Settings withValidationApi(ValidationApi validationApi) {
+            return this.validationApi == validationApi
+                    ? this
+                    : new Settings(validationApi, springBootVersion, nullableAnnotation);
+        }
+
+        private Settings withSpringBootVersion(String springBootVersion) {
+            return Objects.equals(this.springBootVersion, springBootVersion)
+                    ? this
+                    : new Settings(validationApi, springBootVersion, nullableAnnotation);
+        }
+
+        /**
+         * Returns these settings with another nullable annotation.
+         *
+         * @param nullableAnnotation nullable annotation FQN or {@code null}
+         * @return this instance if the annotation is unchanged, otherwise a new one
+         */
+        public Settings withNullableAnnotation(String nullableAnnotation) {
+            return Objects.equals(this.nullableAnnotation, nullableAnnotation)
+                    ? this
+                    : new Settings(validationApi, springBootVersion, nullableAnnotation);
+        }
+    }
+
+    /**
+     * Attributes most fields never set, allocated on first use.
+     */
+    private static final class Extras {
+
+        /**
+         * Value for {@code @Size(min = ...)} on {@code String} fields.
+         */
+        private String minLength;
+
+        /**
+         * Value for {@code @Size(max = ...)} on {@code String} fields.
+         */
+        private String maxLength;
+
+        /**
+         * Value for {@code @Pattern(regexp = "...")} validation.
+         */
+        private String pattern;
+
+        /**
+         * Title from schema (rarely used; fallback for description).
+         */
+        private String title;
+
+        /**
+         * {@code @Digits(integer = ..., fraction = ...)} parameters for {@code BigDecimal}.
+         */
+        private String digits;
+
+        /**
+         * Alternative way to calculate {@code @Digits} from {@code multipleOf} precision (e.g., {@code 0.01} → {@code fraction = 2}).
+         */
+        private String multipleOf;
+
+        /**
+         * Value for {@code @Min(...)} on numeric fields.
+         */
+        private String minimum;
+
+        /**
+         * Value for {@code @Max(...)} on numeric fields.
+         */
+        private String maximum;
+
+        /**
+         * Default value literal (e.g., {@code "default"}, {@code 123L}, {@code new Date()}).
+         */
+        private String defaultProperty;
+
+        /**
+         * Collection realization (e.g., {@code ArrayList}, {@code HashSet}).
+         * Used to generate initializer: {@code = new ArrayList<>();}.
+         */
+        private String realisation;
+
+        /**
+         * Human-readable description for enum constant (from {@code x-enumNames}).
+         */
+        private String enumNames;
+
+        /**
+         * Wire/serialized value for enum constant (from {@code x-enumValues}).
+         * Used together with {@code @JsonValue}/{@code @JsonCreator} for custom enum serialization.
+         */
+        private String enumValues;
+
+        /**
+         * Original enum constant name from schema (e.g., {@code "success"} vs generated {@code "SUCCESS"}).
+         */
+        private String originalEnumName;
+
+        /**
+         * Class name for {@code format: existing} references (e.g., {@code "ExistingClass"}).
+         */
+        private String nameOfExisingObject;
+
+        /**
+         * Package for {@code format: existing} references (e.g., {@code "com.example"}).
+         */
+        private String packageOfExisingObject;
+
+        private Extras copy() {
+            Extras copy = new Extras();
+            copy.minLength = minLength;
+            copy.maxLength = maxLength;
+            copy.pattern = pattern;
+            copy.title = title;
+            copy.digits = digits;
+            copy.multipleOf = multipleOf;
+            copy.minimum = minimum;
+            copy.maximum = maximum;
+            copy.defaultProperty = defaultProperty;
+            copy.realisation = realisation;
+            copy.enumNames = enumNames;
+            copy.enumValues = enumValues;
+            copy.originalEnumName = originalEnumName;
+            copy.nameOfExisingObject = nameOfExisingObject;
+            copy.packageOfExisingObject = packageOfExisingObject;
+            return copy;
+        }
+    }
 
     /**
      * Returns a new {@link VariablePropertiesBuilder} for fluent construction.
@@ -220,6 +294,124 @@ public class VariableProperties {
         return new VariablePropertiesBuilder();
     }
 
+    /**
+     * Creates a copy of the given {@code VariableProperties}.
+     * <p>
+     * The copy can be decorated (e.g., by a code generator adding {@code @Singular}) without affecting
+     * the mapped model: annotation, import and field-annotation sets are shared only while they are immutable
+     * and are copied by whichever instance modifies them first.
+     * Setters are bypassed: they derive annotations and imports, which are already present in the source.
+     *
+     * @param variableProperties source field definition
+     * @return new instance with all properties copied
+     */
+    public static VariableProperties newVariableProperties(VariableProperties variableProperties) {
+        VariableProperties copy = new VariableProperties();
+        copy.settings = variableProperties.settings;
+        copy.name = variableProperties.name;
+        copy.type = variableProperties.type;
+        copy.format = variableProperties.format;
+        copy.description = variableProperties.description;
+        copy.enumeration = variableProperties.enumeration;
+        copy.example = variableProperties.example;
+        copy.items = variableProperties.items;
+        copy.reference = variableProperties.reference;
+        copy.extras = variableProperties.extras == null ? null : variableProperties.extras.copy();
+        copy.isEnum = variableProperties.isEnum;
+        copy.valid = variableProperties.valid;
+        copy.isDiscriminatorField = variableProperties.isDiscriminatorField;
+        copy.collectionType = variableProperties.collectionType;
+        copy.polymorph = variableProperties.polymorph;
+        copy.annotationSet = shareable(variableProperties.annotationSet);
+        copy.requiredImports = shareable(variableProperties.requiredImports);
+        copy.fieldAnnotations = shareable(variableProperties.fieldAnnotations);
+        copy.isFinal = variableProperties.isFinal;
+        return copy;
+    }
+
+    /**
+     * Applies the resolution of a referenced simple-type alias (e.g., {@code Money: {type: number, ...}})
+     * to this field, as resolving the alias definition directly into this field would.
+     * <p>
+     * Everything the alias defines replaces what was set from the referring property, except the name,
+     * the original name and the realization. A {@code format} is kept if the alias has none.
+     * Annotations and imports are added to those already collected; {@code valid} can only be cleared.
+     *
+     * @param resolved alias definition resolved into an otherwise empty field; not modified
+     */
+    public void applyResolvedAlias(VariableProperties resolved) {
+        String originalEnumName = getOriginalEnumName();
+        String realisation = getRealisation();
+        settings = resolved.settings;
+        type = resolved.type;
+        if (resolved.format != null) {
+            format = resolved.format;
+        }
+        description = resolved.description;
+        enumeration = resolved.enumeration;
+        example = resolved.example;
+        extras = resolved.extras == null ? null : resolved.extras.copy();
+        setOriginalEnumName(originalEnumName);
+        if (realisation != null) {
+            extras().realisation = realisation;
+        }
+        valid &= resolved.valid;
+        polymorph = resolved.polymorph;
+        isFinal = resolved.isFinal;
+        if (!resolved.annotationSet.isEmpty()) {
+            getAnnotationSet().addAll(resolved.annotationSet);
+        }
+        if (!resolved.requiredImports.isEmpty()) {
+            getRequiredImports().addAll(resolved.requiredImports);
+        }
+        if (!resolved.fieldAnnotations.isEmpty()) {
+            getFieldAnnotations().addAll(resolved.fieldAnnotations);
+        }
+    }
+
+    /**
+     * Replaces the annotation, import and field-annotation sets with unmodifiable instances taken from {@code pool},
+     * so fields with equal sets (very common: same type, same constraints) share a single set.
+     * <p>
+     * Intended to run once the model of a specification is mapped. The sets stay modifiable through their getters,
+     * which copy a compacted set on first use.
+     *
+     * @param pool interned sets of one specification; sets are used as both keys and values
+     */
+    public void compact(Map<Set<String>, Set<String>> pool) {
+        annotationSet = intern(annotationSet, pool);
+        requiredImports = intern(requiredImports, pool);
+        fieldAnnotations = intern(fieldAnnotations, pool);
+    }
+
+    private static Set<String> intern(Set<String> set, Map<Set<String>, Set<String>> pool) {
+        if (set.isEmpty()) {
+            return NO_STRINGS;
+        }
+        Set<String> interned = pool.get(set);
+        if (interned == null) {
+            // keeps the HashSet iteration order: equally long annotations are rendered in that order
+            interned = Collections.unmodifiableSet(new HashSet<>(set));
+            pool.put(interned, interned);
+        }
+        return interned;
+    }
+
+    private static Set<String> shareable(Set<String> set) {
+        return set instanceof HashSet ? new HashSet<>(set) : set;
+    }
+
+    private static Set<String> modifiable(Set<String> set) {
+        return set instanceof HashSet ? set : new HashSet<>(set);
+    }
+
+    private Extras extras() {
+        if (extras == null) {
+            extras = new Extras();
+        }
+        return extras;
+    }
+
     // ——— Getters & Setters ——— //
 
     /**
@@ -246,7 +438,7 @@ public class VariableProperties {
      * @return type name
      */
     public String getType() {
-        return type;
+        return type == null ? null : type.toString();
     }
 
     /**
@@ -255,6 +447,24 @@ public class VariableProperties {
      * @param type type name
      */
     public void setType(String type) {
+        this.type = type == null ? null : TypeRef.of(type);
+    }
+
+    /**
+     * Returns the structured Java type.
+     *
+     * @return type or {@code null}
+     */
+    public TypeRef getTypeRef() {
+        return type;
+    }
+
+    /**
+     * Sets the structured Java type.
+     *
+     * @param type type
+     */
+    public void setTypeRef(TypeRef type) {
         this.type = type;
     }
 
@@ -264,7 +474,7 @@ public class VariableProperties {
      * @return min length or {@code null}
      */
     public String getMinLength() {
-        return minLength;
+        return extras == null ? null : extras.minLength;
     }
 
     /**
@@ -273,7 +483,9 @@ public class VariableProperties {
      * @param minLength min length value
      */
     public void setMinLength(String minLength) {
-        this.minLength = minLength;
+        if (minLength != null || extras != null) {
+            extras().minLength = minLength;
+        }
     }
 
     /**
@@ -282,7 +494,7 @@ public class VariableProperties {
      * @return max length or {@code null}
      */
     public String getMaxLength() {
-        return maxLength;
+        return extras == null ? null : extras.maxLength;
     }
 
     /**
@@ -291,7 +503,9 @@ public class VariableProperties {
      * @param maxLength max length value
      */
     public void setMaxLength(String maxLength) {
-        this.maxLength = maxLength;
+        if (maxLength != null || extras != null) {
+            extras().maxLength = maxLength;
+        }
     }
 
     /**
@@ -309,7 +523,7 @@ public class VariableProperties {
      * @return regexp pattern or {@code null}
      */
     public String getPattern() {
-        return pattern;
+        return extras == null ? null : extras.pattern;
     }
 
     /**
@@ -354,7 +568,7 @@ public class VariableProperties {
      * @return original name or {@code null}
      */
     public String getOriginalEnumName() {
-        return originalEnumName;
+        return extras == null ? null : extras.originalEnumName;
     }
 
     /**
@@ -363,7 +577,9 @@ public class VariableProperties {
      * @param name original name
      */
     public void setOriginalEnumName(String name) {
-        originalEnumName = name;
+        if (name != null || extras != null) {
+            extras().originalEnumName = name;
+        }
     }
 
     /**
@@ -381,7 +597,7 @@ public class VariableProperties {
      * @return description or {@code null}
      */
     public String getEnumNames() {
-        return enumNames;
+        return extras == null ? null : extras.enumNames;
     }
 
     /**
@@ -390,7 +606,9 @@ public class VariableProperties {
      * @param enumNames description
      */
     public void setEnumNames(String enumNames) {
-        this.enumNames = enumNames;
+        if (enumNames != null || extras != null) {
+            extras().enumNames = enumNames;
+        }
     }
 
     /**
@@ -399,7 +617,7 @@ public class VariableProperties {
      * @return wire value or {@code null}
      */
     public String getEnumValues() {
-        return enumValues;
+        return extras == null ? null : extras.enumValues;
     }
 
     /**
@@ -408,7 +626,9 @@ public class VariableProperties {
      * @param enumValues wire value
      */
     public void setEnumValues(String enumValues) {
-        this.enumValues = enumValues;
+        if (enumValues != null || extras != null) {
+            extras().enumValues = enumValues;
+        }
     }
 
     /**
@@ -462,7 +682,7 @@ public class VariableProperties {
      * @return digits config (e.g., {@code "integer = 2, fraction = 2"}) or {@code null}
      */
     public String getDigits() {
-        return digits;
+        return extras == null ? null : extras.digits;
     }
 
     /**
@@ -471,7 +691,9 @@ public class VariableProperties {
      * @param digits config string
      */
     public void setDigits(String digits) {
-        this.digits = digits;
+        if (digits != null || extras != null) {
+            extras().digits = digits;
+        }
     }
 
     /**
@@ -480,7 +702,7 @@ public class VariableProperties {
      * @return package name or {@code null}
      */
     public String getPackageOfExisingObject() {
-        return packageOfExisingObject;
+        return extras == null ? null : extras.packageOfExisingObject;
     }
 
     /**
@@ -489,7 +711,9 @@ public class VariableProperties {
      * @param packageOfExisingObject package name
      */
     public void setPackageOfExisingObject(String packageOfExisingObject) {
-        this.packageOfExisingObject = packageOfExisingObject;
+        if (packageOfExisingObject != null || extras != null) {
+            extras().packageOfExisingObject = packageOfExisingObject;
+        }
     }
 
     /**
@@ -498,7 +722,7 @@ public class VariableProperties {
      * @return class name or {@code null}
      */
     public String getNameOfExisingObject() {
-        return nameOfExisingObject;
+        return extras == null ? null : extras.nameOfExisingObject;
     }
 
     /**
@@ -507,7 +731,9 @@ public class VariableProperties {
      * @param nameOfExisingObject class name
      */
     public void setNameOfExisingObject(String nameOfExisingObject) {
-        this.nameOfExisingObject = nameOfExisingObject;
+        if (nameOfExisingObject != null || extras != null) {
+            extras().nameOfExisingObject = nameOfExisingObject;
+        }
     }
 
     /**
@@ -516,7 +742,7 @@ public class VariableProperties {
      * @return realization name or {@code null}
      */
     public String getRealisation() {
-        return realisation;
+        return extras == null ? null : extras.realisation;
     }
 
     /**
@@ -543,7 +769,7 @@ public class VariableProperties {
      * @param nullableAnnotation FQN like "org.jspecify.annotations.Nullable"
      */
     public void setNullableAnnotation(String nullableAnnotation) {
-        this.nullableAnnotation = nullableAnnotation;
+        settings = settings.withNullableAnnotation(nullableAnnotation);
     }
 
     /**
@@ -570,7 +796,7 @@ public class VariableProperties {
      * @return nullable annotation FQN or {@code null} if not set
      */
     public String getNullableAnnotation() {
-        return nullableAnnotation;
+        return settings.nullableAnnotation();
     }
 
     /**
@@ -579,6 +805,7 @@ public class VariableProperties {
      * @return field annotations (e.g., "com.example.MyFieldAnnotation(\"value\")")
      */
     public Set<String> getFieldAnnotations() {
+        fieldAnnotations = modifiable(fieldAnnotations);
         return fieldAnnotations;
     }
 
@@ -591,23 +818,25 @@ public class VariableProperties {
      * @param realisation realization name
      */
     public void setRealisation(String realisation) {
-        this.realisation = realisation;
+        if (realisation != null || extras != null) {
+            extras().realisation = realisation;
+        }
         if (realisation != null)
             switch (realisation) {
                 case "ArrayList":
-                    requiredImports.add(ARRAY_LIST_IMPORT);
+                    getRequiredImports().add(ARRAY_LIST_IMPORT);
                     break;
                 case "LinkedList":
-                    requiredImports.add(LINKED_LIST_IMPORT);
+                    getRequiredImports().add(LINKED_LIST_IMPORT);
                     break;
                 case "LinkedHashMap":
-                    requiredImports.add(LINKED_HASH_MAP_IMPORT);
+                    getRequiredImports().add(LINKED_HASH_MAP_IMPORT);
                     break;
                 case "HashMap":
-                    requiredImports.add(HASH_MAP_IMPORT);
+                    getRequiredImports().add(HASH_MAP_IMPORT);
                     break;
                 case "HashSet":
-                    requiredImports.add(HASH_SET_IMPORT);
+                    getRequiredImports().add(HASH_SET_IMPORT);
                     break;
             }
     }
@@ -617,18 +846,18 @@ public class VariableProperties {
      * <p>
      * Resolution order:
      * <ol>
-     *   <li>{@link #validationApi} if set</li>
-     *   <li>{@link #springBootVersion} starts with {@code "3"} (legacy fallback)</li>
+     *   <li>{@link #getValidationApi()} if set</li>
+     *   <li>{@link #getSpringBootVersion()} starts with {@code "3"} (legacy fallback)</li>
      *   <li>{@code false} (default to JAVAX)</li>
      * </ol>
      *
      * @return {@code true} if Jakarta imports should be used, {@code false} for Javax
      */
     public boolean isJakarta() {
-        if (validationApi != null) {
-            return validationApi == ValidationApi.JAKARTA;
+        if (settings.validationApi() != null) {
+            return settings.validationApi() == ValidationApi.JAKARTA;
         }
-        return springBootVersion != null && springBootVersion.startsWith("3");
+        return settings.springBootVersion() != null && settings.springBootVersion().startsWith("3");
     }
 
     /**
@@ -637,7 +866,7 @@ public class VariableProperties {
      * @return minimum or {@code null}
      */
     public String getMinimum() {
-        return minimum;
+        return extras == null ? null : extras.minimum;
     }
 
     /**
@@ -646,13 +875,15 @@ public class VariableProperties {
      * @param minimum min value
      */
     public void setMinimum(String minimum) {
-        this.minimum = minimum;
-        if (isNotBlank(minimum) && multipleOf == null) {
-            annotationSet.add(generateMinAnnotation(minimum));
+        if (minimum != null || extras != null) {
+            extras().minimum = minimum;
+        }
+        if (isNotBlank(minimum) && getMultipleOf() == null) {
+            getAnnotationSet().add(generateMinAnnotation(minimum));
             if (isJakarta()) {
-                requiredImports.add(JAKARTA_MIN_IMPORT);
+                getRequiredImports().add(JAKARTA_MIN_IMPORT);
             } else {
-                requiredImports.add(JAVAX_MIN_IMPORT);
+                getRequiredImports().add(JAVAX_MIN_IMPORT);
             }
         }
     }
@@ -663,7 +894,7 @@ public class VariableProperties {
      * @return maximum or {@code null}
      */
     public String getMaximum() {
-        return maximum;
+        return extras == null ? null : extras.maximum;
     }
 
     /**
@@ -672,13 +903,15 @@ public class VariableProperties {
      * @param maximum max value
      */
     public void setMaximum(String maximum) {
-        this.maximum = maximum;
-        if (isNotBlank(maximum) && multipleOf == null) {
-            annotationSet.add(generateMaxAnnotation(maximum));
+        if (maximum != null || extras != null) {
+            extras().maximum = maximum;
+        }
+        if (isNotBlank(maximum) && getMultipleOf() == null) {
+            getAnnotationSet().add(generateMaxAnnotation(maximum));
             if (isJakarta()) {
-                requiredImports.add(JAKARTA_MAX_IMPORT);
+                getRequiredImports().add(JAKARTA_MAX_IMPORT);
             } else {
-                requiredImports.add(JAVAX_MAX_IMPORT);
+                getRequiredImports().add(JAVAX_MAX_IMPORT);
             }
         }
     }
@@ -694,10 +927,11 @@ public class VariableProperties {
     public void setFormat(String format) {
         if (format == null) {
             // fallback: bare `type: number` → BigDecimal
-            if (NUMBER.equalsIgnoreCase(type)) {
-                this.type = BIG_DECIMAL;
+            if (NUMBER.equalsIgnoreCase(getType())) {
+                this.type = TypeRef.of(BIG_DECIMAL);
                 this.format = BIG_DECIMAL;
                 format = "big-decimal";
+                String multipleOf = getMultipleOf();
                 if (multipleOf != null) {
                     Integer fraction = multipleOf
                             .substring(multipleOf.indexOf('.'), multipleOf.length())
@@ -706,241 +940,181 @@ public class VariableProperties {
                     Integer integer = multipleOf
                             .replace(".", "")
                             .length();
-                    digits = "integer = " + integer + ", " + "fraction = " + fraction;
+                    extras().digits = "integer = " + integer + ", " + "fraction = " + fraction;
                 }
             }
         }
         if (format != null) {
             switch (format) {
                 case "string":
-                    this.type = STRING;
+                    this.type = TypeRef.of(STRING);
                     if (items != null) {
-                        String collectionPattern = LIST_TYPE;
-                        if ("set".equalsIgnoreCase(collectionType)) {
-                            collectionPattern = SET_TYPE;
-                        }
                         this.items = STRING;
-                        this.type = format(collectionPattern, STRING);
+                        this.type = TypeRef.collection(collectionType, TypeRef.of(STRING));
                         this.valid = false;
                     }
                     break;
                 case "date":
-                    this.type = LOCAL_DATE;
-                    requiredImports.add(LOCAL_DATE_IMPORT);
+                    this.type = TypeRef.of(LOCAL_DATE);
+                    getRequiredImports().add(LOCAL_DATE_IMPORT);
                     if (items != null) {
-                        String collectionPattern = LIST_TYPE;
-                        if ("set".equalsIgnoreCase(collectionType)) {
-                            collectionPattern = SET_TYPE;
-                        }
                         this.items = LOCAL_DATE;
-                        this.type = format(collectionPattern, LOCAL_DATE);
+                        this.type = TypeRef.collection(collectionType, TypeRef.of(LOCAL_DATE));
                         this.valid = false;
                     }
                     break;
                 case "date-time":
-                    this.type = OFFSET_DATE_TIME;
-                    requiredImports.add(OFFSET_DATE_TIME_IMPORT);
+                    this.type = TypeRef.of(OFFSET_DATE_TIME);
+                    getRequiredImports().add(OFFSET_DATE_TIME_IMPORT);
                     if (items != null) {
-                        String collectionPattern = LIST_TYPE;
-                        if ("set".equalsIgnoreCase(collectionType)) {
-                            collectionPattern = SET_TYPE;
-                        }
                         this.items = OFFSET_DATE_TIME;
-                        this.type = format(collectionPattern, OFFSET_DATE_TIME);
+                        this.type = TypeRef.collection(collectionType, TypeRef.of(OFFSET_DATE_TIME));
                         this.valid = false;
                     }
                     break;
                 case "local-date-time":
-                    this.type = LOCAL_DATE_TIME;
-                    requiredImports.add(LOCAL_DATE_TIME_IMPORT);
+                    this.type = TypeRef.of(LOCAL_DATE_TIME);
+                    getRequiredImports().add(LOCAL_DATE_TIME_IMPORT);
                     if (items != null) {
-                        String collectionPattern = LIST_TYPE;
-                        if ("set".equalsIgnoreCase(collectionType)) {
-                            collectionPattern = SET_TYPE;
-                        }
                         this.items = LOCAL_DATE_TIME;
-                        this.type = format(collectionPattern, LOCAL_DATE_TIME);
+                        this.type = TypeRef.collection(collectionType, TypeRef.of(LOCAL_DATE_TIME));
                         this.valid = false;
                     }
                     break;
                 case "simple-date":
-                    this.type = SIMPLE_DATE;
-                    requiredImports.add(SIMPLE_DATE_IMPORT);
+                    this.type = TypeRef.of(SIMPLE_DATE);
+                    getRequiredImports().add(SIMPLE_DATE_IMPORT);
                     if (items != null) {
-                        String collectionPattern = LIST_TYPE;
-                        if ("set".equalsIgnoreCase(collectionType)) {
-                            collectionPattern = SET_TYPE;
-                        }
                         this.items = SIMPLE_DATE;
-                        this.type = format(collectionPattern, SIMPLE_DATE);
+                        this.type = TypeRef.collection(collectionType, TypeRef.of(SIMPLE_DATE));
                         this.valid = false;
                     }
                     break;
                 case "int64":
                 case "long":
-                    this.type = LONG;
+                    this.type = TypeRef.of(LONG);
                     if (items != null) {
-                        String collectionPattern = LIST_TYPE;
-                        if ("set".equalsIgnoreCase(collectionType)) {
-                            collectionPattern = SET_TYPE;
-                        }
                         this.items = LONG;
-                        this.type = format(collectionPattern, LONG);
+                        this.type = TypeRef.collection(collectionType, TypeRef.of(LONG));
                         this.valid = false;
                     }
-                    if (digits != null) {
+                    if (getDigits() != null) {
                         if (isJakarta()) {
-                            requiredImports.add(JAKARTA_DIGITS_IMPORT);
+                            getRequiredImports().add(JAKARTA_DIGITS_IMPORT);
                         } else {
-                            requiredImports.add(JAVAX_DIGITS_IMPORT);
+                            getRequiredImports().add(JAVAX_DIGITS_IMPORT);
                         }
-                        annotationSet.add(format(DIGITS_ANNOTATION, digits));
+                        getAnnotationSet().add(format(DIGITS_ANNOTATION, getDigits()));
                     }
                     break;
                 case "int32":
                 case "integer":
-                    this.type = INTEGER;
+                    this.type = TypeRef.of(INTEGER);
                     if (items != null) {
-                        String collectionPattern = LIST_TYPE;
-                        if ("set".equalsIgnoreCase(collectionType)) {
-                            collectionPattern = SET_TYPE;
-                        }
                         this.items = INTEGER;
-                        this.type = format(collectionPattern, INTEGER);
+                        this.type = TypeRef.collection(collectionType, TypeRef.of(INTEGER));
                         this.valid = false;
                     }
-                    if (digits != null) {
+                    if (getDigits() != null) {
                         if (isJakarta()) {
-                            requiredImports.add(JAKARTA_DIGITS_IMPORT);
+                            getRequiredImports().add(JAKARTA_DIGITS_IMPORT);
                         } else {
-                            requiredImports.add(JAVAX_DIGITS_IMPORT);
+                            getRequiredImports().add(JAVAX_DIGITS_IMPORT);
                         }
-                        annotationSet.add(format(DIGITS_ANNOTATION, digits));
+                        getAnnotationSet().add(format(DIGITS_ANNOTATION, getDigits()));
                     }
                     break;
                 case "byte":
-                    this.type = BYTE;
+                    this.type = TypeRef.of(BYTE);
                     if (items != null) {
-                        String collectionPattern = LIST_TYPE;
-                        if ("set".equalsIgnoreCase(collectionType)) {
-                            collectionPattern = SET_TYPE;
-                        }
                         this.items = BYTE;
-                        this.type = format(collectionPattern, BYTE);
+                        this.type = TypeRef.collection(collectionType, TypeRef.of(BYTE));
                         this.valid = false;
                     }
-                    if (digits != null) {
+                    if (getDigits() != null) {
                         if (isJakarta()) {
-                            requiredImports.add(JAKARTA_DIGITS_IMPORT);
+                            getRequiredImports().add(JAKARTA_DIGITS_IMPORT);
                         } else {
-                            requiredImports.add(JAVAX_DIGITS_IMPORT);
+                            getRequiredImports().add(JAVAX_DIGITS_IMPORT);
                         }
-                        annotationSet.add(format(DIGITS_ANNOTATION, digits));
+                        getAnnotationSet().add(format(DIGITS_ANNOTATION, getDigits()));
                     }
                     break;
                 case "double":
-                    this.type = DOUBLE;
+                    this.type = TypeRef.of(DOUBLE);
                     if (items != null) {
-                        String collectionPattern = LIST_TYPE;
-                        if ("set".equalsIgnoreCase(collectionType)) {
-                            collectionPattern = SET_TYPE;
-                        }
                         this.items = DOUBLE;
-                        this.type = format(collectionPattern, DOUBLE);
+                        this.type = TypeRef.collection(collectionType, TypeRef.of(DOUBLE));
                         this.valid = false;
                     }
                     break;
                 case "float":
-                    this.type = FLOAT;
+                    this.type = TypeRef.of(FLOAT);
                     if (items != null) {
-                        String collectionPattern = LIST_TYPE;
-                        if ("set".equalsIgnoreCase(collectionType)) {
-                            collectionPattern = SET_TYPE;
-                        }
                         this.items = FLOAT;
-                        this.type = format(collectionPattern, FLOAT);
+                        this.type = TypeRef.collection(collectionType, TypeRef.of(FLOAT));
                         this.valid = false;
                     }
                     break;
                 case "uuid":
-                    this.type = UUID;
-                    requiredImports.add(UUID_IMPORT);
+                    this.type = TypeRef.of(UUID);
+                    getRequiredImports().add(UUID_IMPORT);
                     if (items != null) {
-                        String collectionPattern = LIST_TYPE;
-                        if ("set".equalsIgnoreCase(collectionType)) {
-                            collectionPattern = SET_TYPE;
-                        }
                         this.items = UUID;
-                        this.type = format(collectionPattern, UUID);
+                        this.type = TypeRef.collection(collectionType, TypeRef.of(UUID));
                         this.valid = false;
                     }
                     break;
                 case "uri":
-                    this.type = URI;
-                    requiredImports.add(URI_IMPORT);
+                    this.type = TypeRef.of(URI);
+                    getRequiredImports().add(URI_IMPORT);
                     if (items != null) {
-                        String collectionPattern = LIST_TYPE;
-                        if ("set".equalsIgnoreCase(collectionType)) {
-                            collectionPattern = SET_TYPE;
-                        }
                         this.items = URI;
-                        this.type = format(collectionPattern, URI);
+                        this.type = TypeRef.collection(collectionType, TypeRef.of(URI));
                         this.valid = false;
                     }
                     break;
                 case "big-decimal":
-                    this.type = BIG_DECIMAL;
-                    requiredImports.add(BIG_DECIMAL_IMPORT);
+                    this.type = TypeRef.of(BIG_DECIMAL);
+                    getRequiredImports().add(BIG_DECIMAL_IMPORT);
                     if (items != null) {
-                        String collectionPattern = LIST_TYPE;
-                        if ("set".equalsIgnoreCase(collectionType)) {
-                            collectionPattern = SET_TYPE;
-                        }
                         this.items = BIG_DECIMAL;
-                        this.type = format(collectionPattern, BIG_DECIMAL);
+                        this.type = TypeRef.collection(collectionType, TypeRef.of(BIG_DECIMAL));
                         this.valid = false;
                     }
-                    if (digits != null) {
+                    if (getDigits() != null) {
                         if (isJakarta()) {
-                            requiredImports.add(JAKARTA_DIGITS_IMPORT);
+                            getRequiredImports().add(JAKARTA_DIGITS_IMPORT);
                         } else {
-                            requiredImports.add(JAVAX_DIGITS_IMPORT);
+                            getRequiredImports().add(JAVAX_DIGITS_IMPORT);
                         }
-                        annotationSet.add(format(DIGITS_ANNOTATION, digits));
+                        getAnnotationSet().add(format(DIGITS_ANNOTATION, getDigits()));
                     }
                     break;
                 case "big-integer":
-                    this.type = BIG_INTEGER;
-                    requiredImports.add(BIG_INTEGER_IMPORT);
+                    this.type = TypeRef.of(BIG_INTEGER);
+                    getRequiredImports().add(BIG_INTEGER_IMPORT);
                     if (items != null) {
-                        String collectionPattern = LIST_TYPE;
-                        if ("set".equalsIgnoreCase(collectionType)) {
-                            collectionPattern = SET_TYPE;
-                        }
                         this.items = BIG_INTEGER;
-                        this.type = format(collectionPattern, BIG_INTEGER);
+                        this.type = TypeRef.collection(collectionType, TypeRef.of(BIG_INTEGER));
                         this.valid = false;
                     }
-                    if (digits != null) {
+                    if (getDigits() != null) {
                         if (isJakarta()) {
-                            requiredImports.add(JAKARTA_DIGITS_IMPORT);
+                            getRequiredImports().add(JAKARTA_DIGITS_IMPORT);
                         } else {
-                            requiredImports.add(JAVAX_DIGITS_IMPORT);
+                            getRequiredImports().add(JAVAX_DIGITS_IMPORT);
                         }
-                        annotationSet.add(format(DIGITS_ANNOTATION, digits));
+                        getAnnotationSet().add(format(DIGITS_ANNOTATION, getDigits()));
                     }
                     break;
                 case "email":
-                    this.type = STRING;
-                    requiredImports.add(isJakarta() ? JAKARTA_EMAIL_IMPORT : JAVAX_EMAIL_IMPORT);
-                    annotationSet.add(EMAIL_ANNOTATION);
+                    this.type = TypeRef.of(STRING);
+                    getRequiredImports().add(isJakarta() ? JAKARTA_EMAIL_IMPORT : JAVAX_EMAIL_IMPORT);
+                    getAnnotationSet().add(EMAIL_ANNOTATION);
                     if (items != null) {
-                        String collectionPattern = LIST_TYPE;
-                        if ("set".equalsIgnoreCase(collectionType)) {
-                            collectionPattern = SET_TYPE;
-                        }
                         this.items = STRING;
-                        this.type = format(collectionPattern, STRING);
+                        this.type = TypeRef.collection(collectionType, TypeRef.of(STRING));
                         this.valid = false;
                     }
                     break;
@@ -957,14 +1131,16 @@ public class VariableProperties {
     public void setPattern(String pattern) {
         if (pattern != null) {
             String escapedPattern = pattern.replace("\\", "\\\\");
-            annotationSet.add(format(PATTERN_ANNOTATION, escapedPattern));
+            getAnnotationSet().add(format(PATTERN_ANNOTATION, escapedPattern));
             if (isJakarta()) {
-                requiredImports.add(JAKARTA_JAVA_TYPES_REQUIRED_IMPORTS.get(substringBefore(PATTERN_ANNOTATION, "(")));
+                getRequiredImports().add(JAKARTA_JAVA_TYPES_REQUIRED_IMPORTS.get(substringBefore(PATTERN_ANNOTATION, "(")));
             } else {
-                requiredImports.add(JAVAX_JAVA_TYPES_REQUIRED_IMPORTS.get(substringBefore(PATTERN_ANNOTATION, "(")));
+                getRequiredImports().add(JAVAX_JAVA_TYPES_REQUIRED_IMPORTS.get(substringBefore(PATTERN_ANNOTATION, "(")));
             }
         }
-        this.pattern = pattern;
+        if (pattern != null || extras != null) {
+            extras().pattern = pattern;
+        }
     }
 
     /**
@@ -1001,10 +1177,10 @@ public class VariableProperties {
      */
     public void setItems(String items) {
         if (items != null && "list".equals(collectionType)) {
-            requiredImports.add(LIST_IMPORT);
+            getRequiredImports().add(LIST_IMPORT);
         }
         if (items != null && "set".equals(collectionType)) {
-            requiredImports.add(SET_IMPORT);
+            getRequiredImports().add(SET_IMPORT);
         }
         this.items = items;
     }
@@ -1017,19 +1193,21 @@ public class VariableProperties {
      */
     public void setMinMaxLength(String min, String max) {
         if (isNoneEmpty(min) || isNoneEmpty(max)) {
-            annotationSet.add(generateSizeAnnotation(min, max));
+            getAnnotationSet().add(generateSizeAnnotation(min, max));
             if (isJakarta()) {
-                requiredImports.add(
+                getRequiredImports().add(
                         JAKARTA_JAVA_TYPES_REQUIRED_IMPORTS.get(substringBefore(
                                 SIZE_MIN_MAX_ANNOTATION, "(")));
             } else {
-                requiredImports.add(
+                getRequiredImports().add(
                         JAVAX_JAVA_TYPES_REQUIRED_IMPORTS.get(substringBefore(
                                 SIZE_MIN_MAX_ANNOTATION, "(")));
             }
         }
-        this.minLength = min;
-        this.maxLength = max;
+        if (min != null || max != null || extras != null) {
+            extras().minLength = min;
+            extras().maxLength = max;
+        }
     }
 
     /**
@@ -1038,6 +1216,7 @@ public class VariableProperties {
      * @return annotation strings
      */
     public Set<String> getAnnotationSet() {
+        annotationSet = modifiable(annotationSet);
         return annotationSet;
     }
 
@@ -1047,6 +1226,7 @@ public class VariableProperties {
      * @return imports
      */
     public Set<String> getRequiredImports() {
+        requiredImports = modifiable(requiredImports);
         return requiredImports;
     }
 
@@ -1057,7 +1237,7 @@ public class VariableProperties {
      */
     public void addRequiredImports(String preparedImport) {
         if (preparedImport != null) {
-            requiredImports.add(preparedImport);
+            getRequiredImports().add(preparedImport);
         }
     }
 
@@ -1067,7 +1247,7 @@ public class VariableProperties {
      * @return title or {@code null}
      */
     public String getTitle() {
-        return title;
+        return extras == null ? null : extras.title;
     }
 
     /**
@@ -1076,7 +1256,9 @@ public class VariableProperties {
      * @param title field title
      */
     public void setTitle(String title) {
-        this.title = title;
+        if (title != null || extras != null) {
+            extras().title = title;
+        }
     }
 
     /**
@@ -1085,7 +1267,7 @@ public class VariableProperties {
      * @return default expression or {@code null}
      */
     public String getDefaultProperty() {
-        return defaultProperty;
+        return extras == null ? null : extras.defaultProperty;
     }
 
     /**
@@ -1094,7 +1276,9 @@ public class VariableProperties {
      * @param defaultProperty default expression
      */
     public void setDefaultProperty(String defaultProperty) {
-        this.defaultProperty = defaultProperty;
+        if (defaultProperty != null || extras != null) {
+            extras().defaultProperty = defaultProperty;
+        }
     }
 
     /**
@@ -1121,7 +1305,9 @@ public class VariableProperties {
      * @param multipleOf multiple-of constraint
      */
     public void setMultipleOf(String multipleOf) {
-        this.multipleOf = multipleOf;
+        if (multipleOf != null || extras != null) {
+            extras().multipleOf = multipleOf;
+        }
     }
 
     /**
@@ -1142,7 +1328,7 @@ public class VariableProperties {
      * @return original name or {@code null}
      */
     public String getMultipleOf() {
-        return multipleOf;
+        return extras == null ? null : extras.multipleOf;
     }
 
     /**
@@ -1158,6 +1344,17 @@ public class VariableProperties {
      */
     public String toWrite() {
         StringBuilder stringBuilder = new StringBuilder();
+        appendTo(stringBuilder);
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Appends the full field declaration (see {@link #toWrite()}) to {@code stringBuilder},
+     * so generators can render fields straight into the class body.
+     *
+     * @param stringBuilder target builder
+     */
+    public void appendTo(StringBuilder stringBuilder) {
         generateJavaDoc(stringBuilder, getDescription(), getExample());
         
         // Add field-level annotations from x-field-annotation
@@ -1170,7 +1367,7 @@ public class VariableProperties {
                         .append(TABULATION)
                         .append("@")
                         .append(simpleName);
-                requiredImports.add(annotation.endsWith(";") ? annotation : annotation + ";");
+                getRequiredImports().add(annotation.endsWith(";") ? annotation : annotation + ";");
             }
         }
         
@@ -1179,30 +1376,32 @@ public class VariableProperties {
             stringBuilder.append(lineSeparator())
                     .append(TABULATION)
                     .append(JSON_TYPE_ID_ANNOTATION);
-            requiredImports.add(JSON_TYPE_ID_IMPORT);
+            getRequiredImports().add(JSON_TYPE_ID_IMPORT);
         }
         
-        if (this.nullableAnnotation != null && !this.nullableAnnotation.trim().isEmpty()) {
-            boolean hasNonNullAnnotation = getAnnotationSet().stream()
+        String nullableAnnotation = settings.nullableAnnotation();
+        if (nullableAnnotation != null && !nullableAnnotation.trim().isEmpty()) {
+            boolean hasNonNullAnnotation = annotationSet.stream()
                     .anyMatch(a -> a.startsWith("@NotNull") || a.startsWith("@NotEmpty") || a.startsWith("@NotBlank"));
             if (!hasNonNullAnnotation) {
-                String simpleName = this.nullableAnnotation.substring(this.nullableAnnotation.lastIndexOf('.') + 1);
+                String simpleName = nullableAnnotation.substring(nullableAnnotation.lastIndexOf('.') + 1);
                 stringBuilder.append(lineSeparator())
                         .append(TABULATION)
                         .append("@").append(simpleName);
-                getRequiredImports().add(this.nullableAnnotation + ";");
+                getRequiredImports().add(nullableAnnotation + ";");
             }
         }
         Comparator<String> stringComparator = (a, b) -> Integer.compare(a.length(), b.length());
-        getAnnotationSet().stream().sorted(stringComparator).forEach(annotation -> {
+        annotationSet.stream().sorted(stringComparator).forEach(annotation -> {
             stringBuilder.append(lineSeparator())
                     .append(TABULATION)
                     .append(annotation);
         });
 
+        String defaultProperty = getDefaultProperty();
         if (defaultProperty != null) {
             if (defaultProperty.equals("new")) {
-                switch (type) {
+                switch (getType()) {
                     case SIMPLE_DATE:
                         defaultProperty = "new Date()";
                         break;
@@ -1211,7 +1410,7 @@ public class VariableProperties {
                         break;
                 }
             } else {
-                switch (type) {
+                switch (getType()) {
                     case UUID:
                         defaultProperty = "UUID.fromString(" + "\"" + defaultProperty + "\"" + ")";
                         break;
@@ -1221,51 +1420,77 @@ public class VariableProperties {
                         break;
                 }
             }
+            extras.defaultProperty = defaultProperty;
             String dvTemplate = isFinal() ? FIELD_FINAL_WITH_DEFAULT_VALUE : FIELD_WITH_DEFAULT_VALUE;
             stringBuilder.append(lineSeparator())
                     .append(format(dvTemplate, getType(), getName(), getDefaultProperty()));
-            return stringBuilder.toString();
+            return;
         }
 
+        String realisation = getRealisation();
         if (realisation != null) {
-            if (type.startsWith("List")) {
+            if (type.isList()) {
                 String realTemplate = isFinal() ? FIELD_FINAL_WITH_DEFAULT_VALUE : FIELD_WITH_DEFAULT_VALUE;
                 switch (realisation) {
                     case "ArrayList":
-                        return stringBuilder.append(lineSeparator())
-                                .append(format(realTemplate, getType(), getName(), ARRAY_LIST_REALISATION)).toString();
+                        stringBuilder.append(lineSeparator())
+                                .append(format(realTemplate, getType(), getName(), ARRAY_LIST_REALISATION));
+                        return;
                     case "LinkedList":
-                        return stringBuilder.append(lineSeparator())
-                                .append(format(realTemplate, getType(), getName(), LINKED_LIST_REALISATION)).toString();
+                        stringBuilder.append(lineSeparator())
+                                .append(format(realTemplate, getType(), getName(), LINKED_LIST_REALISATION));
+                        return;
                 }
             }
-            if (type.startsWith("Set")) {
+            if (type.isSet()) {
                 String realTemplate = isFinal() ? FIELD_FINAL_WITH_DEFAULT_VALUE : FIELD_WITH_DEFAULT_VALUE;
                 switch (realisation) {
                     case "HashSet":
-                        return stringBuilder.append(lineSeparator())
-                                .append(format(realTemplate, getType(), getName(), HASH_SET_REALISATION)).toString();
+                        stringBuilder.append(lineSeparator())
+                                .append(format(realTemplate, getType(), getName(), HASH_SET_REALISATION));
+                        return;
                 }
             }
-            if (type.startsWith("Map")) {
+            if (type.isMap()) {
                 String realTemplate = isFinal() ? FIELD_FINAL_WITH_DEFAULT_VALUE : FIELD_WITH_DEFAULT_VALUE;
                 switch (realisation) {
                     case "HashMap":
-                        return stringBuilder.append(lineSeparator())
-                                .append(format(realTemplate, getType(), getName(), HASH_MAP_REALISATION)).toString();
+                        stringBuilder.append(lineSeparator())
+                                .append(format(realTemplate, getType(), getName(), HASH_MAP_REALISATION));
+                        return;
                     case "LinkedHashMap":
-                        return stringBuilder.append(lineSeparator())
-                                .append(format(realTemplate, getType(), getName(), LINKED_HASH_MAP_REALISATION)).toString();
+                        stringBuilder.append(lineSeparator())
+                                .append(format(realTemplate, getType(), getName(), LINKED_HASH_MAP_REALISATION));
+                        return;
                 }
             }
         }
 
         if (isFinal()) {
-            return stringBuilder.append(lineSeparator())
-                    .append(format(FIELD_FINAL, getType(), getName())).toString();
+            stringBuilder.append(lineSeparator())
+                    .append(format(FIELD_FINAL, getType(), getName()));
+            return;
         }
-        return stringBuilder.append(lineSeparator())
-                .append(format(FIELD, getType(), getName())).toString();
+        stringBuilder.append(lineSeparator())
+                .append(format(FIELD, getType(), getName()));
+    }
+
+    /**
+     * Returns the spec-wide settings of this field.
+     *
+     * @return settings, {@link Settings#DEFAULT} if none were set
+     */
+    public Settings getSettings() {
+        return settings;
+    }
+
+    /**
+     * Sets all spec-wide settings at once, sharing the given instance.
+     *
+     * @param settings settings of the specification, {@code null} for {@link Settings#DEFAULT}
+     */
+    public void setSettings(Settings settings) {
+        this.settings = settings == null ? Settings.DEFAULT : settings;
     }
 
     /**
@@ -1274,17 +1499,17 @@ public class VariableProperties {
      * @return validation API (JAVAX or JAKARTA) or {@code null}
      */
     public ValidationApi getValidationApi() {
-        return validationApi;
+        return settings.validationApi();
     }
 
     /**
      * Sets the validation API namespace.
-     * When set, takes precedence over the legacy {@link #springBootVersion} field.
+     * When set, takes precedence over the legacy {@link #getSpringBootVersion()} heuristic.
      *
      * @param validationApi JAVAX or JAKARTA
      */
     public void setValidationApi(ValidationApi validationApi) {
-        this.validationApi = validationApi;
+        settings = settings.withValidationApi(validationApi);
     }
 
     /**
@@ -1295,7 +1520,7 @@ public class VariableProperties {
      */
     @Deprecated
     public String getSpringBootVersion() {
-        return springBootVersion;
+        return settings.springBootVersion();
     }
 
     /**
@@ -1306,6 +1531,6 @@ public class VariableProperties {
      */
     @Deprecated
     public void setSpringBootVersion(String springBootVersion) {
-        this.springBootVersion = springBootVersion;
+        settings = settings.withSpringBootVersion(springBootVersion);
     }
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package ru.yojo.codegen.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event: rendering of the Java source code of a single class.
+ *
+ * @author Vladimir Morozkin (TG @vmorozkin)
+ */
+@Name("ru.yojo.CodeGenerate")
+@Label("Code Generate")
+@Category({"Yojo", "Generator"})
+@Description("Rendering of the Java source of a schema or message")
+@StackTrace(false)
+public class CodeGenerateEvent extends Event {
+
+    @Label("Class Name")
+    String className;
+
+    @Label("Kind")
+    String kind;
+
+    @Label("Characters")
+    int characters;
+
+    /**
+     * Commits the event if it is enabled and passes the threshold of the current recording.
+     *
+     * @param className  generated class name
+     * @param kind       {@link SchemaMapEvent#SCHEMA} or {@link SchemaMapEvent#MESSAGE}
+     * @param characters length of the generated source
+     */
+    public void finish(String className, String kind, int characters) {
+        end();
+        if (shouldCommit()) {
+            this.className = className;
+            this.kind = kind;
+            this.characters = characters;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package ru.yojo.codegen.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.nio.file.Path;
+
+/**
+ * Flight Recorder event: loading of an external {@code $ref} document (from disk or from the document cache).
+ *
+ * @author Vladimir Morozkin (TG @vmorozkin)
+ */
+@Name("ru.yojo.ExternalRefLoad")
+@Label("External Ref Load")
+@Category({"Yojo", "Generator"})
+@Description("Loading of an external $ref document")
+@StackTrace(false)
+public class ExternalRefLoadEvent extends Event {
+
+    @Label("Path")
+    String path;
+
+    @Label("Size")
+    @DataAmount
+    long bytes;
+
+    /**
+     * Commits the event if it is enabled and passes the threshold of the current recording.
+     *
+     * The file size is only looked up for committed events.
+     *
+     * @param path absolute path of the external file
+     */
+    public void finish(Path path) {
+        end();
+        if (shouldCommit()) {
+            this.path = path.toString();
+            this.bytes = path.toFile().length();
+            commit();
+        }
+    }
+}
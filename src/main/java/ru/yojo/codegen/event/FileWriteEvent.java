@@ -0,0 +1,52 @@
+package ru.yojo.codegen.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.nio.file.Path;
+
+/**
+ * Flight Recorder event: writing of a generated file (or comparing it with an up-to-date copy).
+ *
+ * @author Vladimir Morozkin (TG @vmorozkin)
+ */
+@Name("ru.yojo.FileWrite")
+@Label("File Write")
+@Category({"Yojo", "Generator"})
+@Description("Writing of a generated Java file")
+@StackTrace(false)
+public class FileWriteEvent extends Event {
+
+    @Label("Path")
+    String path;
+
+    @Label("Size")
+    @DataAmount
+    long bytes;
+
+    @Label("Written")
+    @Description("false if the file was left untouched because its content was up to date")
+    boolean written;
+
+    /**
+     * Commits the event if it is enabled and passes the threshold of the current recording.
+     *
+     * @param path    target file
+     * @param bytes   content size
+     * @param written {@code false} if the file was left unchanged
+     */
+    public void finish(Path path, long bytes, boolean written) {
+        end();
+        if (shouldCommit()) {
+            this.path = path.toString();
+            this.bytes = bytes;
+            this.written = written;
+            commit();
+        }
+    }
+}
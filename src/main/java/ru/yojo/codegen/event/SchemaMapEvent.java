@@ -0,0 +1,62 @@
+package ru.yojo.codegen.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event: mapping of a single schema, inner schema or message to the domain model.
+ *
+ * @author Vladimir Morozkin (TG @vmorozkin)
+ */
+@Name("ru.yojo.SchemaMap")
+@Label("Schema Map")
+@Category({"Yojo", "Generator"})
+@Description("Mapping of a schema or message to the domain model")
+@StackTrace(false)
+public class SchemaMapEvent extends Event {
+
+    /**
+     * Kind of a top-level schema.
+     */
+    public static final String SCHEMA = "schema";
+
+    /**
+     * Kind of an inner schema extracted from an inline object.
+     */
+    public static final String INNER_SCHEMA = "inner schema";
+
+    /**
+     * Kind of a message.
+     */
+    public static final String MESSAGE = "message";
+
+    @Label("Name")
+    String schemaName;
+
+    @Label("Kind")
+    String kind;
+
+    @Label("Properties")
+    int propertyCount;
+
+    /**
+     * Commits the event if it is enabled and passes the threshold of the current recording.
+     *
+     * @param schemaName    schema or message name
+     * @param kind          {@link #SCHEMA}, {@link #INNER_SCHEMA} or {@link #MESSAGE}
+     * @param propertyCount number of mapped properties
+     */
+    public void finish(String schemaName, String kind, int propertyCount) {
+        end();
+        if (shouldCommit()) {
+            this.schemaName = schemaName;
+            this.kind = kind;
+            this.propertyCount = propertyCount;
+            commit();
+        }
+    }
+}
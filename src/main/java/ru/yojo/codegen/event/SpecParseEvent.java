@@ -0,0 +1,57 @@
+package ru.yojo.codegen.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.nio.file.Path;
+
+/**
+ * Flight Recorder event: parsing of a root specification, including its external {@code $ref} files.
+ * <p>
+ * Usage: {@code begin()} before parsing, {@link #finish} afterwards. When recording is off,
+ * {@code shouldCommit()} is {@code false} and the event is never populated.
+ *
+ * @author Vladimir Morozkin (TG @vmorozkin)
+ */
+@Name("ru.yojo.SpecParse")
+@Label("Specification Parse")
+@Category({"Yojo", "Generator"})
+@Description("Parsing of a root AsyncAPI specification")
+@StackTrace(false)
+public class SpecParseEvent extends Event {
+
+    @Label("Specification File")
+    String specFile;
+
+    @Label("Schemas")
+    int schemas;
+
+    @Label("Messages")
+    int messages;
+
+    @Label("External Files")
+    int externalFiles;
+
+    /**
+     * Commits the event if it is enabled and passes the threshold of the current recording.
+     *
+     * @param specFile      specification file
+     * @param schemas       collected schemas
+     * @param messages      collected messages
+     * @param externalFiles loaded external files
+     */
+    public void finish(Path specFile, int schemas, int messages, int externalFiles) {
+        end();
+        if (shouldCommit()) {
+            this.specFile = specFile.toString();
+            this.schemas = schemas;
+            this.messages = messages;
+            this.externalFiles = externalFiles;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package ru.yojo.codegen.generator;
+
+import ru.yojo.codegen.generator.sink.SourceEmitter;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Bounded producer/consumer stage that moves file output off the generating thread.
+ * <p>
+ * Files are distributed over {@code threads} lanes by target path, so all writes of one path happen on the
+ * same thread and in submission order (a class generated twice ends up with its last content, exactly as
+ * with synchronous writes). Each lane collects files into batches of up to {@link #BATCH_FILES} files or
+ * {@link #BATCH_CHARS} characters and hands them to its writer thread through a queue of
+ * {@link #QUEUE_BATCHES} batches. When a queue is full the producer blocks: this backpressure keeps the
+ * amount of pending content bounded regardless of the specification size.
+ * <p>
+ * The first write failure (including an {@link Error}) is kept, rethrown by the next {@link #submit} and by
+ * {@link #await()}; the writer threads keep draining their queues, so the producer never blocks on a dead lane.
+ * Not thread-safe for producers: one generating thread per stage.
+ *
+ * @author Vladimir Morozkin (TG @vmorozkin)
+ */
+class AsyncWriteStage {
+
+    /**
+     * Maximum number of files per batch.
+     */
+    static final int BATCH_FILES = 32;
+
+    /**
+     * Maximum total content length (characters) per batch.
+     */
+    static final int BATCH_CHARS = 256 * 1024;
+
+    /**
+     * Capacity of each lane's queue, in batches.
+     */
+    static final int QUEUE_BATCHES = 4;
+
+    private static final List<Item> END = List.of();
+
+    /**
+     * One pending file.
+     *
+     * @param targetFile   absolute target path
+     * @param relativePath path relative to the output directory
+     * @param fileName     class name (for logging)
+     * @param content      Java source code
+     * @param outcome      receives the outcome log line when it is logged by the generating thread,
+     *                     {@code null} to log it on the writer thread
+     */
+    record Item(Path targetFile, String relativePath, String fileName, SourceEmitter content,
+                AtomicReference<String> outcome) {
+    }
+
+    private final Lane[] lanes;
+    private final Consumer<Item> store;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private boolean finished;
+
+    /**
+     * Starts the writer threads.
+     *
+     * @param threads number of writer threads (lanes)
+     * @param store   performs the actual write of one file
+     */
+    AsyncWriteStage(int threads, Consumer<Item> store) {
+        this.store = store;
+        this.lanes = new Lane[Math.max(1, threads)];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new Lane(i);
+            lanes[i].thread.start();
+        }
+    }
+
+    /**
+     * Queues one file; blocks while the lane's queue is full.
+     *
+     * @param item file to write
+     * @throws RuntimeException if an earlier write failed
+     * @throws Error if an earlier write failed with an error
+     * @throws IllegalStateException if the stage has already finished
+     */
+    void submit(Item item) {
+        if (finished) {
+            throw new IllegalStateException("Write stage is already finished");
+        }
+        rethrowFailure();
+        Lane lane = lanes[Math.floorMod(item.targetFile().hashCode(), lanes.length)];
+        lane.batch.add(item);
+        lane.batchChars += item.content().length();
+        if (lane.batch.size() >= BATCH_FILES || lane.batchChars >= BATCH_CHARS) {
+            lane.dispatch();
+        }
+    }
+
+    /**
+     * Flushes partially filled batches, waits until every queued file is written and stops the writer threads.
+     * Subsequent calls only rethrow a write failure.
+     *
+     * @throws RuntimeException if any write failed
+     * @throws Error if a write failed with an error
+     */
+    void await() {
+        if (!finished) {
+            finished = true;
+            for (Lane lane : lanes) {
+                lane.dispatch();
+                lane.put(END);
+            }
+            for (Lane lane : lanes) {
+                try {
+                    lane.thread.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for file writes", e);
+                }
+            }
+        }
+        rethrowFailure();
+    }
+
+    private void rethrowFailure() {
+        Throwable e = failure.get();
+        if (e instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (e instanceof Error error) {
+            throw error;
+        }
+        if (e != null) {
+            throw new IllegalStateException("File write failed", e);
+        }
+    }
+
+    /**
+     * One writer thread with its queue and the batch currently being filled by the producer.
+     */
+    private final class Lane {
+
+        private final BlockingQueue<List<Item>> queue = new ArrayBlockingQueue<>(QUEUE_BATCHES);
+        private final Thread thread;
+        private List<Item> batch = new ArrayList<>(BATCH_FILES);
+        private long batchChars;
+
+        Lane(int index) {
+            thread = new Thread(this::drain, "yojo-file-writer-" + index);
+            thread.setDaemon(true);
+        }
+
+        void dispatch() {
+            if (!batch.isEmpty()) {
+                put(batch);
+                batch = new ArrayList<>(BATCH_FILES);
+                batchChars = 0;
+            }
+        }
+
+        void put(List<Item> items) {
+            try {
+                queue.put(items);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while queueing file writes", e);
+            }
+        }
+
+        private void drain() {
+            try {
+                for (List<Item> items = queue.take(); items != END; items = queue.take()) {
+                    // After a failure keep draining (so the producer never blocks forever), but stop writing
+                    if (failure.get() != null) {
+                        continue;
+                    }
+                    for (Item item : items) {
+                        try {
+                            store.accept(item);
+                        } catch (Throwable e) {
+                            failure.compareAndSet(null, e);
+                            break;
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                failure.compareAndSet(null, new IllegalStateException("File writer interrupted", e));
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package ru.yojo.codegen.generator;
+
+import ru.yojo.codegen.generator.sink.SourceEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Runs {@link ru.yojo.codegen.generator.code.SchemaCodeGenerator} / {@link ru.yojo.codegen.generator.code.MessageCodeGenerator}
+ * over the mapped model of one specification, sequentially or on a {@link ForkJoinPool}.
+ * <p>
+ * Code generators render from copies of the mapped fields and never mutate the model, so every model can be
+ * rendered independently. In parallel mode at most {@link #IN_FLIGHT_PER_THREAD} models per pool thread are
+ * rendered ahead of the consumer: the next model is submitted as each result is consumed, so the rendered but not
+ * yet written sources stay bounded regardless of the specification size. The results are handed to the consumer
+ * on the calling thread and in model order, as soon as each prefix is ready.
+ * Writing, logging and statistics therefore happen exactly as in sequential mode, and the output is identical
+ * (including a class generated twice, whose last content wins).
+ * <p>
+ * The first generation failure (in model order) is rethrown; remaining tasks are cancelled.
+ * Not thread-safe: one calling thread per stage.
+ *
+ * @author Vladimir Morozkin (TG @vmorozkin)
+ */
+class CodeGenerationStage implements AutoCloseable {
+
+    /**
+     * Number of models per pool thread that may be submitted ahead of the one being consumed.
+     */
+    static final int IN_FLIGHT_PER_THREAD = 4;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Receives generated sources in model order.
+     *
+     * @param <T> model type
+     */
+    @FunctionalInterface
+    interface SourceConsumer<T> {
+
+        /**
+         * Accepts the source of one model.
+         *
+         * @param model           rendered model
+         * @param source          rendered Java source, not yet assembled into a string
+         * @param generationNanos time spent rendering this model
+         */
+        void accept(T model, SourceEmitter source, long generationNanos);
+    }
+
+    /**
+     * Source rendered by a pool task.
+     *
+     * @param source rendered Java source
+     * @param nanos  rendering time
+     */
+    private record Generated(SourceEmitter source, long nanos) {
+    }
+
+    /**
+     * Creates the stage; a pool is started only for more than one thread.
+     *
+     * @param threads number of code generation threads; values below {@code 2} render on the calling thread
+     */
+    CodeGenerationStage(int threads) {
+        if (threads > 1) {
+            AtomicInteger threadCounter = new AtomicInteger();
+            this.pool = new ForkJoinPool(threads, forkJoinPool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+                thread.setName("yojo-codegen-" + threadCounter.incrementAndGet());
+                return thread;
+            }, null, false);
+        } else {
+            this.pool = null;
+        }
+    }
+
+    /**
+     * Renders every model and passes the sources to {@code consumer} in model order.
+     *
+     * @param models    mapped models
+     * @param generator renders one model
+     * @param consumer  receives the sources on the calling thread
+     * @param <T>       model type
+     * @throws RuntimeException if rendering or the consumer fails
+     */
+    <T> void generate(List<T> models,
+                      Function<? super T, ? extends SourceEmitter> generator,
+                      SourceConsumer<? super T> consumer) {
+        if (pool == null || models.size() < 2) {
+            for (T model : models) {
+                long start = System.nanoTime();
+                SourceEmitter source = generator.apply(model);
+                consumer.accept(model, source, System.nanoTime() - start);
+            }
+            return;
+        }
+        int window = pool.getParallelism() * IN_FLIGHT_PER_THREAD;
+        List<ForkJoinTask<Generated>> tasks = new ArrayList<>(models.size());
+        try {
+            for (int i = 0; i < models.size(); i++) {
+                while (tasks.size() < models.size() && tasks.size() < i + window) {
+                    T model = models.get(tasks.size());
+                    tasks.add(pool.submit(() -> {
+                        long start = System.nanoTime();
+                        SourceEmitter source = generator.apply(model);
+                        return new Generated(source, System.nanoTime() - start);
+                    }));
+                }
+                Generated generated = join(tasks.get(i));
+                // Release the rendered source once consumed
+                tasks.set(i, null);
+                consumer.accept(models.get(i), generated.source(), generated.nanos());
+            }
+        } finally {
+            for (ForkJoinTask<Generated> task : tasks) {
+                if (task != null) {
+                    task.cancel(false);
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops the pool threads.
+     */
+    @Override
+    public void close() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    private static Generated join(ForkJoinTask<Generated> task) {
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Code generation failed", cause);
+        } catch (CancellationException e) {
+            throw new IllegalStateException("Code generation was cancelled", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating code", e);
+        }
+    }
+}
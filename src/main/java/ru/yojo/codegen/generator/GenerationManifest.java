@@ -0,0 +1,254 @@
+package ru.yojo.codegen.generator;
+
+import ru.yojo.codegen.util.Logger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Per-specification build manifest stored inside the output directory.
+ * <p>
+ * Records a content fingerprint of everything that influences the generated code:
+ * <ul>
+ *   <li>the root specification file</li>
+ *   <li>every external file reached through {@code $ref}</li>
+ *   <li>the effective generation settings (Lombok, validation API, packages, ...)</li>
+ * </ul>
+ * When the fingerprint recomputed on the next run is unchanged, the whole parse/map/generate
+ * pipeline can be skipped for that specification.
+ * <p>
+ * It also lists every file generated for the specification (relative to the output directory), so
+ * that files no longer produced by the next run can be pruned without wiping the whole directory.
+ * <p>
+ * The manifest is a plain text file ({@code .yojo/<specName>.manifest}) with one {@code key=value} per line.
+ *
+ * @author Vladimir Morozkin (TG @vmorozkin)
+ */
+public class GenerationManifest {
+
+    private static final Logger LOG = new Logger(GenerationManifest.class);
+
+    /**
+     * Directory (relative to the output directory) holding manifests.
+     */
+    public static final String MANIFEST_DIRECTORY = ".yojo";
+
+    private static final String HEADER = "# YOJO generation manifest v1";
+    private static final String FINGERPRINT = "fingerprint";
+    private static final String INPUT = "input";
+    private static final String OUTPUT = "output";
+    private static final String MISSING_FILE = "<missing>";
+
+    private final String fingerprint;
+    private final List<Path> inputs;
+    private final List<String> outputs;
+
+    private GenerationManifest(String fingerprint, List<Path> inputs, List<String> outputs) {
+        this.fingerprint = fingerprint;
+        this.inputs = List.copyOf(inputs);
+        this.outputs = List.copyOf(outputs);
+    }
+
+    /**
+     * Creates a manifest for the given settings, input and output files, hashing the current input contents.
+     *
+     * @param settings   stable textual description of the effective generation settings,
+     *                   or {@code null} to record outputs only (no fingerprint)
+     * @param inputs     root spec followed by all external files it references
+     * @param outputRoot output directory of the specification
+     * @param outputs    generated files (absolute or relative to {@code outputRoot})
+     * @return new manifest
+     * @throws IOException if an input file cannot be read
+     */
+    public static GenerationManifest create(String settings,
+                                            Collection<Path> inputs,
+                                            Path outputRoot,
+                                            Collection<Path> outputs) throws IOException {
+        List<Path> normalized = new ArrayList<>(inputs.size());
+        for (Path input : inputs) {
+            normalized.add(input.toAbsolutePath().normalize());
+        }
+        Path root = outputRoot.toAbsolutePath().normalize();
+        List<String> relativeOutputs = new ArrayList<>(outputs.size());
+        for (Path output : outputs) {
+            relativeOutputs.add(root.relativize(root.resolve(output).normalize()).toString().replace('\\', '/'));
+        }
+        Collections.sort(relativeOutputs);
+        String fingerprint = settings == null ? null : fingerprint(settings, normalized);
+        return new GenerationManifest(fingerprint, normalized, relativeOutputs);
+    }
+
+    /**
+     * Resolves the manifest location for a specification.
+     *
+     * @param outputDirectory output directory of the specification
+     * @param specName        specification file name (e.g. {@code test.yaml})
+     * @return manifest path
+     */
+    public static Path location(String outputDirectory, String specName) {
+        return Path.of(outputDirectory).resolve(MANIFEST_DIRECTORY).resolve(specName + ".manifest");
+    }
+
+    /**
+     * Reads a previously written manifest.
+     *
+     * @param manifestPath manifest location
+     * @return manifest, or {@code null} if absent or unreadable (treated as "needs regeneration", nothing to prune)
+     */
+    public static GenerationManifest read(Path manifestPath) {
+        if (!Files.isRegularFile(manifestPath)) {
+            return null;
+        }
+        try {
+            String storedFingerprint = null;
+            List<Path> storedInputs = new ArrayList<>();
+            List<String> storedOutputs = new ArrayList<>();
+            for (String line : Files.readAllLines(manifestPath, StandardCharsets.UTF_8)) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                int eq = line.indexOf('=');
+                if (eq < 0) {
+                    continue;
+                }
+                String key = line.substring(0, eq);
+                String value = line.substring(eq + 1);
+                if (FINGERPRINT.equals(key)) {
+                    storedFingerprint = value;
+                } else if (INPUT.equals(key)) {
+                    storedInputs.add(Path.of(value));
+                } else if (OUTPUT.equals(key)) {
+                    storedOutputs.add(value);
+                }
+            }
+            return new GenerationManifest(storedFingerprint, storedInputs, storedOutputs);
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Ignoring unreadable manifest " + manifestPath + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes this manifest, creating parent directories when needed.
+     *
+     * @param manifestPath manifest location
+     * @throws IOException if the manifest cannot be written
+     */
+    public void write(Path manifestPath) throws IOException {
+        StringBuilder content = new StringBuilder(HEADER).append('\n');
+        if (fingerprint != null) {
+            content.append(FINGERPRINT).append('=').append(fingerprint).append('\n');
+        }
+        for (Path input : inputs) {
+            content.append(INPUT).append('=').append(input).append('\n');
+        }
+        for (String output : outputs) {
+            content.append(OUTPUT).append('=').append(output).append('\n');
+        }
+        Files.createDirectories(manifestPath.getParent());
+        Files.writeString(manifestPath, content, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Recomputes the fingerprint over the recorded inputs and compares it with the stored one.
+     * A specification is only up to date if all previously generated files still exist.
+     *
+     * @param settings   stable textual description of the current generation settings
+     * @param outputRoot output directory of the specification
+     * @return {@code true} if neither the settings nor any recorded input changed and no output is missing
+     */
+    public boolean isUpToDate(String settings, Path outputRoot) {
+        if (fingerprint == null || inputs.isEmpty()) {
+            return false;
+        }
+        for (String output : outputs) {
+            if (!Files.isRegularFile(outputRoot.resolve(output))) {
+                return false;
+            }
+        }
+        try {
+            return fingerprint.equals(fingerprint(settings, inputs));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns the outputs recorded in this manifest that are not part of {@code current}.
+     *
+     * @param current manifest of the current run
+     * @return relative paths of files that are no longer generated
+     */
+    public List<String> staleOutputs(GenerationManifest current) {
+        Set<String> produced = new HashSet<>(current.outputs);
+        List<String> stale = new ArrayList<>();
+        for (String output : outputs) {
+            if (!produced.contains(output)) {
+                stale.add(output);
+            }
+        }
+        return stale;
+    }
+
+    /**
+     * Returns the stored fingerprint.
+     *
+     * @return hex-encoded SHA-256 fingerprint, or {@code null} if only outputs were recorded
+     */
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Returns the input files the fingerprint covers (root spec first).
+     *
+     * @return unmodifiable list of absolute paths
+     */
+    public List<Path> getInputs() {
+        return inputs;
+    }
+
+    /**
+     * Returns the generated files, relative to the output directory, sorted.
+     *
+     * @return unmodifiable list of relative paths ({@code /}-separated)
+     */
+    public List<String> getOutputs() {
+        return outputs;
+    }
+
+    private static String fingerprint(String settings, List<Path> inputs) throws IOException {
+        MessageDigest digest = sha256();
+        digest.update(settings.getBytes(StandardCharsets.UTF_8));
+        for (Path input : inputs) {
+            digest.update((byte) 0);
+            digest.update(input.toString().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            if (Files.isRegularFile(input)) {
+                digest.update(sha256().digest(Files.readAllBytes(input)));
+            } else {
+                digest.update(MISSING_FILE.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,498 @@
+package ru.yojo.codegen.generator;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Timings and counters of a {@code generateAll} run, one {@link SpecReport} per specification.
+ * <p>
+ * Every specification records the wall time of each {@link Phase}, the size of its model
+ * (schemas, inner schemas, messages, properties), file output statistics and the slowest schemas
+ * to generate. The report is returned by {@link YojoGenerator#generateAll(ru.yojo.codegen.context.YojoContext)}
+ * and, when enabled, each specification's part is also written as JSON next to its manifest
+ * ({@code .yojo/<specName>.report.json}), so generator performance can be tracked per module over time.
+ * <p>
+ * Safe for concurrent use: specifications generated in parallel add their reports independently.
+ *
+ * @author Vladimir Morozkin (TG @vmorozkin)
+ */
+public class GenerationReport {
+
+    /**
+     * Number of slowest schemas kept per specification.
+     */
+    public static final int SLOWEST_SCHEMAS_LIMIT = 10;
+
+    /**
+     * Generation pipeline phases.
+     */
+    public enum Phase {
+        /** Reading and parsing the root specification (without external files). */
+        PARSE("parse"),
+        /** Loading external {@code $ref} documents. */
+        EXTERNAL_REFS("externalRefs"),
+        /** Mapping messages to the domain model. */
+        MESSAGE_MAPPING("messageMapping"),
+        /** Mapping schemas to the domain model. */
+        SCHEMA_MAPPING("schemaMapping"),
+        /** Rendering Java source code (summed over all code generation threads). */
+        CODE_GENERATION("codeGeneration"),
+        /** Writing generated files. */
+        WRITING("writing");
+
+        private final String jsonName;
+
+        Phase(String jsonName) {
+            this.jsonName = jsonName;
+        }
+
+        /**
+         * Returns the key used for this phase in JSON output.
+         *
+         * @return JSON key
+         */
+        public String getJsonName() {
+            return jsonName;
+        }
+    }
+
+    private final List<SpecReport> specs = new CopyOnWriteArrayList<>();
+    private volatile long totalNanos;
+
+    /**
+     * Creates a new specification report and registers it in this run.
+     *
+     * @param specName specification file name
+     * @return empty specification report
+     */
+    public SpecReport startSpec(String specName) {
+        SpecReport spec = new SpecReport(specName);
+        specs.add(spec);
+        return spec;
+    }
+
+    /**
+     * Returns the reports of all processed specifications in the order they were started.
+     *
+     * @return immutable snapshot of specification reports
+     */
+    public List<SpecReport> getSpecs() {
+        return List.copyOf(specs);
+    }
+
+    /**
+     * Finds the report of a specification.
+     *
+     * @param specName specification file name
+     * @return specification report, or {@code null} if it was not processed
+     */
+    public SpecReport getSpec(String specName) {
+        for (SpecReport spec : specs) {
+            if (spec.getSpecName().equals(specName)) {
+                return spec;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the wall time of the whole run.
+     *
+     * @return total time in nanoseconds
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Sets the wall time of the whole run.
+     *
+     * @param totalNanos total time in nanoseconds
+     */
+    public void setTotalNanos(long totalNanos) {
+        this.totalNanos = totalNanos;
+    }
+
+    /**
+     * Renders the whole run as JSON.
+     *
+     * @return JSON document
+     */
+    public String toJson() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\n");
+        sb.append("  \"totalMillis\": ").append(millis(totalNanos)).append(",\n");
+        sb.append("  \"specs\": [");
+        List<SpecReport> snapshot = getSpecs();
+        for (int i = 0; i < snapshot.size(); i++) {
+            sb.append(i == 0 ? "\n" : ",\n");
+            snapshot.get(i).appendJson(sb, "    ");
+        }
+        sb.append(snapshot.isEmpty() ? "]\n" : "\n  ]\n");
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    /**
+     * Resolves the report location for a specification.
+     *
+     * @param outputDirectory output directory of the specification
+     * @param specName        specification file name (e.g. {@code test.yaml})
+     * @return report path
+     */
+    public static Path location(String outputDirectory, String specName) {
+        return Path.of(outputDirectory).resolve(GenerationManifest.MANIFEST_DIRECTORY).resolve(specName + ".report.json");
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+
+    private static void appendString(StringBuilder sb, String value) {
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        sb.append('"');
+    }
+
+    /**
+     * Time spent generating a single class.
+     *
+     * @param name  class name
+     * @param nanos code generation and writing time in nanoseconds
+     */
+    public record ClassTiming(String name, long nanos) {
+    }
+
+    /**
+     * Timings and counters of a single specification.
+     */
+    public static final class SpecReport {
+
+        private final String specName;
+        private final AtomicLongArray phaseNanos = new AtomicLongArray(Phase.values().length);
+        private final List<ClassTiming> schemaTimings = Collections.synchronizedList(new ArrayList<>());
+        private volatile boolean upToDate;
+        private volatile long totalNanos;
+        private volatile int schemaCount;
+        private volatile int innerSchemaCount;
+        private volatile int messageCount;
+        private volatile int propertyCount;
+        private volatile int filesWritten;
+        private volatile int filesUnchanged;
+        private volatile long bytesWritten;
+        private volatile long bytesUnchanged;
+
+        private SpecReport(String specName) {
+            this.specName = specName;
+        }
+
+        /**
+         * Adds time spent in a phase.
+         *
+         * @param phase phase
+         * @param nanos elapsed time in nanoseconds
+         */
+        public void addTime(Phase phase, long nanos) {
+            phaseNanos.addAndGet(phase.ordinal(), nanos);
+        }
+
+        /**
+         * Records the code generation and writing time of one schema.
+         *
+         * @param schemaName schema class name
+         * @param nanos      elapsed time in nanoseconds
+         */
+        public void addSchemaTiming(String schemaName, long nanos) {
+            schemaTimings.add(new ClassTiming(schemaName, nanos));
+        }
+
+        /**
+         * Returns the time spent in a phase.
+         *
+         * @param phase phase
+         * @return elapsed time in nanoseconds
+         */
+        public long getNanos(Phase phase) {
+            return phaseNanos.get(phase.ordinal());
+        }
+
+        /**
+         * Returns the slowest schemas, slowest first.
+         *
+         * @param limit maximum number of entries
+         * @return slowest schemas
+         */
+        public List<ClassTiming> getSlowestSchemas(int limit) {
+            List<ClassTiming> sorted;
+            synchronized (schemaTimings) {
+                sorted = new ArrayList<>(schemaTimings);
+            }
+            sorted.sort(Comparator.comparingLong(ClassTiming::nanos).reversed().thenComparing(ClassTiming::name));
+            return List.copyOf(sorted.subList(0, Math.min(limit, sorted.size())));
+        }
+
+        /**
+         * Returns the specification file name.
+         *
+         * @return specification name
+         */
+        public String getSpecName() {
+            return specName;
+        }
+
+        /**
+         * Returns whether generation was skipped because the output was up to date.
+         *
+         * @return {@code true} if the specification was skipped by incremental generation
+         */
+        public boolean isUpToDate() {
+            return upToDate;
+        }
+
+        /**
+         * Marks the specification as skipped by incremental generation.
+         *
+         * @param upToDate up-to-date flag
+         */
+        public void setUpToDate(boolean upToDate) {
+            this.upToDate = upToDate;
+        }
+
+        /**
+         * Returns the wall time of the specification.
+         *
+         * @return total time in nanoseconds
+         */
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        /**
+         * Sets the wall time of the specification.
+         *
+         * @param totalNanos total time in nanoseconds
+         */
+        public void setTotalNanos(long totalNanos) {
+            this.totalNanos = totalNanos;
+        }
+
+        /**
+         * Returns the number of generated schema classes (including inner schemas).
+         *
+         * @return schema count
+         */
+        public int getSchemaCount() {
+            return schemaCount;
+        }
+
+        /**
+         * Sets the number of generated schema classes.
+         *
+         * @param schemaCount schema count
+         */
+        public void setSchemaCount(int schemaCount) {
+            this.schemaCount = schemaCount;
+        }
+
+        /**
+         * Returns the number of inner schemas extracted from inline object definitions.
+         *
+         * @return inner schema count
+         */
+        public int getInnerSchemaCount() {
+            return innerSchemaCount;
+        }
+
+        /**
+         * Sets the number of inner schemas.
+         *
+         * @param innerSchemaCount inner schema count
+         */
+        public void setInnerSchemaCount(int innerSchemaCount) {
+            this.innerSchemaCount = innerSchemaCount;
+        }
+
+        /**
+         * Returns the number of generated message classes.
+         *
+         * @return message count
+         */
+        public int getMessageCount() {
+            return messageCount;
+        }
+
+        /**
+         * Sets the number of generated message classes.
+         *
+         * @param messageCount message count
+         */
+        public void setMessageCount(int messageCount) {
+            this.messageCount = messageCount;
+        }
+
+        /**
+         * Returns the number of properties over all generated classes.
+         *
+         * @return property count
+         */
+        public int getPropertyCount() {
+            return propertyCount;
+        }
+
+        /**
+         * Sets the number of properties over all generated classes.
+         *
+         * @param propertyCount property count
+         */
+        public void setPropertyCount(int propertyCount) {
+            this.propertyCount = propertyCount;
+        }
+
+        /**
+         * Returns the number of files physically written.
+         *
+         * @return written files count
+         */
+        public int getFilesWritten() {
+            return filesWritten;
+        }
+
+        /**
+         * Returns the number of files left untouched because their content was up to date.
+         *
+         * @return unchanged files count
+         */
+        public int getFilesUnchanged() {
+            return filesUnchanged;
+        }
+
+        /**
+         * Returns the number of bytes physically written.
+         *
+         * @return written bytes
+         */
+        public long getBytesWritten() {
+            return bytesWritten;
+        }
+
+        /**
+         * Returns the size of files left untouched.
+         *
+         * @return unchanged bytes
+         */
+        public long getBytesUnchanged() {
+            return bytesUnchanged;
+        }
+
+        /**
+         * Copies file output statistics from the writer of this specification.
+         *
+         * @param writer per-spec file writer
+         */
+        public void setOutput(JavaFileWriter writer) {
+            this.filesWritten = writer.getWrittenCount();
+            this.filesUnchanged = writer.getUnchangedCount();
+            this.bytesWritten = writer.getWrittenBytes();
+            this.bytesUnchanged = writer.getUnchangedBytes();
+        }
+
+        /**
+         * Returns a one-line human-readable summary.
+         *
+         * @return summary
+         */
+        public String summary() {
+            StringBuilder sb = new StringBuilder(specName).append(": ").append(millis(totalNanos)).append(" ms (");
+            for (Phase phase : Phase.values()) {
+                sb.append(phase.getJsonName()).append(' ').append(millis(getNanos(phase))).append(" ms");
+                sb.append(phase.ordinal() < Phase.values().length - 1 ? ", " : ")");
+            }
+            return sb.append(", schemas: ").append(schemaCount)
+                    .append(", messages: ").append(messageCount)
+                    .append(", files written: ").append(filesWritten)
+                    .append(", unchanged: ").append(filesUnchanged)
+                    .toString();
+        }
+
+        /**
+         * Renders this specification as a standalone JSON document.
+         *
+         * @return JSON document
+         */
+        public String toJson() {
+            StringBuilder sb = new StringBuilder();
+            appendJson(sb, "");
+            return sb.append('\n').toString();
+        }
+
+        /**
+         * Writes {@link #toJson()} to a file, creating parent directories.
+         *
+         * @param reportPath target file
+         * @throws IOException if the file cannot be written
+         */
+        public void write(Path reportPath) throws IOException {
+            Files.createDirectories(reportPath.getParent());
+            Files.writeString(reportPath, toJson(), StandardCharsets.UTF_8);
+        }
+
+        private void appendJson(StringBuilder sb, String indent) {
+            String in = indent + "  ";
+            sb.append(indent).append("{\n");
+            sb.append(in).append("\"spec\": ");
+            appendString(sb, specName);
+            sb.append(",\n");
+            sb.append(in).append("\"upToDate\": ").append(upToDate).append(",\n");
+            sb.append(in).append("\"totalMillis\": ").append(millis(totalNanos)).append(",\n");
+            sb.append(in).append("\"phasesMillis\": {");
+            for (Phase phase : Phase.values()) {
+                sb.append(phase.ordinal() == 0 ? "\n" : ",\n");
+                sb.append(in).append("  \"").append(phase.getJsonName()).append("\": ").append(millis(getNanos(phase)));
+            }
+            sb.append('\n').append(in).append("},\n");
+            sb.append(in).append("\"schemas\": ").append(schemaCount).append(",\n");
+            sb.append(in).append("\"innerSchemas\": ").append(innerSchemaCount).append(",\n");
+            sb.append(in).append("\"messages\": ").append(messageCount).append(",\n");
+            sb.append(in).append("\"properties\": ").append(propertyCount).append(",\n");
+            sb.append(in).append("\"filesWritten\": ").append(filesWritten).append(",\n");
+            sb.append(in).append("\"filesUnchanged\": ").append(filesUnchanged).append(",\n");
+            sb.append(in).append("\"bytesWritten\": ").append(bytesWritten).append(",\n");
+            sb.append(in).append("\"bytesUnchanged\": ").append(bytesUnchanged).append(",\n");
+            sb.append(in).append("\"slowestSchemas\": [");
+            List<ClassTiming> slowest = getSlowestSchemas(SLOWEST_SCHEMAS_LIMIT);
+            for (int i = 0; i < slowest.size(); i++) {
+                sb.append(i == 0 ? "\n" : ",\n");
+                sb.append(in).append("  {\"name\": ");
+                appendString(sb, slowest.get(i).name());
+                sb.append(", \"millis\": ").append(millis(slowest.get(i).nanos())).append('}');
+            }
+            sb.append(slowest.isEmpty() ? "]\n" : "\n" + in + "]\n");
+            sb.append(indent).append('}');
+        }
+    }
+}
@@ -1,39 +1,99 @@
 package ru.yojo.codegen.generator;
 
+import java.io.Closeable;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
 
+import ru.yojo.codegen.event.FileWriteEvent;
+import ru.yojo.codegen.generator.sink.FileSystemOutputSink;
+import ru.yojo.codegen.generator.sink.OutputSink;
+import ru.yojo.codegen.generator.sink.SourceEmitter;
 import ru.yojo.codegen.util.Logger;
 
 /**
- * Isolates file system operations for writing generated Java source code.
+ * Isolates output operations for generated Java source code.
  * <p>
  * Handles:
  * <ul>
- *   <li>Creating target directories</li>
- *   <li>Writing files with correct encoding (UTF-8)</li>
+ *   <li>File name validation and path traversal protection</li>
  *   <li>Optional dry-run mode (return generated code without writing)</li>
+ *   <li>Written / unchanged statistics and the set of produced files</li>
+ *   <li>Sources given as a {@link SourceEmitter} reach the sink unassembled, so a streaming sink writes them
+ *       without an intermediate {@link String}</li>
+ *   <li>Optional asynchronous mode: content is handed to a bounded pool of writer threads
+ *       (see {@link AsyncWriteStage}), so code generation overlaps with I/O; {@link #close()} waits for the writes</li>
  * </ul>
- *
- * <p>This makes it easier to test code generation without the file system.
+ * The content itself goes to an {@link OutputSink}: by default a {@link FileSystemOutputSink}
+ * (UTF-8 files, optional write-if-changed mode), or e.g. an in-memory sink for tests and embedders.
  *
  * @author Vladimir Morozkin (TG @vmorozkin)
  */
-public class JavaFileWriter {
+public class JavaFileWriter implements Closeable {
 
     private static final Logger LOG = new Logger(JavaFileWriter.class);
     private final boolean dryRun;
+    private final OutputSink sink;
+    private final Path outputRoot;
+    private final AsyncWriteStage asyncStage;
+    private final AtomicInteger writtenCount = new AtomicInteger();
+    private final AtomicInteger unchangedCount = new AtomicInteger();
+    private final AtomicLong writtenBytes = new AtomicLong();
+    private final AtomicLong unchangedBytes = new AtomicLong();
+    private final Set<Path> producedFiles = ConcurrentHashMap.newKeySet();
 
     /**
      * Creates a new JavaFileWriter.
      *
+     * @param dryRun     if {@code true}, nothing is passed to the sink (useful for testing)
+     * @param sink       destination of generated sources
+     * @param outputRoot output directory of the specification; relative paths passed to the sink are
+     *                   resolved against it ({@code null} — relative to the target directory of each file)
+     */
+    public JavaFileWriter(boolean dryRun, OutputSink sink, Path outputRoot) {
+        this(dryRun, sink, outputRoot, 0);
+    }
+
+    /**
+     * Creates a new JavaFileWriter, optionally writing asynchronously.
+     *
+     * @param dryRun        if {@code true}, nothing is passed to the sink (useful for testing)
+     * @param sink          destination of generated sources
+     * @param outputRoot    output directory of the specification; relative paths passed to the sink are
+     *                      resolved against it ({@code null} — relative to the target directory of each file)
+     * @param writerThreads number of writer threads; {@code 0} writes synchronously on the calling thread
+     */
+    public JavaFileWriter(boolean dryRun, OutputSink sink, Path outputRoot, int writerThreads) {
+        this.dryRun = dryRun;
+        this.sink = sink;
+        this.outputRoot = outputRoot == null ? null : outputRoot.toAbsolutePath().normalize();
+        this.asyncStage = writerThreads > 0 && !dryRun ? new AsyncWriteStage(writerThreads, this::store) : null;
+    }
+
+    /**
+     * Creates a new JavaFileWriter that writes to disk.
+     *
+     * @param dryRun        if {@code true}, files won't be written (useful for testing)
+     * @param skipUnchanged if {@code true}, an existing file with identical content is not rewritten
+     */
+    public JavaFileWriter(boolean dryRun, boolean skipUnchanged) {
+        this(dryRun, new FileSystemOutputSink(skipUnchanged), null);
+    }
+
+    /**
+     * Creates a new JavaFileWriter that always rewrites target files.
+     *
      * @param dryRun if {@code true}, files won't be written (useful for testing)
      */
     public JavaFileWriter(boolean dryRun) {
-        this.dryRun = dryRun;
+        this(dryRun, false);
     }
 
     /**
@@ -75,28 +135,58 @@ public class JavaFileWriter {
      * @param dirPath  target directory path
      * @param fileName file name (without extension)
      * @param content  Java source code
+     * @return {@code true} if the file was written, {@code false} if skipped (dry-run or unchanged)
+     * @throws RuntimeException if writing fails
+     */
+    public boolean writeFile(String dirPath, String fileName, String content) {
+        return writeFile(dirPath, fileName, SourceEmitter.of(content));
+    }
+
+    /**
+     * Writes generated Java source to a file with path traversal protection, without assembling it first.
+     *
+     * @param dirPath  target directory path
+     * @param fileName file name (without extension)
+     * @param source   Java source code
+     * @return {@code true} if the file was written, {@code false} if skipped (dry-run or unchanged)
      * @throws RuntimeException if writing fails
      */
-    public void writeFile(String dirPath, String fileName, String content) {
+    public boolean writeFile(String dirPath, String fileName, SourceEmitter source) {
         if (dryRun) {
             LOG.info("DRY-RUN: Would write " + fileName + ".java → " + dirPath);
-            return;
+            return false;
         }
-        writeFile(Path.of(dirPath), fileName, content);
+        return writeFile(Path.of(dirPath), fileName, source);
     }
 
     /**
-     * Writes Java source code to a file using Path API with path traversal protection.
+     * Passes Java source code to the sink using Path API with path traversal protection.
      *
      * @param targetDir target directory
      * @param fileName  file name (without extension)
      * @param content   Java source code
-     * @throws RuntimeException if writing fails
+     * @return {@code true} if the file was written (in asynchronous mode: queued),
+     * {@code false} if skipped (dry-run or unchanged)
+     * @throws RuntimeException if writing fails (in asynchronous mode: if an earlier write failed)
+     */
+    public boolean writeFile(Path targetDir, String fileName, String content) {
+        return writeFile(targetDir, fileName, SourceEmitter.of(content));
+    }
+
+    /**
+     * Passes generated Java source to the sink without assembling it first, with path traversal protection.
+     *
+     * @param targetDir target directory
+     * @param fileName  file name (without extension)
+     * @param source    Java source code
+     * @return {@code true} if the file was written (in asynchronous mode: queued),
+     * {@code false} if skipped (dry-run or unchanged)
+     * @throws RuntimeException if writing fails (in asynchronous mode: if an earlier write failed)
      */
-    public void writeFile(Path targetDir, String fileName, String content) {
+    public boolean writeFile(Path targetDir, String fileName, SourceEmitter source) {
         if (dryRun) {
             LOG.info("DRY-RUN: Would write " + fileName + ".java → " + targetDir);
-            return;
+            return false;
         }
 
         validateFileName(fileName);
@@ -110,19 +200,181 @@ public class JavaFileWriter {
                     "Path traversal detected: " + fileName + " escapes directory " + targetDir);
         }
 
-        try {
-            Files.createDirectories(absoluteDir);
-        } catch (IOException ex) {
-            throw new RuntimeException("Failed to create directory: " + absoluteDir, ex);
+        Path base = outputRoot != null && targetFile.startsWith(outputRoot) ? outputRoot : absoluteDir;
+        String relativePath = base.relativize(targetFile).toString().replace('\\', '/');
+        producedFiles.add(targetFile);
+        if (asyncStage != null) {
+            AtomicReference<String> outcome = null;
+            if (Logger.isBuffering()) {
+                // The outcome is logged at this position of the captured log, not on the writer thread
+                outcome = new AtomicReference<>();
+                LOG.infoDeferred(outcome::get);
+            }
+            asyncStage.submit(new AsyncWriteStage.Item(targetFile, relativePath, fileName, source, outcome));
+            return true;
         }
+        return store(new AsyncWriteStage.Item(targetFile, relativePath, fileName, source, null));
+    }
+
+    /**
+     * Waits until all asynchronously queued files are written. Does nothing in synchronous mode.
+     *
+     * @throws RuntimeException if an asynchronous write failed
+     */
+    public void awaitWrites() {
+        if (asyncStage != null) {
+            asyncStage.await();
+        }
+    }
+
+    /**
+     * Waits for pending asynchronous writes and stops the writer threads (same as {@link #awaitWrites()}).
+     *
+     * @throws RuntimeException if an asynchronous write failed
+     */
+    @Override
+    public void close() {
+        awaitWrites();
+    }
 
-        try (OutputStreamWriter writer = new OutputStreamWriter(
-                Files.newOutputStream(targetFile), StandardCharsets.UTF_8)) {
-            writer.write(content);
-            writer.flush();
-            LOG.info(" Written: " + fileName + ".java → " + absoluteDir);
+    /**
+     * Passes one file to the sink and updates the statistics.
+     *
+     * @param item validated file
+     * @return {@code true} if written, {@code false} if unchanged
+     * @throws RuntimeException if writing fails
+     */
+    private boolean store(AsyncWriteStage.Item item) {
+        Path targetFile = item.targetFile();
+        FileWriteEvent event = new FileWriteEvent();
+        event.begin();
+        long length = item.content().utf8Length();
+        try {
+            if (!sink.write(targetFile, item.relativePath(), item.content())) {
+                unchangedCount.incrementAndGet();
+                unchangedBytes.addAndGet(length);
+                event.finish(targetFile, length, false);
+                logOutcome(item, " Unchanged: ");
+                return false;
+            }
+            writtenCount.incrementAndGet();
+            writtenBytes.addAndGet(length);
+            event.finish(targetFile, length, true);
+            logOutcome(item, " Written: ");
+            return true;
         } catch (IOException ex) {
             throw new RuntimeException("Failed to write: " + targetFile, ex);
         }
     }
+
+    private static void logOutcome(AsyncWriteStage.Item item, String outcome) {
+        String message = outcome + item.fileName() + ".java → " + item.targetFile().getParent();
+        if (item.outcome() != null) {
+            item.outcome().set(message);
+        } else {
+            LOG.info(message);
+        }
+    }
+
+    /**
+     * Returns the sink that receives the generated sources.
+     *
+     * @return output sink
+     */
+    public OutputSink getSink() {
+        return sink;
+    }
+
+    /**
+     * Returns the number of files physically written by this writer.
+     *
+     * @return written files count
+     */
+    public int getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    /**
+     * Returns the number of files skipped because their content was already up to date.
+     *
+     * @return unchanged files count
+     */
+    public int getUnchangedCount() {
+        return unchangedCount.get();
+    }
+
+    /**
+     * Returns the number of bytes physically written by this writer.
+     *
+     * @return written bytes
+     */
+    public long getWrittenBytes() {
+        return writtenBytes.get();
+    }
+
+    /**
+     * Returns the total size of files skipped because their content was already up to date.
+     *
+     * @return unchanged bytes
+     */
+    public long getUnchangedBytes() {
+        return unchangedBytes.get();
+    }
+
+    /**
+     * Returns every file produced by this writer (written or left unchanged).
+     *
+     * @return immutable snapshot of absolute, normalized paths
+     */
+    public Set<Path> getProducedFiles() {
+        return Set.copyOf(producedFiles);
+    }
+
+    /**
+     * Deletes generated files that are no longer produced, then removes directories left empty,
+     * never climbing above {@code outputRoot}.
+     *
+     * @param outputRoot root output directory
+     * @param staleFiles paths relative to {@code outputRoot}
+     * @return number of deleted files
+     * @throws RuntimeException if a file cannot be deleted
+     */
+    public int deleteStaleFiles(Path outputRoot, Collection<String> staleFiles) {
+        Path root = outputRoot.toAbsolutePath().normalize();
+        int deleted = 0;
+        for (String relative : staleFiles) {
+            Path file = root.resolve(relative).normalize();
+            if (!file.startsWith(root) || file.equals(root)) {
+                LOG.warn("Skip pruning of path outside output directory: " + relative);
+                continue;
+            }
+            if (dryRun) {
+                LOG.info("DRY-RUN: Would delete stale " + file);
+                continue;
+            }
+            try {
+                if (Files.deleteIfExists(file)) {
+                    deleted++;
+                    LOG.info(" Deleted stale: " + root.relativize(file));
+                }
+                Path dir = file.getParent();
+                while (dir != null && !dir.equals(root) && dir.startsWith(root) && isEmptyDirectory(dir)) {
+                    Files.delete(dir);
+                    dir = dir.getParent();
+                }
+            } catch (IOException ex) {
+                throw new RuntimeException("Failed to delete stale file: " + file, ex);
+            }
+        }
+        return deleted;
+    }
+
+    private static boolean isEmptyDirectory(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return false;
+        }
+        try (Stream<Path> entries = Files.list(dir)) {
+            return entries.findAny().isEmpty();
+        }
+    }
 }
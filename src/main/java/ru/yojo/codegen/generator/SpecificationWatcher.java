@@ -0,0 +1,213 @@
+package ru.yojo.codegen.generator;
+
+import ru.yojo.codegen.context.SpecificationProperties;
+import ru.yojo.codegen.context.YojoContext;
+import ru.yojo.codegen.util.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * Keeps a generator warm and regenerates specifications whenever their files change.
+ * <p>
+ * Every root specification and every external file it reaches through {@code $ref} (as recorded in the
+ * {@link GenerationManifest}) is watched with a {@link WatchService}. Change events are debounced,
+ * then only the affected specifications are regenerated. Incremental generation, write-if-changed mode and
+ * the JVM-wide external document cache are enabled on the given context, so unaffected specifications and
+ * unchanged classes are left untouched and unchanged external files are not re-parsed.
+ * <p>
+ * Each cycle logs its timings. A failing cycle (e.g. a half-written YAML file) is logged and watching continues.
+ * The watched file set is refreshed after every cycle, so newly referenced external files are picked up.
+ * <p>
+ * Not thread-safe: {@link #run()} must be called from a single thread; {@link #close()} may be called from any thread.
+ *
+ * @author Vladimir Morozkin (TG @vmorozkin)
+ */
+public class SpecificationWatcher implements Closeable {
+
+    private static final Logger LOG = new Logger(SpecificationWatcher.class);
+
+    /**
+     * Default quiet period after the last change event before regeneration starts.
+     */
+    public static final long DEFAULT_DEBOUNCE_MILLIS = 300;
+
+    private final YojoGenerator generator;
+    private final YojoContext context;
+    private final long debounceMillis;
+    private final WatchService watchService;
+    private final Map<Path, WatchKey> watchedDirectories = new HashMap<>();
+    private final Map<Path, Set<SpecificationProperties>> specsByFile = new HashMap<>();
+    private final AtomicInteger completedCycles = new AtomicInteger();
+    private volatile boolean closed;
+
+    /**
+     * Creates a watcher for all specifications of {@code context}.
+     *
+     * @param generator      generator to run
+     * @param context        generation configuration (incremental, write-if-changed and shared cache are switched on)
+     * @param debounceMillis quiet period after the last change event before regeneration starts
+     * @throws IOException if the watch service cannot be created
+     */
+    public SpecificationWatcher(YojoGenerator generator, YojoContext context, long debounceMillis) throws IOException {
+        this.generator = generator;
+        this.context = context;
+        this.debounceMillis = debounceMillis;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        context.setIncremental(true);
+        context.setWriteIfChanged(true);
+        context.setShareExternalRefCache(true);
+    }
+
+    /**
+     * Generates all specifications, then watches their files and regenerates affected specifications
+     * until {@link #close()} is called or the thread is interrupted.
+     *
+     * @throws IOException          if a directory cannot be registered with the watch service
+     * @throws InterruptedException if the thread is interrupted while waiting for changes
+     */
+    public void run() throws IOException, InterruptedException {
+        runCycle(context.getSpecificationProperties());
+        while (!closed) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (ClosedWatchServiceException e) {
+                return;
+            }
+            Set<SpecificationProperties> affected = new LinkedHashSet<>();
+            collectAffected(key, affected);
+            // Debounce: editors often emit several events per save (truncate, write, rename)
+            try {
+                while ((key = watchService.poll(debounceMillis, TimeUnit.MILLISECONDS)) != null) {
+                    collectAffected(key, affected);
+                }
+            } catch (ClosedWatchServiceException e) {
+                return;
+            }
+            if (!affected.isEmpty()) {
+                List<SpecificationProperties> ordered = new ArrayList<>();
+                for (SpecificationProperties spec : context.getSpecificationProperties()) {
+                    if (affected.contains(spec)) {
+                        ordered.add(spec);
+                    }
+                }
+                runCycle(ordered);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of finished generation cycles (including the initial full generation).
+     *
+     * @return finished cycles
+     */
+    public int getCompletedCycles() {
+        return completedCycles.get();
+    }
+
+    /**
+     * Stops watching; {@link #run()} returns as soon as it notices.
+     *
+     * @throws IOException if the watch service cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        watchService.close();
+    }
+
+    /**
+     * Regenerates the given specifications and refreshes the watched file set.
+     *
+     * @param specs specifications to regenerate
+     * @throws IOException if a directory cannot be registered with the watch service
+     */
+    private void runCycle(List<SpecificationProperties> specs) throws IOException {
+        int cycle = completedCycles.get() + 1;
+        List<SpecificationProperties> all = context.getSpecificationProperties();
+        long start = System.nanoTime();
+        context.setSpecificationProperties(specs);
+        try {
+            GenerationReport report = generator.generateAll(context);
+            for (GenerationReport.SpecReport spec : report.getSpecs()) {
+                LOG.info(() -> "WATCH CYCLE " + cycle + ": " + spec.summary());
+            }
+        } catch (IOException | RuntimeException e) {
+            LOG.error("WATCH CYCLE " + cycle + " FAILED", e);
+        } finally {
+            context.setSpecificationProperties(all);
+        }
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        refreshWatchedFiles();
+        LOG.info("WATCH CYCLE " + cycle + " FINISHED: " + specs.size() + " spec(s) in " + millis + " ms, watching "
+                 + specsByFile.size() + " file(s)");
+        completedCycles.incrementAndGet();
+    }
+
+    private void collectAffected(WatchKey key, Set<SpecificationProperties> affected) {
+        Path directory = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW) {
+                affected.addAll(context.getSpecificationProperties());
+                continue;
+            }
+            Path changed = directory.resolve((Path) event.context()).toAbsolutePath().normalize();
+            Set<SpecificationProperties> specs = specsByFile.get(changed);
+            if (specs != null) {
+                LOG.info("CHANGED: " + changed);
+                affected.addAll(specs);
+            }
+        }
+        key.reset();
+    }
+
+    /**
+     * Rebuilds the file → specifications map from the root specifications and their manifests,
+     * registering any new directories with the watch service.
+     *
+     * @throws IOException if a directory cannot be registered
+     */
+    private void refreshWatchedFiles() throws IOException {
+        specsByFile.clear();
+        for (SpecificationProperties spec : context.getSpecificationProperties()) {
+            String specName = spec.getSpecName().trim();
+            watch(Paths.get(spec.getInputDirectory()).resolve(specName), spec);
+            GenerationManifest manifest = GenerationManifest.read(GenerationManifest.location(spec.getOutputDirectory(), specName));
+            if (manifest != null) {
+                for (Path input : manifest.getInputs()) {
+                    watch(input, spec);
+                }
+            }
+        }
+    }
+
+    private void watch(Path file, SpecificationProperties spec) throws IOException {
+        Path normalized = file.toAbsolutePath().normalize();
+        specsByFile.computeIfAbsent(normalized, f -> new LinkedHashSet<>()).add(spec);
+        Path directory = normalized.getParent();
+        if (directory != null && !watchedDirectories.containsKey(directory) && Files.isDirectory(directory)) {
+            watchedDirectories.put(directory, directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY));
+        }
+    }
+}
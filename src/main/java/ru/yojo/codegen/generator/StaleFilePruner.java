@@ -0,0 +1,108 @@
+package ru.yojo.codegen.generator;
+
+import ru.yojo.codegen.util.Logger;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Run-wide stale file pruning.
+ * <p>
+ * Several specifications may share an output directory, and a file no longer generated by one of them may be
+ * generated by another one in the same run. Stale files are therefore not deleted per specification: every
+ * specification registers the outputs listed by its current manifest and its stale candidates, and
+ * {@link #prune()} deletes, once all specifications are generated, only the candidates that no specification of
+ * the run lists for the same output directory.
+ * <p>
+ * Safe for concurrent registration; {@link #prune()} is called once by the thread driving the run.
+ *
+ * @author Vladimir Morozkin (TG @vmorozkin)
+ */
+class StaleFilePruner {
+
+    private static final Logger LOG = new Logger(StaleFilePruner.class);
+
+    /**
+     * Outputs listed by the current manifests of the run, per normalized output directory.
+     */
+    private final Map<Path, Set<String>> claimed = new HashMap<>();
+    private final List<Candidates> candidates = new ArrayList<>();
+
+    /**
+     * Stale candidates of one specification.
+     *
+     * @param specName   specification file name
+     * @param outputRoot normalized output directory
+     * @param files      relative paths no longer generated by the specification
+     * @param writer     writer of the specification, performs the deletion
+     */
+    private record Candidates(String specName, Path outputRoot, List<String> files, JavaFileWriter writer) {
+    }
+
+    /**
+     * Registers the outputs a specification currently owns (e.g. from the manifest of an up-to-date specification).
+     *
+     * @param outputRoot output directory of the specification
+     * @param outputs    relative paths listed by its current manifest
+     */
+    synchronized void claim(Path outputRoot, Collection<String> outputs) {
+        claimed.computeIfAbsent(normalize(outputRoot), root -> new HashSet<>()).addAll(outputs);
+    }
+
+    /**
+     * Registers the outputs of a generated specification together with the files its previous run produced
+     * but this run did not.
+     *
+     * @param specName   specification file name
+     * @param outputRoot output directory of the specification
+     * @param current    manifest of this run
+     * @param previous   manifest of the previous run
+     * @param writer     writer of the specification
+     */
+    synchronized void register(String specName,
+                               Path outputRoot,
+                               GenerationManifest current,
+                               GenerationManifest previous,
+                               JavaFileWriter writer) {
+        claim(outputRoot, current.getOutputs());
+        List<String> stale = previous.staleOutputs(current);
+        if (!stale.isEmpty()) {
+            candidates.add(new Candidates(specName, normalize(outputRoot), stale, writer));
+        }
+    }
+
+    /**
+     * Deletes every registered stale file that is not listed by any current manifest of its output directory.
+     *
+     * @return number of deleted files
+     */
+    synchronized int prune() {
+        int pruned = 0;
+        for (Candidates spec : candidates) {
+            Set<String> owned = claimed.getOrDefault(spec.outputRoot(), Set.of());
+            List<String> stale = new ArrayList<>(spec.files().size());
+            for (String file : spec.files()) {
+                if (owned.contains(file)) {
+                    LOG.debug(() -> "Keep " + file + ": generated by another specification");
+                } else {
+                    stale.add(file);
+                }
+            }
+            int deleted = spec.writer().deleteStaleFiles(spec.outputRoot(), stale);
+            LOG.info("STALE FILES PRUNED FOR " + spec.specName() + ": " + deleted);
+            pruned += deleted;
+        }
+        candidates.clear();
+        return pruned;
+    }
+
+    private static Path normalize(Path outputRoot) {
+        return outputRoot.toAbsolutePath().normalize();
+    }
+}
@@ -3,25 +3,45 @@ package ru.yojo.codegen.generator;
 import ru.yojo.codegen.context.ProcessContext;
 import ru.yojo.codegen.context.SpecificationProperties;
 import ru.yojo.codegen.context.YojoContext;
+import ru.yojo.codegen.domain.FillParameters;
+import ru.yojo.codegen.domain.VariableProperties;
+import ru.yojo.codegen.domain.lombok.Accessors;
+import ru.yojo.codegen.domain.lombok.BuilderProperties;
+import ru.yojo.codegen.domain.lombok.EqualsAndHashCode;
+import ru.yojo.codegen.domain.lombok.LombokProperties;
 import ru.yojo.codegen.domain.message.Message;
 import ru.yojo.codegen.domain.schema.Schema;
 import ru.yojo.codegen.generator.code.MessageCodeGenerator;
 import ru.yojo.codegen.generator.code.SchemaCodeGenerator;
+import ru.yojo.codegen.generator.sink.FileSystemOutputSink;
+import ru.yojo.codegen.generator.sink.OutputSink;
+import ru.yojo.codegen.generator.sink.SourceEmitter;
 import ru.yojo.codegen.mapper.MessageMapper;
+import ru.yojo.codegen.mapper.SchemaDependencyGraph;
 import ru.yojo.codegen.mapper.SchemaMapper;
 import ru.yojo.codegen.parser.AsyncAPIParser;
+import ru.yojo.codegen.parser.ExternalDocumentCache;
 import ru.yojo.codegen.parser.ParseResult;
 import ru.yojo.codegen.util.Logger;
 
-import org.yaml.snakeyaml.Yaml;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static ru.yojo.codegen.constants.Dictionary.*;
 import static ru.yojo.codegen.util.LogUtils.*;
+import static ru.yojo.codegen.util.MapperUtil.capitalize;
 
 /**
  * AsyncAPI-to-Java DTO code generator YOJO.
@@ -40,7 +60,8 @@ import static ru.yojo.codegen.util.LogUtils.*;
  *   <li>AsyncAPI 3.0 {@code operations} + {@code channels} model</li>
  * </ul>
  * <p>
- * Entry point: {@link #generateAll(YojoContext)}.
+ * Entry point: {@link #generateAll(YojoContext)}. Generated sources are written to disk, or passed to the
+ * {@link OutputSink} given to {@link #YojoGenerator(OutputSink)}.
  *
  * @author Vladimir Morozkin (TG @vmorozkin)
  */
@@ -48,31 +69,223 @@ public class YojoGenerator {
     private static final Logger LOG = new Logger(YojoGenerator.class);
 
     /**
-     * Initializes and prints startup banner.
+     * Destination of generated sources; {@code null} — files in the output directory of each specification.
+     */
+    private final OutputSink outputSink;
+
+    /**
+     * Initializes the generator. Generated sources are written to disk.
      */
     public YojoGenerator() {
-        printLogo();
+        this(null);
+    }
+
+    /**
+     * Initializes the generator.
+     * <p>
+     * With a sink that does not write to disk, manifest-based features (incremental generation,
+     * stale file pruning) and the JSON report are skipped.
+     *
+     * @param outputSink destination of generated sources, or {@code null} to write files to disk
+     */
+    public YojoGenerator(OutputSink outputSink) {
+        this.outputSink = outputSink;
+    }
+
+    /**
+     * Returns the configured output sink.
+     *
+     * @return output sink, or {@code null} if files are written to disk
+     */
+    public OutputSink getOutputSink() {
+        return outputSink;
     }
 
     /**
      * Main generation entry point.
      * <p>
      * Iterates over all specification definitions in {@code yojoContext} and generates Java code for each.
+     * When {@link YojoContext#getParallelism()} is greater than {@code 1}, specifications are processed
+     * concurrently on a bounded pool (see {@link #generateParallel(List, YojoContext, int, ExternalDocumentCache, StaleFilePruner, GenerationReport)}).
+     * Log level, quiet mode and log output configured in {@code yojoContext} apply for the duration of the call,
+     * including the startup banner; pending log lines are flushed before it returns.
      *
      * @param yojoContext top-level generation configuration
+     * @return per-specification timings and counters of this run
      * @throws IOException              if any I/O error occurs during file loading or writing
      * @throws IllegalArgumentException if no specifications are configured
      */
-    public void generateAll(YojoContext yojoContext) throws IOException {
+    public GenerationReport generateAll(YojoContext yojoContext) throws IOException {
         if (yojoContext.getSpecificationProperties() == null || yojoContext.getSpecificationProperties().isEmpty()) {
             throw new IllegalArgumentException("specificationProperties is required.");
         }
-        for (SpecificationProperties spec : yojoContext.getSpecificationProperties()) {
-            validate(spec);
-            processSpecification(spec, yojoContext);
+        Logger.Level previousLevel = Logger.getGlobalLevel();
+        Logger.Output previousOutput = Logger.getOutput();
+        if (yojoContext.getEffectiveLogLevel() != null) {
+            Logger.setGlobalLevel(yojoContext.getEffectiveLogLevel());
+        }
+        if (yojoContext.getLogOutput() != null) {
+            Logger.setOutput(yojoContext.getLogOutput());
+        }
+        GenerationReport report = new GenerationReport();
+        long start = System.nanoTime();
+        try {
+            printLogo();
+            generateSpecifications(yojoContext, report);
+        } finally {
+            report.setTotalNanos(System.nanoTime() - start);
+            Logger.flush();
+            Logger.setOutput(previousOutput);
+            Logger.setGlobalLevel(previousLevel);
+        }
+        return report;
+    }
+
+    /**
+     * Generates all configured specifications, sequentially or on a bounded pool.
+     *
+     * @param yojoContext top-level generation configuration
+     * @param report      report receiving one entry per specification
+     * @throws IOException if any I/O error occurs during file loading or writing
+     */
+    private void generateSpecifications(YojoContext yojoContext, GenerationReport report) throws IOException {
+        List<SpecificationProperties> specs = yojoContext.getSpecificationProperties();
+        // External $ref documents are parsed once per generation run (or once per JVM when shared)
+        ExternalDocumentCache documentCache = yojoContext.isShareExternalRefCache()
+                ? ExternalDocumentCache.shared()
+                : new ExternalDocumentCache();
+        // Stale files are deleted once every specification is generated: output directories may be shared
+        StaleFilePruner pruner = new StaleFilePruner();
+        int parallelism = Math.min(yojoContext.getParallelism(), specs.size());
+        if (parallelism <= 1) {
+            for (SpecificationProperties spec : specs) {
+                validate(spec);
+                GenerationReport.SpecReport specReport = report.startSpec(spec.getSpecName().trim());
+                if (yojoContext.getWriterThreads() > 0) {
+                    // Write outcomes are logged in place once the writer threads are done with the specification
+                    SpecRun run = processBuffered(spec, yojoContext, documentCache, pruner, specReport);
+                    run.log().flush();
+                    rethrow(run.failure());
+                } else {
+                    processSpecification(spec, yojoContext, documentCache, pruner, specReport);
+                }
+            }
+        } else {
+            specs.forEach(this::validate);
+            generateParallel(specs, yojoContext, parallelism, documentCache, pruner, report);
+        }
+        if (yojoContext.isPruneStaleFiles()) {
+            pruner.prune();
         }
     }
 
+    /**
+     * Processes specifications concurrently on a fixed-size pool.
+     * <p>
+     * Every specification gets its own mappers, {@link ProcessContext} and {@link ru.yojo.codegen.mapper.Helper},
+     * so no mutable mapping state is shared between workers. Log output of each worker is captured
+     * and printed in declaration order once the specification is done, keeping the console output
+     * identical to a sequential run. The first failure (in declaration order) is rethrown after all
+     * specifications have finished.
+     *
+     * @param specs       validated specifications
+     * @param yojoContext shared context
+     * @param parallelism   number of worker threads
+     * @param documentCache external document cache shared by all workers
+     * @param pruner        collects stale files of all workers
+     * @param report        report receiving one entry per specification (in declaration order)
+     * @throws IOException if any specification failed with an I/O error
+     */
+    private void generateParallel(List<SpecificationProperties> specs,
+                                  YojoContext yojoContext,
+                                  int parallelism,
+                                  ExternalDocumentCache documentCache,
+                                  StaleFilePruner pruner,
+                                  GenerationReport report) throws IOException {
+        AtomicInteger threadCounter = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "yojo-spec-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<SpecRun>> futures = new ArrayList<>(specs.size());
+            for (SpecificationProperties spec : specs) {
+                GenerationReport.SpecReport specReport = report.startSpec(spec.getSpecName().trim());
+                futures.add(executor.submit(() -> processBuffered(spec, yojoContext, documentCache, pruner, specReport)));
+            }
+            Throwable failure = null;
+            for (Future<SpecRun> future : futures) {
+                SpecRun run;
+                try {
+                    run = future.get();
+                } catch (ExecutionException e) {
+                    run = new SpecRun(null, e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while generating specifications", e);
+                }
+                if (run.log() != null) {
+                    run.log().flush();
+                }
+                if (failure == null) {
+                    failure = run.failure();
+                }
+            }
+            rethrow(failure);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void rethrow(Throwable failure) throws IOException {
+        if (failure instanceof IOException ioException) {
+            throw ioException;
+        }
+        if (failure instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (failure instanceof Error error) {
+            throw error;
+        }
+    }
+
+    /**
+     * Runs {@link #processSpecification} with log output captured into a buffer bound to the current thread:
+     * a parallel worker, or the calling thread when files are written by writer threads.
+     *
+     * @param spec        specification definition
+     * @param yojoContext   shared context
+     * @param documentCache external document cache
+     * @param pruner        collects stale files of the run
+     * @param specReport    report of this specification
+     * @return captured log output together with the failure, if any
+     */
+    private SpecRun processBuffered(SpecificationProperties spec,
+                                    YojoContext yojoContext,
+                                    ExternalDocumentCache documentCache,
+                                    StaleFilePruner pruner,
+                                    GenerationReport.SpecReport specReport) {
+        Logger.Buffer buffer = Logger.startBuffering();
+        try {
+            processSpecification(spec, yojoContext, documentCache, pruner, specReport);
+            return new SpecRun(buffer, null);
+        } catch (IOException | RuntimeException e) {
+            return new SpecRun(buffer, e);
+        } finally {
+            Logger.stopBuffering();
+        }
+    }
+
+    /**
+     * Outcome of a single specification processed by a parallel worker.
+     *
+     * @param log     captured log output
+     * @param failure exception thrown while processing, or {@code null} on success
+     */
+    private record SpecRun(Logger.Buffer log, Throwable failure) {
+    }
+
     /**
      * Validates that a specification definition contains all required fields.
      *
@@ -98,10 +311,44 @@ public class YojoGenerator {
      * Processes a single AsyncAPI specification file.
      *
      * @param spec        specification definition
-     * @param yojoContext shared context (Lombok, Spring Boot version, global config)
+     * @param yojoContext   shared context (Lombok, Spring Boot version, global config)
+     * @param documentCache cache of parsed external {@code $ref} documents
+     * @param pruner        collects stale files of the run
+     * @param report        receives timings and counters of this specification
+     * @throws IOException if spec file not found or cannot be read
+     */
+    private void processSpecification(SpecificationProperties spec,
+                                      YojoContext yojoContext,
+                                      ExternalDocumentCache documentCache,
+                                      StaleFilePruner pruner,
+                                      GenerationReport.SpecReport report) throws IOException {
+        long start = System.nanoTime();
+        try {
+            generateSpecification(spec, yojoContext, documentCache, pruner, report);
+        } finally {
+            report.setTotalNanos(System.nanoTime() - start);
+        }
+        LOG.info(() -> "GENERATION REPORT: " + report.summary());
+        if (yojoContext.isWriteReport() && !yojoContext.isDryRun() && writesToDisk()) {
+            report.write(GenerationReport.location(spec.getOutputDirectory(), spec.getSpecName().trim()));
+        }
+    }
+
+    /**
+     * Parses, maps, generates and writes a single specification.
+     *
+     * @param spec          specification definition
+     * @param yojoContext   shared context
+     * @param documentCache cache of parsed external {@code $ref} documents
+     * @param pruner        receives the outputs and stale files of this specification
+     * @param report        receives timings and counters of this specification
      * @throws IOException if spec file not found or cannot be read
      */
-    private void processSpecification(SpecificationProperties spec, YojoContext yojoContext) throws IOException {
+    private void generateSpecification(SpecificationProperties spec,
+                                       YojoContext yojoContext,
+                                       ExternalDocumentCache documentCache,
+                                       StaleFilePruner pruner,
+                                       GenerationReport.SpecReport report) throws IOException {
         SchemaMapper schemaMapper = new SchemaMapper();
         MessageMapper messageMapper = new MessageMapper(schemaMapper);
         Path inputDir = Paths.get(spec.getInputDirectory()).toAbsolutePath().normalize();
@@ -111,12 +358,28 @@ public class YojoGenerator {
             throw new IllegalArgumentException("Spec file not found: " + specFilePath);
         }
 
+        // Manifest of the previous run: drives incremental skipping and stale file pruning
+        Path outputRoot = Paths.get(spec.getOutputDirectory());
+        Path manifestPath = GenerationManifest.location(spec.getOutputDirectory(), specFileName);
+        boolean useManifest = writesToDisk() && (yojoContext.isIncremental() || yojoContext.isPruneStaleFiles());
+        GenerationManifest previous = useManifest ? GenerationManifest.read(manifestPath) : null;
+        String settings = yojoContext.isIncremental() ? describeSettings(spec, yojoContext) : null;
+        if (previous != null && settings != null && previous.isUpToDate(settings, outputRoot)) {
+            LOG.info("SPEC IS UP-TO-DATE, SKIP GENERATION: " + specFilePath);
+            pruner.claim(outputRoot, previous.getOutputs());
+            report.setUpToDate(true);
+            return;
+        }
+
         // Parse specification (YAML loading, $ref resolution, message population)
-        AsyncAPIParser parser = new AsyncAPIParser();
+        AsyncAPIParser parser = new AsyncAPIParser(documentCache);
+        long parseStart = System.nanoTime();
         ParseResult result = parser.parse(specFilePath, inputDir, spec.getPackageLocation());
+        report.addTime(GenerationReport.Phase.PARSE, System.nanoTime() - parseStart - parser.getExternalRefNanos());
+        report.addTime(GenerationReport.Phase.EXTERNAL_REFS, parser.getExternalRefNanos());
 
         // Prepare generation context
-        ProcessContext ctx = new ProcessContext(new Yaml().load(result.processedContent()));
+        ProcessContext ctx = new ProcessContext(result.rootDoc());
         ctx.setFilePath(specFilePath.toString());
         ctx.setPackageLocation(spec.getPackageLocation());
         // Per-spec Lombok fully overrides global when configured in build.gradle
@@ -129,7 +392,9 @@ public class YojoGenerator {
         ctx.setSpringBootVersion(yojoContext.getSpringBootVersion());
         ctx.setNullableAnnotation(yojoContext.getNullableAnnotation());
         ctx.setOutputDirectory(spec.getOutputDirectory());
-        ctx.setPathToWrite(spec.getOutputDirectory());
+        if (writesToDisk()) {
+            ctx.setPathToWrite(spec.getOutputDirectory());
+        }
         boolean splitModels = spec.isSplitModels();
         ctx.setSplitModels(splitModels);
 
@@ -144,10 +409,108 @@ public class YojoGenerator {
         }
         ctx.setSchemasMap(result.schemas());
         ctx.setMessagesMap(result.messages());
+        // The dependency graph is persisted next to the manifest only; fingerprint raw definitions
+        // before the mappers start rewriting them
+        SchemaDependencyGraph graph = useManifest && !yojoContext.isDryRun() ? new SchemaDependencyGraph() : null;
+        if (graph != null) {
+            result.messages().forEach((name, definition) -> graph.fingerprint(capitalize(name), definition));
+            result.schemas().forEach((name, definition) -> graph.fingerprint(capitalize(name), definition));
+            ctx.setDependencyGraph(graph);
+        }
 
         ctx.setExperimental(yojoContext.isExperimental());
 
-        process(ctx, schemaMapper, messageMapper);
+        OutputSink sink = outputSink != null ? outputSink : new FileSystemOutputSink(yojoContext.isWriteIfChanged());
+        JavaFileWriter writer = new JavaFileWriter(yojoContext.isDryRun(), sink, outputRoot, yojoContext.getWriterThreads());
+        try (writer; CodeGenerationStage codeGeneration = new CodeGenerationStage(yojoContext.getCodeGenerationThreads())) {
+            process(ctx, schemaMapper, messageMapper, codeGeneration, writer, report);
+            long drainStart = System.nanoTime();
+            writer.awaitWrites();
+            report.addTime(GenerationReport.Phase.WRITING, System.nanoTime() - drainStart);
+        }
+        report.setOutput(writer);
+        if (yojoContext.isWriteIfChanged()) {
+            LOG.info("FILES WRITTEN: " + writer.getWrittenCount() + ", UNCHANGED: " + writer.getUnchangedCount());
+        }
+
+        if (useManifest && !yojoContext.isDryRun()) {
+            List<Path> inputs = new ArrayList<>();
+            inputs.add(specFilePath);
+            inputs.addAll(result.externalFiles());
+            GenerationManifest current = GenerationManifest.create(settings, inputs, outputRoot, writer.getProducedFiles());
+            if (yojoContext.isPruneStaleFiles()) {
+                if (previous != null) {
+                    pruner.register(specFileName, outputRoot, current, previous, writer);
+                } else {
+                    pruner.claim(outputRoot, current.getOutputs());
+                }
+            }
+            current.write(manifestPath);
+
+            Path graphPath = SchemaDependencyGraph.location(spec.getOutputDirectory(), specFileName);
+            SchemaDependencyGraph previousGraph = SchemaDependencyGraph.read(graphPath);
+            if (previousGraph != null) {
+                Set<String> changed = graph.changedNodes(previousGraph);
+                LOG.info("CHANGED DEFINITIONS: " + changed.size() + ", AFFECTED CLASSES: "
+                         + graph.transitiveDependents(changed).size());
+                LOG.debug(() -> "AFFECTED CLASSES: " + graph.transitiveDependents(changed));
+            }
+            graph.write(graphPath);
+        }
+    }
+
+    private boolean writesToDisk() {
+        return outputSink == null || outputSink.writesToDisk();
+    }
+
+    /**
+     * Builds a stable description of every setting that influences the generated code of a specification.
+     * Used as part of the incremental-generation fingerprint, so a generator upgrade also invalidates previous output.
+     * The legacy Spring Boot version is included as long as it still selects the validation API.
+     *
+     * @param spec        specification definition
+     * @param yojoContext shared context
+     * @return settings description
+     */
+    @SuppressWarnings("deprecation")
+    private static String describeSettings(SpecificationProperties spec, YojoContext yojoContext) {
+        LombokProperties lombok = spec.getLombokProperties() != null
+                ? spec.getLombokProperties()
+                : yojoContext.getLombokProperties();
+        StringBuilder sb = new StringBuilder();
+        sb.append("generator=").append(YojoGenerator.class.getPackage().getImplementationVersion())
+                .append(";package=").append(spec.getPackageLocation())
+                .append(";output=").append(spec.getOutputDirectory())
+                .append(";split=").append(spec.isSplitModels())
+                .append(";validationApi=").append(yojoContext.getValidationApi())
+                .append(";springBootVersion=").append(yojoContext.getSpringBootVersion())
+                .append(";nullable=").append(yojoContext.getNullableAnnotation())
+                .append(";experimental=").append(yojoContext.isExperimental());
+        sb.append(";lombok=");
+        if (lombok == null) {
+            sb.append("null");
+        } else {
+            sb.append(lombok.enableLombok()).append(',')
+                    .append(lombok.allArgsConstructor()).append(',')
+                    .append(lombok.noArgsConstructor()).append(',')
+                    .append(lombok.isRequiredArgsConstructor()).append(',')
+                    .append(lombok.isValue()).append(',')
+                    .append(lombok.isWith()).append(',')
+                    .append(lombok.isGetter()).append(',')
+                    .append(lombok.isSetter()).append(',')
+                    .append(lombok.isToString()).append(',')
+                    .append(lombok.isSlf4j());
+            Accessors accessors = lombok.getAccessors();
+            sb.append(";accessors=").append(accessors == null ? "null"
+                    : accessors.isEnable() + "," + accessors.isFluent() + "," + accessors.isChain());
+            EqualsAndHashCode equalsAndHashCode = lombok.getEqualsAndHashCode();
+            sb.append(";equalsAndHashCode=").append(equalsAndHashCode == null ? "null"
+                    : equalsAndHashCode.isEnable() + "," + equalsAndHashCode.getCallSuper());
+            BuilderProperties builder = lombok.getBuilder();
+            sb.append(";builder=").append(builder == null ? "null"
+                    : builder.isEnable() + "," + builder.isSingular() + "," + builder.isBuilderDefault());
+        }
+        return sb.toString();
     }
 
     // ————————————————————————————————————————
@@ -156,30 +519,91 @@ public class YojoGenerator {
 
     /**
      * Main processing pipeline: generates schemas and messages from the parsed context.
+     * <p>
+     * Each model is mapped exactly once; the resulting immutable lists are then consumed by the
+     * logging, code generation and writing stages. Messages are mapped first because message mapping
+     * decides which schemas are removed from (or inner schemas added to) {@link ProcessContext#getSchemasMap()}.
+     * Once mapped, the annotation and import sets of all fields are compacted into sets shared across the
+     * specification (see {@link VariableProperties#compact(Map)}), since the model is kept until the spec is done.
      *
-     * @param ctx           generation context with pre-populated schemas and messages
-     * @param schemaMapper  schema mapper
-     * @param messageMapper message mapper
+     * @param ctx            generation context with pre-populated schemas and messages
+     * @param schemaMapper   schema mapper
+     * @param messageMapper  message mapper
+     * @param codeGeneration renders the mapped classes, sequentially or in parallel
+     * @param writer         per-spec file writer
+     * @param report         receives mapping, generation and writing timings
      */
-    private void process(ProcessContext ctx, SchemaMapper schemaMapper, MessageMapper messageMapper) {
-        processMessages(ctx, messageMapper);
-        processSchemas(ctx, schemaMapper);
+    private void process(ProcessContext ctx,
+                         SchemaMapper schemaMapper,
+                         MessageMapper messageMapper,
+                         CodeGenerationStage codeGeneration,
+                         JavaFileWriter writer,
+                         GenerationReport.SpecReport report) {
+        LOG.info(ANSI_CYAN + LOG_DELIMETER);
+        long start = System.nanoTime();
+        List<Message> messageList = List.copyOf(messageMapper.mapMessagesToObjects(ctx));
+        Map<Set<String>, Set<String>> internedSets = new HashMap<>();
+        for (Message message : messageList) {
+            compact(message.getFillParameters(), internedSets);
+        }
+        report.addTime(GenerationReport.Phase.MESSAGE_MAPPING, System.nanoTime() - start);
+        processMessages(ctx, messageList, codeGeneration, writer, report);
+        LOG.info(LOG_DELIMETER);
+        start = System.nanoTime();
+        List<Schema> schemaList = List.copyOf(schemaMapper.mapSchemasToObjects(ctx));
+        for (Schema schema : schemaList) {
+            compact(schema.getFillParameters(), internedSets);
+        }
+        report.addTime(GenerationReport.Phase.SCHEMA_MAPPING, System.nanoTime() - start);
+        processSchemas(ctx, schemaList, codeGeneration, writer, report);
         LOG.info(LOG_FINISH);
+        if (ctx.getDependencyGraph() != null) {
+            ctx.getDependencyGraph().addModel(messageList, schemaList);
+        }
+
+        report.setMessageCount(messageList.size());
+        report.setSchemaCount(schemaList.size());
+        report.setInnerSchemaCount(ctx.getHelper().getInnerSchemas().size());
+        int properties = 0;
+        for (Message message : messageList) {
+            properties += countProperties(message.getFillParameters());
+        }
+        for (Schema schema : schemaList) {
+            properties += countProperties(schema.getFillParameters());
+        }
+        report.setPropertyCount(properties);
+    }
+
+    private static void compact(FillParameters fillParameters, Map<Set<String>, Set<String>> internedSets) {
+        if (fillParameters != null && fillParameters.getVariableProperties() != null) {
+            fillParameters.getVariableProperties().forEach(variableProperties -> variableProperties.compact(internedSets));
+        }
+    }
+
+    private static int countProperties(FillParameters fillParameters) {
+        return fillParameters == null || fillParameters.getVariableProperties() == null
+                ? 0
+                : fillParameters.getVariableProperties().size();
     }
 
     /**
      * Generates and writes all schema classes (DTOs, enums, interfaces).
      *
-     * @param ctx          generation context
-     * @param schemaMapper mapper
+     * @param ctx            generation context
+     * @param schemaList     mapped schemas
+     * @param codeGeneration renders the schemas
+     * @param writer         per-spec file writer
+     * @param report         receives generation and writing timings
      */
-    private void processSchemas(ProcessContext ctx, SchemaMapper schemaMapper) {
-        LOG.info(LOG_DELIMETER);
-        List<Schema> schemaList = schemaMapper.mapSchemasToObjects(ctx);
+    private void processSchemas(ProcessContext ctx,
+                                List<Schema> schemaList,
+                                CodeGenerationStage codeGeneration,
+                                JavaFileWriter writer,
+                                GenerationReport.SpecReport report) {
         if (!schemaList.isEmpty()) {
             LOG.info("START WRITING JAVA CLASS FROM SCHEMAS:");
             schemaList.forEach(schema -> LOG.info(schema.getSchemaName()));
-            writeSchemas(ctx, schemaMapper);
+            writeSchemas(ctx, schemaList, codeGeneration, writer, report);
             LOG.info(LOG_DELIMETER + ANSI_RESET);
         }
     }
@@ -187,34 +611,54 @@ public class YojoGenerator {
     /**
      * Generates and writes all message DTOs.
      *
-     * @param ctx           generation context
-     * @param messageMapper mapper
+     * @param ctx            generation context
+     * @param messageList    mapped messages
+     * @param codeGeneration renders the messages
+     * @param writer         per-spec file writer
+     * @param report         receives generation and writing timings
      */
-    private void processMessages(ProcessContext ctx, MessageMapper messageMapper) {
-        LOG.info(ANSI_CYAN + LOG_DELIMETER);
-        List<Message> messageList = messageMapper.mapMessagesToObjects(ctx);
+    private void processMessages(ProcessContext ctx,
+                                 List<Message> messageList,
+                                 CodeGenerationStage codeGeneration,
+                                 JavaFileWriter writer,
+                                 GenerationReport.SpecReport report) {
         LOG.info("START WRITING JAVA CLASS FROM MESSAGES:");
         messageList.forEach(message -> LOG.info(message.getMessageName()));
-        writeMessages(ctx, messageMapper);
+        writeMessages(ctx, messageList, codeGeneration, writer, report);
         LOG.info(LOG_DELIMETER);
     }
 
-    private void writeMessages(ProcessContext ctx, MessageMapper messageMapper) {
-        List<Message> messageList = messageMapper.mapMessagesToObjects(ctx);
-        for (Message message : messageList) {
-            String customPath = message.getPathForGenerateMessage();
-            writeFileUnified(ctx, message.getMessageName(), new MessageCodeGenerator(message).generate(), true, customPath);
-        }
+    private void writeMessages(ProcessContext ctx,
+                               List<Message> messageList,
+                               CodeGenerationStage codeGeneration,
+                               JavaFileWriter writer,
+                               GenerationReport.SpecReport report) {
+        codeGeneration.generate(messageList, message -> new MessageCodeGenerator(message).generateSource(),
+                (message, content, generationNanos) -> {
+                    long start = System.nanoTime();
+                    writeFileUnified(ctx, writer, message.getMessageName(), content, true, message.getPathForGenerateMessage());
+                    report.addTime(GenerationReport.Phase.CODE_GENERATION, generationNanos);
+                    report.addTime(GenerationReport.Phase.WRITING, System.nanoTime() - start);
+                });
     }
 
-    private void writeSchemas(ProcessContext ctx, SchemaMapper schemaMapper) {
-        List<Schema> schemaList = schemaMapper.mapSchemasToObjects(ctx);
-        for (Schema schema : schemaList) {
-            writeFileUnified(ctx, schema.getSchemaName(), new SchemaCodeGenerator(schema).generate(), false, null);
-        }
+    private void writeSchemas(ProcessContext ctx,
+                              List<Schema> schemaList,
+                              CodeGenerationStage codeGeneration,
+                              JavaFileWriter writer,
+                              GenerationReport.SpecReport report) {
+        codeGeneration.generate(schemaList, schema -> new SchemaCodeGenerator(schema).generateSource(),
+                (schema, content, generationNanos) -> {
+                    long start = System.nanoTime();
+                    writeFileUnified(ctx, writer, schema.getSchemaName(), content, false, null);
+                    long writingNanos = System.nanoTime() - start;
+                    report.addTime(GenerationReport.Phase.CODE_GENERATION, generationNanos);
+                    report.addTime(GenerationReport.Phase.WRITING, writingNanos);
+                    report.addSchemaTiming(schema.getSchemaName(), generationNanos + writingNanos);
+                });
     }
 
-    private void writeFileUnified(ProcessContext ctx, String fileName, String content, boolean isMessage, String customPath) {
+    private void writeFileUnified(ProcessContext ctx, JavaFileWriter writer, String fileName, SourceEmitter content, boolean isMessage, String customPath) {
         String baseOutput = ctx.getOutputDirectory();
         if (!baseOutput.endsWith("/")) {
             baseOutput += "/";
@@ -230,7 +674,6 @@ public class YojoGenerator {
             targetDir = baseOutput;
         }
 
-        JavaFileWriter writer = new JavaFileWriter();
         writer.writeFile(targetDir, fileName, content);
     }
 
@@ -1,6 +1,7 @@
 package ru.yojo.codegen.generator.code;
 
 import ru.yojo.codegen.domain.FillParameters;
+import ru.yojo.codegen.domain.TypeRef;
 import ru.yojo.codegen.domain.VariableProperties;
 import ru.yojo.codegen.domain.lombok.Accessors;
 import ru.yojo.codegen.domain.lombok.LombokProperties;
@@ -28,25 +29,33 @@ record BuilderFieldInfo(String name, String type, String elementType, boolean is
 abstract class AbstractCodeGenerator {
 
     /**
-     * Builds the final source code by wrapping content with package declaration, imports,
-     * class JavaDoc, annotations, and class declaration.
+     * Completes a rendered class: builds the header (package declaration, sorted imports, class JavaDoc,
+     * {@code @Generated} and the given class annotations) in front of the class body.
+     * <p>
+     * Must be called after the body has been rendered, because rendering the body collects the imports.
+     * The body is not copied: both parts are emitted one after another (see {@link GeneratedSource}).
      *
+     * @param annotations class annotations placed right before the class declaration
      * @param content     the class body content
      * @param imports     set of import strings to include
      * @param packageName full package with trailing semicolon (e.g., {@code "com.example.common;"})
      * @param description optional JavaDoc description (may be {@code null})
-     * @return StringBuilder with fully assembled Java source code
+     * @return assembled Java source
      */
-    protected StringBuilder finishBuild(StringBuilder content, Set<String> imports, String packageName, String description) {
-        StringBuilder result = new StringBuilder();
+    protected GeneratedSource finishBuild(CharSequence annotations,
+                                          StringBuilder content,
+                                          Set<String> imports,
+                                          String packageName,
+                                          String description) {
+        StringBuilder header = new StringBuilder(256 + annotations.length() + imports.size() * 64);
         
         // Add imports including @Generated
         imports.add(JAVAX_GENERATED_IMPORT);
         
         // Package declaration
         if (packageName != null && !packageName.trim().isEmpty()) {
-            result.append("package ").append(packageName).append(lineSeparator());
-            result.append(lineSeparator());
+            header.append("package ").append(packageName).append(lineSeparator());
+            header.append(lineSeparator());
         }
         
         // Imports (sorted)
@@ -54,21 +63,19 @@ abstract class AbstractCodeGenerator {
                 .sorted()
                 .distinct()
                 .filter(i -> i != null && !i.trim().isEmpty())
-                .forEach(i -> result.append(IMPORT).append(i).append(lineSeparator()));
+                .forEach(i -> header.append(IMPORT).append(i).append(lineSeparator()));
         
-        result.append(lineSeparator());
+        header.append(lineSeparator());
         
         // Class-level JavaDoc first (before annotations)
         if (description != null && !description.trim().isEmpty()) {
-            generateClassJavaDoc(result, description);
+            generateClassJavaDoc(header, description);
         }
         
         // @Generated annotation (between JavaDoc and other annotations)
-        result.append(GENERATED_ANNOTATION).append(lineSeparator());
-        
-        result.append(content);
-        result.append(lineSeparator()).append("}");
-        return result;
+        header.append(GENERATED_ANNOTATION).append(lineSeparator());
+        header.append(annotations);
+        return new GeneratedSource(header, content);
     }
 
     /**
@@ -451,13 +458,13 @@ abstract class AbstractCodeGenerator {
     }
 
     /**
-     * Checks if the given type name represents a collection type (List or Set).
+     * Checks if the given type represents a collection type (List or Set).
      *
-     * @param type the Java type string (e.g., "List&lt;String&gt;", "Set&lt;Integer&gt;")
-     * @return {@code true} if the type starts with "List" or "Set"
+     * @param type the Java type (e.g., "List&lt;String&gt;", "Set&lt;Integer&gt;")
+     * @return {@code true} if the type is a {@code List} or a {@code Set}
      */
-    protected static boolean isCollectionType(String type) {
-        return type != null && (type.startsWith("List") || type.startsWith("Set"));
+    protected static boolean isCollectionType(TypeRef type) {
+        return type != null && type.isCollection();
     }
 
     /**
@@ -498,8 +505,8 @@ abstract class AbstractCodeGenerator {
         // 3a. Builder fields (same as outer, but without 'final', with initialization for collections)
         for (VariableProperties vp : fields) {
             String fieldLine;
-            if (isCollectionType(vp.getType())) {
-                String initExpr = getCollectionInitExpr(vp.getType());
+            if (isCollectionType(vp.getTypeRef())) {
+                String initExpr = getCollectionInitExpr(vp.getTypeRef());
                 if (initExpr != null) {
                     fieldLine = "        private " + vp.getType() + " " + vp.getName() + " = " + initExpr + ";";
                 } else {
@@ -524,8 +531,8 @@ abstract class AbstractCodeGenerator {
 
         // 3c. Singular adders for collection fields
         for (VariableProperties vp : fields) {
-            if (isCollectionType(vp.getType())) {
-                String elementType = extractElementType(vp.getType());
+            if (isCollectionType(vp.getTypeRef())) {
+                String elementType = extractElementType(vp.getTypeRef());
                 String singularName = deriveSingularName(vp.getName());
                 stringBuilder.append(lineSeparator());
                 stringBuilder.append(String.format("        public Builder %s(%s %s) {", singularName, elementType, singularName)).append(lineSeparator());
@@ -544,8 +551,8 @@ abstract class AbstractCodeGenerator {
         stringBuilder.append("    }").append(lineSeparator());
 
         // 4. Add required imports
-        boolean hasList = fields.stream().anyMatch(vp -> vp.getType().startsWith("List"));
-        boolean hasSet = fields.stream().anyMatch(vp -> vp.getType().startsWith("Set"));
+        boolean hasList = fields.stream().anyMatch(vp -> vp.getTypeRef().isList());
+        boolean hasSet = fields.stream().anyMatch(vp -> vp.getTypeRef().isSet());
         if (hasList) imports.add(LIST_IMPORT);
         if (hasSet) imports.add(SET_IMPORT);
         if (hasList || hasSet) {
@@ -555,7 +562,7 @@ abstract class AbstractCodeGenerator {
     }
 
     /**
-     * Extracts the element type from a generic collection type string.
+     * Extracts the element type from a generic collection type.
      * <p>
      * Examples:
      * <ul>
@@ -565,16 +572,11 @@ abstract class AbstractCodeGenerator {
      * </ul>
      *
      * @param type the full generic type (e.g., "List&lt;String&gt;")
-     * @return the element type or the original type if parsing fails
+     * @return the element type or the original type if it has no type arguments
      */
-    private static String extractElementType(String type) {
+    private static String extractElementType(TypeRef type) {
         if (type == null) return null;
-        int start = type.indexOf('<');
-        int end = type.lastIndexOf('>');
-        if (start >= 0 && end > start) {
-            return type.substring(start + 1, end);
-        }
-        return type;
+        return type.getElementType().toString();
     }
 
     /**
@@ -583,10 +585,10 @@ abstract class AbstractCodeGenerator {
      * @param type the collection type (e.g., "List&lt;String&gt;", "Set&lt;Integer&gt;")
      * @return initialization expression like "new ArrayList&lt;&gt;()" or "new HashSet&lt;&gt;()"
      */
-    private static String getCollectionInitExpr(String type) {
+    private static String getCollectionInitExpr(TypeRef type) {
         if (type == null) return null;
-        if (type.startsWith("List")) return "new ArrayList<>()";
-        if (type.startsWith("Set")) return "new HashSet<>()";
+        if (type.isList()) return "new ArrayList<>()";
+        if (type.isSet()) return "new HashSet<>()";
         return null;
     }
 
@@ -0,0 +1,80 @@
+package ru.yojo.codegen.generator.code;
+
+import ru.yojo.codegen.generator.sink.SourceEmitter;
+
+import java.io.IOException;
+
+import static java.lang.System.lineSeparator;
+
+/**
+ * Rendered Java class kept as its two parts: a small header (package, imports, class JavaDoc and annotations)
+ * and the class body as built by the generator.
+ * <p>
+ * The header can only be produced after the body pass has collected every import; keeping the parts apart
+ * lets the source be emitted header-first straight into the output (see {@link SourceEmitter}) without
+ * concatenating header and body into another buffer and then into a {@link String}.
+ * Neither part is modified after construction.
+ *
+ * @author Vladimir Morozkin (TG @vmorozkin)
+ */
+public final class GeneratedSource implements SourceEmitter {
+
+    private static final String FOOTER = lineSeparator() + "}";
+
+    private final StringBuilder header;
+    private final StringBuilder body;
+
+    /**
+     * Creates a source from its parts.
+     *
+     * @param header package declaration, imports, class JavaDoc and class annotations
+     * @param body   class declaration and members, without the closing brace
+     */
+    GeneratedSource(StringBuilder header, StringBuilder body) {
+        this.header = header;
+        this.body = body;
+    }
+
+    /**
+     * Writes header, body and the closing brace of the class to {@code out}.
+     *
+     * @param out destination
+     * @throws IOException if {@code out} fails
+     */
+    @Override
+    public void emitTo(Appendable out) throws IOException {
+        SourceEmitter.appendTo(out, header);
+        SourceEmitter.appendTo(out, body);
+        out.append(FOOTER);
+    }
+
+    /**
+     * Returns the length of the complete source in characters.
+     *
+     * @return number of characters
+     */
+    @Override
+    public int length() {
+        return header.length() + body.length() + FOOTER.length();
+    }
+
+    /**
+     * Returns the size of the complete source encoded as UTF-8, without encoding it.
+     *
+     * @return number of bytes
+     */
+    @Override
+    public long utf8Length() {
+        return SourceEmitter.utf8Length(header) + SourceEmitter.utf8Length(body) + SourceEmitter.utf8Length(FOOTER);
+    }
+
+    /**
+     * Returns the complete source.
+     *
+     * @return Java source code
+     */
+    @Override
+    public String toString() {
+        return asString();
+    }
+}
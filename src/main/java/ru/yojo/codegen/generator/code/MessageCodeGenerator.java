@@ -5,7 +5,10 @@ import ru.yojo.codegen.domain.VariableProperties;
 import ru.yojo.codegen.domain.lombok.BuilderProperties;
 import ru.yojo.codegen.domain.lombok.LombokProperties;
 import ru.yojo.codegen.domain.message.Message;
+import ru.yojo.codegen.event.CodeGenerateEvent;
+import ru.yojo.codegen.event.SchemaMapEvent;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -21,7 +24,7 @@ import static ru.yojo.codegen.constants.Dictionary.*;
  *   <li>Class-level JavaDoc (from {@code summary})</li>
  *   <li>Lombok annotations (if enabled)</li>
  *   <li>Inheritance/implementation clauses</li>
- *   <li>Fields (via {@link FillParameters#toWrite()})</li>
+ *   <li>Fields (via {@link FillParameters#appendTo(StringBuilder)})</li>
  *   <li>Getters/setters (if Lombok disabled)</li>
  *   <li>Package and imports</li>
  * </ul>
@@ -43,10 +46,43 @@ public class MessageCodeGenerator extends AbstractCodeGenerator {
 
     /**
      * Generates the full Java source code for the message DTO.
+     * Emits a {@link CodeGenerateEvent} when Flight Recorder is recording.
      *
      * @return complete Java source for the message class
      */
     public String generate() {
+        return generateSource().asString();
+    }
+
+    /**
+     * Generates the source for the message DTO and writes it to {@code out}, header first,
+     * without assembling it into a {@link String}.
+     *
+     * @param out destination (e.g., a {@link java.io.Writer} opened by an output sink)
+     * @throws IOException if {@code out} fails
+     */
+    public void generate(Appendable out) throws IOException {
+        generateSource().emitTo(out);
+    }
+
+    /**
+     * Renders the message DTO into a {@link GeneratedSource}: the body pass collects the imports, then the header is built.
+     * The result can be emitted into a sink later or on another thread.
+     * Emits a {@link CodeGenerateEvent} when Flight Recorder is recording.
+     *
+     * @return rendered source
+     */
+    public GeneratedSource generateSource() {
+        CodeGenerateEvent event = new CodeGenerateEvent();
+        event.begin();
+        GeneratedSource source = render();
+        event.finish(message.getMessageName(), SchemaMapEvent.MESSAGE, source.length());
+        return source;
+    }
+
+    private GeneratedSource render() {
+        // Render from copies: field decorations and Lombok adjustments must not leak into the mapped model
+        FillParameters fillParameters = FillParameters.newFillParameters(message.getFillParameters());
         Set<String> requiredImports = new HashSet<>();
         StringBuilder lombokAnnotationBuilder = new StringBuilder();
         
@@ -56,14 +92,16 @@ public class MessageCodeGenerator extends AbstractCodeGenerator {
                 message.getExtendsFrom(),
                 message.getMessageName(),
                 message.getImportSet(),
-                message.getFillParameters()
+                fillParameters
         );
 
-        LombokProperties lombokProperties = message.getLombokProperties();
+        LombokProperties lombokProperties = message.getLombokProperties() == null
+                ? null
+                : LombokProperties.newLombokProperties(message.getLombokProperties());
 
         // Identify final fields without default values — they need constructor initialization
         List<VariableProperties> finalFieldsWithoutDefaults = new ArrayList<>();
-        for (VariableProperties vp : message.getFillParameters().getVariableProperties()) {
+        for (VariableProperties vp : fillParameters.getVariableProperties()) {
             if (vp.isFinal() && vp.getDefaultProperty() == null && vp.getRealisation() == null) {
                 finalFieldsWithoutDefaults.add(vp);
             }
@@ -71,13 +109,13 @@ public class MessageCodeGenerator extends AbstractCodeGenerator {
         boolean hasUninitializedFinalFields = !finalFieldsWithoutDefaults.isEmpty();
 
         if (lombokProperties != null && lombokProperties.enableLombok()) {
-            if (message.getFillParameters().getVariableProperties().stream()
+            if (fillParameters.getVariableProperties().stream()
                     .anyMatch(prop -> "Data".equals(prop.getType()))) {
                 lombokAnnotationBuilder
                         .append(LOMBOK_DATA_ANNOTATION.replace("@", "@lombok."))
                         .append(lineSeparator());
             } else {
-                if (!message.getFillParameters().getVariableProperties().isEmpty()) {
+                if (!fillParameters.getVariableProperties().isEmpty()) {
                     lombokAnnotationBuilder
                             .append(LOMBOK_DATA_ANNOTATION)
                             .append(lineSeparator());
@@ -88,9 +126,9 @@ public class MessageCodeGenerator extends AbstractCodeGenerator {
             }
             
             // Handle Lombok properties from FillParameters
-            if (message.getFillParameters().getLombokProperties() != null) {
-                if (message.getFillParameters().getLombokProperties().getAccessors() != null) {
-                    lombokProperties.setAccessors(message.getFillParameters().getLombokProperties().getAccessors());
+            if (fillParameters.getLombokProperties() != null) {
+                if (fillParameters.getLombokProperties().getAccessors() != null) {
+                    lombokProperties.setAccessors(fillParameters.getLombokProperties().getAccessors());
                 }
             }
 
@@ -110,9 +148,9 @@ public class MessageCodeGenerator extends AbstractCodeGenerator {
         BuilderProperties builderProps = lombokProperties != null ? lombokProperties.getBuilder() : null;
         boolean lombokEnabled = lombokProperties != null && lombokProperties.enableLombok();
         if (builderProps != null && builderProps.isEnable() && lombokEnabled) {
-            for (VariableProperties vp : message.getFillParameters().getVariableProperties()) {
+            for (VariableProperties vp : fillParameters.getVariableProperties()) {
                 // @Singular for collection fields (List, Set)
-                if (builderProps.isSingular() && isCollectionType(vp.getType())) {
+                if (builderProps.isSingular() && isCollectionType(vp.getTypeRef())) {
                     String singularName = deriveSingularName(vp.getName());
                     vp.getAnnotationSet().add(String.format(LOMBOK_SINGULAR_ANNOTATION, singularName));
                 }
@@ -124,10 +162,7 @@ public class MessageCodeGenerator extends AbstractCodeGenerator {
         }
 
         // Add field declarations
-        String fields = message.getFillParameters().toWrite();
-        if (fields != null && !fields.isEmpty()) {
-            stringBuilder.append(fields);
-        }
+        fillParameters.appendTo(stringBuilder);
 
         // For without-Lombok: generate constructor for uninitialized final fields
         if (!finalFieldsWithoutDefaults.isEmpty() && (lombokProperties == null || !lombokProperties.enableLombok())) {
@@ -138,7 +173,7 @@ public class MessageCodeGenerator extends AbstractCodeGenerator {
         }
 
         if (lombokProperties == null || !lombokProperties.enableLombok()) {
-            message.getFillParameters().getVariableProperties().forEach(vp -> {
+            fillParameters.getVariableProperties().forEach(vp -> {
                 String reference = vp.getReference();
                 if (reference != null && vp.getEnumeration() == null) {
                     if (!vp.isFinal()) {
@@ -158,7 +193,7 @@ public class MessageCodeGenerator extends AbstractCodeGenerator {
                     }
                     stringBuilder.append(generateGetter(vp.getType(), vp.getName()));
                 } else {
-                    message.getFillParameters().getVariableProperties().stream()
+                    fillParameters.getVariableProperties().stream()
                             .filter(varProp -> vp.equals(varProp))
                             .flatMap(variableProperties -> {
                                 Set<String> i = variableProperties.getRequiredImports();
@@ -178,7 +213,7 @@ public class MessageCodeGenerator extends AbstractCodeGenerator {
             // Manual builder class (without-Lombok path)
             if (builderProps != null && builderProps.isEnable()) {
                 generateManualBuilder(message.getMessageName(),
-                        message.getFillParameters().getVariableProperties(),
+                        fillParameters.getVariableProperties(),
                         requiredImports, stringBuilder);
             }
         }
@@ -192,11 +227,9 @@ public class MessageCodeGenerator extends AbstractCodeGenerator {
             }
         }
 
-        stringBuilder.insert(0, lombokAnnotationBuilder);
-
-        message.getFillParameters().getVariableProperties().forEach(vp -> requiredImports.addAll(vp.getRequiredImports()));
+        fillParameters.getVariableProperties().forEach(vp -> requiredImports.addAll(vp.getRequiredImports()));
 
-        return finishBuild(stringBuilder, requiredImports, message.getMessagePackageName(), message.getSummary()).toString();
+        return finishBuild(lombokAnnotationBuilder, stringBuilder, requiredImports, message.getMessagePackageName(), message.getSummary());
     }
 
     /**
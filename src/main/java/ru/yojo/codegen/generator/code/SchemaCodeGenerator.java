@@ -5,7 +5,10 @@ import ru.yojo.codegen.domain.VariableProperties;
 import ru.yojo.codegen.domain.lombok.BuilderProperties;
 import ru.yojo.codegen.domain.lombok.LombokProperties;
 import ru.yojo.codegen.domain.schema.Schema;
+import ru.yojo.codegen.event.CodeGenerateEvent;
+import ru.yojo.codegen.event.SchemaMapEvent;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -32,6 +35,7 @@ import static ru.yojo.codegen.util.MapperUtil.getXValueOrElseDeprecated;
 public class SchemaCodeGenerator extends AbstractCodeGenerator {
 
     private final Schema schema;
+    private FillParameters fillParameters;
 
     /**
      * Creates a generator for the given schema definition.
@@ -44,10 +48,43 @@ public class SchemaCodeGenerator extends AbstractCodeGenerator {
 
     /**
      * Generates the full Java source code for this schema.
+     * Emits a {@link CodeGenerateEvent} when Flight Recorder is recording.
      *
      * @return complete Java source code
      */
     public String generate() {
+        return generateSource().asString();
+    }
+
+    /**
+     * Generates the source for this schema and writes it to {@code out}, header first,
+     * without assembling it into a {@link String}.
+     *
+     * @param out destination (e.g., a {@link java.io.Writer} opened by an output sink)
+     * @throws IOException if {@code out} fails
+     */
+    public void generate(Appendable out) throws IOException {
+        generateSource().emitTo(out);
+    }
+
+    /**
+     * Renders this schema into a {@link GeneratedSource}: the body pass collects the imports, then the header is built.
+     * The result can be emitted into a sink later or on another thread.
+     * Emits a {@link CodeGenerateEvent} when Flight Recorder is recording.
+     *
+     * @return rendered source
+     */
+    public GeneratedSource generateSource() {
+        CodeGenerateEvent event = new CodeGenerateEvent();
+        event.begin();
+        GeneratedSource source = render();
+        event.finish(schema.getSchemaName(), SchemaMapEvent.SCHEMA, source.length());
+        return source;
+    }
+
+    private GeneratedSource render() {
+        // Render from a copy: field decorations (@Singular, final, imports) must not leak into the mapped model
+        fillParameters = FillParameters.newFillParameters(schema.getFillParameters());
         StringBuilder stringBuilder;
         Set<String> requiredImports = new HashSet<>();
         StringBuilder lombokAnnotationBuilder = new StringBuilder();
@@ -55,7 +92,7 @@ public class SchemaCodeGenerator extends AbstractCodeGenerator {
         if (schema.isInterface()) {
             stringBuilder = generateInterface();
         } else {
-            boolean hasNonEnumProperties = schema.getFillParameters().getVariableProperties().stream()
+            boolean hasNonEnumProperties = fillParameters.getVariableProperties().stream()
                     .anyMatch(vp -> vp.getEnumeration() == null);
 
             if (hasNonEnumProperties) {
@@ -66,14 +103,14 @@ public class SchemaCodeGenerator extends AbstractCodeGenerator {
                         schema.getExtendsFrom(),
                         schema.getSchemaName(),
                         schema.getImportSet(),
-                        schema.getFillParameters()
+                        fillParameters
                 );
 
                 LombokProperties lombokProperties = schema.getLombokProperties();
 
                 // Identify final fields without default values — they need constructor initialization
                 List<VariableProperties> finalFieldsWithoutDefaults = new ArrayList<>();
-                for (VariableProperties vp : schema.getFillParameters().getVariableProperties()) {
+                for (VariableProperties vp : fillParameters.getVariableProperties()) {
                     if (vp.isFinal() && vp.getDefaultProperty() == null && vp.getRealisation() == null) {
                         finalFieldsWithoutDefaults.add(vp);
                     }
@@ -84,19 +121,19 @@ public class SchemaCodeGenerator extends AbstractCodeGenerator {
                     // @Value is mutually exclusive with @Data
                     if (lombokProperties.isValue()) {
                         // For @Value: make all fields final so they're treated as immutable
-                        for (VariableProperties vp : schema.getFillParameters().getVariableProperties()) {
+                        for (VariableProperties vp : fillParameters.getVariableProperties()) {
                             vp.setFinal(true);
                         }
                     } else {
                         // @Data (default when Lombok enabled, unless @Value is used)
                         if (schema.getSchemaName().equals("Data") ||
-                                schema.getFillParameters().getVariableProperties().stream()
+                                fillParameters.getVariableProperties().stream()
                                         .anyMatch(prop -> "Data".equals(prop.getType()))) {
                             lombokAnnotationBuilder
                                     .append(LOMBOK_DATA_ANNOTATION.replace("@", "@lombok."))
                                     .append(lineSeparator());
                         } else {
-                            if (!schema.getFillParameters().getVariableProperties().isEmpty()) {
+                            if (!fillParameters.getVariableProperties().isEmpty()) {
                                 lombokAnnotationBuilder
                                         .append(LOMBOK_DATA_ANNOTATION)
                                         .append(lineSeparator());
@@ -120,9 +157,9 @@ public class SchemaCodeGenerator extends AbstractCodeGenerator {
                 BuilderProperties builderProps = lombokProperties != null ? lombokProperties.getBuilder() : null;
                 boolean lombokEnabled = lombokProperties != null && lombokProperties.enableLombok();
                 if (builderProps != null && builderProps.isEnable() && lombokEnabled) {
-                    for (VariableProperties vp : schema.getFillParameters().getVariableProperties()) {
+                    for (VariableProperties vp : fillParameters.getVariableProperties()) {
                         // @Singular for collection fields (List, Set)
-                        if (builderProps.isSingular() && isCollectionType(vp.getType())) {
+                        if (builderProps.isSingular() && isCollectionType(vp.getTypeRef())) {
                             String singularName = deriveSingularName(vp.getName());
                             vp.getAnnotationSet().add(String.format(LOMBOK_SINGULAR_ANNOTATION, singularName));
                         }
@@ -134,10 +171,7 @@ public class SchemaCodeGenerator extends AbstractCodeGenerator {
                 }
 
                 // Add field declarations
-                String fields = schema.getFillParameters().toWrite();
-                if (fields != null && !fields.isEmpty()) {
-                    stringBuilder.append(fields);
-                }
+                fillParameters.appendTo(stringBuilder);
 
                 StringBuilder finalStringBuilder = stringBuilder;
 
@@ -149,7 +183,7 @@ public class SchemaCodeGenerator extends AbstractCodeGenerator {
                             .append(lineSeparator());
                 }
 
-                schema.getFillParameters().getVariableProperties().stream()
+                fillParameters.getVariableProperties().stream()
                         .flatMap(variableProperties -> {
                             Set<String> i = variableProperties.getRequiredImports();
                             if (lombokProperties == null || !lombokProperties.enableLombok()) {
@@ -173,7 +207,7 @@ public class SchemaCodeGenerator extends AbstractCodeGenerator {
                 // Manual toString/equals/hashCode (without-Lombok path)
                 if (lombokProperties == null || !lombokProperties.enableLombok()) {
                     List<VariableProperties> nonEnumFields = new ArrayList<>();
-                    for (VariableProperties vp : schema.getFillParameters().getVariableProperties()) {
+                    for (VariableProperties vp : fillParameters.getVariableProperties()) {
                         if (vp.getEnumeration() == null) {
                             nonEnumFields.add(vp);
                         }
@@ -195,7 +229,7 @@ public class SchemaCodeGenerator extends AbstractCodeGenerator {
                 if (builderProps != null && builderProps.isEnable() &&
                         (lombokProperties == null || !lombokProperties.enableLombok())) {
                     generateManualBuilder(schema.getSchemaName(),
-                            schema.getFillParameters().getVariableProperties(),
+                            fillParameters.getVariableProperties(),
                             requiredImports, finalStringBuilder);
                 }
             } else {
@@ -203,22 +237,22 @@ public class SchemaCodeGenerator extends AbstractCodeGenerator {
                 stringBuilder = getEnumClassBuilder(schema.getSchemaName());
 
                 // Remove @Valid from enums
-                schema.getFillParameters().getVariableProperties().forEach(vp -> {
+                fillParameters.getVariableProperties().forEach(vp -> {
                     vp.getRequiredImports().remove(JAVAX_VALID_IMPORT);
                     vp.getRequiredImports().remove(JAKARTA_VALID_IMPORT);
                 });
 
-                boolean hasEnumWithDescription = schema.getFillParameters().getVariableProperties().stream()
+                boolean hasEnumWithDescription = fillParameters.getVariableProperties().stream()
                         .anyMatch(vp -> vp.getEnumNames() != null);
-                boolean hasEnumValues = schema.getFillParameters().getVariableProperties().stream()
+                boolean hasEnumValues = fillParameters.getVariableProperties().stream()
                         .anyMatch(vp -> vp.getEnumValues() != null);
 
                 if (hasEnumValues) {
                     // ─── Enum with x-enumValues: @JsonValue/@JsonCreator support ─── //
                     // 1️⃣ Generate enum constants: ACTIVE("A"), ...
                     StringBuilder constantsBuilder = new StringBuilder();
-                    for (int i = 0; i < schema.getFillParameters().getVariableProperties().size(); i++) {
-                        VariableProperties vp = schema.getFillParameters().getVariableProperties().get(i);
+                    for (int i = 0; i < fillParameters.getVariableProperties().size(); i++) {
+                        VariableProperties vp = fillParameters.getVariableProperties().get(i);
                         if (vp.getEnumeration() != null) {
                             String name = vp.getEnumeration();
                             String wireValue = vp.getEnumValues() != null ? esc(vp.getEnumValues()) : "";
@@ -228,7 +262,7 @@ public class SchemaCodeGenerator extends AbstractCodeGenerator {
                                     .append("(\"")
                                     .append(wireValue)
                                     .append("\")");
-                            if (i < schema.getFillParameters().getVariableProperties().size() - 1) {
+                            if (i < fillParameters.getVariableProperties().size() - 1) {
                                 constantsBuilder.append(",");
                             }
                             constantsBuilder.append(lineSeparator());
@@ -314,8 +348,8 @@ public class SchemaCodeGenerator extends AbstractCodeGenerator {
                     // ─── Enum with x-enumNames: human-readable description ─── //
                     // 1️⃣ Generate enum constants: SUCCESS("Success value"), ...
                     StringBuilder constantsBuilder = new StringBuilder();
-                    for (int i = 0; i < schema.getFillParameters().getVariableProperties().size(); i++) {
-                        VariableProperties vp = schema.getFillParameters().getVariableProperties().get(i);
+                    for (int i = 0; i < fillParameters.getVariableProperties().size(); i++) {
+                        VariableProperties vp = fillParameters.getVariableProperties().get(i);
                         if (vp.getEnumeration() != null) {
                             String name = vp.getEnumeration();
                             String desc = vp.getEnumNames() != null ? esc(vp.getEnumNames()) : "";
@@ -325,7 +359,7 @@ public class SchemaCodeGenerator extends AbstractCodeGenerator {
                                     .append("(\"")
                                     .append(desc)
                                     .append("\")");
-                            if (i < schema.getFillParameters().getVariableProperties().size() - 1) {
+                            if (i < fillParameters.getVariableProperties().size() - 1) {
                                 constantsBuilder.append(",");
                             }
                             constantsBuilder.append(lineSeparator());
@@ -375,7 +409,8 @@ public class SchemaCodeGenerator extends AbstractCodeGenerator {
 
                 } else {
                     // Plain enum (no descriptions, no wire values)
-                    stringBuilder.append(schema.getFillParameters().toWrite()).append(lineSeparator());
+                    fillParameters.appendTo(stringBuilder);
+                    stringBuilder.append(lineSeparator());
                 }
 
                 // 4️⃣ Lombok (exclude constructors, equalsAndHashCode, and accessors for enums)
@@ -435,9 +470,7 @@ public class SchemaCodeGenerator extends AbstractCodeGenerator {
             }
         }
 
-        stringBuilder.insert(0, lombokAnnotationBuilder);
-
-        return finishBuild(stringBuilder, requiredImports, schema.getPackageName(), schema.getDescription()).toString();
+        return finishBuild(lombokAnnotationBuilder, stringBuilder, requiredImports, schema.getPackageName(), schema.getDescription());
     }
 
     /**
@@ -463,10 +496,6 @@ public class SchemaCodeGenerator extends AbstractCodeGenerator {
                         .append(lineSeparator());
             });
         }
-        Set<String> interfaceImports = schema.getInterfaceImports();
-        if (interfaceImports != null && !interfaceImports.isEmpty()) {
-            schema.getImportSet().addAll(interfaceImports);
-        }
         return stringBuilder;
     }
 
@@ -0,0 +1,42 @@
+package ru.yojo.codegen.generator.sink;
+
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * Streams every generated source to a caller-supplied consumer as soon as it is generated.
+ * <p>
+ * The consumer receives the path relative to the output directory (with {@code /} separators) and the source.
+ * Calls are serialized, so the consumer does not have to be thread-safe even when specifications
+ * are generated in parallel.
+ *
+ * @author Vladimir Morozkin (TG @vmorozkin)
+ */
+public class ConsumerOutputSink implements OutputSink {
+
+    private final BiConsumer<String, CharSequence> consumer;
+
+    /**
+     * Creates a streaming sink.
+     *
+     * @param consumer receives relative path and source of every generated file
+     */
+    public ConsumerOutputSink(BiConsumer<String, CharSequence> consumer) {
+        this.consumer = Objects.requireNonNull(consumer, "consumer");
+    }
+
+    /**
+     * Passes the source to the consumer.
+     *
+     * @param file         absolute target path (unused)
+     * @param relativePath path passed to the consumer
+     * @param content      Java source code
+     * @return always {@code true}
+     */
+    @Override
+    public synchronized boolean write(Path file, String relativePath, String content) {
+        consumer.accept(relativePath, content);
+        return true;
+    }
+}
@@ -0,0 +1,138 @@
+package ru.yojo.codegen.generator.sink;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Writes generated sources to disk (UTF-8), creating target directories as needed.
+ * <p>
+ * In write-if-changed mode an existing file with identical content is left untouched, so its timestamp
+ * survives and incremental compilation downstream stays effective.
+ * <p>
+ * Sources given as a {@link SourceEmitter} are streamed into the file through a small encoder buffer,
+ * unless write-if-changed mode needs the complete bytes for comparison.
+ * <p>
+ * Directories created (or found) once are remembered, so writing many classes into one package
+ * costs a single {@code createDirectories} call. Safe for concurrent use.
+ *
+ * @author Vladimir Morozkin (TG @vmorozkin)
+ */
+public class FileSystemOutputSink implements OutputSink {
+
+    private final boolean skipUnchanged;
+    private final Set<Path> knownDirectories = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates a file system sink.
+     *
+     * @param skipUnchanged if {@code true}, an existing file with identical content is not rewritten
+     */
+    public FileSystemOutputSink(boolean skipUnchanged) {
+        this.skipUnchanged = skipUnchanged;
+    }
+
+    /**
+     * Creates a file system sink that always rewrites target files.
+     */
+    public FileSystemOutputSink() {
+        this(false);
+    }
+
+    /**
+     * Writes the file, unless write-if-changed mode is on and the file already has this content.
+     *
+     * @param file         absolute target path
+     * @param relativePath path relative to the output directory (unused)
+     * @param content      Java source code
+     * @return {@code true} if the file was written, {@code false} if it was already up to date
+     * @throws IOException if the directory or file cannot be written
+     */
+    @Override
+    public boolean write(Path file, String relativePath, String content) throws IOException {
+        byte[] bytes = content.getBytes(UTF_8);
+        if (skipUnchanged && hasSameContent(file, bytes)) {
+            return false;
+        }
+        Path directory = file.getParent();
+        if (knownDirectories.add(directory)) {
+            Files.createDirectories(directory);
+        }
+        try {
+            Files.write(file, bytes);
+        } catch (NoSuchFileException e) {
+            // The directory was removed after it had been cached (e.g. by stale file pruning)
+            Files.createDirectories(directory);
+            Files.write(file, bytes);
+        }
+        return true;
+    }
+
+    /**
+     * Streams the source into the file; in write-if-changed mode assembles it first to compare with the existing file.
+     *
+     * @param file         absolute target path
+     * @param relativePath path relative to the output directory (unused)
+     * @param source       Java source code
+     * @return {@code true} if the file was written, {@code false} if it was already up to date
+     * @throws IOException if the directory or file cannot be written
+     */
+    @Override
+    public boolean write(Path file, String relativePath, SourceEmitter source) throws IOException {
+        if (skipUnchanged) {
+            return write(file, relativePath, source.asString());
+        }
+        Path directory = file.getParent();
+        if (knownDirectories.add(directory)) {
+            Files.createDirectories(directory);
+        }
+        try {
+            stream(file, source);
+        } catch (NoSuchFileException e) {
+            // The directory was removed after it had been cached (e.g. by stale file pruning)
+            Files.createDirectories(directory);
+            stream(file, source);
+        }
+        return true;
+    }
+
+    /**
+     * Always {@code true}: files end up in the output directory.
+     *
+     * @return {@code true}
+     */
+    @Override
+    public boolean writesToDisk() {
+        return true;
+    }
+
+    private static void stream(Path file, SourceEmitter source) throws IOException {
+        // OutputStreamWriter replaces malformed input like String#getBytes, so both write paths produce the same bytes
+        try (Writer out = new OutputStreamWriter(Files.newOutputStream(file), UTF_8)) {
+            source.emitTo(out);
+        }
+    }
+
+    /**
+     * Compares an existing file with new content: size first (cheap), then bytes.
+     *
+     * @param file  target file
+     * @param bytes new content
+     * @return {@code true} if the file exists and has exactly the same bytes
+     * @throws IOException if the existing file cannot be read
+     */
+    private static boolean hasSameContent(Path file, byte[] bytes) throws IOException {
+        if (!Files.isRegularFile(file) || Files.size(file) != bytes.length) {
+            return false;
+        }
+        return Arrays.equals(Files.readAllBytes(file), bytes);
+    }
+}
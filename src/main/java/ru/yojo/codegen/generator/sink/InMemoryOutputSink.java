@@ -0,0 +1,62 @@
+package ru.yojo.codegen.generator.sink;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects generated sources in memory, keyed by path relative to the output directory of the specification.
+ * <p>
+ * Useful for feeding sources straight into {@code javax.tools.JavaCompiler} or for tests, without writing
+ * temporary files. When several specifications produce the same relative path, the later source replaces
+ * the earlier one.
+ *
+ * @author Vladimir Morozkin (TG @vmorozkin)
+ */
+public class InMemoryOutputSink implements OutputSink {
+
+    private final Map<String, CharSequence> sources = new ConcurrentHashMap<>();
+
+    /**
+     * Stores the source under its relative path, replacing any previous source for that path.
+     *
+     * @param file         absolute target path (unused)
+     * @param relativePath key of the source
+     * @param content      Java source code
+     * @return always {@code true}
+     */
+    @Override
+    public boolean write(Path file, String relativePath, String content) {
+        sources.put(relativePath, content);
+        return true;
+    }
+
+    /**
+     * Returns all collected sources.
+     *
+     * @return unmodifiable snapshot sorted by relative path (e.g. {@code common/UserDto.java} → source)
+     */
+    public SortedMap<String, CharSequence> getSources() {
+        return Collections.unmodifiableSortedMap(new TreeMap<>(sources));
+    }
+
+    /**
+     * Returns a single collected source.
+     *
+     * @param relativePath path relative to the output directory, with {@code /} separators
+     * @return source, or {@code null} if nothing was generated for this path
+     */
+    public CharSequence getSource(String relativePath) {
+        return sources.get(relativePath);
+    }
+
+    /**
+     * Discards all collected sources.
+     */
+    public void clear() {
+        sources.clear();
+    }
+}
@@ -0,0 +1,59 @@
+package ru.yojo.codegen.generator.sink;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Destination of generated Java sources.
+ * <p>
+ * {@link ru.yojo.codegen.generator.JavaFileWriter} validates file names and keeps statistics;
+ * the sink decides what happens with the content:
+ * <ul>
+ *   <li>{@link FileSystemOutputSink} — writes files to disk (default)</li>
+ *   <li>{@link InMemoryOutputSink} — collects sources into a map keyed by relative path</li>
+ *   <li>{@link ConsumerOutputSink} — hands every source to a caller-supplied consumer</li>
+ *   <li>{@link ZipOutputSink} — packs all sources into a single reproducible {@code -sources.jar}/zip</li>
+ * </ul>
+ * Implementations must be thread-safe: specifications may be generated in parallel.
+ *
+ * @author Vladimir Morozkin (TG @vmorozkin)
+ */
+public interface OutputSink {
+
+    /**
+     * Accepts one generated source file.
+     *
+     * @param file         absolute, normalized target path on disk
+     * @param relativePath path relative to the output directory of the specification, with {@code /} separators
+     *                     (e.g. {@code common/UserDto.java})
+     * @param content      Java source code
+     * @return {@code true} if the content was stored, {@code false} if it was skipped (e.g. identical file on disk)
+     * @throws IOException if the content cannot be stored
+     */
+    boolean write(Path file, String relativePath, String content) throws IOException;
+
+    /**
+     * Accepts one generated source file that has not been assembled into a {@link String}.
+     * Sinks that can stream (e.g. into a file) override this and call {@link SourceEmitter#emitTo(Appendable)};
+     * by default the source is assembled and passed to {@link #write(Path, String, String)}.
+     *
+     * @param file         absolute, normalized target path on disk
+     * @param relativePath path relative to the output directory of the specification, with {@code /} separators
+     * @param source       Java source code
+     * @return {@code true} if the content was stored, {@code false} if it was skipped (e.g. identical file on disk)
+     * @throws IOException if the content cannot be stored
+     */
+    default boolean write(Path file, String relativePath, SourceEmitter source) throws IOException {
+        return write(file, relativePath, source.asString());
+    }
+
+    /**
+     * Tells whether this sink stores sources on disk. Features that read the output directory back
+     * (manifest, incremental generation, stale file pruning, JSON report) are only active for such sinks.
+     *
+     * @return {@code true} for file system sinks
+     */
+    default boolean writesToDisk() {
+        return false;
+    }
+}
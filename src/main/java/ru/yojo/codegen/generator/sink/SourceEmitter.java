@@ -0,0 +1,141 @@
+package ru.yojo.codegen.generator.sink;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * Generated Java source that can be emitted straight into an {@link Appendable} (typically a {@link Writer}
+ * opened by an {@link OutputSink}) without first being assembled into a single {@link String}.
+ * <p>
+ * Implementations are immutable once created, so they may be queued and emitted on another thread.
+ *
+ * @author Vladimir Morozkin (TG @vmorozkin)
+ */
+public interface SourceEmitter {
+
+    /**
+     * Size of the reusable character chunk used by {@link #appendTo(Appendable, CharSequence)}.
+     */
+    int CHUNK_CHARS = 8 * 1024;
+
+    /**
+     * Writes the complete source to {@code out}.
+     *
+     * @param out destination
+     * @throws IOException if {@code out} fails
+     */
+    void emitTo(Appendable out) throws IOException;
+
+    /**
+     * Returns the length of the source in characters.
+     *
+     * @return number of characters {@link #emitTo(Appendable)} writes
+     */
+    int length();
+
+    /**
+     * Returns the size of the source encoded as UTF-8, without encoding it.
+     *
+     * @return number of bytes
+     */
+    default long utf8Length() {
+        return utf8Length(asString());
+    }
+
+    /**
+     * Assembles the complete source into a string (for sinks that keep sources in memory).
+     *
+     * @return Java source code
+     */
+    default String asString() {
+        StringBuilder sb = new StringBuilder(length());
+        try {
+            emitTo(sb);
+        } catch (IOException e) {
+            // StringBuilder never throws
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Wraps an already assembled source.
+     *
+     * @param source Java source code
+     * @return emitter writing {@code source} as is
+     */
+    static SourceEmitter of(String source) {
+        return new SourceEmitter() {
+            @Override
+            public void emitTo(Appendable out) throws IOException {
+                out.append(source);
+            }
+
+            @Override
+            public int length() {
+                return source.length();
+            }
+
+            @Override
+            public long utf8Length() {
+                return SourceEmitter.utf8Length(source);
+            }
+
+            @Override
+            public String asString() {
+                return source;
+            }
+        };
+    }
+
+    /**
+     * Counts the bytes {@code text} occupies in UTF-8 (unpaired surrogates count as one replacement byte,
+     * like {@link String#getBytes(java.nio.charset.Charset)}).
+     *
+     * @param text text to measure
+     * @return number of bytes
+     */
+    static long utf8Length(CharSequence text) {
+        long bytes = 0;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                bytes++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Appends {@code text} to {@code out}. A {@link StringBuilder} written to a {@link Writer} is copied through
+     * a small reusable chunk instead of {@link Writer#append(CharSequence)}, which would materialize the whole
+     * text as a {@link String} first.
+     *
+     * @param out  destination
+     * @param text text to append
+     * @throws IOException if {@code out} fails
+     */
+    static void appendTo(Appendable out, CharSequence text) throws IOException {
+        if (out instanceof Writer writer && text instanceof StringBuilder sb && sb.length() > 0) {
+            char[] chunk = new char[Math.min(CHUNK_CHARS, sb.length())];
+            for (int start = 0; start < sb.length(); start += chunk.length) {
+                int end = Math.min(start + chunk.length, sb.length());
+                sb.getChars(start, end, chunk, 0);
+                writer.write(chunk, 0, end - start);
+            }
+        } else {
+            out.append(text);
+        }
+    }
+}
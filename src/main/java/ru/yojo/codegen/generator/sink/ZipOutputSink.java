@@ -0,0 +1,315 @@
+package ru.yojo.codegen.generator.sink;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Packs all generated sources into a single zip file (e.g. {@code api-sources.jar}) instead of
+ * writing thousands of small files.
+ * <p>
+ * Entries are laid out by package path ({@code com/example/api/common/UserDto.java}), taken from the
+ * {@code package} declaration of each source; sources without one fall back to their relative output path.
+ * The archive is reproducible: entries carry a fixed timestamp, so identical sources always produce
+ * byte-identical archives. Entries can be stored or deflated.
+ * <p>
+ * Two modes are supported:
+ * <ul>
+ *   <li><b>buffered</b> (default) — every source is held in memory as UTF-8 bytes until {@link #close()}, which
+ *       writes the entries sorted by name in one pass, independent of generation order. Required when
+ *       specifications are generated in parallel or written by asynchronous writer threads.
+ *       Memory use is the size of all generated sources.</li>
+ *   <li><b>streaming</b> — every source is compressed into {@code <zipFile>.part} as it arrives, and the
+ *       finished archive replaces {@code zipFile} on {@link #close()}. Entries keep the arrival order, which is
+ *       deterministic only when specifications are generated sequentially and written on the generating thread.
+ *       Memory use is bounded by a single source, plus sources generated again for an entry already written:
+ *       those are kept until {@link #close()}, and if their content differs, the archive is copied once more so
+ *       that the last content wins, as rewriting a file on disk would.</li>
+ * </ul>
+ * If generation fails, call {@link #abort()} instead of {@link #close()}: an existing {@code zipFile} is then left
+ * untouched.
+ *
+ * @author Vladimir Morozkin (TG @vmorozkin)
+ */
+public class ZipOutputSink implements OutputSink, Closeable {
+
+    /**
+     * Timestamp of every entry: the earliest DOS date, as used by reproducible Gradle/Maven archives.
+     */
+    private static final LocalDateTime ENTRY_TIME = LocalDateTime.of(1980, 2, 1, 0, 0);
+    private static final String PACKAGE_PREFIX = "package ";
+    private static final String PART_SUFFIX = ".part";
+
+    private final Path zipFile;
+    private final boolean deflate;
+    private final boolean buffered;
+
+    /**
+     * Buffered mode: every entry. Streaming mode: entries generated again after they were written.
+     */
+    private final Map<String, byte[]> entries = new TreeMap<>();
+
+    /**
+     * Streaming mode: names of the entries already written to {@link #stream}.
+     */
+    private final Set<String> written = new HashSet<>();
+    private ZipOutputStream stream;
+    private boolean closed;
+
+    /**
+     * Creates a zip sink.
+     *
+     * @param zipFile  target archive; parent directories are created when the archive is written
+     * @param deflate  {@code true} to compress entries, {@code false} to store them uncompressed (faster)
+     * @param buffered {@code true} to hold all sources in memory and write them sorted on {@link #close()}
+     *                 (needed for parallel generation), {@code false} to write each source as it arrives
+     */
+    public ZipOutputSink(Path zipFile, boolean deflate, boolean buffered) {
+        this.zipFile = zipFile;
+        this.deflate = deflate;
+        this.buffered = buffered;
+    }
+
+    /**
+     * Creates a buffered zip sink, usable with any generation mode.
+     *
+     * @param zipFile target archive; parent directories are created when the archive is written
+     * @param deflate {@code true} to compress entries, {@code false} to store them uncompressed (faster)
+     */
+    public ZipOutputSink(Path zipFile, boolean deflate) {
+        this(zipFile, deflate, true);
+    }
+
+    /**
+     * Creates a buffered zip sink with deflated entries.
+     *
+     * @param zipFile target archive
+     */
+    public ZipOutputSink(Path zipFile) {
+        this(zipFile, true);
+    }
+
+    /**
+     * Adds the source to the archive under its package path.
+     *
+     * @param file         absolute target path (unused)
+     * @param relativePath fallback entry name for sources without a {@code package} declaration
+     * @param content      Java source code
+     * @return always {@code true}
+     * @throws IOException           if the entry cannot be written
+     * @throws IllegalStateException if the sink is already closed
+     */
+    @Override
+    public synchronized boolean write(Path file, String relativePath, String content) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Zip output is already closed: " + zipFile);
+        }
+        String name = entryName(relativePath, content);
+        byte[] bytes = content.getBytes(UTF_8);
+        if (buffered || written.contains(name)) {
+            entries.put(name, bytes);
+        } else {
+            putEntry(openStream(), name, bytes);
+            written.add(name);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the target archive.
+     *
+     * @return archive path
+     */
+    public Path getZipFile() {
+        return zipFile;
+    }
+
+    /**
+     * Completes the archive. Subsequent calls do nothing.
+     *
+     * @throws IOException if the archive cannot be written
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (buffered) {
+                writeSorted();
+            } else {
+                finishStream();
+            }
+        } finally {
+            entries.clear();
+            written.clear();
+        }
+    }
+
+    /**
+     * Discards the archive after a failed generation: nothing is written to {@code zipFile}, an existing archive
+     * is left untouched and the partial {@code <zipFile>.part} is deleted. Subsequent calls to this method and to
+     * {@link #close()} do nothing.
+     *
+     * @throws IOException if the partial archive cannot be deleted
+     */
+    public synchronized void abort() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        entries.clear();
+        written.clear();
+        if (stream != null) {
+            try {
+                stream.close();
+            } catch (IOException e) {
+                // The partial archive is deleted anyway
+            } finally {
+                Files.deleteIfExists(partFile());
+            }
+        }
+    }
+
+    private void writeSorted() throws IOException {
+        createParentDirectories();
+        Path part = partFile();
+        try {
+            try (ZipOutputStream zip = newZipStream(part)) {
+                for (Map.Entry<String, byte[]> source : entries.entrySet()) {
+                    putEntry(zip, source.getKey(), source.getValue());
+                }
+            }
+            Files.move(part, zipFile, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(part);
+        }
+    }
+
+    private void finishStream() throws IOException {
+        Path part = partFile();
+        Path copy = part.resolveSibling(part.getFileName() + PART_SUFFIX);
+        try {
+            openStream().close();
+            boolean replaced;
+            try (ZipFile archive = new ZipFile(part.toFile())) {
+                replaced = hasReplacedEntries(archive);
+                if (replaced) {
+                    // A source generated again with different content: copy the archive, the last content wins
+                    try (ZipOutputStream zip = newZipStream(copy)) {
+                        Enumeration<? extends ZipEntry> archived = archive.entries();
+                        while (archived.hasMoreElements()) {
+                            String name = archived.nextElement().getName();
+                            byte[] replacement = entries.get(name);
+                            putEntry(zip, name, replacement != null ? replacement : read(archive, name));
+                        }
+                    }
+                }
+            }
+            // zipFile is replaced only by a complete archive
+            Files.move(replaced ? copy : part, zipFile, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(part);
+            Files.deleteIfExists(copy);
+        }
+    }
+
+    private boolean hasReplacedEntries(ZipFile archive) throws IOException {
+        for (Map.Entry<String, byte[]> source : entries.entrySet()) {
+            if (!Arrays.equals(read(archive, source.getKey()), source.getValue())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] read(ZipFile archive, String name) throws IOException {
+        try (InputStream in = archive.getInputStream(archive.getEntry(name))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private ZipOutputStream openStream() throws IOException {
+        if (stream == null) {
+            createParentDirectories();
+            stream = newZipStream(partFile());
+        }
+        return stream;
+    }
+
+    private ZipOutputStream newZipStream(Path target) throws IOException {
+        OutputStream out = new BufferedOutputStream(Files.newOutputStream(target));
+        ZipOutputStream zip = new ZipOutputStream(out, UTF_8);
+        zip.setMethod(deflate ? ZipOutputStream.DEFLATED : ZipOutputStream.STORED);
+        return zip;
+    }
+
+    private void putEntry(ZipOutputStream zip, String name, byte[] bytes) throws IOException {
+        ZipEntry entry = new ZipEntry(name);
+        entry.setTimeLocal(ENTRY_TIME);
+        if (!deflate) {
+            // STORED entries need size and checksum up front
+            CRC32 crc = new CRC32();
+            crc.update(bytes);
+            entry.setSize(bytes.length);
+            entry.setCompressedSize(bytes.length);
+            entry.setCrc(crc.getValue());
+        }
+        zip.putNextEntry(entry);
+        zip.write(bytes);
+        zip.closeEntry();
+    }
+
+    private void createParentDirectories() throws IOException {
+        Path parent = zipFile.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+    }
+
+    private Path partFile() {
+        return zipFile.resolveSibling(zipFile.getFileName() + PART_SUFFIX);
+    }
+
+    /**
+     * Derives the entry name from the {@code package} declaration on the first non-blank line.
+     *
+     * @param relativePath fallback name
+     * @param content      Java source code
+     * @return entry name with {@code /} separators
+     */
+    private static String entryName(String relativePath, String content) {
+        String fileName = relativePath.substring(relativePath.lastIndexOf('/') + 1);
+        int start = 0;
+        while (start < content.length() && Character.isWhitespace(content.charAt(start))) {
+            start++;
+        }
+        if (content.startsWith(PACKAGE_PREFIX, start)) {
+            int end = content.indexOf(';', start);
+            if (end > 0) {
+                String packageName = content.substring(start + PACKAGE_PREFIX.length(), end).trim();
+                return packageName.isEmpty() ? fileName : packageName.replace('.', '/') + "/" + fileName;
+            }
+        }
+        return relativePath;
+    }
+}
@@ -1,6 +1,7 @@
 package ru.yojo.codegen.mapper;
 
 import ru.yojo.codegen.context.ProcessContext;
+import ru.yojo.codegen.domain.TypeRef;
 import ru.yojo.codegen.domain.VariableProperties;
 import ru.yojo.codegen.exception.SchemaFillException;
 import ru.yojo.codegen.util.Logger;
@@ -110,8 +111,7 @@ public class AbstractMapper {
                                Map<String, Object> propertiesMap,
                                ProcessContext processContext,
                                Map<String, Object> innerSchemas) {
-        variableProperties.setSpringBootVersion(processContext.getSpringBootVersion());
-        variableProperties.setValidationApi(processContext.getValidationApi());
+        variableProperties.setSettings(processContext.getFieldSettings());
         // Keep original case from contract: "FirstName" stays "FirstName", "firstName" stays "firstName"
         variableProperties.setName(safeFieldName(propertyName));
         // ⬇️ const → defaultProperty
@@ -138,7 +138,6 @@ public class AbstractMapper {
         variableProperties.setPackageOfExisingObject(getStringValueIfExistOrElseNull(PACKAGE, propertiesMap));
         variableProperties.setNameOfExisingObject(getStringValueIfExistOrElseNull(NAME, propertiesMap));
         variableProperties.setOriginalEnumName(propertyName);
-        variableProperties.setNullableAnnotation(processContext.getNullableAnnotation());
         variableProperties.setFinal(
                 "true".equalsIgnoreCase(getStringValueIfExistOrElseNull(X_FINAL, propertiesMap)));
         variableProperties.setPolymorph(
@@ -217,15 +216,9 @@ public class AbstractMapper {
     }
 
     private void addCollectionImports(VariableProperties variableProperties) {
-        String finalType = variableProperties.getType();
-        if (finalType != null) {
-            if (finalType.startsWith("List<")) {
-                variableProperties.addRequiredImports(LIST_IMPORT);
-            } else if (finalType.startsWith("Set<")) {
-                variableProperties.addRequiredImports(SET_IMPORT);
-            } else if (finalType.startsWith("Map<")) {
-                variableProperties.addRequiredImports(MAP_IMPORT);
-            }
+        TypeRef finalType = variableProperties.getTypeRef();
+        if (finalType != null && (finalType.isCollection() || finalType.isMap())) {
+            finalType.collectImports(variableProperties.getRequiredImports());
         }
     }
 
@@ -274,24 +267,28 @@ public class AbstractMapper {
         if (type != null && JAVA_LOWER_CASE_TYPES_CHECK_CONVERTER.containsKey(type)) {
             LOG.debug("CORRECT TYPE!");
             if (format != null) {
-                variableProperties.setType(format(MAP_CUSTOM_TYPE,
-                        JAVA_LOWER_CASE_TYPES_CHECK_CONVERTER.get(format),
-                        JAVA_LOWER_CASE_TYPES_CHECK_CONVERTER.get(type)));
+                variableProperties.setTypeRef(TypeRef.map(
+                        typeRef(JAVA_LOWER_CASE_TYPES_CHECK_CONVERTER.get(format)),
+                        typeRef(JAVA_LOWER_CASE_TYPES_CHECK_CONVERTER.get(type))));
             } else {
-                variableProperties.setType(format(MAP_TYPE, JAVA_LOWER_CASE_TYPES_CHECK_CONVERTER.get(type)));
+                variableProperties.setTypeRef(TypeRef.map(
+                        TypeRef.of(STRING),
+                        typeRef(JAVA_LOWER_CASE_TYPES_CHECK_CONVERTER.get(type))));
             }
         } else if (OBJECT.equals(type) && referencedObject == null) {
             if (getStringValueIfExistOrElseNull(PACKAGE, additionalPropertiesMap) != null) {
                 if (format != null) {
-                    variableProperties.setType(format(MAP_CUSTOM_TYPE,
-                            JAVA_LOWER_CASE_TYPES_CHECK_CONVERTER.get(variableProperties.getFormat()),
-                            capitalize(getStringValueIfExistOrElseNull(NAME, additionalPropertiesMap))));
+                    variableProperties.setTypeRef(TypeRef.map(
+                            typeRef(JAVA_LOWER_CASE_TYPES_CHECK_CONVERTER.get(variableProperties.getFormat())),
+                            typeRef(capitalize(getStringValueIfExistOrElseNull(NAME, additionalPropertiesMap)))));
                     variableProperties.addRequiredImports(getStringValueIfExistOrElseNull(PACKAGE, additionalPropertiesMap)
                             .concat(".")
                             .concat(capitalize(getStringValueIfExistOrElseNull(NAME, additionalPropertiesMap)))
                             .concat(";"));
                 } else {
-                    variableProperties.setType(format(MAP_TYPE, capitalize(getStringValueIfExistOrElseNull(NAME, additionalPropertiesMap))));
+                    variableProperties.setTypeRef(TypeRef.map(
+                            TypeRef.of(STRING),
+                            typeRef(capitalize(getStringValueIfExistOrElseNull(NAME, additionalPropertiesMap)))));
                     variableProperties.addRequiredImports(getStringValueIfExistOrElseNull(PACKAGE, additionalPropertiesMap)
                             .concat(".")
                             .concat(capitalize(getStringValueIfExistOrElseNull(NAME, additionalPropertiesMap)))
@@ -299,15 +296,15 @@ public class AbstractMapper {
                 }
             } else {
                 if (format != null) {
-                    variableProperties.setType(format(MAP_CUSTOM_TYPE,
-                            JAVA_LOWER_CASE_TYPES_CHECK_CONVERTER.get(variableProperties.getFormat()),
-                            OBJECT_TYPE));
+                    variableProperties.setTypeRef(TypeRef.map(
+                            typeRef(JAVA_LOWER_CASE_TYPES_CHECK_CONVERTER.get(variableProperties.getFormat())),
+                            TypeRef.of(OBJECT_TYPE)));
                 } else {
-                    variableProperties.setType(format(MAP_TYPE, OBJECT_TYPE));
+                    variableProperties.setTypeRef(TypeRef.map(TypeRef.of(STRING), TypeRef.of(OBJECT_TYPE)));
                 }
             }
-        } else if (referencedObject != null && (schemas.containsKey(refReplace(referencedObject)) || currentSchema == schemas)) {
-            String refObjectName = refReplace(referencedObject);
+        } else if (referencedObject != null && (schemas.containsKey(processContext.getSchemaIndex().name(referencedObject)) || currentSchema == schemas)) {
+            String refObjectName = processContext.getSchemaIndex().name(referencedObject);
             LOG.debug("FOUND CUSTOM OBJECT! " + refObjectName);
             if (ARRAY.equals(type)) {
                 String collectionType = getStringValueIfExistOrElseNull(FORMAT, additionalPropertiesMap);
@@ -319,37 +316,37 @@ public class AbstractMapper {
                     if (format != null) {
                         variableProperties.setItems(JAVA_LOWER_CASE_TYPES_CHECK_CONVERTER.get(javaType).toString());
                         fillCollectionType(variableProperties);
-                        variableProperties.setType(format(MAP_CUSTOM_TYPE,
-                                JAVA_LOWER_CASE_TYPES_CHECK_CONVERTER.get(variableProperties.getFormat()),
-                                variableProperties.getType()));
+                        variableProperties.setTypeRef(TypeRef.map(
+                                typeRef(JAVA_LOWER_CASE_TYPES_CHECK_CONVERTER.get(variableProperties.getFormat())),
+                                variableProperties.getTypeRef()));
                     } else {
                         variableProperties.setItems(JAVA_LOWER_CASE_TYPES_CHECK_CONVERTER.get(javaType).toString());
                         fillCollectionType(variableProperties);
-                        variableProperties.setType(format(MAP_TYPE, format(variableProperties.getType())));
+                        variableProperties.setTypeRef(TypeRef.map(TypeRef.of(STRING), variableProperties.getTypeRef()));
                     }
                 } else {
                     if (format != null) {
                         variableProperties.setItems(refObjectName);
                         fillCollectionType(variableProperties);
-                        variableProperties.setType(format(MAP_CUSTOM_TYPE,
-                                JAVA_LOWER_CASE_TYPES_CHECK_CONVERTER.get(variableProperties.getFormat()),
-                                variableProperties.getType()));
+                        variableProperties.setTypeRef(TypeRef.map(
+                                typeRef(JAVA_LOWER_CASE_TYPES_CHECK_CONVERTER.get(variableProperties.getFormat())),
+                                variableProperties.getTypeRef()));
                         variableProperties.addRequiredImports(prepareImport(processContext, refObjectName));
                     } else {
                         variableProperties.setItems(refObjectName);
                         fillCollectionType(variableProperties);
-                        variableProperties.setType(format(MAP_TYPE, format(variableProperties.getType())));
+                        variableProperties.setTypeRef(TypeRef.map(TypeRef.of(STRING), variableProperties.getTypeRef()));
                         variableProperties.addRequiredImports(prepareImport(processContext, refObjectName));
                     }
                 }
             } else {
                 if (format != null) {
-                    variableProperties.setType(format(MAP_CUSTOM_TYPE,
-                            JAVA_LOWER_CASE_TYPES_CHECK_CONVERTER.get(variableProperties.getFormat()),
-                            refObjectName));
+                    variableProperties.setTypeRef(TypeRef.map(
+                            typeRef(JAVA_LOWER_CASE_TYPES_CHECK_CONVERTER.get(variableProperties.getFormat())),
+                            typeRef(refObjectName)));
                     variableProperties.addRequiredImports(prepareImport(processContext, refObjectName));
                 } else {
-                    variableProperties.setType(format(MAP_TYPE, refObjectName));
+                    variableProperties.setTypeRef(TypeRef.map(TypeRef.of(STRING), typeRef(refObjectName)));
                     variableProperties.addRequiredImports(prepareImport(processContext, refObjectName));
                 }
             }
@@ -362,11 +359,11 @@ public class AbstractMapper {
             variableProperties.setItems(JAVA_LOWER_CASE_TYPES_CHECK_CONVERTER.get(additionalFormatValue).toString());
             fillCollectionType(variableProperties);
             if (format != null) {
-                variableProperties.setType(format(MAP_CUSTOM_TYPE,
-                        JAVA_LOWER_CASE_TYPES_CHECK_CONVERTER.get(variableProperties.getFormat()),
-                        variableProperties.getType()));
+                variableProperties.setTypeRef(TypeRef.map(
+                        typeRef(JAVA_LOWER_CASE_TYPES_CHECK_CONVERTER.get(variableProperties.getFormat())),
+                        variableProperties.getTypeRef()));
             } else {
-                variableProperties.setType(format(MAP_TYPE, format(variableProperties.getType())));
+                variableProperties.setTypeRef(TypeRef.map(TypeRef.of(STRING), variableProperties.getTypeRef()));
             }
         } else if (ARRAY.equals(type) && getStringValueIfExistOrElseNull(PACKAGE, additionalPropertiesMap) != null) {
             String collectionType = getStringValueIfExistOrElseNull(FORMAT, additionalPropertiesMap);
@@ -375,11 +372,11 @@ public class AbstractMapper {
             }
             fillCollectionWithExistingObject(variableProperties, additionalPropertiesMap);
             if (format != null) {
-                variableProperties.setType(format(MAP_CUSTOM_TYPE,
-                        JAVA_LOWER_CASE_TYPES_CHECK_CONVERTER.get(variableProperties.getFormat()),
-                        variableProperties.getType()));
+                variableProperties.setTypeRef(TypeRef.map(
+                        typeRef(JAVA_LOWER_CASE_TYPES_CHECK_CONVERTER.get(variableProperties.getFormat())),
+                        variableProperties.getTypeRef()));
             } else {
-                variableProperties.setType(format(MAP_TYPE, format(variableProperties.getType())));
+                variableProperties.setTypeRef(TypeRef.map(TypeRef.of(STRING), variableProperties.getTypeRef()));
             }
         }
     }
@@ -473,6 +470,7 @@ public class AbstractMapper {
      * <p>
      * Handles recursive type resolution (e.g., {@code $ref} to scalar formats), detects referenced enums,
      * and adds appropriate imports (local or external via {@code package}).
+     * Plain simple-type aliases are resolved once per specification and reused via {@link ResolvedAliasMemo}.
      *
      * @param schemaName         current schema name
      * @param variableProperties field to configure
@@ -492,31 +490,49 @@ public class AbstractMapper {
                                          ProcessContext processContext,
                                          Map<String, Object> innerSchemas) {
         String referenceObject = propertiesMap.get(REFERENCE).toString();
-        Map<String, Object> stringObjectMap = castObjectToMap(schemas.get(referenceObject.replaceAll(".+/", "")));
+        SchemaIndex schemaIndex = processContext.getSchemaIndex();
+        String schemaKey = schemaIndex.name(referenceObject); // точное имя ключа в schemas
+        boolean indexed = schemas == schemaIndex.getSchemas();
+        Map<String, Object> stringObjectMap = castObjectToMap(schemas.get(schemaKey));
         String objectType = getStringValueIfExistOrElseNull(TYPE, stringObjectMap);
         if (objectType != null && JAVA_LOWER_CASE_TYPES_CHECK_CONVERTER.containsKey(objectType)) {
-            LOG.debug("Start Recursive fillProperties " + propertyName);
-            fillProperties(schemaName, variableProperties, currentSchema, schemas, propertyName, stringObjectMap, processContext, innerSchemas);
+            if (indexed && isPlainAlias(stringObjectMap)) {
+                ResolvedAliasMemo resolvedAliases = processContext.getResolvedAliases();
+                VariableProperties resolved = resolvedAliases.get(referenceObject, stringObjectMap);
+                if (resolved == null) {
+                    LOG.debug("Resolve alias " + referenceObject);
+                    // required-ness belongs to the referring property: resolve against an empty schema, apply below
+                    resolved = new VariableProperties();
+                    fillProperties(schemaName, resolved, Map.of(), schemas, propertyName, stringObjectMap, processContext, innerSchemas);
+                    resolvedAliases.put(referenceObject, stringObjectMap, resolved);
+                }
+                variableProperties.applyResolvedAlias(resolved);
+                fillRequiredAnnotationsAndImports(variableProperties, currentSchema, propertyName);
+            } else {
+                LOG.debug("Start Recursive fillProperties " + propertyName);
+                fillProperties(schemaName, variableProperties, currentSchema, schemas, propertyName, stringObjectMap, processContext, innerSchemas);
+            }
         }
 
         if (variableProperties.getType() == null || OBJECT_TYPE.equals(variableProperties.getType())) {
-            String schemaKey = refReplace(referenceObject); // точное имя ключа в schemas
-            String className = capitalize(schemaKey);       // имя класса в Java — всегда с заглавной
+            String className = schemaIndex.className(referenceObject); // имя класса в Java — всегда с заглавной
 
-            if (getStringValueIfExistOrElseNull(schemaKey, schemas) != null
-                && castObjectToMap(schemas.get(schemaKey)).entrySet().stream()
-                        .anyMatch(p -> POLYMORPHS.contains(p.getKey()))) {
+            boolean polymorphic = indexed
+                    ? schemaIndex.isPolymorphic(referenceObject)
+                    : getStringValueIfExistOrElseNull(schemaKey, schemas) != null
+                      && stringObjectMap.keySet().stream().anyMatch(POLYMORPHS::contains);
+            if (polymorphic) {
                 LOG.debug("SKIP INHERITANCE POLYMORPH INSIDE SCHEMA! " + className);
                 variableProperties.setType(className);
                 variableProperties.addRequiredImports(prepareImport(processContext, className));
             } else {
                 variableProperties.setType(className);
-                String possibleReferencedEnum = getStringValueIfExistOrElseNull(schemaKey, schemas);
-                if (possibleReferencedEnum != null) {
-                    Map<String, Object> possibleEnumSchema = castObjectToMap(schemas.get(schemaKey));
-                    if (!possibleEnumSchema.isEmpty() && getStringValueIfExistOrElseNull(ENUMERATION, possibleEnumSchema) != null) {
-                        variableProperties.setValid(false);
-                    }
+                boolean referencedEnum = indexed
+                        ? schemaIndex.isEnum(referenceObject)
+                        : getStringValueIfExistOrElseNull(schemaKey, schemas) != null
+                          && getStringValueIfExistOrElseNull(ENUMERATION, stringObjectMap) != null;
+                if (referencedEnum) {
+                    variableProperties.setValid(false);
                 }
                 String externalPackage = getStringValueIfExistOrElseNull("package", propertiesMap);
                 if (externalPackage != null) {
@@ -530,6 +546,29 @@ public class AbstractMapper {
         }
     }
 
+    /**
+     * Checks whether an alias definition is resolved by {@link DefaultTypeHandler} alone, so that its resolution
+     * depends neither on the referring property nor on its name and can be shared via {@link ResolvedAliasMemo}.
+     *
+     * @param alias definition of the referenced schema
+     * @return {@code true} for plain simple-type aliases (no enum, nested structure, reference or polymorphism)
+     */
+    private static boolean isPlainAlias(Map<String, Object> alias) {
+        if (alias.get(ENUMERATION) != null
+            || alias.get(ADDITIONAL_PROPERTIES) != null
+            || alias.get(PROPERTIES) != null
+            || alias.get(ITEMS) != null
+            || alias.get(REFERENCE) != null) {
+            return false;
+        }
+        for (String polymorph : POLYMORPHS) {
+            if (alias.containsKey(polymorph)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Processes array-type fields and configures collection type, element type, and realization.
      * <p>
@@ -576,8 +615,8 @@ public class AbstractMapper {
             variableProperties.setCollectionType(collectionFormat);
         }
         if (refValue != null) {
-            String tryToFound = refValue.replaceAll(".+/", "");
-            Map<String, Object> schemaRef = castObjectToMap(schemas.get(tryToFound));
+            SchemaIndex schemaIndex = processContext.getSchemaIndex();
+            Map<String, Object> schemaRef = castObjectToMap(schemas.get(schemaIndex.name(refValue)));
             if (getStringValueIfExistOrElseNull(PROPERTIES, schemaRef) == null) {
                 String typeOfRefObj = getStringValueIfExistOrElseNull(TYPE, schemaRef);
                 String formatOfRefObj = getStringValueIfExistOrElseNull(FORMAT, schemaRef);
@@ -589,10 +628,10 @@ public class AbstractMapper {
                     variableProperties.setItems(formatOfRefObj);
                     variableProperties.setFormat(formatOfRefObj);
                 } else {
-                    variableProperties.setItems(capitalize(refReplace(refValue)));
+                    variableProperties.setItems(schemaIndex.className(refValue));
                 }
             } else {
-                variableProperties.setItems(capitalize(refReplace(refValue)));
+                variableProperties.setItems(schemaIndex.className(refValue));
             }
             fillCollectionType(variableProperties);
         } else {
@@ -607,7 +646,7 @@ public class AbstractMapper {
                 } else {
                     if (getStringValueIfExistOrElseNull(PROPERTIES, items) != null) {
                         fillObjectProperties(schemaName, variableProperties, schemas, propertyName, items, processContext, innerSchemas);
-                        variableProperties.setType(format(LIST_TYPE, variableProperties.getType()));
+                        variableProperties.setTypeRef(TypeRef.list(typeRef(variableProperties.getType())));
                     } else {
                         if (getStringValueIfExistOrElseNull(PACKAGE, items) != null) {
                             fillCollectionWithExistingObject(variableProperties, items);
@@ -722,6 +761,26 @@ public class AbstractMapper {
                                               Map<String, Object> mapToMessage,
                                               String channelName,
                                               String channelType) {
+        fillMessageFromChannel(SchemaIndex.forDocument(allContent), messagesMap, excludeSchemas, mapToMessage, channelName, channelType);
+    }
+
+    /**
+     * Populates {@code messagesMap} from AsyncAPI 2.x {@code channels}/{@code publish}/{@code subscribe} sections,
+     * resolving {@code $ref}s through a prebuilt index of {@code components.schemas}.
+     *
+     * @param schemaIndex    index over the document's {@code components.schemas}
+     * @param messagesMap    output map (schema name → payload)
+     * @param excludeSchemas set of schema names to exclude from DTO generation
+     * @param mapToMessage   channel operation map (e.g., {@code subscribe} or {@code publish})
+     * @param channelName    channel key
+     * @param channelType    {@code "subscribe"} or {@code "publish"}
+     */
+    public static void fillMessageFromChannel(SchemaIndex schemaIndex,
+                                              Map<String, Object> messagesMap,
+                                              Set<String> excludeSchemas,
+                                              Map<String, Object> mapToMessage,
+                                              String channelName,
+                                              String channelType) {
         mapToMessage.entrySet().stream()
                 .flatMap(e -> castObjectToMap(e.getValue()).entrySet().stream())
                 .filter(e -> e.getKey().equals("message"))
@@ -730,7 +789,7 @@ public class AbstractMapper {
                 .forEach(e -> {
                     Map<String, Object> messageValues = castObjectToMap(e.getValue());
                     if (messageValues.containsKey(REFERENCE)) {
-                        String messageName = refReplace(messageValues.get(REFERENCE).toString());
+                        String messageName = schemaIndex.name(messageValues.get(REFERENCE).toString());
                         messagesMap.put(messageName, Map.of(PAYLOAD, messageValues));
                     }
                     if (messageValues.containsKey(ONE_OF) || messageValues.containsKey(ALL_OF) || messageValues.containsKey(ANY_OF)) {
@@ -741,8 +800,7 @@ public class AbstractMapper {
                         List<Object> polymorphList = collectPolymorphRefs(messageValues);
                         if (!polymorphList.stream()
                                 .flatMap(refPair -> castObjectToMap(refPair).entrySet().stream())
-                                .map(en -> refReplace(en.getValue().toString()))
-                                .map(ref -> getSchemaByName(allContent, ref))
+                                .map(en -> schemaIndex.resolve(en.getValue().toString()))
                                 .flatMap(map -> map.entrySet().stream())
                                 .filter(en -> POLYMORPHS.contains(en.getKey()))
                                 .collect(Collectors.toList()).isEmpty()) {
@@ -750,11 +808,10 @@ public class AbstractMapper {
                             List<Object> filteredReferences = polymorphList.stream()
                                     .flatMap(refPair -> castObjectToMap(refPair).entrySet().stream())
                                     .map(en -> {
-                                        String schemaName = refReplace(en.getValue().toString());
-                                        excludeSchemas.add(schemaName);
-                                        return schemaName;
+                                        String ref = en.getValue().toString();
+                                        excludeSchemas.add(schemaIndex.name(ref));
+                                        return schemaIndex.resolve(ref);
                                     })
-                                    .map(ref -> getSchemaByName(allContent, ref))
                                     .map(MapperUtil::castObjectToMap)
                                     .flatMap(refObj -> refObj.entrySet().stream()
                                             .filter(en -> POLYMORPHS.contains(en.getKey()))
@@ -765,8 +822,7 @@ public class AbstractMapper {
                                     .collect(Collectors.toList());
                             Map<String, Object> propertiesMap = polymorphList.stream()
                                     .flatMap(refPair -> castObjectToMap(refPair).entrySet().stream())
-                                    .map(en -> refReplace(en.getValue().toString()))
-                                    .map(ref -> getSchemaByName(allContent, ref))
+                                    .map(en -> schemaIndex.resolve(en.getValue().toString()))
                                     .map(MapperUtil::castObjectToMap)
                                     .flatMap(map -> map.entrySet().stream())
                                     .filter(en -> POLYMORPHS.contains(en.getKey()))
@@ -787,8 +843,7 @@ public class AbstractMapper {
                                     .distinct()
                                     .map(MapperUtil::castObjectToMap)
                                     .flatMap(ey -> ey.entrySet().stream())
-                                    .map(en -> refReplace(en.getValue().toString()))
-                                    .map(ref -> getSchemaByName(allContent, ref))
+                                    .map(en -> schemaIndex.resolve(en.getValue().toString()))
                                     .map(MapperUtil::castObjectToMap)
                                     .map(o -> castObjectToMap(o).get(PROPERTIES))
                                     .map(MapperUtil::castObjectToMap)
@@ -799,11 +854,10 @@ public class AbstractMapper {
                             Map<String, Object> schemaMap = polymorphList.stream()
                                     .flatMap(refPair -> castObjectToMap(refPair).entrySet().stream())
                                     .map(en -> {
-                                        String schemaName = refReplace(en.getValue().toString());
-                                        excludeSchemas.add(schemaName);
-                                        return schemaName;
+                                        String ref = en.getValue().toString();
+                                        excludeSchemas.add(schemaIndex.name(ref));
+                                        return schemaIndex.resolve(ref);
                                     })
-                                    .map(ref -> getSchemaByName(allContent, ref))
                                     .map(MapperUtil::castObjectToMap)
                                     .flatMap(map -> map.entrySet().stream())
                                     .collect(Collectors.toMap(
@@ -825,13 +879,24 @@ public class AbstractMapper {
     protected static void fillCollectionType(VariableProperties variableProperties) {
         switch (variableProperties.getCollectionType()) {
             case "list":
-                variableProperties.setType(format(refReplace(LIST_TYPE), variableProperties.getItems()));
+                variableProperties.setTypeRef(TypeRef.list(typeRef(variableProperties.getItems())));
                 break;
             case "set":
-                variableProperties.setType(format(refReplace(SET_TYPE), variableProperties.getItems()));
+                variableProperties.setTypeRef(TypeRef.set(typeRef(variableProperties.getItems())));
         }
     }
 
+    /**
+     * Returns the type for a Java type name produced by the converters; {@code null} becomes {@code "null"},
+     * as it did in the formatted type strings.
+     *
+     * @param javaType Java type name or {@code null}
+     * @return interned type
+     */
+    protected static TypeRef typeRef(Object javaType) {
+        return TypeRef.of(String.valueOf(javaType));
+    }
+
     /**
      * Creates a synthetic schema map for an enum with descriptions (from {@code x-enumNames}).
      *
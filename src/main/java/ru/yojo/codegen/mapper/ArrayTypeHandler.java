@@ -36,6 +36,12 @@ public class ArrayTypeHandler implements PropertyTypeHandler {
                (type != null && ARRAY.equalsIgnoreCase(type));
     }
 
+    @Override
+    public ShapeMatch matches(PropertyShape shape) {
+        return ShapeMatch.of(!shape.has(PropertyShape.HAS_ENUMERATION)
+                && (shape.fieldType() == PropertyShape.FieldType.ARRAY || shape.schemaType() == PropertyShape.SchemaType.ARRAY));
+    }
+
     @Override
     public void handle(PropertyResolutionContext ctx) {
         abstractMapper.fillArrayProperties(
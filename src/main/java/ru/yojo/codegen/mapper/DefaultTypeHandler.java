@@ -18,6 +18,11 @@ public class DefaultTypeHandler implements PropertyTypeHandler {
         return true; // Catch-all — always handles remaining cases
     }
 
+    @Override
+    public ShapeMatch matches(PropertyShape shape) {
+        return ShapeMatch.YES;
+    }
+
     @Override
     public void handle(PropertyResolutionContext ctx) {
         var variableProperties = ctx.variableProperties();
@@ -110,7 +110,7 @@ public class DiscriminatorProcessor {
                     String ref = getStringValueIfExistOrElseNull(REFERENCE, castObjectToMap(item));
                     if (ref == null) continue;
 
-                    String baseName = refReplace(ref);
+                    String baseName = SchemaIndex.simpleName(ref);
                     if (baseDiscriminator.containsKey(baseName)) {
                         Schema baseSchema = schemaByName.get(baseName);
                         if (baseSchema != null) {
@@ -204,51 +204,63 @@ public class DiscriminatorProcessor {
      * @return {@code true} if this property is a discriminator field with a {@code const} value
      */
     public boolean isDiscriminatorFieldWithConst(Map<String, Object> currentSchema, String propertyName) {
+        return discriminatorFieldsWithConst(currentSchema).contains(propertyName);
+    }
+
+    /**
+     * Collects the properties of a schema that {@link #isDiscriminatorFieldWithConst(Map, String)} accepts,
+     * so that callers checking many properties of the same schema scan its composition once.
+     * <p>
+     * These are the properties with a {@code const} value, declared in the root {@code properties} or in an inline
+     * object of {@code allOf}/{@code oneOf}/{@code anyOf}, provided the schema references a discriminator base.
+     *
+     * @param currentSchema the schema to check
+     * @return property names (empty if the schema does not extend a discriminator base)
+     */
+    public Set<String> discriminatorFieldsWithConst(Map<String, Object> currentSchema) {
+        if (!referencesDiscriminatorBase(currentSchema)) {
+            return Set.of();
+        }
+        Set<String> fields = new HashSet<>();
+        collectConstProperties(castObjectToMap(currentSchema.get(PROPERTIES)), fields);
         for (String polyKey : POLYMORPHS) {
             if (!currentSchema.containsKey(polyKey)) continue;
+            for (Object item : castObjectToListObjects(currentSchema.get(polyKey))) {
+                Map<String, Object> itemMap = castObjectToMap(item);
+                if (itemMap != null && OBJECT.equals(getStringValueIfExistOrElseNull(TYPE, itemMap))) {
+                    collectConstProperties(castObjectToMap(itemMap.get(PROPERTIES)), fields);
+                }
+            }
+        }
+        return fields;
+    }
 
-            List<Object> items = castObjectToListObjects(currentSchema.get(polyKey));
-            for (Object item : items) {
+    private boolean referencesDiscriminatorBase(Map<String, Object> currentSchema) {
+        for (String polyKey : POLYMORPHS) {
+            if (!currentSchema.containsKey(polyKey)) continue;
+            for (Object item : castObjectToListObjects(currentSchema.get(polyKey))) {
                 Map<String, Object> itemMap = castObjectToMap(item);
                 if (itemMap == null) continue;
-
                 String ref = getStringValueIfExistOrElseNull(REFERENCE, itemMap);
-                if (ref != null) {
-                    String baseName = refReplace(ref);
-                    if (discriminatorBases.contains(baseName)) {
-                        // Check inline properties for const
-                        Map<String, Object> props = castObjectToMap(currentSchema.get(PROPERTIES));
-                        if (props != null) {
-                            Map<String, Object> propDef = castObjectToMap(props.get(propertyName));
-                            if (propDef != null && propDef.containsKey(CONST)) {
-                                return true;
-                            }
-                        }
-
-                        // Check inline objects in allOf/oneOf/anyOf
-                        for (String polyKey2 : POLYMORPHS) {
-                            if (!currentSchema.containsKey(polyKey2)) continue;
-                            List<Object> items2 = castObjectToListObjects(currentSchema.get(polyKey2));
-                            for (Object item2 : items2) {
-                                Map<String, Object> itemMap2 = castObjectToMap(item2);
-                                if (itemMap2 != null && OBJECT.equals(getStringValueIfExistOrElseNull(TYPE, itemMap2))) {
-                                    Map<String, Object> inlineProps = castObjectToMap(itemMap2.get(PROPERTIES));
-                                    if (inlineProps != null) {
-                                        Map<String, Object> propDef = castObjectToMap(inlineProps.get(propertyName));
-                                        if (propDef != null && propDef.containsKey(CONST)) {
-                                            return true;
-                                        }
-                                    }
-                                }
-                            }
-                        }
-                    }
+                if (ref != null && discriminatorBases.contains(SchemaIndex.simpleName(ref))) {
+                    return true;
                 }
             }
         }
         return false;
     }
 
+    private static void collectConstProperties(Map<String, Object> props, Set<String> fields) {
+        if (props == null) {
+            return;
+        }
+        props.forEach((propertyName, propDef) -> {
+            if (castObjectToMap(propDef).containsKey(CONST)) {
+                fields.add(propertyName);
+            }
+        });
+    }
+
     // ————————————————————————————————————————
     // Accessors
     // ————————————————————————————————————————
@@ -16,6 +16,11 @@ public class EmptyPropertiesHandler implements PropertyTypeHandler {
         return ctx.propertiesMap().isEmpty();
     }
 
+    @Override
+    public ShapeMatch matches(PropertyShape shape) {
+        return ShapeMatch.of(shape.has(PropertyShape.EMPTY));
+    }
+
     @Override
     public void handle(PropertyResolutionContext ctx) {
         ctx.variableProperties().setType(OBJECT_TYPE);
@@ -30,6 +30,12 @@ public class EnumTypeHandler implements PropertyTypeHandler {
                getStringValueIfExistOrElseNull(ENUMERATION, ctx.propertiesMap()) != null;
     }
 
+    @Override
+    public ShapeMatch matches(PropertyShape shape) {
+        return ShapeMatch.of((shape.fieldType() == PropertyShape.FieldType.OBJECT || shape.fieldType() == PropertyShape.FieldType.STRING)
+                && shape.has(PropertyShape.HAS_ENUMERATION));
+    }
+
     @Override
     public void handle(PropertyResolutionContext ctx) {
         abstractMapper.fillEnumProperties(
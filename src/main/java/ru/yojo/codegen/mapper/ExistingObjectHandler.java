@@ -17,6 +17,12 @@ public class ExistingObjectHandler implements PropertyTypeHandler {
                ctx.variableProperties().getNameOfExisingObject() != null;
     }
 
+    @Override
+    public ShapeMatch matches(PropertyShape shape) {
+        return ShapeMatch.of(shape.fieldType() == PropertyShape.FieldType.OBJECT
+                && shape.has(PropertyShape.EXISTING_OBJECT));
+    }
+
     @Override
     public void handle(PropertyResolutionContext ctx) {
         AbstractMapper.fillExistingObjectProperties(ctx.variableProperties());
@@ -22,6 +22,12 @@ public class FormatObjectHandler implements PropertyTypeHandler {
                 && JAVA_LOWER_CASE_TYPES_CHECK_CONVERTER.containsKey(format);
     }
 
+    @Override
+    public ShapeMatch matches(PropertyShape shape) {
+        return ShapeMatch.of(shape.schemaType() == PropertyShape.SchemaType.OBJECT
+                && shape.has(PropertyShape.JAVA_TYPE_FORMAT));
+    }
+
     @Override
     public void handle(PropertyResolutionContext ctx) {
         String format = getStringValueIfExistOrElseNull("format", ctx.propertiesMap());
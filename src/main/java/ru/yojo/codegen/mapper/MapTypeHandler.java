@@ -27,6 +27,11 @@ public class MapTypeHandler implements PropertyTypeHandler {
         return getStringValueIfExistOrElseNull(ADDITIONAL_PROPERTIES, ctx.propertiesMap()) != null;
     }
 
+    @Override
+    public ShapeMatch matches(PropertyShape shape) {
+        return ShapeMatch.of(shape.has(PropertyShape.HAS_ADDITIONAL_PROPERTIES));
+    }
+
     @Override
     public void handle(PropertyResolutionContext ctx) {
         abstractMapper.fillMapProperties(
@@ -6,6 +6,7 @@ import ru.yojo.codegen.domain.VariableProperties;
 import ru.yojo.codegen.domain.lombok.LombokProperties;
 import ru.yojo.codegen.domain.message.Message;
 import ru.yojo.codegen.domain.message.MessageBuilder;
+import ru.yojo.codegen.event.SchemaMapEvent;
 import ru.yojo.codegen.exception.SchemaFillException;
 import ru.yojo.codegen.util.Logger;
 import ru.yojo.codegen.util.MapperUtil;
@@ -72,8 +73,13 @@ public class MessageMapper extends AbstractMapper {
     public List<Message> mapMessagesToObjects(ProcessContext processContext) {
         List<Message> messageList = new ArrayList<>();
         processContext.getMessagesMap().forEach((messageName, messageValues) -> {
+            SchemaMapEvent event = new SchemaMapEvent();
+            event.begin();
             filledByRef = false;
             LOG.info("START MAPPING OF MESSAGE: " + messageName);
+            if (processContext.getDependencyGraph() != null) {
+                processContext.getDependencyGraph().addReferences(capitalize(messageName), messageValues);
+            }
             Map<String, Object> messageMap = castObjectToMap(messageValues);
             Map<String, Object> payloadMap = castObjectToMap(messageMap.get(PAYLOAD));
             String refObject = getStringValueIfExistOrElseNull(REFERENCE, payloadMap);
@@ -148,11 +154,11 @@ public class MessageMapper extends AbstractMapper {
                 }
                 if (builder.getImplementsFrom().isEmpty() && isBlank(builder.getExtendsFrom())) {
                     if (refObject != null) {
-                        Map<String, Object> refMap = castObjectToMap(processContext.getSchemasMap().get(refReplace(refObject)));
+                        Map<String, Object> refMap = processContext.getSchemaIndex().resolve(refObject);
                         refMap.forEach((mk, mv) -> {
                             if (mk.equals(EXTENDS) || mk.equals(X_EXTENDS)) {
                                 String fromClass = prepareExtendsMessage(builder, mv, processContext);
-                                if (refObject != null && refReplace(refObject).equals(fromClass)) {
+                                if (refObject != null && processContext.getSchemaIndex().name(refObject).equals(fromClass)) {
                                     needToFill.set(false);
                                 }
                             }
@@ -174,13 +180,15 @@ public class MessageMapper extends AbstractMapper {
                     .commonPackageName(processContext.getCommonPackage())
                     .build();
             messageList.add(message);
+            event.finish(messageName, SchemaMapEvent.MESSAGE,
+                    message.getFillParameters() == null ? 0 : message.getFillParameters().getVariableProperties().size());
         });
 
         processContext.getHelper().getExcludeRemoveSchemas().addAll(processContext.getHelper().getExcludeInheritanceSchemas());
         if (!processContext.getHelper().getExcludeRemoveSchemas().isEmpty()) {
             processContext.getHelper().getExcludeRemoveSchemas().forEach(processContext.getHelper().getRemoveSchemas()::remove);
         }
-        LOG.info("FINISH MAPPING OF MESSAGES! CLEAN UP SCHEMAS: " + processContext.getHelper().getRemoveSchemas());
+        LOG.info(() -> "FINISH MAPPING OF MESSAGES! CLEAN UP SCHEMAS: " + processContext.getHelper().getRemoveSchemas());
         processContext.getHelper().getRemoveSchemas().forEach(processContext.getSchemasMap()::remove);
         return messageList;
     }
@@ -203,7 +211,7 @@ public class MessageMapper extends AbstractMapper {
             fromInterfaceObj = implementsMap.get(FROM_INTERFACE);
         }
         List<String> fromInterfaceList = castObjectToList(fromInterfaceObj);
-        LOG.info("SHOULD IMPLEMENTS FROM: " + fromInterfaceList);
+        LOG.info(() -> "SHOULD IMPLEMENTS FROM: " + fromInterfaceList);
         fromInterfaceList.forEach(ifc -> {
             String[] split = ifc.split("[.]");
             builder.addImplementsFrom(split[split.length - 1]);
@@ -261,9 +269,9 @@ public class MessageMapper extends AbstractMapper {
         payloadMap.forEach((mk, mv) -> {
             if (mk.equals(EXTENDS) || mk.equals(X_EXTENDS)) {
                 String fromClass = prepareExtendsMessage(builder, mv, processContext);
-                if (refObject != null && refReplace(refObject).equals(fromClass)) {
+                if (refObject != null && processContext.getSchemaIndex().name(refObject).equals(fromClass)) {
                     needToFill.set(false);
-                    excludeInheritanceSchemas.add(refReplace(refObject));
+                    excludeInheritanceSchemas.add(processContext.getSchemaIndex().name(refObject));
                 }
             }
             if (mk.equals(IMPLEMENTS) || mk.equals(X_IMPLEMENTS)) {
@@ -399,8 +407,6 @@ public class MessageMapper extends AbstractMapper {
             LOG.info("LEAF SCALAR/ARRAY DETECTED: generating wrapper DTO");
             VariableProperties vp = new VariableProperties();
             vp.setName("payload");
-            vp.setSpringBootVersion(processContext.getSpringBootVersion());
-            vp.setValidationApi(processContext.getValidationApi());
             Map<String, Object> fakeProp = new LinkedHashMap<>(payload);
             fillProperties(
                     messageName,
@@ -440,8 +446,9 @@ public class MessageMapper extends AbstractMapper {
         if (getStringValueIfExistOrElseNull(REFERENCE, payload) != null && !filledByRef) {
             filledByRef = true;
             LOG.info("Starting schema-like mapping");
-            String schemaName = getStringValueIfExistOrElseNull(REFERENCE, payload).replaceAll(".+/", "");
-            Map<String, Object> schema = castObjectToMap(processContext.getSchemasMap().get(schemaName));
+            String schemaRef = getStringValueIfExistOrElseNull(REFERENCE, payload);
+            String schemaName = processContext.getSchemaIndex().name(schemaRef);
+            Map<String, Object> schema = processContext.getSchemaIndex().resolve(schemaRef);
             LOG.info("SCHEMA: " + schemaName);
             Map<String, Object> innerSchemas = new ConcurrentHashMap<>();
             parameters = schemaMapper.getSchemaVariableProperties(
@@ -467,8 +474,8 @@ public class MessageMapper extends AbstractMapper {
             LOG.info("PAYLOAD-LEVEL ADDITIONAL PROPERTIES DETECTED");
             VariableProperties vp = new VariableProperties();
             vp.setName("payload");
-            vp.setSpringBootVersion(processContext.getSpringBootVersion());
-            vp.setValidationApi(processContext.getValidationApi());
+            // Filled without fillProperties: the payload field carries no @Nullable annotation
+            vp.setSettings(processContext.getFieldSettings().withNullableAnnotation(null));
             fillVariableProperties(
                     messageName,
                     vp,
@@ -491,8 +498,8 @@ public class MessageMapper extends AbstractMapper {
             LOG.info("BARE OBJECT DETECTED: generating simple Object field");
             VariableProperties vp = new VariableProperties();
             vp.setName("payload");
-            vp.setSpringBootVersion(processContext.getSpringBootVersion());
-            vp.setValidationApi(processContext.getValidationApi());
+            // Filled without fillProperties: the payload field carries no @Nullable annotation
+            vp.setSettings(processContext.getFieldSettings().withNullableAnnotation(null));
             fillVariableProperties(
                     messageName,
                     vp,
@@ -608,7 +615,7 @@ public class MessageMapper extends AbstractMapper {
                     // Case 1: $ref
                     String ref = getStringValueIfExistOrElseNull("$ref", refOrInline);
                     if (ref != null) {
-                        String schemaName = refReplace(ref);
+                        String schemaName = SchemaIndex.simpleName(ref);
                         Map<String, Object> target = castObjectToMap(schemasMap.get(schemaName));
                         if (target != null) {
                             // Recursively resolve if target itself has allOf/oneOf
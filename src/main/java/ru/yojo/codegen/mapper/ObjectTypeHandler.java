@@ -29,6 +29,12 @@ public class ObjectTypeHandler implements PropertyTypeHandler {
                getStringValueIfExistOrElseNull(PROPERTIES, ctx.propertiesMap()) != null;
     }
 
+    @Override
+    public ShapeMatch matches(PropertyShape shape) {
+        return ShapeMatch.of(shape.fieldType() == PropertyShape.FieldType.OBJECT
+                && shape.has(PropertyShape.HAS_PROPERTIES));
+    }
+
     @Override
     public void handle(PropertyResolutionContext ctx) {
         abstractMapper.fillObjectProperties(
@@ -11,7 +11,6 @@ import static ru.yojo.codegen.constants.Dictionary.PROPERTIES;
 import static ru.yojo.codegen.constants.Dictionary.TYPE;
 import static ru.yojo.codegen.util.MapperUtil.capitalize;
 import static ru.yojo.codegen.util.MapperUtil.castObjectToMap;
-import static ru.yojo.codegen.util.MapperUtil.refReplace;
 
 /**
  * Handles polymorphic types (oneOf, allOf, anyOf in YAML).
@@ -39,6 +38,11 @@ public class PolymorphicTypeHandler implements PropertyTypeHandler {
         return ctx.variableProperties().isPolymorph();
     }
 
+    @Override
+    public ShapeMatch matches(PropertyShape shape) {
+        return ShapeMatch.of(shape.has(PropertyShape.POLYMORPH));
+    }
+
     @Override
     public void handle(PropertyResolutionContext ctx) {
         var variableProperties = ctx.variableProperties();
@@ -46,6 +50,7 @@ public class PolymorphicTypeHandler implements PropertyTypeHandler {
         var schemas = ctx.schemas();
         var processContext = ctx.processContext();
         var innerSchemas = ctx.innerSchemas();
+        var schemaIndex = processContext.getSchemaIndex();
 
         LOG.info("FOUND POLYMORPHISM INSIDE SCHEMA! Schema: " + variableProperties.getName());
 
@@ -59,7 +64,7 @@ public class PolymorphicTypeHandler implements PropertyTypeHandler {
                         Object r = mapRef.get("$ref");
                         if (r != null) refStr = r.toString();
                     }
-                    return castObjectToMap(schemas.get(refReplace(refStr))).entrySet().stream();
+                    return castObjectToMap(schemas.get(schemaIndex.name(refStr))).entrySet().stream();
                 })
                 .filter(en -> en.getKey().equals(PROPERTIES))
                 .map(pr -> castObjectToMap(pr.getValue()))
@@ -77,9 +82,9 @@ public class PolymorphicTypeHandler implements PropertyTypeHandler {
             if (item instanceof Map) {
                 Map<?, ?> m = (Map<?, ?>) item;
                 Object refObj = m.get("$ref");
-                refName = refObj != null ? refReplace(refObj.toString()) : "Unknown";
+                refName = refObj != null ? schemaIndex.name(refObj.toString()) : "Unknown";
             } else {
-                refName = refReplace(item.toString());
+                refName = schemaIndex.name(item.toString());
             }
             className += refName;
         }
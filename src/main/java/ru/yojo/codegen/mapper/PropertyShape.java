@@ -0,0 +1,229 @@
+package ru.yojo.codegen.mapper;
+
+import ru.yojo.codegen.domain.VariableProperties;
+
+import java.util.Map;
+
+import static ru.yojo.codegen.constants.Dictionary.ADDITIONAL_PROPERTIES;
+import static ru.yojo.codegen.constants.Dictionary.ARRAY;
+import static ru.yojo.codegen.constants.Dictionary.ENUMERATION;
+import static ru.yojo.codegen.constants.Dictionary.FORMAT;
+import static ru.yojo.codegen.constants.Dictionary.JAVA_LOWER_CASE_TYPES_CHECK_CONVERTER;
+import static ru.yojo.codegen.constants.Dictionary.OBJECT;
+import static ru.yojo.codegen.constants.Dictionary.OBJECT_TYPE;
+import static ru.yojo.codegen.constants.Dictionary.PROPERTIES;
+import static ru.yojo.codegen.constants.Dictionary.REFERENCE;
+import static ru.yojo.codegen.constants.Dictionary.STRING;
+import static ru.yojo.codegen.constants.Dictionary.TYPE;
+import static ru.yojo.codegen.util.MapperUtil.uncapitalize;
+
+/**
+ * Shape of a property as seen by the {@link PropertyTypeHandler}s: which of the relevant YAML keys are present,
+ * the kind of the YAML {@code type} and the kind of the Java type pre-filled into {@link VariableProperties}.
+ * <p>
+ * A property is classified once per resolution ({@link #of(PropertyResolutionContext)}) and its {@link #code()}
+ * indexes the dispatch table of {@link PropertyTypeResolver}. There are at most {@link #COUNT} distinct shapes,
+ * all preallocated, so classification does not allocate.
+ *
+ * @author Vladimir Morozkin (TG @vmorozkin)
+ */
+public final class PropertyShape {
+
+    /** The YAML definition is an empty map. */
+    public static final int EMPTY = 1;
+    /** {@code additionalProperties} is present. */
+    public static final int HAS_ADDITIONAL_PROPERTIES = 1 << 1;
+    /** {@code $ref} is present. */
+    public static final int HAS_REFERENCE = 1 << 2;
+    /** {@code properties} is present. */
+    public static final int HAS_PROPERTIES = 1 << 3;
+    /** {@code enum} is present. */
+    public static final int HAS_ENUMERATION = 1 << 4;
+    /** {@code format} names a Java type (e.g., {@code uuid}, {@code date-time}). */
+    public static final int JAVA_TYPE_FORMAT = 1 << 5;
+    /** Package and name of an existing object are set on the field. */
+    public static final int EXISTING_OBJECT = 1 << 6;
+    /** The field is polymorphic ({@code oneOf}/{@code allOf}/{@code anyOf}). */
+    public static final int POLYMORPH = 1 << 7;
+
+    private static final int FLAG_BITS = 8;
+    private static final int FLAG_MASK = (1 << FLAG_BITS) - 1;
+
+    /**
+     * Upper bound of {@link #code()}, i.e. the size of a dispatch table.
+     */
+    public static final int COUNT = 1 << (FLAG_BITS + 4);
+
+    /**
+     * Kind of the YAML {@code type} value (case-insensitive).
+     */
+    public enum SchemaType {
+        /** Absent or any other value. */
+        OTHER,
+        /** {@code array}. */
+        ARRAY,
+        /** {@code object}. */
+        OBJECT
+    }
+
+    /**
+     * Kind of the Java type pre-filled into {@link VariableProperties} before resolution.
+     */
+    public enum FieldType {
+        /** Absent or any other type. */
+        OTHER,
+        /** {@code Object}. */
+        OBJECT,
+        /** {@code String}. */
+        STRING,
+        /** {@code array} or {@code Array}. */
+        ARRAY
+    }
+
+    private static final PropertyShape[] SHAPES = new PropertyShape[COUNT];
+
+    static {
+        for (SchemaType schemaType : SchemaType.values()) {
+            for (FieldType fieldType : FieldType.values()) {
+                for (int flags = 0; flags <= FLAG_MASK; flags++) {
+                    int code = code(flags, schemaType, fieldType);
+                    SHAPES[code] = new PropertyShape(code, flags, schemaType, fieldType);
+                }
+            }
+        }
+    }
+
+    private final int code;
+    private final int flags;
+    private final SchemaType schemaType;
+    private final FieldType fieldType;
+
+    private PropertyShape(int code, int flags, SchemaType schemaType, FieldType fieldType) {
+        this.code = code;
+        this.flags = flags;
+        this.schemaType = schemaType;
+        this.fieldType = fieldType;
+    }
+
+    /**
+     * Classifies a property, reading each relevant YAML key once.
+     *
+     * @param ctx property being resolved
+     * @return shape of the property
+     */
+    public static PropertyShape of(PropertyResolutionContext ctx) {
+        Map<String, Object> propertiesMap = ctx.propertiesMap();
+        VariableProperties variableProperties = ctx.variableProperties();
+        int flags = 0;
+        SchemaType schemaType = SchemaType.OTHER;
+        if (propertiesMap.isEmpty()) {
+            flags |= EMPTY;
+        } else {
+            if (propertiesMap.get(ADDITIONAL_PROPERTIES) != null) {
+                flags |= HAS_ADDITIONAL_PROPERTIES;
+            }
+            if (propertiesMap.get(REFERENCE) != null) {
+                flags |= HAS_REFERENCE;
+            }
+            if (propertiesMap.get(PROPERTIES) != null) {
+                flags |= HAS_PROPERTIES;
+            }
+            if (propertiesMap.get(ENUMERATION) != null) {
+                flags |= HAS_ENUMERATION;
+            }
+            Object format = propertiesMap.get(FORMAT);
+            if (format != null && JAVA_LOWER_CASE_TYPES_CHECK_CONVERTER.containsKey(format.toString())) {
+                flags |= JAVA_TYPE_FORMAT;
+            }
+            Object type = propertiesMap.get(TYPE);
+            if (type != null) {
+                String typeName = type.toString();
+                if (ARRAY.equalsIgnoreCase(typeName)) {
+                    schemaType = SchemaType.ARRAY;
+                } else if (OBJECT.equalsIgnoreCase(typeName)) {
+                    schemaType = SchemaType.OBJECT;
+                }
+            }
+        }
+        if (variableProperties.getPackageOfExisingObject() != null && variableProperties.getNameOfExisingObject() != null) {
+            flags |= EXISTING_OBJECT;
+        }
+        if (variableProperties.isPolymorph()) {
+            flags |= POLYMORPH;
+        }
+        return SHAPES[code(flags, schemaType, fieldType(variableProperties.getType()))];
+    }
+
+    /**
+     * Returns the shape with the given components.
+     *
+     * @param flags      combination of the flag constants of this class
+     * @param schemaType kind of the YAML {@code type}
+     * @param fieldType  kind of the pre-filled Java type
+     * @return preallocated shape
+     */
+    public static PropertyShape of(int flags, SchemaType schemaType, FieldType fieldType) {
+        return SHAPES[code(flags & FLAG_MASK, schemaType, fieldType)];
+    }
+
+    private static int code(int flags, SchemaType schemaType, FieldType fieldType) {
+        return flags | schemaType.ordinal() << FLAG_BITS | fieldType.ordinal() << (FLAG_BITS + 2);
+    }
+
+    private static FieldType fieldType(String type) {
+        if (OBJECT_TYPE.equals(type)) {
+            return FieldType.OBJECT;
+        }
+        if (STRING.equals(type)) {
+            return FieldType.STRING;
+        }
+        if (ARRAY.equals(uncapitalize(type))) {
+            return FieldType.ARRAY;
+        }
+        return FieldType.OTHER;
+    }
+
+    /**
+     * Returns whether all given flags are set.
+     *
+     * @param flag one or more flag constants of this class
+     * @return {@code true} if set
+     */
+    public boolean has(int flag) {
+        return (flags & flag) == flag;
+    }
+
+    /**
+     * Returns the kind of the YAML {@code type}.
+     *
+     * @return schema type kind
+     */
+    public SchemaType schemaType() {
+        return schemaType;
+    }
+
+    /**
+     * Returns the kind of the pre-filled Java type.
+     *
+     * @return field type kind
+     */
+    public FieldType fieldType() {
+        return fieldType;
+    }
+
+    /**
+     * Returns the dense index of this shape, below {@link #COUNT}.
+     *
+     * @return shape code
+     */
+    public int code() {
+        return code;
+    }
+
+    @Override
+    public String toString() {
+        return "PropertyShape{flags=" + Integer.toBinaryString(flags)
+                + ", schemaType=" + schemaType
+                + ", fieldType=" + fieldType + '}';
+    }
+}
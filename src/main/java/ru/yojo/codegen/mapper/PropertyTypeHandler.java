@@ -30,4 +30,42 @@ public interface PropertyTypeHandler {
      * @param ctx bundled context with all parameters
      */
     void handle(PropertyResolutionContext ctx);
+
+    /**
+     * Decides from the property shape alone whether this handler can process properties of that shape.
+     * <p>
+     * Handlers whose {@link #canHandle(PropertyResolutionContext)} depends only on what {@link PropertyShape}
+     * captures answer {@link ShapeMatch#YES} or {@link ShapeMatch#NO} (and must agree with
+     * {@code canHandle} for every property of the shape), which lets {@link PropertyTypeResolver} dispatch
+     * through a precomputed table. The default, {@link ShapeMatch#UNKNOWN}, makes the resolver ask
+     * {@link #canHandle(PropertyResolutionContext)} for every property, as before.
+     *
+     * @param shape classified property shape
+     * @return whether properties of this shape are handled
+     */
+    default ShapeMatch matches(PropertyShape shape) {
+        return ShapeMatch.UNKNOWN;
+    }
+
+    /**
+     * Answer of {@link #matches(PropertyShape)}.
+     */
+    enum ShapeMatch {
+        /** Every property of the shape is handled. */
+        YES,
+        /** No property of the shape is handled. */
+        NO,
+        /** Depends on more than the shape; {@link #canHandle(PropertyResolutionContext)} decides. */
+        UNKNOWN;
+
+        /**
+         * Converts a shape predicate result.
+         *
+         * @param matches {@code true} if the shape is handled
+         * @return {@link #YES} or {@link #NO}
+         */
+        public static ShapeMatch of(boolean matches) {
+            return matches ? YES : NO;
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package ru.yojo.codegen.mapper;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -10,12 +11,34 @@ import java.util.List;
  * <p>Handlers are evaluated in order, and the first handler that can handle
  * the property is used to process it.</p>
  *
+ * <p>Instead of asking every handler in turn, each property is classified once into a {@link PropertyShape}
+ * and dispatched through a table with one {@link Route} per shape, built on first use from
+ * {@link PropertyTypeHandler#matches(PropertyShape)}. Handlers that cannot decide from the shape
+ * (e.g., custom handlers added through {@link #addHandler(PropertyTypeHandler)}) stay on the route
+ * and are still asked {@link PropertyTypeHandler#canHandle(PropertyResolutionContext)} in chain order.</p>
+ *
  * @author Vladimir Morozkin (TG @vmorozkin)
  */
 public class PropertyTypeResolver {
 
     private final List<PropertyTypeHandler> handlers = new ArrayList<>();
 
+    /**
+     * Dispatch table indexed by {@link PropertyShape#code()}; replaced whenever the chain changes.
+     * Routes are immutable, so racing threads at worst compute the same route twice.
+     */
+    private volatile Route[] routes = new Route[PropertyShape.COUNT];
+
+    /**
+     * Handlers to consult for one shape: {@code candidates} need {@code canHandle}, in chain order;
+     * {@code target} handles everything they reject ({@code null} if nothing does).
+     *
+     * @param candidates handlers that cannot decide from the shape alone
+     * @param target     first handler that accepts the shape, or {@code null}
+     */
+    private record Route(PropertyTypeHandler[] candidates, PropertyTypeHandler target) {
+    }
+
     /**
      * Creates a resolver with the default handler chain.
      * The order of handlers is important — more specific handlers should come first.
@@ -37,6 +60,15 @@ public class PropertyTypeResolver {
         handlers.add(new DefaultTypeHandler());
     }
 
+    /**
+     * Creates a resolver with the given handler chain.
+     *
+     * @param handlers handlers in evaluation order
+     */
+    PropertyTypeResolver(List<PropertyTypeHandler> handlers) {
+        this.handlers.addAll(handlers);
+    }
+
     /**
      * Resolves and handles the property by finding the appropriate handler.
      *
@@ -44,15 +76,50 @@ public class PropertyTypeResolver {
      * @return true if a handler was found and executed, false otherwise
      */
     public boolean resolve(PropertyResolutionContext ctx) {
+        PropertyTypeHandler handler = findHandler(ctx);
+        if (handler == null) {
+            return false; // No handler found
+        }
+        handler.handle(ctx);
+        return true;
+    }
 
-        for (PropertyTypeHandler handler : handlers) {
-            if (handler.canHandle(ctx)) {
-                handler.handle(ctx);
-                return true;
+    /**
+     * Finds the handler for the property without invoking it: the first handler of the chain that can handle it.
+     *
+     * @param ctx bundled context with all parameters
+     * @return the handler, or {@code null} if none can handle the property
+     */
+    public PropertyTypeHandler findHandler(PropertyResolutionContext ctx) {
+        PropertyShape shape = PropertyShape.of(ctx);
+        Route[] table = routes;
+        Route route = table[shape.code()];
+        if (route == null) {
+            route = route(shape);
+            table[shape.code()] = route;
+        }
+        for (PropertyTypeHandler candidate : route.candidates()) {
+            if (candidate.canHandle(ctx)) {
+                return candidate;
             }
         }
+        return route.target();
+    }
 
-        return false; // No handler found
+    private Route route(PropertyShape shape) {
+        List<PropertyTypeHandler> candidates = new ArrayList<>();
+        for (PropertyTypeHandler handler : handlers) {
+            switch (handler.matches(shape)) {
+                case YES:
+                    return new Route(candidates.toArray(new PropertyTypeHandler[0]), handler);
+                case UNKNOWN:
+                    candidates.add(handler);
+                    break;
+                case NO:
+                    break;
+            }
+        }
+        return new Route(candidates.toArray(new PropertyTypeHandler[0]), null);
     }
 
     /**
@@ -62,14 +129,15 @@ public class PropertyTypeResolver {
      */
     public void addHandler(PropertyTypeHandler handler) {
         handlers.add(handler);
+        routes = new Route[PropertyShape.COUNT];
     }
 
     /**
      * Gets the list of handlers (mainly for testing).
      *
-     * @return the list of handlers
+     * @return unmodifiable view of the handlers; use {@link #addHandler(PropertyTypeHandler)} to extend the chain
      */
     protected List<PropertyTypeHandler> getHandlers() {
-        return handlers;
+        return Collections.unmodifiableList(handlers);
     }
 }
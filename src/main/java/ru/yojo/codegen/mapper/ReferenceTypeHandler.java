@@ -30,6 +30,12 @@ public class ReferenceTypeHandler implements PropertyTypeHandler {
                !ARRAY.equals(uncapitalize(ctx.variableProperties().getType()));
     }
 
+    @Override
+    public ShapeMatch matches(PropertyShape shape) {
+        return ShapeMatch.of(shape.has(PropertyShape.HAS_REFERENCE)
+                && shape.fieldType() != PropertyShape.FieldType.ARRAY);
+    }
+
     @Override
     public void handle(PropertyResolutionContext ctx) {
         abstractMapper.fillReferenceProperties(
@@ -0,0 +1,69 @@
+package ru.yojo.codegen.mapper;
+
+import ru.yojo.codegen.domain.VariableProperties;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-specification memo of referenced simple-type aliases that are already resolved
+ * (e.g., {@code Money}, {@code Uuid}, {@code AuditTimestamp} used as {@code $ref} by many properties).
+ * <p>
+ * An alias definition is resolved into an otherwise empty {@link VariableProperties} once; every further property
+ * referencing it applies that result ({@link VariableProperties#applyResolvedAlias(VariableProperties)}) instead of
+ * running the handler chain on the definition again.
+ * <p>
+ * Entries are keyed by the {@code $ref} string and remember the schema node they were resolved from: the schema
+ * registry is live, and a node registered later under the same name is resolved anew. The resolution also depends on
+ * the validation settings of the specification, so {@code ProcessContext} discards the memo when they change.
+ * <p>
+ * Safe for concurrent use.
+ *
+ * @author Vladimir Morozkin (TG @vmorozkin)
+ */
+public class ResolvedAliasMemo {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the resolution of an alias, if it was resolved from the same schema node.
+     *
+     * @param ref  {@code $ref} string
+     * @param node current definition of the referenced schema
+     * @return resolved alias (must not be modified) or {@code null}
+     */
+    public VariableProperties get(String ref, Map<String, Object> node) {
+        Entry entry = entries.get(ref);
+        return entry != null && entry.node == node ? entry.resolved : null;
+    }
+
+    /**
+     * Remembers the resolution of an alias.
+     *
+     * @param ref      {@code $ref} string
+     * @param node     definition of the referenced schema the alias was resolved from
+     * @param resolved alias resolved into an otherwise empty field; must not be modified afterwards
+     */
+    public void put(String ref, Map<String, Object> node, VariableProperties resolved) {
+        entries.put(ref, new Entry(node, resolved));
+    }
+
+    /**
+     * Returns the number of memoized aliases.
+     *
+     * @return entry count
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Discards all entries.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    private record Entry(Map<String, Object> node, VariableProperties resolved) {
+    }
+}
@@ -0,0 +1,377 @@
+package ru.yojo.codegen.mapper;
+
+import ru.yojo.codegen.domain.VariableProperties;
+import ru.yojo.codegen.domain.message.Message;
+import ru.yojo.codegen.domain.schema.Schema;
+import ru.yojo.codegen.util.Logger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static ru.yojo.codegen.constants.Dictionary.REFERENCE;
+import static ru.yojo.codegen.generator.GenerationManifest.MANIFEST_DIRECTORY;
+import static ru.yojo.codegen.util.MapperUtil.capitalize;
+
+/**
+ * Dependency graph between the classes generated for one specification.
+ * <p>
+ * Nodes are generated class names (schemas, inner schemas and messages). An edge {@code A → B}
+ * means "the code generated for {@code A} depends on the definition of {@code B}". Edges are recorded while mapping:
+ * <ul>
+ *   <li>every {@code $ref} inside a schema or message definition (properties, items, {@code allOf} parents, ...)</li>
+ *   <li>field types, {@code extends} and discriminator subtypes of the mapped model</li>
+ *   <li>inner schemas: the owner depends on its inner classes, and each inner class depends on its owner's definition
+ *       (it has no definition of its own in the specification)</li>
+ * </ul>
+ * Every node defined in the specification also carries a fingerprint of its raw definition. The graph is persisted
+ * next to the manifest ({@code .yojo/<specName>.graph}); comparing it with the graph of the next run yields the changed
+ * definitions ({@link #changedNodes(SchemaDependencyGraph)}) and, through {@link #transitiveDependents(Collection)},
+ * every class whose generated code may differ.
+ * <p>
+ * Safe for concurrent use.
+ *
+ * @author Vladimir Morozkin (TG @vmorozkin)
+ */
+public class SchemaDependencyGraph {
+
+    private static final Logger LOG = new Logger(SchemaDependencyGraph.class);
+
+    private static final String HEADER = "# YOJO schema dependency graph v1";
+    private static final String FINGERPRINT = "fingerprint";
+    private static final String DEPENDENCY = "dependency";
+    private static final String EDGE_SEPARATOR = "->";
+
+    private final Map<String, Set<String>> dependencies = new ConcurrentHashMap<>();
+    private final Map<String, String> fingerprints = new ConcurrentHashMap<>();
+
+    // ————————————————————————————————————————
+    // Recording
+    // ————————————————————————————————————————
+
+    /**
+     * Records that {@code dependent} depends on {@code dependency}. Self-references are ignored.
+     *
+     * @param dependent  class whose code depends on {@code dependency}
+     * @param dependency class (definition) it depends on
+     */
+    public void addDependency(String dependent, String dependency) {
+        addNode(dependent);
+        addNode(dependency);
+        if (!dependent.equals(dependency)) {
+            dependencies.get(dependent).add(dependency);
+        }
+    }
+
+    /**
+     * Records a node without dependencies.
+     *
+     * @param node class name
+     */
+    public void addNode(String node) {
+        dependencies.computeIfAbsent(node, n -> ConcurrentHashMap.newKeySet());
+    }
+
+    /**
+     * Records an edge to every schema referenced by {@code $ref} anywhere inside {@code definition}.
+     *
+     * @param node       class name of the schema or message being mapped
+     * @param definition raw definition
+     */
+    public void addReferences(String node, Object definition) {
+        addNode(node);
+        collectReferences(node, definition);
+    }
+
+    /**
+     * Stores the fingerprint of a node's raw definition, as parsed from the specification.
+     *
+     * @param node       class name
+     * @param definition raw definition (must not have been mutated by mappers yet)
+     */
+    public void fingerprint(String node, Object definition) {
+        addNode(node);
+        fingerprints.put(node, hash(String.valueOf(definition)));
+    }
+
+    /**
+     * Records the dependencies visible in the mapped model: field types (including generic arguments),
+     * {@code extends} clauses and discriminator subtypes. Only edges between generated classes are kept.
+     * Classes without a fingerprint (inner schemas) are also made dependent on the classes that use them.
+     *
+     * @param messages mapped messages
+     * @param schemas  mapped schemas
+     */
+    public void addModel(List<Message> messages, List<Schema> schemas) {
+        Set<String> generated = new HashSet<>();
+        messages.forEach(message -> generated.add(message.getMessageName()));
+        schemas.forEach(schema -> generated.add(schema.getSchemaName()));
+        for (Message message : messages) {
+            addNode(message.getMessageName());
+            addExtends(message.getMessageName(), message.getExtendsFrom(), generated);
+            if (message.getFillParameters() != null) {
+                addFieldTypes(message.getMessageName(), message.getFillParameters().getVariableProperties(), generated);
+            }
+        }
+        for (Schema schema : schemas) {
+            addNode(schema.getSchemaName());
+            addExtends(schema.getSchemaName(), schema.getExtendsFrom(), generated);
+            if (schema.getFillParameters() != null) {
+                addFieldTypes(schema.getSchemaName(), schema.getFillParameters().getVariableProperties(), generated);
+            }
+            if (schema.getSubtypes() != null) {
+                for (String subtype : schema.getSubtypes()) {
+                    if (generated.contains(subtype)) {
+                        addDependency(schema.getSchemaName(), subtype);
+                    }
+                }
+            }
+        }
+    }
+
+    // ————————————————————————————————————————
+    // Queries
+    // ————————————————————————————————————————
+
+    /**
+     * Returns all nodes.
+     *
+     * @return sorted node names
+     */
+    public Set<String> getNodes() {
+        return Collections.unmodifiableSet(new TreeSet<>(dependencies.keySet()));
+    }
+
+    /**
+     * Returns the direct dependencies of a node.
+     *
+     * @param node class name
+     * @return sorted dependencies (empty if unknown)
+     */
+    public Set<String> getDependencies(String node) {
+        Set<String> direct = dependencies.get(node);
+        return direct == null ? Set.of() : Collections.unmodifiableSet(new TreeSet<>(direct));
+    }
+
+    /**
+     * Returns the nodes that directly depend on {@code node}.
+     *
+     * @param node class name
+     * @return sorted dependents
+     */
+    public Set<String> getDependents(String node) {
+        Set<String> dependents = new TreeSet<>();
+        dependencies.forEach((dependent, direct) -> {
+            if (direct.contains(node)) {
+                dependents.add(dependent);
+            }
+        });
+        return Collections.unmodifiableSet(dependents);
+    }
+
+    /**
+     * Returns the fingerprint of a node's definition.
+     *
+     * @param node class name
+     * @return fingerprint, or {@code null} for nodes without their own definition (inner schemas)
+     */
+    public String getFingerprint(String node) {
+        return fingerprints.get(node);
+    }
+
+    /**
+     * Computes every node affected by a change of {@code changed}: the changed nodes themselves and all
+     * nodes that depend on them, directly or transitively.
+     *
+     * @param changed changed nodes
+     * @return sorted affected nodes
+     */
+    public Set<String> transitiveDependents(Collection<String> changed) {
+        Map<String, Set<String>> reverse = new TreeMap<>();
+        dependencies.forEach((dependent, direct) ->
+                direct.forEach(dependency -> reverse.computeIfAbsent(dependency, d -> new HashSet<>()).add(dependent)));
+        Set<String> affected = new TreeSet<>();
+        Deque<String> queue = new ArrayDeque<>(changed);
+        while (!queue.isEmpty()) {
+            String node = queue.poll();
+            if (affected.add(node)) {
+                queue.addAll(reverse.getOrDefault(node, Set.of()));
+            }
+        }
+        return Collections.unmodifiableSet(affected);
+    }
+
+    /**
+     * Compares the definition fingerprints of this graph with the graph of a previous run.
+     *
+     * @param previous graph of the previous run
+     * @return sorted names of nodes that were added, removed or whose definition changed
+     */
+    public Set<String> changedNodes(SchemaDependencyGraph previous) {
+        Set<String> changed = new TreeSet<>();
+        fingerprints.forEach((node, fingerprint) -> {
+            if (!fingerprint.equals(previous.fingerprints.get(node))) {
+                changed.add(node);
+            }
+        });
+        previous.fingerprints.keySet().stream()
+                .filter(node -> !fingerprints.containsKey(node))
+                .forEach(changed::add);
+        return Collections.unmodifiableSet(changed);
+    }
+
+    // ————————————————————————————————————————
+    // Persistence
+    // ————————————————————————————————————————
+
+    /**
+     * Resolves the graph location for a specification.
+     *
+     * @param outputDirectory output directory of the specification
+     * @param specName        specification file name (e.g. {@code test.yaml})
+     * @return graph path
+     */
+    public static Path location(String outputDirectory, String specName) {
+        return Path.of(outputDirectory).resolve(MANIFEST_DIRECTORY).resolve(specName + ".graph");
+    }
+
+    /**
+     * Writes the graph as sorted {@code key=value} lines.
+     *
+     * @param graphPath target file
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path graphPath) throws IOException {
+        StringBuilder content = new StringBuilder(HEADER).append('\n');
+        new TreeMap<>(fingerprints).forEach((node, fingerprint) ->
+                content.append(FINGERPRINT).append('=').append(node).append(':').append(fingerprint).append('\n'));
+        for (String node : getNodes()) {
+            for (String dependency : getDependencies(node)) {
+                content.append(DEPENDENCY).append('=').append(node).append(EDGE_SEPARATOR).append(dependency).append('\n');
+            }
+        }
+        Files.createDirectories(graphPath.getParent());
+        Files.writeString(graphPath, content, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads a previously written graph.
+     *
+     * @param graphPath graph location
+     * @return graph, or {@code null} if absent or unreadable
+     */
+    public static SchemaDependencyGraph read(Path graphPath) {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(graphPath, StandardCharsets.UTF_8);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            LOG.warn("Cannot read dependency graph " + graphPath + ": " + e.getMessage());
+            return null;
+        }
+        if (lines.isEmpty() || !HEADER.equals(lines.get(0))) {
+            LOG.warn("Ignoring dependency graph with unknown format: " + graphPath);
+            return null;
+        }
+        SchemaDependencyGraph graph = new SchemaDependencyGraph();
+        for (String line : lines.subList(1, lines.size())) {
+            int eq = line.indexOf('=');
+            if (eq < 0) {
+                continue;
+            }
+            String key = line.substring(0, eq);
+            String value = line.substring(eq + 1);
+            if (FINGERPRINT.equals(key)) {
+                int colon = value.lastIndexOf(':');
+                graph.addNode(value.substring(0, colon));
+                graph.fingerprints.put(value.substring(0, colon), value.substring(colon + 1));
+            } else if (DEPENDENCY.equals(key)) {
+                int arrow = value.indexOf(EDGE_SEPARATOR);
+                graph.addDependency(value.substring(0, arrow), value.substring(arrow + EDGE_SEPARATOR.length()));
+            }
+        }
+        return graph;
+    }
+
+    // ————————————————————————————————————————
+    // Internals
+    // ————————————————————————————————————————
+
+    private void collectReferences(String node, Object definition) {
+        if (definition instanceof Map<?, ?> map) {
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (REFERENCE.equals(entry.getKey()) && entry.getValue() instanceof String ref) {
+                    addDependency(node, capitalize(SchemaIndex.simpleName(ref)));
+                } else {
+                    collectReferences(node, entry.getValue());
+                }
+            }
+        } else if (definition instanceof Collection<?> items) {
+            for (Object item : items) {
+                collectReferences(node, item);
+            }
+        }
+    }
+
+    private void addExtends(String node, String extendsFrom, Set<String> generated) {
+        if (extendsFrom != null && generated.contains(extendsFrom)) {
+            addDependency(node, extendsFrom);
+        }
+    }
+
+    private void addFieldTypes(String node, List<VariableProperties> properties, Set<String> generated) {
+        for (VariableProperties vp : properties) {
+            String type = vp.getType();
+            if (type == null) {
+                continue;
+            }
+            int start = -1;
+            for (int i = 0; i <= type.length(); i++) {
+                boolean identifierPart = i < type.length() && Character.isJavaIdentifierPart(type.charAt(i));
+                if (identifierPart && start < 0) {
+                    start = i;
+                } else if (!identifierPart && start >= 0) {
+                    String candidate = type.substring(start, i);
+                    if (generated.contains(candidate)) {
+                        addDependency(node, candidate);
+                        if (!fingerprints.containsKey(candidate)) {
+                            // Inner schema: derived from the definition of the class that declares it
+                            addDependency(candidate, node);
+                        }
+                    }
+                    start = -1;
+                }
+            }
+        }
+    }
+
+    private static String hash(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] bytes = digest.digest(value.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(16);
+            for (int i = 0; i < 8; i++) {
+                hex.append(Character.forDigit((bytes[i] >> 4) & 0xF, 16)).append(Character.forDigit(bytes[i] & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
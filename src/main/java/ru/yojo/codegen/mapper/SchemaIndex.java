@@ -0,0 +1,239 @@
+package ru.yojo.codegen.mapper;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static ru.yojo.codegen.constants.Dictionary.ENUMERATION;
+import static ru.yojo.codegen.constants.Dictionary.JAVA_LOWER_CASE_TYPES_CHECK_CONVERTER;
+import static ru.yojo.codegen.constants.Dictionary.POLYMORPHS;
+import static ru.yojo.codegen.constants.Dictionary.TYPE;
+import static ru.yojo.codegen.util.MapperUtil.capitalize;
+import static ru.yojo.codegen.util.MapperUtil.castObjectToMap;
+import static ru.yojo.codegen.util.MapperUtil.getStringValueIfExistOrElseNull;
+
+/**
+ * Per-specification index of the schema registry used to resolve {@code $ref} values.
+ * <p>
+ * Built once after parsing. Every distinct {@code $ref} string is resolved a single time to an interned
+ * {@link Target} carrying the schema key, the Java class name and structural flags, so mappers neither strip
+ * reference prefixes with regular expressions nor walk {@code components.schemas} for every property.
+ * <p>
+ * Schema nodes are always read from the live registry: mappers register inner schemas in it and remove schemas
+ * folded into messages, and lookups must observe that. Flags are computed once per schema node and recomputed
+ * only if a different node is later registered under the same name.
+ * <p>
+ * Safe for concurrent use.
+ *
+ * @author Vladimir Morozkin (TG @vmorozkin)
+ */
+public class SchemaIndex {
+
+    private static final int POLYMORPHIC = 1;
+    private static final int ENUM = 1 << 1;
+    private static final int PRIMITIVE_ALIAS = 1 << 2;
+
+    private final Map<String, Object> schemas;
+    private final Map<String, Target> targetsByName = new ConcurrentHashMap<>();
+    private final Map<String, Target> targetsByRef = new ConcurrentHashMap<>();
+
+    /**
+     * Indexes all schemas currently present in {@code schemas}.
+     *
+     * @param schemas schema registry (name → definition); kept by reference
+     */
+    public SchemaIndex(Map<String, Object> schemas) {
+        this.schemas = schemas;
+        schemas.forEach((name, node) -> targetsByName.put(name, new Target(name, node)));
+    }
+
+    /**
+     * Creates an index over {@code components.schemas} of a parsed document.
+     *
+     * @param document root AsyncAPI document
+     * @return index (empty if the document has no schemas)
+     */
+    public static SchemaIndex forDocument(Map<String, Object> document) {
+        return new SchemaIndex(castObjectToMap(castObjectToMap(document.get("components")).get("schemas")));
+    }
+
+    /**
+     * Extracts the schema key from a {@code $ref} path without regular expressions.
+     * <p>
+     * Examples:
+     * <ul>
+     *   <li>{@code "#/components/schemas/User"} → {@code "User"}</li>
+     *   <li>{@code "./file.yaml#/components/schemas/user"} → {@code "user"}</li>
+     * </ul>
+     *
+     * @param ref {@code $ref} string
+     * @return everything after the last {@code /} (the input itself if it has no inner {@code /})
+     */
+    public static String simpleName(String ref) {
+        int slash = ref.lastIndexOf('/');
+        return slash > 0 ? ref.substring(slash + 1) : ref;
+    }
+
+    /**
+     * Resolves a {@code $ref} (or a plain schema name) to its interned target.
+     *
+     * @param ref {@code $ref} string
+     * @return target; the same instance for equal references
+     */
+    public Target target(String ref) {
+        Target target = targetsByRef.get(ref);
+        if (target == null) {
+            target = targetsByRef.computeIfAbsent(ref, r -> {
+                String name = simpleName(r);
+                return targetsByName.computeIfAbsent(name, n -> new Target(n, null));
+            });
+        }
+        return target;
+    }
+
+    /**
+     * Returns the schema key referenced by {@code ref}.
+     *
+     * @param ref {@code $ref} string
+     * @return interned schema key
+     */
+    public String name(String ref) {
+        return target(ref).name();
+    }
+
+    /**
+     * Returns the Java class name for the schema referenced by {@code ref}.
+     *
+     * @param ref {@code $ref} string
+     * @return capitalized class name
+     */
+    public String className(String ref) {
+        return target(ref).className();
+    }
+
+    /**
+     * Checks whether the referenced schema is currently registered.
+     *
+     * @param ref {@code $ref} string
+     * @return {@code true} if the registry holds a definition for it
+     */
+    public boolean contains(String ref) {
+        return schemas.containsKey(name(ref));
+    }
+
+    /**
+     * Returns the definition of the referenced schema from the live registry.
+     *
+     * @param ref {@code $ref} string
+     * @return schema map, or an empty map if not registered
+     */
+    public Map<String, Object> resolve(String ref) {
+        return castObjectToMap(schemas.get(name(ref)));
+    }
+
+    /**
+     * Checks whether the referenced schema declares {@code allOf}/{@code oneOf}/{@code anyOf}.
+     *
+     * @param ref {@code $ref} string
+     * @return {@code true} for registered polymorphic schemas
+     */
+    public boolean isPolymorphic(String ref) {
+        return hasFlag(ref, POLYMORPHIC);
+    }
+
+    /**
+     * Checks whether the referenced schema declares {@code enum} values.
+     *
+     * @param ref {@code $ref} string
+     * @return {@code true} for registered enum schemas
+     */
+    public boolean isEnum(String ref) {
+        return hasFlag(ref, ENUM);
+    }
+
+    /**
+     * Checks whether the referenced schema is an alias of a simple type ({@code type: string}, {@code integer}, ...).
+     *
+     * @param ref {@code $ref} string
+     * @return {@code true} for registered schemas whose type maps directly to a Java type
+     */
+    public boolean isPrimitiveAlias(String ref) {
+        return hasFlag(ref, PRIMITIVE_ALIAS);
+    }
+
+    /**
+     * Returns the schema registry this index resolves against.
+     *
+     * @return live schema map
+     */
+    public Map<String, Object> getSchemas() {
+        return schemas;
+    }
+
+    private boolean hasFlag(String ref, int flag) {
+        Target target = target(ref);
+        Object node = schemas.get(target.name());
+        if (node == null) {
+            return false;
+        }
+        int flags = node == target.node ? target.flags : flagsOf(node);
+        return (flags & flag) != 0;
+    }
+
+    private static int flagsOf(Object node) {
+        if (!(node instanceof Map<?, ?>)) {
+            return 0;
+        }
+        Map<String, Object> schema = castObjectToMap(node);
+        int flags = 0;
+        for (String polymorph : POLYMORPHS) {
+            if (schema.containsKey(polymorph)) {
+                flags |= POLYMORPHIC;
+                break;
+            }
+        }
+        if (getStringValueIfExistOrElseNull(ENUMERATION, schema) != null) {
+            flags |= ENUM;
+        }
+        String type = getStringValueIfExistOrElseNull(TYPE, schema);
+        if (type != null && JAVA_LOWER_CASE_TYPES_CHECK_CONVERTER.containsKey(type)) {
+            flags |= PRIMITIVE_ALIAS;
+        }
+        return flags;
+    }
+
+    /**
+     * Resolved reference: schema key, class name and the flags of the node it was first resolved against.
+     */
+    public static final class Target {
+
+        private final String name;
+        private final String className;
+        private final Object node;
+        private final int flags;
+
+        private Target(String name, Object node) {
+            this.name = name;
+            this.className = capitalize(name);
+            this.node = node;
+            this.flags = flagsOf(node);
+        }
+
+        /**
+         * Returns the schema key (registry name).
+         *
+         * @return schema key
+         */
+        public String name() {
+            return name;
+        }
+
+        /**
+         * Returns the Java class name.
+         *
+         * @return capitalized schema key
+         */
+        public String className() {
+            return className;
+        }
+    }
+}
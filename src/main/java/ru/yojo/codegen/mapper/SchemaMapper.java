@@ -6,6 +6,7 @@ import ru.yojo.codegen.domain.VariableProperties;
 import ru.yojo.codegen.domain.lombok.LombokProperties;
 import ru.yojo.codegen.domain.schema.Schema;
 import ru.yojo.codegen.domain.schema.SchemaBuilder;
+import ru.yojo.codegen.event.SchemaMapEvent;
 import ru.yojo.codegen.exception.SchemaFillException;
 import ru.yojo.codegen.util.Logger;
 import ru.yojo.codegen.util.MapperUtil;
@@ -62,8 +63,13 @@ public class SchemaMapper extends AbstractMapper {
          discriminatorProcessor.preScan(processContext.getSchemasMap());
          
          processContext.getSchemasMap().forEach((schemaName, schemaValues) -> {
+            SchemaMapEvent event = new SchemaMapEvent();
+            event.begin();
             LombokProperties finalLombokProperties = LombokProperties.newLombokProperties(processContext.getLombokProperties());
             LOG.info("START MAPPING OF SCHEMA: " + schemaName);
+            if (processContext.getDependencyGraph() != null) {
+                processContext.getDependencyGraph().addReferences(capitalize(schemaName), schemaValues);
+            }
             Map<String, Object> schemaMap = castObjectToMap(schemaValues);
             String schemaType = getStringValueIfExistOrElseNull(TYPE, schemaMap);
             String format = getStringValueIfExistOrElseNull(FORMAT, schemaMap);
@@ -79,6 +85,7 @@ public class SchemaMapper extends AbstractMapper {
                         .interfaceImports(getXSetValueOrElseDeprecated(X_IMPORTS, IMPORTS, schemaMap, LOG))
                         .build();
                 schemaList.add(schema);
+                event.finish(schemaName, SchemaMapEvent.SCHEMA, 0);
                 return;
             }
 
@@ -126,7 +133,7 @@ public class SchemaMapper extends AbstractMapper {
                             builder.addImport(effectivePkg + "." + fromClass + ";");
                         }
                         String refObject = getStringValueIfExistOrElseNull(REFERENCE, schemaMap);
-                        if (refObject != null && refReplace(refObject).equals(fromClass)) {
+                        if (refObject != null && processContext.getSchemaIndex().name(refObject).equals(fromClass)) {
                             needToFill.set(false);
                         }
                     }
@@ -142,7 +149,7 @@ public class SchemaMapper extends AbstractMapper {
                             fromInterfaceObj = implementsMap.get(FROM_INTERFACE);
                         }
                         List<String> fromInterfaceList = castObjectToList(fromInterfaceObj);
-                        LOG.info("SHOULD IMPLEMENTS FROM: " + fromInterfaceList);
+                        LOG.info(() -> "SHOULD IMPLEMENTS FROM: " + fromInterfaceList);
                         fromInterfaceList.forEach(ifc -> {
                             String[] split = ifc.split("[.]");
                             builder.addImplementsFrom(split[split.length - 1]);
@@ -183,7 +190,7 @@ public class SchemaMapper extends AbstractMapper {
                             for (Object item : items) {
                                 String ref = getStringValueIfExistOrElseNull(REFERENCE, castObjectToMap(item));
                                 if (ref != null) {
-                                    String baseName = refReplace(ref);
+                                    String baseName = processContext.getSchemaIndex().name(ref);
                                     if (discriminatorProcessor.getDiscriminatorBases().contains(baseName)) {
                                         builder.extendsFrom(baseName);
                                         LOG.info("DISCRIMINATOR: Setting extendsFrom=\"" + baseName
@@ -211,6 +218,7 @@ public class SchemaMapper extends AbstractMapper {
                     schema = builder.fillParameters(new FillParameters(new ArrayList<>())).build();
                 }
                 schemaList.add(schema);
+                event.finish(schemaName, SchemaMapEvent.SCHEMA, schema.getFillParameters().getVariableProperties().size());
             } else if (schemaType != null && JAVA_DEFAULT_TYPES.contains(capitalize(schemaType))) {
                 LOG.info("SKIP SCHEMA BECAUSE TYPE IS: " + schemaType);
             } else {
@@ -218,10 +226,22 @@ public class SchemaMapper extends AbstractMapper {
             }
         });
 
-        if (!processContext.getHelper().getInnerSchemas().isEmpty()) {
-            processContext.getHelper().getInnerSchemas().forEach((schemaName, schemaValues) -> {
+        // Mapping an inner schema may register further inner schemas (deep nesting),
+        // so keep sweeping until every registered inner schema has been mapped exactly once.
+        Map<String, Object> innerSchemas = processContext.getHelper().getInnerSchemas();
+        Set<String> mappedInnerSchemas = new HashSet<>();
+        while (mappedInnerSchemas.size() < innerSchemas.size()) {
+            innerSchemas.forEach((schemaName, schemaValues) -> {
+                if (!mappedInnerSchemas.add(schemaName)) {
+                    return;
+                }
+                SchemaMapEvent event = new SchemaMapEvent();
+                event.begin();
                 LombokProperties finalLombokProperties = LombokProperties.newLombokProperties(processContext.getLombokProperties());
                 LOG.info("START MAPPING OF INNER SCHEMA: " + schemaName);
+                if (processContext.getDependencyGraph() != null) {
+                    processContext.getDependencyGraph().addReferences(capitalize(schemaName), schemaValues);
+                }
                 Map<String, Object> schemaMap = castObjectToMap(schemaValues);
 
                 // ⬇️ infer type: object
@@ -258,6 +278,7 @@ public class SchemaMapper extends AbstractMapper {
                             )
                             .build();
                     schemaList.add(schema);
+                    event.finish(schemaName, SchemaMapEvent.INNER_SCHEMA, schema.getFillParameters().getVariableProperties().size());
                 } else if (schemaType != null && JAVA_DEFAULT_TYPES.contains(capitalize(schemaType))) {
                     LOG.info("SKIP INNER SCHEMA (primitive): " + schemaName + ", type=" + schemaType);
                 } else {
@@ -280,7 +301,8 @@ public class SchemaMapper extends AbstractMapper {
      *   <li>Top-level enums (rare; when enum is directly on schema, not in a property)</li>
      * </ul>
      * <p>
-     * Ensures no duplicate fields when merging polymorphic schemas (keeps first occurrence).
+     * Ensures no duplicate fields when merging polymorphic schemas (keeps first occurrence). Fields are collected
+     * in an insertion-ordered map keyed by field name, so each merged property is checked in constant time.
      *
      * @param schemaName     schema name (used for logging and inner schema naming)
      * @param currentSchema  definition of the current schema
@@ -296,7 +318,8 @@ public class SchemaMapper extends AbstractMapper {
                                                         Map<String, Object> properties,
                                                         ProcessContext processContext,
                                                         Map<String, Object> innerSchemas) {
-        List<VariableProperties> variableProperties = new LinkedList<>();
+        // field name → field, in declaration order; the first field with a name wins
+        Map<String, VariableProperties> variableProperties = new LinkedHashMap<>();
 
         // 🔹 ШАГ 1: ВСЕГДА обрабатываем корневые properties (если есть)
         if (!properties.isEmpty()) {
@@ -316,25 +339,27 @@ public class SchemaMapper extends AbstractMapper {
                 // Apply schema-level x-json-naming to each field
                 applyJsonNaming(currentSchema, vp);
 
-                variableProperties.add(vp);
+                addField(schemaName, variableProperties, vp);
             });
         }
 
         // 🔹 ШАГ 2: Обрабатываем allOf/oneOf/anyOf — и мержим в variableProperties (избегая дублей)
         if (POLYMORPHS.stream().anyMatch(p -> currentSchema.containsKey(p))) {
             LOG.info("POLYMORPH: " + schemaName);
-            LOG.info("POLYMORPH: " + currentSchema);
+            LOG.debug(() -> "POLYMORPH SCHEMA: " + currentSchema);
             List<String> polymorphSchemasNames = getPolymorphSchemasNames(currentSchema, schemas);
-            LOG.info("POLYMORPH schemas: " + String.join(", ", polymorphSchemasNames));
+            LOG.info(() -> "POLYMORPH schemas: " + String.join(", ", polymorphSchemasNames));
             
             Map<String, Object> mergedProperties = mergeProperties(polymorphSchemasNames, currentSchema, schemas);
             registerNestedSchemas(schemaName, mergedProperties, schemas, processContext.getHelper().getInnerSchemas());
+            Set<String> discriminatorFieldsWithConst = discriminatorProcessor.discriminatorFieldsWithConst(currentSchema);
             // ➕ Добавляем НЕДОСТАЮЩИЕ поля из allOf (если их нет в корневых properties)
             mergedProperties.forEach((propertyName, propertyValue) -> {
-                if (variableProperties.stream().noneMatch(vp -> vp.getName().equals(propertyName))) {
+                // Fields are keyed by their Java name, e.g. "class" is declared as "classField"
+                if (!variableProperties.containsKey(safeFieldName(propertyName))) {
                     // ⚡ SKIP discriminator field with const in subtypes
                     // If this is a discriminator field with const value, skip it - it's inherited from base
-                    if (discriminatorProcessor.isDiscriminatorFieldWithConst(currentSchema, propertyName)) {
+                    if (discriminatorFieldsWithConst.contains(propertyName)) {
                         LOG.info("SKIPPING discriminator field with const: " + propertyName + " in schema: " + schemaName);
                         return;
                     }
@@ -353,7 +378,7 @@ public class SchemaMapper extends AbstractMapper {
                     // Apply schema-level x-json-naming to each field
                     applyJsonNaming(currentSchema, vp);
 
-                    variableProperties.add(vp);
+                    addField(schemaName, variableProperties, vp);
                 }
             });
         }
@@ -364,10 +389,16 @@ public class SchemaMapper extends AbstractMapper {
             vp.setValid(false);
             vp.setEnum(true);
             fillProperties(schemaName, vp, currentSchema, schemas, schemaName, currentSchema, processContext, innerSchemas);
-            variableProperties.add(vp);
+            addField(schemaName, variableProperties, vp);
         }
 
-        return new FillParameters(variableProperties);
+        return new FillParameters(new ArrayList<>(variableProperties.values()));
+    }
+
+    private static void addField(String schemaName, Map<String, VariableProperties> fields, VariableProperties vp) {
+        if (fields.putIfAbsent(vp.getName(), vp) != null) {
+            LOG.warn("Duplicate field " + vp.getName() + " in schema " + schemaName + ", keeping the first definition");
+        }
     }
 
     /**
@@ -386,7 +417,7 @@ public class SchemaMapper extends AbstractMapper {
                 .map(p -> castObjectToMap(p))
                 .map(p -> p.get(REFERENCE))
                 .filter(Objects::nonNull)
-                .map(p -> refReplace(p.toString()))
+                .map(p -> SchemaIndex.simpleName(p.toString()))
                 .flatMap(ref -> {
                     Map<String, Object> referencedSchema = castObjectToMap(schemas.get(ref));
                     if (referencedSchema.containsKey(ALL_OF) ||
@@ -421,8 +452,8 @@ public class SchemaMapper extends AbstractMapper {
                                                    Map<String, Object> schemas) {
         Map<String, Object> merged = new LinkedHashMap<>();
         
-        LOG.info("MERGE: Starting merge for schema with keys: " + currentSchema.keySet());
-        LOG.info("MERGE: Discriminator bases: " + discriminatorProcessor.getDiscriminatorBases());
+        LOG.info(() -> "MERGE: Starting merge for schema with keys: " + currentSchema.keySet());
+        LOG.info(() -> "MERGE: Discriminator bases: " + discriminatorProcessor.getDiscriminatorBases());
         
         // 1. Сначала обрабатываем allOf/oneOf/anyOf: добавляем свойства из $ref и inline-объектов
         for (String polyKey : POLYMORPHS) {
@@ -437,7 +468,7 @@ public class SchemaMapper extends AbstractMapper {
                         // Случай 1: $ref → разрешаем и добавляем его properties
                         String ref = getStringValueIfExistOrElseNull(REFERENCE, itemMap);
                         if (ref != null) {
-                            String schemaName = refReplace(ref);
+                            String schemaName = SchemaIndex.simpleName(ref);
                             LOG.info("MERGE: Found $ref: " + schemaName);
                             
                             // ⚡ CRITICAL: Skip if this is a discriminator base schema
@@ -449,7 +480,7 @@ public class SchemaMapper extends AbstractMapper {
                                     Map<String, Object> props = castObjectToMap(target.get(PROPERTIES));
                                     if (props != null) {
                                         merged.putAll(props);
-                                        LOG.info("MERGE: Added properties from " + schemaName + ": " + props.keySet());
+                                        LOG.info(() -> "MERGE: Added properties from " + schemaName + ": " + props.keySet());
                                     } else {
                                         LOG.info("MERGE: WARNING - No properties found in " + schemaName);
                                     }
@@ -462,7 +493,7 @@ public class SchemaMapper extends AbstractMapper {
                             Map<String, Object> props = castObjectToMap(itemMap.get(PROPERTIES));
                             if (props != null) {
                                 merged.putAll(props);
-                                LOG.info("MERGE: Added inline properties: " + props.keySet());
+                                LOG.info(() -> "MERGE: Added inline properties: " + props.keySet());
                             }
                         }
                     }
@@ -470,16 +501,16 @@ public class SchemaMapper extends AbstractMapper {
             }
         }
         
-        LOG.info("MERGE: After processing allOf/oneOf/anyOf, merged keys: " + merged.keySet());
+        LOG.info(() -> "MERGE: After processing allOf/oneOf/anyOf, merged keys: " + merged.keySet());
         
         // 2. Если есть корневые properties — мержим их поверх (приоритет highest)
         Map<String, Object> rootProps = castObjectToMap(currentSchema.get(PROPERTIES));
         if (rootProps != null && !rootProps.isEmpty()) {
             merged.putAll(rootProps);
-            LOG.info("MERGE: Added root properties: " + rootProps.keySet());
+            LOG.info(() -> "MERGE: Added root properties: " + rootProps.keySet());
         }
         
-        LOG.info("MERGE: Final merged keys: " + merged.keySet());
+        LOG.info(() -> "MERGE: Final merged keys: " + merged.keySet());
         return merged;
     }
 
@@ -1,6 +1,9 @@
 package ru.yojo.codegen.parser;
 
 import org.yaml.snakeyaml.Yaml;
+import ru.yojo.codegen.event.ExternalRefLoadEvent;
+import ru.yojo.codegen.event.SpecParseEvent;
+import ru.yojo.codegen.mapper.SchemaIndex;
 import ru.yojo.codegen.util.Logger;
 import ru.yojo.codegen.util.MapperUtil;
 
@@ -8,14 +11,14 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import static ru.yojo.codegen.constants.Dictionary.CHANNELS;
 import static ru.yojo.codegen.constants.Dictionary.PUBLISH;
@@ -36,13 +39,32 @@ import static ru.yojo.codegen.util.MapperUtil.getStringValueIfExistOrElseNull;
  *   <li>{@code components.schemas} and {@code components.messages} extraction</li>
  *   <li>Recursive external {@code $ref} resolution</li>
  *   <li>Message resolution from channels (AsyncAPI 2.x) or operations (AsyncAPI 3.x)</li>
- *   <li>YAML preprocessing for inline name/package injection</li>
+ *   <li>Inline name/package injection for external {@code $ref}s</li>
  * </ul>
  */
 public class AsyncAPIParser {
 
     private static final Logger LOG = new Logger(AsyncAPIParser.class);
 
+    private final ExternalDocumentCache documentCache;
+    private long externalRefNanos;
+
+    /**
+     * Creates a parser with its own (unshared) external document cache.
+     */
+    public AsyncAPIParser() {
+        this(new ExternalDocumentCache());
+    }
+
+    /**
+     * Creates a parser that loads external {@code $ref} documents through the given cache.
+     *
+     * @param documentCache cache shared between parsers (e.g. for all specs of one generation run)
+     */
+    public AsyncAPIParser(ExternalDocumentCache documentCache) {
+        this.documentCache = documentCache;
+    }
+
     /**
      * Parses an AsyncAPI specification file and returns a structured result.
      *
@@ -54,6 +76,8 @@ public class AsyncAPIParser {
      * @throws IllegalArgumentException if the file is not a root AsyncAPI/OpenAPI spec
      */
     public ParseResult parse(Path specFilePath, Path baseDir, String packageLocation) throws IOException {
+        SpecParseEvent event = new SpecParseEvent();
+        event.begin();
         // Read file
         String rootContent = Files.readString(specFilePath, StandardCharsets.UTF_8);
         Map<String, Object> rootDoc = new Yaml().load(rootContent);
@@ -70,10 +94,9 @@ public class AsyncAPIParser {
         collectSchemasAndMessages(rootDoc, schemas, messages);
 
         // Recursively collect from external $ref files
-        collectExternalRefs(rootDoc, baseDir, schemas, messages, new HashSet<>());
+        Set<Path> externalFiles = new LinkedHashSet<>();
+        collectExternalRefs(rootDoc, baseDir, schemas, messages, new HashSet<>(), externalFiles);
 
-        // Preprocess: inject 'name' and 'package' for $ref resolution
-        String processedContent = getContent(rootContent, packageLocation);
 
         // Determine AsyncAPI version
         boolean isV3 = isAsyncApiV3(rootDoc);
@@ -87,7 +110,21 @@ public class AsyncAPIParser {
             }
         }
 
-        return new ParseResult(rootDoc, processedContent, schemas, messages, isV3);
+        // Annotate external $refs with 'name' and 'package' on the parsed tree (no text rewrite, no reparse)
+        @SuppressWarnings("unchecked")
+        Map<String, Object> document = (Map<String, Object>) annotateExternalRefs(rootDoc, packageLocation + ".common");
+
+        event.finish(specFilePath, schemas.size(), messages.size(), externalFiles.size());
+        return new ParseResult(document, schemas, messages, isV3, Collections.unmodifiableSet(externalFiles));
+    }
+
+    /**
+     * Returns the time this parser spent loading external {@code $ref} documents (cache hits included).
+     *
+     * @return accumulated time in nanoseconds over all {@link #parse} calls
+     */
+    public long getExternalRefNanos() {
+        return externalRefNanos;
     }
 
     // ============================================================
@@ -122,12 +159,14 @@ public class AsyncAPIParser {
      * @param schemas  target schema map
      * @param messages target message map
      * @param visited  set of already visited file paths (to prevent cycles)
+     * @param loaded   target set of absolute paths of successfully loaded external files
      */
     private void collectExternalRefs(Object node,
                                       Path baseDir,
                                       Map<String, Object> schemas,
                                       Map<String, Object> messages,
-                                      Set<String> visited) {
+                                      Set<String> visited,
+                                      Set<Path> loaded) {
         if (node instanceof Map) {
             @SuppressWarnings("unchecked")
             Map<String, Object> map = (Map<String, Object>) node;
@@ -144,10 +183,15 @@ public class AsyncAPIParser {
                                 try {
                                     Path absPath = baseDir.resolve(filePath).normalize();
                                     if (absPath.startsWith(baseDir) && Files.exists(absPath)) {
-                                        Map<String, Object> externalDoc = new Yaml().load(
-                                                Files.readString(absPath, StandardCharsets.UTF_8));
+                                        ExternalRefLoadEvent event = new ExternalRefLoadEvent();
+                                        long start = System.nanoTime();
+                                        event.begin();
+                                        Map<String, Object> externalDoc = documentCache.load(absPath);
+                                        event.finish(absPath);
+                                        externalRefNanos += System.nanoTime() - start;
+                                        loaded.add(absPath);
                                         collectSchemasAndMessages(externalDoc, schemas, messages);
-                                        collectExternalRefs(externalDoc, baseDir, schemas, messages, visited);
+                                        collectExternalRefs(externalDoc, baseDir, schemas, messages, visited, loaded);
                                     }
                                 } catch (Exception e) {
                                     LOG.error("⚠️ Skip $ref: " + ref + " → " + e.getMessage(), e);
@@ -156,14 +200,14 @@ public class AsyncAPIParser {
                         }
                     }
                 } else {
-                    collectExternalRefs(value, baseDir, schemas, messages, visited);
+                    collectExternalRefs(value, baseDir, schemas, messages, visited, loaded);
                 }
             }
         } else if (node instanceof List) {
             @SuppressWarnings("unchecked")
             List<Object> list = (List<Object>) node;
             for (Object item : list) {
-                collectExternalRefs(item, baseDir, schemas, messages, visited);
+                collectExternalRefs(item, baseDir, schemas, messages, visited, loaded);
             }
         }
     }
@@ -292,6 +336,7 @@ public class AsyncAPIParser {
                                         Map<String, Object> messagesMap,
                                         Set<String> excludeSchemas) {
         Map<String, Object> channelsMap = castObjectToMap(allContent.get(CHANNELS));
+        SchemaIndex schemaIndex = SchemaIndex.forDocument(allContent);
         channelsMap.entrySet().forEach(entry -> {
             String channelName = entry.getKey();
             Map<String, Object> subscribeMap = castObjectToMap(entry.getValue()).entrySet().stream()
@@ -307,45 +352,102 @@ public class AsyncAPIParser {
                     .map(MapperUtil::castObjectToMap)
                     .orElse(Collections.emptyMap());
             if (!subscribeMap.isEmpty()) {
-                fillMessageFromChannel(allContent, messagesMap, excludeSchemas, subscribeMap, channelName, SUBSCRIBE);
+                fillMessageFromChannel(schemaIndex, messagesMap, excludeSchemas, subscribeMap, channelName, SUBSCRIBE);
             }
             if (!publishMap.isEmpty()) {
-                fillMessageFromChannel(allContent, messagesMap, excludeSchemas, publishMap, channelName, PUBLISH);
+                fillMessageFromChannel(schemaIndex, messagesMap, excludeSchemas, publishMap, channelName, PUBLISH);
             }
         });
     }
 
     /**
-     * YAML preprocessing — injects {@code name} and {@code package} before external {@code $ref} targets
-     * so that downstream mapping can resolve class names and packages.
+     * Replaces every external {@code $ref} ({@code ./path/file.yaml#/components/schemas/Name}) with
+     * {@code name} and {@code package} entries so that consumers of the document can resolve class names
+     * and packages.
+     * <p>
+     * Works directly on the parsed tree, copy-on-write: only maps and lists on the path to an external
+     * {@code $ref} are copied, every other subtree is shared with {@code node}. The source tree (and therefore
+     * the collected schemas/messages, which are views into it) is never modified.
      *
-     * @param content         raw YAML content
-     * @param packageLocation base package (e.g., {@code "com.example"})
-     * @return preprocessed YAML with injected fields
+     * @param node          current AST node
+     * @param commonPackage package of shared schemas (always {@code packageLocation + ".common"})
+     * @return {@code node} itself if its subtree has no external refs, otherwise an annotated copy
      */
-    private static String getContent(String content, String packageLocation) {
-        String regex = "\\s*\\$ref:\\s*['\"](\\./[^'\"]*\\.yaml)(?:#/(.*))?['\"]";
-        Pattern pattern = Pattern.compile(regex);
-        Matcher matcher = pattern.matcher(content);
-        StringBuilder modified = new StringBuilder();
-        int lastEnd = 0;
-        while (matcher.find()) {
-            modified.append(content, lastEnd, matcher.start());
-            String className = matcher.group(2);
-            if (className != null) {
-                className = className.substring(className.lastIndexOf('/') + 1);
+    private static Object annotateExternalRefs(Object node, String commonPackage) {
+        if (node instanceof Map) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> map = (Map<String, Object>) node;
+            Map<String, Object> copy = null;
+            for (Map.Entry<String, Object> entry : map.entrySet()) {
+                if ("$ref".equals(entry.getKey()) && entry.getValue() instanceof String ref && isExternalYamlRef(ref)) {
+                    copy = copyUpTo(map, entry.getKey(), copy);
+                    int hash = ref.indexOf("#/");
+                    copy.put("name", hash < 0 ? null : ref.substring(ref.lastIndexOf('/') + 1));
+                    copy.put("package", commonPackage);
+                    continue;
+                }
+                Object annotated = annotateExternalRefs(entry.getValue(), commonPackage);
+                if (annotated != entry.getValue() && copy == null) {
+                    copy = copyUpTo(map, entry.getKey(), null);
+                }
+                if (copy != null) {
+                    copy.put(entry.getKey(), annotated);
+                }
             }
-            // ALWAYS: packageLocation + ".common"
-            String effectivePackage = packageLocation + ".common";
-            String originalLine = matcher.group(0);
-            String indent = originalLine.substring(0, originalLine.indexOf("$ref:"));
-            String replaceName = String.format("%sname: %s", indent, className);
-            String replacePackage = String.format("%spackage: %s", indent, effectivePackage);
-            modified.append(replaceName).append("\n").append(replacePackage).append("\n");
-            lastEnd = matcher.end();
+            return copy != null ? copy : map;
         }
-        modified.append(content.substring(lastEnd));
-        return modified.toString();
+        if (node instanceof List) {
+            @SuppressWarnings("unchecked")
+            List<Object> list = (List<Object>) node;
+            List<Object> copy = null;
+            for (int i = 0; i < list.size(); i++) {
+                Object item = list.get(i);
+                Object annotated = annotateExternalRefs(item, commonPackage);
+                if (annotated != item && copy == null) {
+                    copy = new ArrayList<>(list.subList(0, i));
+                }
+                if (copy != null) {
+                    copy.add(annotated);
+                }
+            }
+            return copy != null ? copy : list;
+        }
+        return node;
+    }
+
+    /**
+     * Returns {@code copy} if already started, otherwise a new map holding the entries of {@code source}
+     * that precede {@code stopKey}, preserving insertion order.
+     *
+     * @param source  original map
+     * @param stopKey first key not to copy
+     * @param copy    copy started earlier, or {@code null}
+     * @return insertion-ordered copy
+     */
+    private static Map<String, Object> copyUpTo(Map<String, Object> source, String stopKey, Map<String, Object> copy) {
+        if (copy != null) {
+            return copy;
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : source.entrySet()) {
+            if (entry.getKey().equals(stopKey)) {
+                break;
+            }
+            result.put(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether a {@code $ref} points to a sibling YAML file ({@code ./file.yaml} or {@code ./file.yaml#/...}).
+     *
+     * @param ref reference value
+     * @return {@code true} for external YAML references
+     */
+    private static boolean isExternalYamlRef(String ref) {
+        int hash = ref.indexOf('#');
+        String filePart = hash < 0 ? ref : ref.substring(0, hash);
+        return ref.startsWith("./") && filePart.endsWith(".yaml");
     }
 
 }
@@ -0,0 +1,137 @@
+package ru.yojo.codegen.parser;
+
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cache of parsed external YAML documents referenced through {@code $ref}.
+ * <p>
+ * Entries are keyed by the normalized absolute path and validated against the file's
+ * last-modified time and size, so an edited file is transparently re-parsed.
+ * <p>
+ * Mappers mutate the schema maps they work on, therefore the cached tree is never handed out directly:
+ * every lookup returns a private deep copy of the parsed document (still far cheaper than reading and parsing
+ * the file again). Lookups are safe for concurrent use; a given file is parsed at most once per version.
+ * <p>
+ * A fresh cache is typically created per {@code generateAll} call; {@link #shared()} provides a JVM-wide
+ * instance for callers that run many generations in the same process.
+ *
+ * @author Vladimir Morozkin (TG @vmorozkin)
+ */
+public class ExternalDocumentCache {
+
+    private static final ExternalDocumentCache SHARED = new ExternalDocumentCache();
+
+    private final Map<Path, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+
+    /**
+     * Returns the JVM-wide cache instance.
+     *
+     * @return shared cache
+     */
+    public static ExternalDocumentCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the parsed document for {@code file}, loading it if absent or modified since it was cached.
+     *
+     * @param file external YAML file
+     * @return private deep copy of the parsed document (may be {@code null} for an empty file)
+     * @throws IOException if the file cannot be read
+     */
+    public Map<String, Object> load(Path file) throws IOException {
+        Path key = file.toAbsolutePath().normalize();
+        BasicFileAttributes attributes = Files.readAttributes(key, BasicFileAttributes.class);
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        long size = attributes.size();
+        Entry entry;
+        try {
+            entry = entries.compute(key, (path, cached) -> {
+                if (cached != null && cached.lastModified() == lastModified && cached.size() == size) {
+                    hits.incrementAndGet();
+                    return cached;
+                }
+                misses.incrementAndGet();
+                try {
+                    Object document = new Yaml().load(Files.readString(path, StandardCharsets.UTF_8));
+                    return new Entry(lastModified, size, document);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, Object> copy = (Map<String, Object>) deepCopy(entry.document());
+        return copy;
+    }
+
+    /**
+     * Returns the number of lookups served from the cache.
+     *
+     * @return cache hits
+     */
+    public int getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of lookups that had to read and parse the file.
+     *
+     * @return cache misses
+     */
+    public int getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Drops all cached documents and resets statistics.
+     */
+    public void clear() {
+        entries.clear();
+        hits.set(0);
+        misses.set(0);
+    }
+
+    private static Object deepCopy(Object node) {
+        if (node instanceof Map<?, ?> map) {
+            Map<Object, Object> copy = new LinkedHashMap<>(Math.max(16, map.size() * 4 / 3 + 1));
+            map.forEach((key, value) -> copy.put(key, deepCopy(value)));
+            return copy;
+        }
+        if (node instanceof List<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+            for (Object item : list) {
+                copy.add(deepCopy(item));
+            }
+            return copy;
+        }
+        return node;
+    }
+
+    /**
+     * Parsed document together with the file version it was read from.
+     *
+     * @param lastModified file modification time (millis)
+     * @param size         file size in bytes
+     * @param document     parsed YAML tree (never exposed directly)
+     */
+    private record Entry(long lastModified, long size, Object document) {
+    }
+}
@@ -1,21 +1,24 @@
 package ru.yojo.codegen.parser;
 
+import java.nio.file.Path;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Immutable result of parsing an AsyncAPI specification file.
  *
- * @param rootDoc         raw parsed YAML document
- * @param processedContent preprocessed YAML content (with injected name/package for $ref resolution)
+ * @param rootDoc         parsed YAML document with external {@code $ref}s annotated with name/package
+ *                        (subtrees without external refs are shared with {@code schemas}/{@code messages})
  * @param schemas         collected schemas from components.schemas and external $ref files
  * @param messages        collected/resolved messages from components.messages, channels, or operations
  * @param asyncApiV3      {@code true} if the specification is AsyncAPI 3.x
+ * @param externalFiles   absolute paths of all external files loaded through {@code $ref}
  */
 public record ParseResult(
         Map<String, Object> rootDoc,
-        String processedContent,
         Map<String, Object> schemas,
         Map<String, Object> messages,
-        boolean asyncApiV3
+        boolean asyncApiV3,
+        Set<Path> externalFiles
 ) {
 }
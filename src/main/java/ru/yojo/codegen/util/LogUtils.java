@@ -46,9 +46,12 @@ public class LogUtils {
 
     /**
      * Prints the Yojo generator logo and header to the console using ANSI colors.
-     * Includes a stylized ASCII-art banner.
+     * Includes a stylized ASCII-art banner. Skipped when the global log level is above {@link Logger.Level#INFO}.
      */
     public static void printLogo() {
+        if (Logger.getGlobalLevel().compareTo(Logger.Level.INFO) > 0) {
+            return;
+        }
         System.out.println(ANSI_GREEN + "*********************YAML TO POJO GENERATOR**************************");
         System.out.println(ANSI_GREEN + LOG_DELIMETER);
         System.out.println(ANSI_GREEN + LOG_DELIMETER);
@@ -1,8 +1,23 @@
 package ru.yojo.codegen.util;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Supplier;
+
 /**
  * Simple logger for the YOJO generator.
  * Centralizes logging to make it easier to replace with a proper logging framework later.
+ * <p>
+ * Messages below the effective level are discarded before they are built: prefer the
+ * {@link Supplier} overloads (or {@link #isDebugEnabled()}/{@link #isInfoEnabled()}) for messages that are
+ * expensive to render. The effective level is the per-instance {@link #setMinimumLevel(Level) minimum level}
+ * if one was set, otherwise the process-wide {@link #setGlobalLevel(Level) global level}.
+ * <p>
+ * Console output goes through a process-wide {@link Output}: written directly, collected in a buffer
+ * and written in large chunks, or handed over to a background writer thread. Call {@link #flush()}
+ * to make sure all pending lines have been printed.
  *
  * @author Vladimir Morozkin (TG @vmorozkin)
  */
@@ -19,11 +34,43 @@ public class Logger {
         /** Warning level (potential issues). */
         WARN,
         /** Error level (failures requiring attention). */
-        ERROR
+        ERROR,
+        /** Disables all output. */
+        OFF
+    }
+
+    /**
+     * How log lines reach the console.
+     */
+    public enum Output {
+        /** Every line is printed immediately (classic behaviour). */
+        CONSOLE,
+        /** Lines are collected and printed in large chunks; warnings and errors flush pending lines first. */
+        BUFFERED,
+        /** Lines are queued and printed by a background thread; callers block only when the queue is full. */
+        ASYNC
     }
 
+    /**
+     * Capture buffer bound to the current thread, or {@code null} when output goes straight to the console.
+     */
+    private static final ThreadLocal<Buffer> CAPTURE = new ThreadLocal<>();
+
+    private static final int BUFFERED_FLUSH_THRESHOLD = 64 * 1024;
+    private static final int ASYNC_QUEUE_CAPACITY = 8192;
+
+    private static volatile Level globalLevel = Level.INFO;
+    private static volatile Output output = Output.CONSOLE;
+
+    private static final Object LOCK = new Object();
+    private static final StringBuilder PENDING = new StringBuilder();
+    private static BlockingQueue<Line> queue;
+    private static Thread writerThread;
+    private static long queued;
+    private static long printed;
+
     private final String className;
-    private Level minimumLevel = Level.INFO;
+    private volatile Level minimumLevel;
 
     /**
      * Creates a logger for the given class.
@@ -35,22 +82,156 @@ public class Logger {
     }
 
     /**
-     * Sets the minimum log level. Messages below this level will be suppressed.
+     * Sets the minimum log level of this logger, overriding the global level.
+     * Messages below this level will be suppressed.
      *
-     * @param level the minimum level to log
+     * @param level the minimum level to log, or {@code null} to follow the global level
      */
     public void setMinimumLevel(Level level) {
         this.minimumLevel = level;
     }
 
+    // ————————————————————————————————————————
+    // Global configuration
+    // ————————————————————————————————————————
+
+    /**
+     * Sets the process-wide minimum level for all loggers without an explicit minimum level.
+     *
+     * @param level global minimum level ({@link Level#WARN} for quiet mode, {@link Level#OFF} to silence everything)
+     */
+    public static void setGlobalLevel(Level level) {
+        globalLevel = level == null ? Level.INFO : level;
+    }
+
+    /**
+     * Returns the process-wide minimum level.
+     *
+     * @return global level
+     */
+    public static Level getGlobalLevel() {
+        return globalLevel;
+    }
+
+    /**
+     * Switches the console output mode. Lines pending in the previous mode are printed first.
+     *
+     * @param newOutput output mode
+     */
+    public static void setOutput(Output newOutput) {
+        synchronized (LOCK) {
+            Output target = newOutput == null ? Output.CONSOLE : newOutput;
+            if (target == output) {
+                return;
+            }
+            flush();
+            if (output == Output.ASYNC) {
+                writerThread.interrupt();
+                writerThread = null;
+                queue = null;
+            }
+            if (target == Output.ASYNC) {
+                queue = new ArrayBlockingQueue<>(ASYNC_QUEUE_CAPACITY);
+                writerThread = new Thread(Logger::drainQueue, "yojo-log-writer");
+                writerThread.setDaemon(true);
+                writerThread.start();
+            }
+            output = target;
+        }
+    }
+
+    /**
+     * Returns the current console output mode.
+     *
+     * @return output mode
+     */
+    public static Output getOutput() {
+        return output;
+    }
+
+    /**
+     * Prints every pending line (buffered or queued) and flushes the console streams.
+     */
+    public static void flush() {
+        Output current = output;
+        if (current == Output.BUFFERED) {
+            synchronized (LOCK) {
+                flushPending();
+            }
+        } else if (current == Output.ASYNC) {
+            long target;
+            synchronized (LOCK) {
+                target = queued;
+                while (printed < target && output == Output.ASYNC) {
+                    try {
+                        LOCK.wait(10);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+            }
+        }
+        System.out.flush();
+        System.err.flush();
+    }
+
+    // ————————————————————————————————————————
+    // Level checks
+    // ————————————————————————————————————————
+
+    /**
+     * Checks whether messages of {@code level} are logged by this logger.
+     *
+     * @param level level to check
+     * @return {@code true} if such messages would be printed
+     */
+    public boolean isEnabled(Level level) {
+        Level threshold = minimumLevel != null ? minimumLevel : globalLevel;
+        return level != Level.OFF && level.ordinal() >= threshold.ordinal();
+    }
+
+    /**
+     * Checks whether debug messages are logged.
+     *
+     * @return {@code true} if debug is enabled
+     */
+    public boolean isDebugEnabled() {
+        return isEnabled(Level.DEBUG);
+    }
+
+    /**
+     * Checks whether info messages are logged.
+     *
+     * @return {@code true} if info is enabled
+     */
+    public boolean isInfoEnabled() {
+        return isEnabled(Level.INFO);
+    }
+
+    // ————————————————————————————————————————
+    // Logging
+    // ————————————————————————————————————————
+
     /**
      * Logs a debug message.
      *
      * @param message the message
      */
     public void debug(String message) {
-        if (minimumLevel.ordinal() <= Level.DEBUG.ordinal()) {
-            System.out.println("[DEBUG] " + className + ": " + message);
+        if (isEnabled(Level.DEBUG)) {
+            emit(false, "[DEBUG] " + className + ": " + message);
+        }
+    }
+
+    /**
+     * Logs a debug message built only if debug is enabled.
+     *
+     * @param message message supplier
+     */
+    public void debug(Supplier<String> message) {
+        if (isEnabled(Level.DEBUG)) {
+            emit(false, "[DEBUG] " + className + ": " + message.get());
         }
     }
 
@@ -60,8 +241,43 @@ public class Logger {
      * @param message the message
      */
     public void info(String message) {
-        if (minimumLevel.ordinal() <= Level.INFO.ordinal()) {
-            System.out.println("[INFO] " + className + ": " + message);
+        if (isEnabled(Level.INFO)) {
+            emit(false, "[INFO] " + className + ": " + message);
+        }
+    }
+
+    /**
+     * Logs an info message built only if info is enabled.
+     *
+     * @param message message supplier
+     */
+    public void info(Supplier<String> message) {
+        if (isEnabled(Level.INFO)) {
+            emit(false, "[INFO] " + className + ": " + message.get());
+        }
+    }
+
+    /**
+     * Logs an info message whose text is known only later, e.g. the outcome of a write performed by another thread.
+     * <p>
+     * While the current thread captures its output (see {@link #startBuffering()}), the message keeps its position
+     * among the captured lines and is built when the buffer is flushed; a {@code null} message is dropped then.
+     * Without a capture buffer the message is built immediately.
+     *
+     * @param message message supplier, called at most once
+     */
+    public void infoDeferred(Supplier<String> message) {
+        if (isEnabled(Level.INFO)) {
+            String prefix = "[INFO] " + className + ": ";
+            Buffer buffer = CAPTURE.get();
+            if (buffer != null) {
+                buffer.addDeferred(prefix, message);
+            } else {
+                String text = message.get();
+                if (text != null) {
+                    write(false, prefix + text);
+                }
+            }
         }
     }
 
@@ -71,28 +287,33 @@ public class Logger {
      * @param message the message
      */
     public void warn(String message) {
-        if (minimumLevel.ordinal() <= Level.WARN.ordinal()) {
-            System.err.println("[WARN] " + className + ": " + message);
+        if (isEnabled(Level.WARN)) {
+            emit(true, "[WARN] " + className + ": " + message);
         }
     }
 
     /**
-     * Logs an error message.
+     * Logs a warning message built only if warnings are enabled.
      *
-     * @param message the message
+     * @param message message supplier
      */
-    public void error(String message) {
-        if (minimumLevel.ordinal() <= Level.ERROR.ordinal()) {
-            System.err.println("[ERROR] " + className + ": " + message);
+    public void warn(Supplier<String> message) {
+        if (isEnabled(Level.WARN)) {
+            emit(true, "[WARN] " + className + ": " + message.get());
         }
     }
 
     /**
-     * Logs an error message with exception.
+     * Logs an error message.
      *
      * @param message the message
-     * @param e the exception
      */
+    public void error(String message) {
+        if (isEnabled(Level.ERROR)) {
+            emit(true, "[ERROR] " + className + ": " + message);
+        }
+    }
+
     /**
      * Logs an error message with exception details.
      *
@@ -102,4 +323,205 @@ public class Logger {
     public void error(String message, Throwable e) {
         error(message + " - " + e.getClass().getSimpleName() + ": " + e.getMessage());
     }
+
+    // ————————————————————————————————————————
+    // Per-thread capture
+    // ————————————————————————————————————————
+
+    /**
+     * Starts capturing log output of the current thread into a fresh {@link Buffer}.
+     * <p>
+     * Used by parallel generation so each specification's log lines can be printed as one contiguous group.
+     *
+     * @return the buffer now bound to the current thread
+     */
+    public static Buffer startBuffering() {
+        Buffer buffer = new Buffer();
+        CAPTURE.set(buffer);
+        return buffer;
+    }
+
+    /**
+     * Checks whether log output of the current thread is being captured.
+     *
+     * @return {@code true} between {@link #startBuffering()} and {@link #stopBuffering()}
+     */
+    public static boolean isBuffering() {
+        return CAPTURE.get() != null;
+    }
+
+    /**
+     * Stops capturing log output of the current thread.
+     *
+     * @return the buffer that was bound to the current thread, or {@code null} if none
+     */
+    public static Buffer stopBuffering() {
+        Buffer buffer = CAPTURE.get();
+        CAPTURE.remove();
+        return buffer;
+    }
+
+    private static void emit(boolean error, String line) {
+        Buffer buffer = CAPTURE.get();
+        if (buffer != null) {
+            buffer.add(error, line);
+        } else {
+            write(error, line);
+        }
+    }
+
+    // ————————————————————————————————————————
+    // Output
+    // ————————————————————————————————————————
+
+    private static void write(boolean error, String line) {
+        switch (output) {
+            case BUFFERED -> {
+                synchronized (LOCK) {
+                    if (output != Output.BUFFERED) {
+                        write(error, line);
+                        return;
+                    }
+                    if (error) {
+                        flushPending();
+                        System.err.println(line);
+                    } else {
+                        PENDING.append(line).append(System.lineSeparator());
+                        if (PENDING.length() >= BUFFERED_FLUSH_THRESHOLD) {
+                            flushPending();
+                        }
+                    }
+                }
+            }
+            case ASYNC -> {
+                BlockingQueue<Line> target;
+                synchronized (LOCK) {
+                    target = queue;
+                    if (target != null) {
+                        queued++;
+                    }
+                }
+                if (target == null) {
+                    print(error, line);
+                    return;
+                }
+                try {
+                    target.put(new Line(error, line));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    synchronized (LOCK) {
+                        printed++;
+                    }
+                    print(error, line);
+                }
+            }
+            default -> print(error, line);
+        }
+    }
+
+    private static void print(boolean error, String line) {
+        (error ? System.err : System.out).println(line);
+    }
+
+    /**
+     * Prints buffered standard-output lines. Caller holds {@link #LOCK}.
+     */
+    private static void flushPending() {
+        if (PENDING.length() > 0) {
+            System.out.print(PENDING);
+            PENDING.setLength(0);
+            System.out.flush();
+        }
+    }
+
+    /**
+     * Background writer: prints queued lines in batches, one {@code print} per stream switch.
+     */
+    private static void drainQueue() {
+        BlockingQueue<Line> source = queue;
+        List<Line> batch = new ArrayList<>(256);
+        StringBuilder chunk = new StringBuilder(BUFFERED_FLUSH_THRESHOLD);
+        while (!Thread.currentThread().isInterrupted() || !source.isEmpty()) {
+            try {
+                if (source.isEmpty()) {
+                    batch.add(source.take());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                continue;
+            }
+            source.drainTo(batch);
+            boolean chunkIsError = false;
+            for (Line line : batch) {
+                if (chunk.length() > 0 && line.error() != chunkIsError) {
+                    (chunkIsError ? System.err : System.out).print(chunk);
+                    chunk.setLength(0);
+                }
+                chunkIsError = line.error();
+                chunk.append(line.text()).append(System.lineSeparator());
+            }
+            if (chunk.length() > 0) {
+                (chunkIsError ? System.err : System.out).print(chunk);
+                chunk.setLength(0);
+            }
+            System.out.flush();
+            System.err.flush();
+            synchronized (LOCK) {
+                printed += batch.size();
+                LOCK.notifyAll();
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Queued log line.
+     *
+     * @param error {@code true} for {@code System.err}
+     * @param text  formatted line
+     */
+    private record Line(boolean error, String text) {
+    }
+
+    /**
+     * Ordered log lines captured for a single unit of work.
+     */
+    public static final class Buffer {
+        /**
+         * Formatted lines ({@link String}) and deferred lines ({@link Supplier}), in logging order.
+         */
+        private final List<Object> lines = new ArrayList<>();
+        private final List<Boolean> errors = new ArrayList<>();
+
+        private Buffer() {
+        }
+
+        private void add(boolean error, String line) {
+            lines.add(line);
+            errors.add(error);
+        }
+
+        private void addDeferred(String prefix, Supplier<String> message) {
+            lines.add((Supplier<String>) () -> {
+                String text = message.get();
+                return text == null ? null : prefix + text;
+            });
+            errors.add(false);
+        }
+
+        /**
+         * Prints all captured lines in their original order through the current {@link Output}
+         * and clears the buffer.
+         */
+        public void flush() {
+            for (int i = 0; i < lines.size(); i++) {
+                String line = lines.get(i) instanceof Supplier<?> deferred ? (String) deferred.get() : (String) lines.get(i);
+                if (line != null) {
+                    write(errors.get(i), line);
+                }
+            }
+            lines.clear();
+            errors.clear();
+        }
+    }
 }
@@ -162,7 +162,8 @@ public class MapperUtil {
      * @return capitalized schema name
      */
     public static String refReplace(String ref) {
-        return ref.replaceAll(".+/", "");
+        int slash = ref.lastIndexOf('/');
+        return slash > 0 ? ref.substring(slash + 1) : ref;
     }
 
     /**
@@ -82,7 +82,8 @@ public class NamingStrategy {
      * @return capitalized schema name
      */
     public String refReplace(String ref) {
-        return ref.replaceAll(".+/", "");
+        int slash = ref.lastIndexOf('/');
+        return slash > 0 ? ref.substring(slash + 1) : ref;
     }
 
     private String checkPoints(int firstCodepoint, int newCodePoint, String str, int[] strLen, int strLen1) {
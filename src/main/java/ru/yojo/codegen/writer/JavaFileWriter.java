@@ -19,7 +19,10 @@ import java.nio.file.Paths;
  * </ul>
  *
  * @author Vladimir Morozkin (TG @vmorozkin)
+ * @deprecated not used by the generator; use {@link ru.yojo.codegen.generator.JavaFileWriter} with an
+ * {@link ru.yojo.codegen.generator.sink.OutputSink} (file system, in-memory or streaming)
  */
+@Deprecated
 public class JavaFileWriter {
 
     private final boolean dryRun;
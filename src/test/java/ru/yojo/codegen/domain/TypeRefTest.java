@@ -0,0 +1,98 @@
+package ru.yojo.codegen.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link TypeRef}.
+ */
+class TypeRefTest {
+
+    @Test
+    void composedTypesRenderLikeFormattedStrings() {
+        TypeRef users = TypeRef.list(TypeRef.of("User"));
+
+        assertThat(users.toString()).isEqualTo("List<User>");
+        assertThat(TypeRef.set(TypeRef.of("UUID")).toString()).isEqualTo("Set<UUID>");
+        assertThat(TypeRef.map(TypeRef.of("String"), users).toString()).isEqualTo("Map<String, List<User>>");
+        assertThat(TypeRef.collection("SET", TypeRef.of("Long")).toString()).isEqualTo("Set<Long>");
+        assertThat(TypeRef.collection("list", TypeRef.of("Long")).toString()).isEqualTo("List<Long>");
+    }
+
+    @Test
+    void typesAreInterned() {
+        TypeRef composed = TypeRef.map(TypeRef.of("String"), TypeRef.list(TypeRef.of("LocalDate")));
+        TypeRef parsed = TypeRef.of("Map<String, List<LocalDate>>");
+
+        assertThat(parsed).isSameAs(composed);
+        assertThat(parsed.getTypeArguments().get(1)).isSameAs(TypeRef.list(TypeRef.of("LocalDate")));
+    }
+
+    @Test
+    void unreferencedTypesAreReleased() throws InterruptedException {
+        TypeRef kept = TypeRef.list(TypeRef.of("KeptDto"));
+        int before = TypeRef.internedCount();
+        for (int i = 0; i < 1_000; i++) {
+            TypeRef.of("Map<String, List<Released" + i + ">>");
+        }
+        for (int attempt = 0; attempt < 50 && TypeRef.internedCount() > before; attempt++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+
+        assertThat(TypeRef.internedCount()).isLessThanOrEqualTo(before);
+        assertThat(TypeRef.of("List<KeptDto>")).isSameAs(kept);
+    }
+
+    @Test
+    void parsesStructure() {
+        TypeRef type = TypeRef.of("Map<UUID, Set<Map<String, BigDecimal>>>");
+
+        assertThat(type.isMap()).isTrue();
+        assertThat(type.getRawName()).isEqualTo("Map");
+        assertThat(type.getPackageName()).isEqualTo("java.util");
+        assertThat(type.getTypeArguments()).hasSize(2);
+        assertThat(type.getTypeArguments().get(0).toString()).isEqualTo("UUID");
+        TypeRef value = type.getTypeArguments().get(1);
+        assertThat(value.isSet()).isTrue();
+        assertThat(value.getElementType().toString()).isEqualTo("Map<String, BigDecimal>");
+    }
+
+    @Test
+    void collectionChecksAreStructural() {
+        assertThat(TypeRef.of("List<String>").isCollection()).isTrue();
+        assertThat(TypeRef.of("Set<String>").isCollection()).isTrue();
+        assertThat(TypeRef.of("Settings").isCollection()).isFalse();
+        assertThat(TypeRef.of("ListingDto").isList()).isFalse();
+        assertThat(TypeRef.of("MapPoint").isMap()).isFalse();
+    }
+
+    @Test
+    void primitivesAreFlagged() {
+        assertThat(TypeRef.of("boolean").isPrimitive()).isTrue();
+        assertThat(TypeRef.of("Boolean").isPrimitive()).isFalse();
+        assertThat(TypeRef.of("String").getPackageName()).isNull();
+    }
+
+    @Test
+    void collectsImportsOfAllTypeArguments() {
+        Set<String> imports = new HashSet<>();
+
+        TypeRef.of("Map<String, List<OffsetDateTime>>").collectImports(imports);
+
+        assertThat(imports).containsExactlyInAnyOrder(
+                "java.util.Map;", "java.util.List;", "java.time.OffsetDateTime;");
+    }
+
+    @Test
+    void keepsUnparsableDeclarationsAsIs() {
+        TypeRef type = TypeRef.of("List<String");
+
+        assertThat(type.toString()).isEqualTo("List<String");
+        assertThat(type.getTypeArguments()).isEmpty();
+    }
+}
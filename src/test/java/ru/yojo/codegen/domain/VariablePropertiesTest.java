@@ -0,0 +1,107 @@
+package ru.yojo.codegen.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the compact field model of {@link VariableProperties}:
+ * the spec-wide settings record, sparsely stored rare attributes and interned annotation/import sets.
+ */
+class VariablePropertiesTest {
+
+    @Test
+    void compactSharesEqualSetsAcrossFields() {
+        VariableProperties first = minimumField("first");
+        VariableProperties second = minimumField("second");
+        String firstSource = first.toWrite();
+        String secondSource = second.toWrite();
+        Map<Set<String>, Set<String>> pool = new HashMap<>();
+
+        first.compact(pool);
+        second.compact(pool);
+
+        // one annotation set and one import set, field annotations are empty
+        assertThat(pool).hasSize(2);
+        assertThat(first.toWrite()).isEqualTo(firstSource);
+        assertThat(second.toWrite()).isEqualTo(secondSource);
+    }
+
+    @Test
+    void compactedSetsStayModifiablePerField() {
+        VariableProperties first = minimumField("first");
+        VariableProperties second = minimumField("second");
+        Map<Set<String>, Set<String>> pool = new HashMap<>();
+        first.compact(pool);
+        second.compact(pool);
+
+        first.getAnnotationSet().add("@Deprecated");
+        first.getRequiredImports().add("java.util.List;");
+
+        assertThat(first.getAnnotationSet()).contains("@Min(1)", "@Deprecated");
+        assertThat(second.getAnnotationSet()).containsExactly("@Min(1)");
+        assertThat(second.getRequiredImports()).containsExactly("jakarta.validation.constraints.Min;");
+        pool.keySet().forEach(set -> assertThat(set).doesNotContain("@Deprecated", "java.util.List;"));
+    }
+
+    @Test
+    void copyIsIndependentOfSource() {
+        VariableProperties source = minimumField("value");
+        source.setDefaultProperty("5");
+        source.compact(new HashMap<>());
+
+        VariableProperties copy = VariableProperties.newVariableProperties(source);
+        copy.getAnnotationSet().add("@Singular");
+        copy.setDefaultProperty(null);
+        source.getRequiredImports().add("java.util.List;");
+
+        assertThat(source.getAnnotationSet()).containsExactly("@Min(1)");
+        assertThat(source.getDefaultProperty()).isEqualTo("5");
+        assertThat(copy.getAnnotationSet()).contains("@Min(1)", "@Singular");
+        assertThat(copy.getDefaultProperty()).isNull();
+        assertThat(copy.getRequiredImports()).doesNotContain("java.util.List;");
+    }
+
+    @Test
+    void rareAttributesDefaultToNull() {
+        VariableProperties variableProperties = new VariableProperties();
+        variableProperties.setName("plain");
+        variableProperties.setType("String");
+        variableProperties.setPattern(null);
+        variableProperties.setMinMaxLength(null, null);
+
+        assertThat(variableProperties.getPattern()).isNull();
+        assertThat(variableProperties.getMinLength()).isNull();
+        assertThat(variableProperties.getDigits()).isNull();
+        assertThat(variableProperties.getRealisation()).isNull();
+        assertThat(variableProperties.getAnnotationSet()).isEmpty();
+        assertThat(variableProperties.getRequiredImports()).isEmpty();
+        assertThat(variableProperties.toWrite()).endsWith("private String plain;");
+    }
+
+    @Test
+    void settingsAreUpdatedIndependently() {
+        VariableProperties variableProperties = new VariableProperties();
+        variableProperties.setSpringBootVersion("3.2.0");
+        variableProperties.setNullableAnnotation("org.jspecify.annotations.Nullable");
+        variableProperties.setValidationApi(ValidationApi.JAVAX);
+
+        assertThat(variableProperties.getSpringBootVersion()).isEqualTo("3.2.0");
+        assertThat(variableProperties.getNullableAnnotation()).isEqualTo("org.jspecify.annotations.Nullable");
+        assertThat(variableProperties.getValidationApi()).isEqualTo(ValidationApi.JAVAX);
+        assertThat(variableProperties.isJakarta()).isFalse();
+    }
+
+    private static VariableProperties minimumField(String name) {
+        VariableProperties variableProperties = new VariableProperties();
+        variableProperties.setValidationApi(ValidationApi.JAKARTA);
+        variableProperties.setName(name);
+        variableProperties.setType("Integer");
+        variableProperties.setMinimum("1");
+        return variableProperties;
+    }
+}
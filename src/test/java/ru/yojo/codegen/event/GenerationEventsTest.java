@@ -0,0 +1,63 @@
+package ru.yojo.codegen.event;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.yojo.codegen.generator.YojoGenerator;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.yojo.codegen.generator.base.GenerationTestFixtures.createContext;
+
+/**
+ * Verifies that the generation pipeline emits its Flight Recorder events.
+ */
+class GenerationEventsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void pipelineEmitsEvents() throws IOException {
+        Path dump = tempDir.resolve("generation.jfr");
+        try (Recording recording = new Recording()) {
+            for (String name : List.of("ru.yojo.SpecParse", "ru.yojo.ExternalRefLoad", "ru.yojo.SchemaMap",
+                    "ru.yojo.CodeGenerate", "ru.yojo.FileWrite")) {
+                recording.enable(name).withThreshold(Duration.ZERO);
+            }
+            recording.start();
+            new YojoGenerator().generateAll(createContext(tempDir.resolve("out"), "example.events"));
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        Set<String> types = events.stream()
+                .map(event -> event.getEventType().getName())
+                .collect(Collectors.toSet());
+        assertThat(types).contains("ru.yojo.SpecParse", "ru.yojo.ExternalRefLoad", "ru.yojo.SchemaMap",
+                "ru.yojo.CodeGenerate", "ru.yojo.FileWrite");
+
+        RecordedEvent parse = events.stream()
+                .filter(event -> event.getEventType().getName().equals("ru.yojo.SpecParse"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(parse.getString("specFile")).endsWith("test.yaml");
+        assertThat(parse.getInt("schemas")).isGreaterThan(0);
+
+        assertThat(events.stream()
+                .filter(event -> event.getEventType().getName().equals("ru.yojo.ExternalRefLoad"))
+                .allMatch(event -> event.getLong("bytes") > 0)).isTrue();
+        assertThat(events.stream()
+                .filter(event -> event.getEventType().getName().equals("ru.yojo.SchemaMap"))
+                .anyMatch(event -> event.getInt("propertyCount") > 0)).isTrue();
+    }
+}
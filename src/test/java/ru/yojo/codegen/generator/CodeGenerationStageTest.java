@@ -0,0 +1,59 @@
+package ru.yojo.codegen.generator;
+
+import org.junit.jupiter.api.Test;
+import ru.yojo.codegen.generator.sink.SourceEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests ordering, bounded look-ahead and failure handling of {@link CodeGenerationStage}.
+ */
+class CodeGenerationStageTest {
+
+    private static final int THREADS = 3;
+
+    @Test
+    void parallelRenderingStaysWithinWindowAndKeepsModelOrder() {
+        List<Integer> models = IntStream.range(0, 500).boxed().toList();
+        AtomicInteger rendered = new AtomicInteger();
+        AtomicInteger maxAhead = new AtomicInteger();
+        AtomicInteger consumedCount = new AtomicInteger();
+        List<Integer> consumed = new ArrayList<>();
+
+        try (CodeGenerationStage stage = new CodeGenerationStage(THREADS)) {
+            stage.generate(models, model -> {
+                int ahead = rendered.incrementAndGet() - consumedCount.get();
+                maxAhead.accumulateAndGet(ahead, Math::max);
+                return SourceEmitter.of("class C" + model + " {}");
+            }, (model, source, nanos) -> {
+                assertThat(source.asString()).isEqualTo("class C" + model + " {}");
+                consumed.add(model);
+                consumedCount.incrementAndGet();
+            });
+        }
+
+        assertThat(consumed).isEqualTo(models);
+        assertThat(maxAhead.get()).isLessThanOrEqualTo(THREADS * CodeGenerationStage.IN_FLIGHT_PER_THREAD);
+    }
+
+    @Test
+    void firstFailureInModelOrderIsRethrown() {
+        List<Integer> models = IntStream.range(0, 100).boxed().toList();
+
+        try (CodeGenerationStage stage = new CodeGenerationStage(THREADS)) {
+            assertThatThrownBy(() -> stage.generate(models, model -> {
+                if (model >= 40) {
+                    throw new IllegalStateException("model " + model);
+                }
+                return SourceEmitter.of("");
+            }, (model, source, nanos) -> {
+            })).isInstanceOf(IllegalStateException.class).hasMessageContaining("model 40");
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package ru.yojo.codegen.generator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.yojo.codegen.context.YojoContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.yojo.codegen.generator.base.GenerationTestFixtures.createContext;
+
+/**
+ * Verifies the {@link GenerationReport} returned by {@code generateAll} and its JSON form.
+ */
+class GenerationReportTest {
+
+    private final YojoGenerator yojoGenerator = new YojoGenerator();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void reportCountsModelAndOutput() throws IOException {
+        YojoContext context = createContext(tempDir.resolve("out"), "example.report");
+
+        GenerationReport report = yojoGenerator.generateAll(context);
+
+        GenerationReport.SpecReport spec = report.getSpec("test.yaml");
+        assertThat(spec).isNotNull();
+        assertThat(spec.isUpToDate()).isFalse();
+        assertThat(spec.getSchemaCount()).isGreaterThan(0);
+        assertThat(spec.getMessageCount()).isGreaterThan(0);
+        assertThat(spec.getPropertyCount()).isGreaterThan(spec.getSchemaCount());
+        assertThat(spec.getFilesWritten()).isEqualTo(spec.getSchemaCount() + spec.getMessageCount());
+        assertThat(spec.getBytesWritten()).isGreaterThan(0L);
+        assertThat(spec.getNanos(GenerationReport.Phase.PARSE)).isGreaterThan(0L);
+        assertThat(spec.getNanos(GenerationReport.Phase.CODE_GENERATION)).isGreaterThan(0L);
+        assertThat(spec.getSlowestSchemas(3)).hasSize(3);
+        assertThat(spec.getSlowestSchemas(3).get(0).nanos()).isGreaterThanOrEqualTo(spec.getSlowestSchemas(3).get(2).nanos());
+        assertThat(report.getTotalNanos()).isGreaterThanOrEqualTo(spec.getTotalNanos());
+    }
+
+    @Test
+    void unchangedFilesAreReportedOnRerun() throws IOException {
+        YojoContext context = createContext(tempDir.resolve("out"), "example.report");
+        context.setWriteIfChanged(true);
+        GenerationReport.SpecReport first = yojoGenerator.generateAll(context).getSpec("test.yaml");
+
+        GenerationReport.SpecReport second = yojoGenerator.generateAll(context).getSpec("test.yaml");
+
+        assertThat(second.getFilesWritten() + second.getFilesUnchanged())
+                .isEqualTo(first.getFilesWritten() + first.getFilesUnchanged());
+        assertThat(second.getFilesUnchanged()).isGreaterThan(second.getFilesWritten());
+        assertThat(second.getBytesUnchanged()).isGreaterThan(second.getBytesWritten());
+    }
+
+    @Test
+    void jsonIsWrittenNextToManifest() throws IOException {
+        YojoContext context = createContext(tempDir.resolve("out"), "example.report");
+        context.setWriteReport(true);
+
+        GenerationReport report = yojoGenerator.generateAll(context);
+
+        Path reportFile = GenerationReport.location(tempDir.resolve("out").toString(), "test.yaml");
+        assertThat(reportFile).exists();
+        String json = Files.readString(reportFile);
+        assertThat(json).contains("\"spec\": \"test.yaml\"", "\"phasesMillis\"", "\"externalRefs\"",
+                "\"slowestSchemas\"", "\"bytesWritten\"");
+        assertThat(report.toJson()).contains("\"totalMillis\"", "\"specs\"");
+    }
+}
@@ -0,0 +1,50 @@
+package ru.yojo.codegen.generator;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import ru.yojo.codegen.generator.base.GenerationComparisonTestBase;
+
+import java.io.IOException;
+
+/**
+ * Runs the golden contracts through {@link ru.yojo.codegen.generator.sink.InMemoryOutputSink}
+ * and compares the captured sources with the same expected output as the file-based tests.
+ */
+public class InMemoryGenerationComparisonTest extends GenerationComparisonTestBase {
+
+    private String specName;
+    private String packageLocation;
+    private boolean lombok;
+
+    @Override
+    protected boolean useLombok() {
+        return lombok;
+    }
+
+    @Override
+    protected String getSpecName() {
+        return specName;
+    }
+
+    @Override
+    protected String getPackageLocation() {
+        return packageLocation;
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "test.yaml, example.testGenerate.test, true",
+            "test.yaml, example.testGenerate.test, false",
+            "async-api-official-v3.0.yaml, asyncapi, true",
+            "discriminator.yaml, discriminator, false",
+            "enum-values.yaml, enumvalues, true",
+            "jackson-annotations.yaml, jackson, false",
+            "slack-real-time-async-api-v3.0.yaml, slack, true"
+    })
+    void inMemoryOutputMatchesExpected(String specName, String packageLocation, boolean lombok) throws IOException {
+        this.specName = specName;
+        this.packageLocation = packageLocation;
+        this.lombok = lombok;
+        generateInMemoryAndCompare();
+    }
+}
@@ -0,0 +1,122 @@
+package ru.yojo.codegen.generator;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.yojo.codegen.context.YojoContext;
+import ru.yojo.codegen.domain.ValidationApi;
+import ru.yojo.codegen.generator.base.GenerationTestFixtures;
+import ru.yojo.codegen.mapper.SchemaDependencyGraph;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.yojo.codegen.generator.base.GenerationTestFixtures.CONTRACTS;
+
+/**
+ * Verifies incremental generation driven by {@link GenerationManifest}:
+ * unchanged specifications are skipped, changes in the root file, in external {@code $ref} files
+ * or in settings trigger regeneration.
+ */
+class IncrementalGenerationTest {
+
+    private final YojoGenerator yojoGenerator = new YojoGenerator();
+
+    @TempDir
+    Path tempDir;
+
+    private Path inputDir;
+    private Path outputDir;
+
+    @BeforeEach
+    void copyContracts() throws IOException {
+        inputDir = tempDir.resolve("contract");
+        outputDir = tempDir.resolve("out");
+        Files.createDirectories(inputDir.resolve("separated"));
+        Files.copy(Path.of(CONTRACTS, "test.yaml"), inputDir.resolve("test.yaml"));
+        for (String name : new String[]{"objectTypes.yaml", "stringValues.yaml", "numericValues.yaml", "collectionTypes.yaml"}) {
+            Files.copy(Path.of(CONTRACTS, "separated", name), inputDir.resolve("separated").resolve(name));
+        }
+    }
+
+    @Test
+    void manifestRecordsRootAndExternalFiles() throws IOException {
+        yojoGenerator.generateAll(createContext(ValidationApi.JAKARTA));
+
+        GenerationManifest manifest = GenerationManifest.read(GenerationManifest.location(outputDir.toString(), "test.yaml"));
+        assertThat(manifest).isNotNull();
+        assertThat(manifest.getInputs()).first().isEqualTo(inputDir.resolve("test.yaml").toAbsolutePath().normalize());
+        assertThat(manifest.getInputs())
+                .contains(inputDir.resolve("separated/collectionTypes.yaml").toAbsolutePath().normalize());
+    }
+
+    @Test
+    void dependencyGraphIsRecordedOnlyWithManifest() throws IOException {
+        YojoContext withoutManifest = createContext(ValidationApi.JAKARTA);
+        withoutManifest.setIncremental(false);
+        yojoGenerator.generateAll(withoutManifest);
+
+        assertThat(outputDir.resolve(GenerationManifest.MANIFEST_DIRECTORY)).doesNotExist();
+
+        yojoGenerator.generateAll(createContext(ValidationApi.JAKARTA));
+
+        SchemaDependencyGraph graph = SchemaDependencyGraph.read(SchemaDependencyGraph.location(outputDir.toString(), "test.yaml"));
+        assertThat(graph).isNotNull();
+        assertThat(graph.getNodes()).contains("SomeObject");
+    }
+
+    @Test
+    void unchangedSpecIsSkipped() throws IOException {
+        yojoGenerator.generateAll(createContext(ValidationApi.JAKARTA));
+        Path marker = outputDir.resolve("common/SomeObject.java");
+        Files.writeString(marker, "// untouched");
+
+        yojoGenerator.generateAll(createContext(ValidationApi.JAKARTA));
+
+        assertThat(marker).hasContent("// untouched");
+    }
+
+    @Test
+    void changedExternalFileTriggersRegeneration() throws IOException {
+        yojoGenerator.generateAll(createContext(ValidationApi.JAKARTA));
+        Path marker = outputDir.resolve("common/SomeObject.java");
+        Files.writeString(marker, "// untouched");
+
+        Path external = inputDir.resolve("separated/stringValues.yaml");
+        Files.writeString(external, Files.readString(external) + "\n# changed\n");
+        yojoGenerator.generateAll(createContext(ValidationApi.JAKARTA));
+
+        assertThat(Files.readString(marker)).contains("class SomeObject");
+    }
+
+    @Test
+    void deletedOutputTriggersRegeneration() throws IOException {
+        yojoGenerator.generateAll(createContext(ValidationApi.JAKARTA));
+        Path generated = outputDir.resolve("common/SomeObject.java");
+        Files.delete(generated);
+
+        yojoGenerator.generateAll(createContext(ValidationApi.JAKARTA));
+
+        assertThat(generated).exists();
+    }
+
+    @Test
+    void changedSettingsTriggerRegeneration() throws IOException {
+        yojoGenerator.generateAll(createContext(ValidationApi.JAKARTA));
+        Path marker = outputDir.resolve("common/SomeObject.java");
+        Files.writeString(marker, "// untouched");
+
+        yojoGenerator.generateAll(createContext(ValidationApi.JAVAX));
+
+        assertThat(Files.readString(marker)).contains("class SomeObject");
+    }
+
+    private YojoContext createContext(ValidationApi validationApi) {
+        YojoContext context = GenerationTestFixtures.createContext(inputDir, outputDir, "example.incremental", "test.yaml");
+        context.setValidationApi(validationApi);
+        context.setIncremental(true);
+        return context;
+    }
+}
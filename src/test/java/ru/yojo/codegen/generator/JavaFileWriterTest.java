@@ -0,0 +1,106 @@
+package ru.yojo.codegen.generator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.yojo.codegen.generator.sink.OutputSink;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests write-if-changed and asynchronous behaviour of {@link JavaFileWriter}.
+ */
+class JavaFileWriterTest {
+
+    private static final FileTime OLD_TIME = FileTime.fromMillis(1_000_000_000L);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void identicalContentIsNotRewritten() throws IOException {
+        JavaFileWriter writer = new JavaFileWriter(false, true);
+        assertThat(writer.writeFile(tempDir, "Dto", "class Dto {}")).isTrue();
+        Path file = tempDir.resolve("Dto.java");
+        Files.setLastModifiedTime(file, OLD_TIME);
+
+        assertThat(writer.writeFile(tempDir, "Dto", "class Dto {}")).isFalse();
+
+        assertThat(Files.getLastModifiedTime(file)).isEqualTo(OLD_TIME);
+        assertThat(writer.getWrittenCount()).isEqualTo(1);
+        assertThat(writer.getUnchangedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void changedContentIsRewritten() throws IOException {
+        JavaFileWriter writer = new JavaFileWriter(false, true);
+        writer.writeFile(tempDir, "Dto", "class Dto {}");
+        // same length, different bytes
+        assertThat(writer.writeFile(tempDir, "Dto", "class Xyz {}")).isTrue();
+
+        assertThat(tempDir.resolve("Dto.java")).hasContent("class Xyz {}");
+        assertThat(writer.getWrittenCount()).isEqualTo(2);
+        assertThat(writer.getUnchangedCount()).isEqualTo(0);
+    }
+
+    @Test
+    void defaultModeAlwaysRewrites() throws IOException {
+        JavaFileWriter writer = new JavaFileWriter();
+        writer.writeFile(tempDir, "Dto", "class Dto {}");
+
+        assertThat(writer.writeFile(tempDir, "Dto", "class Dto {}")).isTrue();
+        assertThat(writer.getWrittenCount()).isEqualTo(2);
+    }
+
+    @Test
+    void asyncWritesKeepOrderPerFile() throws IOException {
+        JavaFileWriter writer = new JavaFileWriter(false, true);
+        try (JavaFileWriter async = new JavaFileWriter(false, writer.getSink(), tempDir, 3)) {
+            for (int i = 0; i < 200; i++) {
+                async.writeFile(tempDir.resolve("pkg" + (i % 5)), "Dto" + (i % 50), "class Dto" + i + " {}");
+            }
+            async.awaitWrites();
+
+            assertThat(async.getWrittenCount() + async.getUnchangedCount()).isEqualTo(200);
+            assertThat(async.getProducedFiles()).hasSize(50);
+        }
+        // every file holds the content of its last submission
+        assertThat(tempDir.resolve("pkg0").resolve("Dto45.java")).hasContent("class Dto195 {}");
+        assertThat(tempDir.resolve("pkg2").resolve("Dto7.java")).hasContent("class Dto157 {}");
+    }
+
+    @Test
+    void asyncWriteFailureIsRethrown() {
+        OutputSink failing = (file, relativePath, content) -> {
+            throw new IOException("disk full");
+        };
+        JavaFileWriter writer = new JavaFileWriter(false, failing, tempDir, 2);
+        writer.writeFile(tempDir, "Dto", "class Dto {}");
+
+        assertThatThrownBy(writer::awaitWrites)
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Dto.java");
+    }
+
+    @Test
+    void asyncWriteErrorIsRethrownWithoutBlockingTheProducer() {
+        OutputSink failing = (file, relativePath, content) -> {
+            throw new StackOverflowError("deep template");
+        };
+        JavaFileWriter writer = new JavaFileWriter(false, failing, tempDir, 1);
+        // More batches than the queue holds (a dead writer thread would block the producer), then one more file
+        int files = AsyncWriteStage.BATCH_FILES * (AsyncWriteStage.QUEUE_BATCHES + 2) + 1;
+
+        assertThatThrownBy(() -> {
+            for (int i = 0; i < files; i++) {
+                writer.writeFile(tempDir, "Dto" + i, "class Dto" + i + " {}");
+            }
+        }).isInstanceOf(StackOverflowError.class);
+        assertThatThrownBy(writer::awaitWrites).isInstanceOf(StackOverflowError.class);
+    }
+}
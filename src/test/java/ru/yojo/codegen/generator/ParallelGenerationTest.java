@@ -0,0 +1,158 @@
+package ru.yojo.codegen.generator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.yojo.codegen.context.SpecificationProperties;
+import ru.yojo.codegen.context.YojoContext;
+import ru.yojo.codegen.domain.ValidationApi;
+import ru.yojo.codegen.domain.lombok.Accessors;
+import ru.yojo.codegen.domain.lombok.BuilderProperties;
+import ru.yojo.codegen.domain.lombok.LombokProperties;
+import ru.yojo.codegen.util.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static ru.yojo.codegen.generator.base.GenerationTestFixtures.readTree;
+
+/**
+ * Verifies that parallel multi-spec generation ({@link YojoContext#setParallelism(int)}), asynchronous writes
+ * and parallel code generation ({@link YojoContext#setCodeGenerationThreads(int)})
+ * produce exactly the same files as the sequential mode.
+ */
+class ParallelGenerationTest {
+
+    private static final List<String> SPECS = List.of(
+            "test.yaml",
+            "async-api-official-v3.0.yaml",
+            "gitter-streaming-async-api-v3.0.yaml",
+            "slack-real-time-async-api-v3.0.yaml",
+            "discriminator.yaml",
+            "spec-from-issue.yaml"
+    );
+
+    private final YojoGenerator yojoGenerator = new YojoGenerator();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void parallelOutputMatchesSequential() throws IOException {
+        Path sequentialDir = tempDir.resolve("sequential");
+        Path parallelDir = tempDir.resolve("parallel");
+
+        yojoGenerator.generateAll(createContext(sequentialDir, 1));
+        yojoGenerator.generateAll(createContext(parallelDir, 4));
+
+        Map<String, String> sequential = readTree(sequentialDir);
+        Map<String, String> parallel = readTree(parallelDir);
+        assertThat(sequential).isNotEmpty();
+        assertThat(parallel).isEqualTo(sequential);
+    }
+
+    @Test
+    void asyncWritesMatchSequential() throws IOException {
+        Path sequentialDir = tempDir.resolve("sequential");
+        Path asyncDir = tempDir.resolve("async");
+        YojoContext asyncContext = createContext(asyncDir, 2);
+        asyncContext.setWriterThreads(3);
+
+        yojoGenerator.generateAll(createContext(sequentialDir, 1));
+        yojoGenerator.generateAll(asyncContext);
+
+        assertThat(readTree(asyncDir)).isEqualTo(readTree(sequentialDir));
+    }
+
+    @Test
+    void parallelCodeGenerationMatchesSequential() throws IOException {
+        Path sequentialDir = tempDir.resolve("sequential");
+        Path parallelDir = tempDir.resolve("parallel");
+        YojoContext sequentialContext = createContext(sequentialDir, 1);
+        YojoContext parallelContext = createContext(parallelDir, 1);
+        // @Singular / @Builder.Default are the decorations generators used to add to the shared model
+        sequentialContext.getLombokProperties().setBuilder(new BuilderProperties(true, true, true));
+        parallelContext.getLombokProperties().setBuilder(new BuilderProperties(true, true, true));
+        parallelContext.setCodeGenerationThreads(4);
+        parallelContext.setWriterThreads(2);
+
+        yojoGenerator.generateAll(sequentialContext);
+        yojoGenerator.generateAll(parallelContext);
+
+        Map<String, String> sequential = readTree(sequentialDir);
+        assertThat(sequential).isNotEmpty();
+        assertThat(readTree(parallelDir)).isEqualTo(sequential);
+    }
+
+    @Test
+    void logOfParallelAsyncRunMatchesSequential() throws IOException {
+        Path sequentialDir = tempDir.resolve("sequential");
+        Path asyncDir = tempDir.resolve("async");
+        YojoContext asyncContext = createContext(asyncDir, 4);
+        asyncContext.setWriterThreads(2);
+
+        String sequential = captureLog(createContext(sequentialDir, 1), sequentialDir);
+        String async = captureLog(asyncContext, asyncDir);
+
+        assertThat(sequential).contains(" Written: ");
+        assertThat(async).isEqualTo(sequential);
+    }
+
+    @Test
+    void parallelFailureIsPropagated() {
+        YojoContext context = createContext(tempDir, 2);
+        context.getSpecificationProperties().get(1).setSpecName("missing.yaml");
+
+        assertThatThrownBy(() -> yojoGenerator.generateAll(context))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("missing.yaml");
+    }
+
+    /**
+     * Runs the generator and returns its console output, with the output directory and timings masked.
+     */
+    private String captureLog(YojoContext context, Path outputRoot) throws IOException {
+        ByteArrayOutputStream log = new ByteArrayOutputStream();
+        PrintStream originalOut = System.out;
+        PrintStream originalErr = System.err;
+        Logger.Output originalOutput = Logger.getOutput();
+        try {
+            System.setOut(new PrintStream(log, true, UTF_8));
+            System.setErr(new PrintStream(log, true, UTF_8));
+            Logger.setOutput(Logger.Output.CONSOLE);
+            yojoGenerator.generateAll(context);
+        } finally {
+            Logger.setOutput(originalOutput);
+            System.setOut(originalOut);
+            System.setErr(originalErr);
+        }
+        return log.toString(UTF_8)
+                .replace(outputRoot.toAbsolutePath().toString(), "<out>")
+                .replaceAll("\\d+\\.\\d+ ms", "<time>");
+    }
+
+    private static YojoContext createContext(Path outputRoot, int parallelism) {
+        List<SpecificationProperties> specs = new ArrayList<>();
+        for (String specName : SPECS) {
+            SpecificationProperties spec = new SpecificationProperties();
+            spec.setSpecName(specName);
+            spec.setInputDirectory("src/test/resources/example/contract");
+            spec.setOutputDirectory(outputRoot.resolve(specName.replace(".yaml", "")).toString());
+            spec.setPackageLocation("example.parallel");
+            specs.add(spec);
+        }
+        YojoContext context = new YojoContext();
+        context.setValidationApi(ValidationApi.JAKARTA);
+        context.setLombokProperties(new LombokProperties(true, true, new Accessors(true, true, true)));
+        context.setSpecificationProperties(specs);
+        context.setParallelism(parallelism);
+        return context;
+    }
+}
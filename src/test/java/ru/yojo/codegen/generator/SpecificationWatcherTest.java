@@ -0,0 +1,96 @@
+package ru.yojo.codegen.generator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.yojo.codegen.context.SpecificationProperties;
+import ru.yojo.codegen.context.YojoContext;
+import ru.yojo.codegen.domain.ValidationApi;
+import ru.yojo.codegen.domain.lombok.Accessors;
+import ru.yojo.codegen.domain.lombok.LombokProperties;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that {@link SpecificationWatcher} regenerates only the specification whose (external) files changed.
+ */
+class SpecificationWatcherTest {
+
+    private static final String CONTRACTS = "src/test/resources/example/contract";
+    private static final long TIMEOUT_MILLIS = 30_000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void regeneratesAffectedSpecificationOnExternalFileChange() throws Exception {
+        Path inputDir = tempDir.resolve("contract");
+        Files.createDirectories(inputDir.resolve("separated"));
+        Files.copy(Path.of(CONTRACTS, "test.yaml"), inputDir.resolve("test.yaml"));
+        Files.copy(Path.of(CONTRACTS, "gitter-streaming-async-api-v3.0.yaml"), inputDir.resolve("gitter-streaming-async-api-v3.0.yaml"));
+        for (String name : new String[]{"objectTypes.yaml", "stringValues.yaml", "numericValues.yaml", "collectionTypes.yaml"}) {
+            Files.copy(Path.of(CONTRACTS, "separated", name), inputDir.resolve("separated").resolve(name));
+        }
+        Path testOutput = tempDir.resolve("out-test");
+        Path gitterOutput = tempDir.resolve("out-gitter");
+
+        YojoContext context = new YojoContext();
+        context.setValidationApi(ValidationApi.JAKARTA);
+        context.setLombokProperties(new LombokProperties(true, false, new Accessors(false, false, false)));
+        context.setSpecificationProperties(List.of(
+                spec("test.yaml", inputDir, testOutput),
+                spec("gitter-streaming-async-api-v3.0.yaml", inputDir, gitterOutput)));
+        context.setQuiet(true);
+
+        SpecificationWatcher watcher = new SpecificationWatcher(new YojoGenerator(), context, 100);
+        Thread thread = new Thread(() -> {
+            try {
+                watcher.run();
+            } catch (IOException | InterruptedException ignored) {
+                // the test fails on the assertions below
+            }
+        }, "spec-watcher-test");
+        thread.setDaemon(true);
+        thread.start();
+        try {
+            awaitTrue(() -> watcher.getCompletedCycles() == 1);
+            Path testManifest = GenerationManifest.location(testOutput.toString(), "test.yaml");
+            Path gitterManifest = GenerationManifest.location(gitterOutput.toString(), "gitter-streaming-async-api-v3.0.yaml");
+            long testModified = Files.getLastModifiedTime(testManifest).toMillis();
+            long gitterModified = Files.getLastModifiedTime(gitterManifest).toMillis();
+
+            Path external = inputDir.resolve("separated").resolve("stringValues.yaml");
+            Files.writeString(external, Files.readString(external) + System.lineSeparator() + "# changed" + System.lineSeparator());
+
+            awaitTrue(() -> watcher.getCompletedCycles() == 2);
+            assertThat(Files.getLastModifiedTime(testManifest).toMillis()).isGreaterThan(testModified);
+            assertThat(Files.getLastModifiedTime(gitterManifest).toMillis()).isEqualTo(gitterModified);
+        } finally {
+            watcher.close();
+            thread.join(TIMEOUT_MILLIS);
+        }
+        assertThat(thread.isAlive()).isFalse();
+    }
+
+    private static SpecificationProperties spec(String name, Path inputDir, Path outputDir) {
+        SpecificationProperties spec = new SpecificationProperties();
+        spec.setSpecName(name);
+        spec.setInputDirectory(inputDir.toString());
+        spec.setOutputDirectory(outputDir.toString());
+        spec.setPackageLocation("example.watch");
+        return spec;
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package ru.yojo.codegen.generator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.yojo.codegen.context.YojoContext;
+import ru.yojo.codegen.generator.base.GenerationTestFixtures;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.yojo.codegen.generator.base.GenerationTestFixtures.CONTRACTS;
+
+/**
+ * Verifies that files produced by a previous run but no longer generated are deleted,
+ * while files not owned by the generator are left alone.
+ */
+class StaleFilePruningTest {
+
+    private final YojoGenerator yojoGenerator = new YojoGenerator();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void orphanedFilesAreDeleted() throws IOException {
+        Path inputDir = Files.createDirectories(tempDir.resolve("contract"));
+        Path outputDir = tempDir.resolve("out");
+        Path spec = inputDir.resolve("api.yaml");
+
+        Files.copy(Path.of(CONTRACTS, "async-api-official-v3.0.yaml"), spec);
+        yojoGenerator.generateAll(createContext(inputDir, outputDir, "api.yaml"));
+        Path removedSchema = outputDir.resolve("common/LightMeasuredPayload.java");
+        assertThat(removedSchema).exists();
+
+        Path foreignFile = outputDir.resolve("common/Handwritten.java");
+        Files.writeString(foreignFile, "class Handwritten {}");
+
+        Files.writeString(spec, Files.readString(Path.of(CONTRACTS, "discriminator.yaml")));
+        yojoGenerator.generateAll(createContext(inputDir, outputDir, "api.yaml"));
+
+        assertThat(removedSchema).doesNotExist();
+        assertThat(outputDir.resolve("common/Pet.java")).exists();
+        assertThat(foreignFile).exists();
+        GenerationManifest manifest = GenerationManifest.read(GenerationManifest.location(outputDir.toString(), "api.yaml"));
+        assertThat(manifest.getOutputs()).contains("common/Pet.java");
+        assertThat(manifest.getOutputs()).doesNotContain("common/LightMeasuredPayload.java");
+    }
+
+    @Test
+    void filesMovedToAnotherSpecInSharedOutputDirectoryAreKept() throws IOException {
+        Path inputDir = Files.createDirectories(tempDir.resolve("contract"));
+        Path outputDir = tempDir.resolve("out");
+        Path first = inputDir.resolve("api.yaml");
+        Path second = inputDir.resolve("other.yaml");
+
+        Files.copy(Path.of(CONTRACTS, "discriminator.yaml"), first);
+        Files.copy(Path.of(CONTRACTS, "async-api-official-v3.0.yaml"), second);
+        yojoGenerator.generateAll(createContext(inputDir, outputDir, "api.yaml", "other.yaml"));
+
+        // Swap the contracts: every file is now generated by the other specification
+        Files.writeString(first, Files.readString(Path.of(CONTRACTS, "async-api-official-v3.0.yaml")));
+        Files.writeString(second, Files.readString(Path.of(CONTRACTS, "discriminator.yaml")));
+        yojoGenerator.generateAll(createContext(inputDir, outputDir, "api.yaml", "other.yaml"));
+
+        assertThat(outputDir.resolve("common/LightMeasuredPayload.java")).exists();
+        assertThat(outputDir.resolve("common/Pet.java")).exists();
+
+        // A file no specification of the run generates any more is still pruned
+        Files.writeString(first, Files.readString(Path.of(CONTRACTS, "discriminator.yaml")));
+        yojoGenerator.generateAll(createContext(inputDir, outputDir, "api.yaml", "other.yaml"));
+
+        assertThat(outputDir.resolve("common/LightMeasuredPayload.java")).doesNotExist();
+        assertThat(outputDir.resolve("common/Pet.java")).exists();
+    }
+
+    private static YojoContext createContext(Path inputDir, Path outputDir, String... specNames) {
+        YojoContext context = GenerationTestFixtures.createContext(inputDir, outputDir, "example.prune", specNames);
+        context.setPruneStaleFiles(true);
+        return context;
+    }
+}
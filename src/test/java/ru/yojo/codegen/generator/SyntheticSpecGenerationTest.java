@@ -0,0 +1,95 @@
+package ru.yojo.codegen.generator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import ru.yojo.codegen.context.SpecificationProperties;
+import ru.yojo.codegen.context.YojoContext;
+import ru.yojo.codegen.domain.lombok.Accessors;
+import ru.yojo.codegen.domain.lombok.LombokProperties;
+import ru.yojo.codegen.generator.base.SyntheticSpecGenerator;
+import ru.yojo.codegen.generator.base.SyntheticSpecGenerator.Version;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that specifications emitted by {@link SyntheticSpecGenerator} are accepted by the generator
+ * and produce a class for every schema, in both supported AsyncAPI versions.
+ */
+class SyntheticSpecGenerationTest {
+
+    private static final int SCHEMA_COUNT = 120;
+
+    private final YojoGenerator yojoGenerator = new YojoGenerator();
+
+    @TempDir
+    Path tempDir;
+
+    @ParameterizedTest
+    @CsvSource({"V2_6", "V3_0"})
+    void generatesEverySchema(String version) throws IOException {
+        Path inputDir = tempDir.resolve("contract");
+        Path outputDir = tempDir.resolve("out");
+        newGenerator(Version.valueOf(version)).write(inputDir, "synthetic.yaml");
+
+        yojoGenerator.generateAll(createContext(inputDir, outputDir));
+
+        assertThat(inputDir.resolve("synthetic-part2.yaml")).exists();
+        for (int i = 0; i < SCHEMA_COUNT; i++) {
+            assertThat(outputDir.resolve("common/Schema" + i + ".java")).exists();
+        }
+        assertThat(outputDir.resolve("common/SyntheticExternalIndex.java")).exists();
+        assertThat(outputDir.resolve("messages/Event0.java")).exists();
+        try (var files = Files.list(outputDir.resolve("common"))) {
+            assertThat(files.anyMatch(file -> readUnchecked(file).contains("@JsonSubTypes"))).isTrue();
+        }
+    }
+
+    @Test
+    void outputIsDeterministic() {
+        assertThat(newGenerator(Version.V3_0).render("a.yaml"))
+                .isEqualTo(newGenerator(Version.V3_0).render("a.yaml"));
+        assertThat(newGenerator(Version.V3_0).seed(7).render("a.yaml"))
+                .isNotEqualTo(newGenerator(Version.V3_0).render("a.yaml"));
+    }
+
+    private static SyntheticSpecGenerator newGenerator(Version version) {
+        return new SyntheticSpecGenerator()
+                .version(version)
+                .schemaCount(SCHEMA_COUNT)
+                .fanOut(6)
+                .depth(2)
+                .allOfRatio(0.2)
+                .oneOfRatio(0.1)
+                .discriminatorRatio(0.15)
+                .enumDensity(0.2)
+                .externalFiles(2);
+    }
+
+    private static String readUnchecked(Path file) {
+        try {
+            return Files.readString(file);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static YojoContext createContext(Path inputDir, Path outputDir) {
+        SpecificationProperties spec = new SpecificationProperties();
+        spec.setSpecName("synthetic.yaml");
+        spec.setInputDirectory(inputDir.toString());
+        spec.setOutputDirectory(outputDir.toString());
+        spec.setPackageLocation("example.synthetic");
+
+        YojoContext context = new YojoContext();
+        context.setLombokProperties(new LombokProperties(true, false, new Accessors(false, false, false)));
+        context.setSpecificationProperties(Collections.singletonList(spec));
+        return context;
+    }
+}
@@ -7,6 +7,7 @@ import ru.yojo.codegen.context.SpecificationProperties;
 import ru.yojo.codegen.context.YojoContext;
 import ru.yojo.codegen.domain.lombok.Accessors;
 import ru.yojo.codegen.domain.lombok.LombokProperties;
+import ru.yojo.codegen.generator.sink.InMemoryOutputSink;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -14,6 +15,7 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -129,6 +131,61 @@ public abstract class GenerationComparisonTestBase {
         compareDirectories(expectedDir, tempOutputDir);
     }
 
+    /**
+     * Run generation into an {@link InMemoryOutputSink} and compare the captured sources with expected output.
+     * Nothing may be written to the output directory.
+     */
+    protected void generateInMemoryAndCompare() throws IOException {
+        InMemoryOutputSink sink = new InMemoryOutputSink();
+        new YojoGenerator(sink).generateAll(createYojoContext());
+
+        try (var stream = Files.list(tempOutputDir)) {
+            assertThat(stream.findAny().isPresent())
+                .as("Nothing must be written to " + tempOutputDir)
+                .isFalse();
+        }
+        assertThat(sink.getSources()).isNotEmpty();
+        compareSources(Path.of(getExpectedOutputDirectory()), sink.getSources());
+    }
+
+    /**
+     * Compare every expected {@code .java} file with the source generated for the same relative path.
+     */
+    protected void compareSources(Path expectedDir, Map<String, CharSequence> actualSources) throws IOException {
+        if (!Files.exists(expectedDir)) {
+            return;
+        }
+        List<String> differences = new ArrayList<>();
+        try (var stream = Files.walk(expectedDir)) {
+            for (Path expectedPath : stream.filter(p -> p.toString().endsWith(".java")).sorted().toList()) {
+                String relativePath = expectedDir.relativize(expectedPath).toString().replace('\\', '/');
+                CharSequence actual = actualSources.get(relativePath);
+                assertThat(actual)
+                    .as("File must exist: " + relativePath)
+                    .isNotNull();
+
+                String expectedContent = normalizeContent(Files.readString(expectedPath));
+                String actualContent = normalizeContent(actual.toString());
+                if (!expectedContent.equals(actualContent)) {
+                    differences.add("File differs: " + relativePath);
+                    differences.add("Expected:\n" + expectedContent);
+                    differences.add("Actual:\n" + actualContent);
+                    differences.add("---");
+                }
+            }
+        }
+
+        if (!differences.isEmpty()) {
+            StringBuilder message = new StringBuilder("Found differences between generated and expected code:\n");
+            for (String diff : differences) {
+                message.append(diff).append("\n");
+            }
+            assertThat(differences)
+                .as(message.toString())
+                .isEmpty();
+        }
+    }
+
     /**
      * Recursively compare two directories, checking that all files in expected
      * directory exist in actual directory and have identical content.
@@ -0,0 +1,86 @@
+package ru.yojo.codegen.generator.base;
+
+import ru.yojo.codegen.context.SpecificationProperties;
+import ru.yojo.codegen.context.YojoContext;
+import ru.yojo.codegen.domain.ValidationApi;
+import ru.yojo.codegen.domain.lombok.Accessors;
+import ru.yojo.codegen.domain.lombok.LombokProperties;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Shared fixtures for tests that run the whole generator on the example contracts.
+ */
+public final class GenerationTestFixtures {
+
+    /**
+     * Directory of the example contracts.
+     */
+    public static final String CONTRACTS = "src/test/resources/example/contract";
+
+    private GenerationTestFixtures() {
+    }
+
+    /**
+     * Creates a quiet context generating {@code test.yaml} of the example contracts.
+     *
+     * @param outputDir       output directory
+     * @param packageLocation base package of the generated classes
+     * @return context with Jakarta validation and Lombok without accessors
+     */
+    public static YojoContext createContext(Path outputDir, String packageLocation) {
+        return createContext(Path.of(CONTRACTS).toAbsolutePath(), outputDir, packageLocation, "test.yaml");
+    }
+
+    /**
+     * Creates a quiet context generating the given specifications into one output directory.
+     *
+     * @param inputDir        directory of the specifications
+     * @param outputDir       output directory shared by all specifications
+     * @param packageLocation base package of the generated classes
+     * @param specNames       specification file names
+     * @return context with Jakarta validation and Lombok without accessors
+     */
+    public static YojoContext createContext(Path inputDir, Path outputDir, String packageLocation, String... specNames) {
+        List<SpecificationProperties> specs = new ArrayList<>();
+        for (String specName : specNames) {
+            SpecificationProperties spec = new SpecificationProperties();
+            spec.setSpecName(specName);
+            spec.setInputDirectory(inputDir.toString());
+            spec.setOutputDirectory(outputDir.toString());
+            spec.setPackageLocation(packageLocation);
+            specs.add(spec);
+        }
+
+        YojoContext context = new YojoContext();
+        context.setValidationApi(ValidationApi.JAKARTA);
+        context.setLombokProperties(new LombokProperties(true, false, new Accessors(false, false, false)));
+        context.setSpecificationProperties(specs);
+        context.setQuiet(true);
+        return context;
+    }
+
+    /**
+     * Reads every file below a directory.
+     *
+     * @param root directory to read
+     * @return file contents by path relative to {@code root} ({@code /}-separated), sorted
+     * @throws IOException if a file cannot be read
+     */
+    public static Map<String, String> readTree(Path root) throws IOException {
+        Map<String, String> files = new TreeMap<>();
+        try (Stream<Path> stream = Files.walk(root)) {
+            for (Path file : stream.filter(Files::isRegularFile).toList()) {
+                files.put(root.relativize(file).toString().replace('\\', '/'), Files.readString(file));
+            }
+        }
+        return files;
+    }
+}
@@ -0,0 +1,469 @@
+package ru.yojo.codegen.generator.base;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Emits synthetic AsyncAPI specifications of configurable size and shape for scale tests and benchmarks.
+ * <p>
+ * Knobs:
+ * <ul>
+ *   <li>{@link #version(Version)}: AsyncAPI 2.6 ({@code channels/subscribe}) or 3.0 ({@code channels + operations})</li>
+ *   <li>{@link #schemaCount(int)}: number of {@code components.schemas} entries</li>
+ *   <li>{@link #fanOut(int)}: properties per schema (simple types, arrays and references to other schemas)</li>
+ *   <li>{@link #depth(int)}: levels of inline nested objects per plain schema</li>
+ *   <li>{@link #allOfRatio(double)}, {@link #oneOfRatio(double)}, {@link #discriminatorRatio(double)}:
+ *       share of schemas extending a previous schema ({@code allOf} chains), combining two previous schemas
+ *       ({@code oneOf}) or taking part in a discriminator hierarchy</li>
+ *   <li>{@link #enumDensity(double)}: share of simple properties declared as inline enums</li>
+ *   <li>{@link #externalFiles(int)}: number of extra files the schemas are spread over
+ *       (round-robin; the root file references them through {@code ./file.yaml#/components/schemas/...})</li>
+ * </ul>
+ * Polymorphic schemas only reference schemas declared before them, so the reference graph is acyclic.
+ * Output is deterministic for a given configuration and {@link #seed(long)}.
+ */
+public class SyntheticSpecGenerator {
+
+    /**
+     * Supported AsyncAPI document versions.
+     */
+    public enum Version {
+        /** AsyncAPI 2.6: messages published through {@code channels.<name>.subscribe}. */
+        V2_6("2.6.0"),
+        /** AsyncAPI 3.0: {@code channels} with {@code messages} plus {@code operations}. */
+        V3_0("3.0.0");
+
+        private final String value;
+
+        Version(String value) {
+            this.value = value;
+        }
+    }
+
+    private enum Shape {
+        PLAIN, ALL_OF, ONE_OF, DISCRIMINATOR_BASE, DISCRIMINATOR_SUBTYPE
+    }
+
+    private static final int MESSAGE_EVERY = 10;
+    private static final int SUBTYPES_PER_BASE = 3;
+
+    private Version version = Version.V3_0;
+    private int schemaCount = 100;
+    private int fanOut = 8;
+    private int depth = 0;
+    private double allOfRatio = 0;
+    private double oneOfRatio = 0;
+    private double discriminatorRatio = 0;
+    private double enumDensity = 0;
+    private int externalFiles = 0;
+    private long seed = 42;
+
+    /**
+     * Sets the AsyncAPI version of the emitted documents.
+     *
+     * @param version document version
+     * @return this generator
+     */
+    public SyntheticSpecGenerator version(Version version) {
+        this.version = version;
+        return this;
+    }
+
+    /**
+     * Sets the number of {@code components.schemas} entries.
+     *
+     * @param schemaCount schema count (at least {@code 1})
+     * @return this generator
+     */
+    public SyntheticSpecGenerator schemaCount(int schemaCount) {
+        this.schemaCount = Math.max(1, schemaCount);
+        return this;
+    }
+
+    /**
+     * Sets the number of properties per schema.
+     *
+     * @param fanOut properties per schema (at least {@code 1})
+     * @return this generator
+     */
+    public SyntheticSpecGenerator fanOut(int fanOut) {
+        this.fanOut = Math.max(1, fanOut);
+        return this;
+    }
+
+    /**
+     * Sets the number of inline nested object levels added to every plain schema.
+     *
+     * @param depth nesting depth ({@code 0} disables nesting)
+     * @return this generator
+     */
+    public SyntheticSpecGenerator depth(int depth) {
+        this.depth = Math.max(0, depth);
+        return this;
+    }
+
+    /**
+     * Sets the share of schemas declared as {@code allOf} extensions of an earlier schema.
+     * Consecutive extensions form inheritance chains.
+     *
+     * @param allOfRatio share in {@code [0, 1]}
+     * @return this generator
+     */
+    public SyntheticSpecGenerator allOfRatio(double allOfRatio) {
+        this.allOfRatio = allOfRatio;
+        return this;
+    }
+
+    /**
+     * Sets the share of schemas declared as {@code oneOf} of two earlier schemas.
+     *
+     * @param oneOfRatio share in {@code [0, 1]}
+     * @return this generator
+     */
+    public SyntheticSpecGenerator oneOfRatio(double oneOfRatio) {
+        this.oneOfRatio = oneOfRatio;
+        return this;
+    }
+
+    /**
+     * Sets the share of schemas taking part in discriminator hierarchies
+     * (one base with a {@code discriminator} per {@value #SUBTYPES_PER_BASE} subtypes).
+     *
+     * @param discriminatorRatio share in {@code [0, 1]}
+     * @return this generator
+     */
+    public SyntheticSpecGenerator discriminatorRatio(double discriminatorRatio) {
+        this.discriminatorRatio = discriminatorRatio;
+        return this;
+    }
+
+    /**
+     * Sets the share of simple properties declared as inline enums.
+     *
+     * @param enumDensity share in {@code [0, 1]}
+     * @return this generator
+     */
+    public SyntheticSpecGenerator enumDensity(double enumDensity) {
+        this.enumDensity = enumDensity;
+        return this;
+    }
+
+    /**
+     * Sets the number of external files the schemas are split over.
+     *
+     * @param externalFiles number of extra files ({@code 0} keeps everything in the root file)
+     * @return this generator
+     */
+    public SyntheticSpecGenerator externalFiles(int externalFiles) {
+        this.externalFiles = Math.max(0, externalFiles);
+        return this;
+    }
+
+    /**
+     * Sets the seed used to pick schema shapes and enum properties.
+     *
+     * @param seed random seed
+     * @return this generator
+     */
+    public SyntheticSpecGenerator seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * Renders the specification and writes the root and all external files to {@code directory}.
+     *
+     * @param directory    target directory (created if missing)
+     * @param rootFileName root specification file name
+     * @return path of the root specification
+     * @throws IOException if a file cannot be written
+     */
+    public Path write(Path directory, String rootFileName) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<String, String> file : render(rootFileName).entrySet()) {
+            Files.writeString(directory.resolve(file.getKey()), file.getValue(), StandardCharsets.UTF_8);
+        }
+        return directory.resolve(rootFileName);
+    }
+
+    /**
+     * Renders the specification.
+     *
+     * @param rootFileName root specification file name (external file names are derived from it)
+     * @return file name → YAML content, root file first
+     */
+    public Map<String, String> render(String rootFileName) {
+        String baseName = rootFileName.endsWith(".yaml")
+                ? rootFileName.substring(0, rootFileName.length() - ".yaml".length())
+                : rootFileName;
+        List<String> fileNames = new ArrayList<>();
+        fileNames.add(rootFileName);
+        for (int k = 1; k <= externalFiles; k++) {
+            fileNames.add(baseName + "-part" + k + ".yaml");
+        }
+
+        Shape[] shapes = pickShapes();
+        List<StringBuilder> schemaSections = new ArrayList<>();
+        for (int k = 0; k <= externalFiles; k++) {
+            schemaSections.add(new StringBuilder());
+        }
+        Random random = new Random(seed ^ 0x5DEECE66DL);
+        int lastBase = -1;
+        for (int i = 0; i < schemaCount; i++) {
+            int file = fileOf(i);
+            StringBuilder yaml = schemaSections.get(file);
+            yaml.append("    ").append(schemaName(i)).append(":\n");
+            switch (shapes[i]) {
+                case ALL_OF -> appendAllOf(yaml, i, parentOf(shapes, i), random, fileNames, file);
+                case ONE_OF -> appendOneOf(yaml, i, shapes);
+                case DISCRIMINATOR_BASE -> {
+                    appendDiscriminatorBase(yaml, i, random, fileNames, file);
+                    lastBase = i;
+                }
+                case DISCRIMINATOR_SUBTYPE -> appendAllOf(yaml, i, lastBase, random, fileNames, file);
+                default -> appendPlain(yaml, i, random, fileNames, file);
+            }
+        }
+        if (externalFiles > 0) {
+            appendExternalIndex(schemaSections.get(0), fileNames);
+        }
+
+        Map<String, String> files = new LinkedHashMap<>();
+        files.put(rootFileName, renderRoot(schemaSections.get(0)));
+        for (int k = 1; k <= externalFiles; k++) {
+            files.put(fileNames.get(k), "components:\n  schemas:\n" + schemaSections.get(k));
+        }
+        return files;
+    }
+
+    // ————————————————————————————————————————
+    // Document skeleton
+    // ————————————————————————————————————————
+
+    private String renderRoot(StringBuilder rootSchemas) {
+        StringBuilder yaml = new StringBuilder(rootSchemas.length() + schemaCount * 32);
+        yaml.append("asyncapi: ").append(version.value).append('\n')
+                .append("info:\n")
+                .append("  title: Synthetic ").append(schemaCount).append('x').append(fanOut).append('\n')
+                .append("  version: 1.0.0\n");
+        yaml.append("channels:\n");
+        for (int i = 0; i < schemaCount; i += MESSAGE_EVERY) {
+            yaml.append("  channel").append(i).append(":\n");
+            if (version == Version.V2_6) {
+                yaml.append("    subscribe:\n")
+                        .append("      message:\n")
+                        .append("        $ref: '#/components/messages/Event").append(i).append("'\n");
+            } else {
+                yaml.append("    address: synthetic.").append(i).append('\n')
+                        .append("    messages:\n")
+                        .append("      event").append(i).append(":\n")
+                        .append("        $ref: '#/components/messages/Event").append(i).append("'\n");
+            }
+        }
+        if (version == Version.V3_0) {
+            yaml.append("operations:\n");
+            for (int i = 0; i < schemaCount; i += MESSAGE_EVERY) {
+                yaml.append("  send").append(i).append(":\n")
+                        .append("    action: send\n")
+                        .append("    channel:\n")
+                        .append("      $ref: '#/channels/channel").append(i).append("'\n");
+            }
+        }
+        yaml.append("components:\n");
+        yaml.append("  messages:\n");
+        for (int i = 0; i < schemaCount; i += MESSAGE_EVERY) {
+            yaml.append("    Event").append(i).append(":\n")
+                    .append("      payload:\n")
+                    .append("        type: object\n")
+                    .append("        properties:\n")
+                    .append("          id:\n")
+                    .append("            type: string\n")
+                    .append("            format: uuid\n")
+                    .append("          body:\n")
+                    .append("            $ref: '#/components/schemas/").append(schemaName(i)).append("'\n");
+        }
+        yaml.append("  schemas:\n").append(rootSchemas);
+        return yaml.toString();
+    }
+
+    /**
+     * Root-level schema referencing every external file, so that all of them are loaded.
+     */
+    private void appendExternalIndex(StringBuilder yaml, List<String> fileNames) {
+        yaml.append("    SyntheticExternalIndex:\n")
+                .append("      type: object\n")
+                .append("      properties:\n");
+        for (int k = 1; k < fileNames.size(); k++) {
+            // schema k is the first one assigned to file k (round-robin)
+            if (k < schemaCount) {
+                yaml.append("        part").append(k).append(":\n")
+                        .append("          $ref: './").append(fileNames.get(k))
+                        .append("#/components/schemas/").append(schemaName(k)).append("'\n");
+            }
+        }
+    }
+
+    // ————————————————————————————————————————
+    // Schema shapes
+    // ————————————————————————————————————————
+
+    private Shape[] pickShapes() {
+        Random random = new Random(seed);
+        Shape[] shapes = new Shape[schemaCount];
+        int discriminatorSchemas = 0;
+        boolean hasPlain = false;
+        for (int i = 0; i < schemaCount; i++) {
+            double r = random.nextDouble();
+            Shape shape = Shape.PLAIN;
+            if (r < allOfRatio) {
+                shape = i > 0 ? Shape.ALL_OF : Shape.PLAIN;
+            } else if (r < allOfRatio + oneOfRatio) {
+                shape = countPlain(shapes, i) >= 2 ? Shape.ONE_OF : Shape.PLAIN;
+            } else if (r < allOfRatio + oneOfRatio + discriminatorRatio) {
+                shape = discriminatorSchemas++ % (SUBTYPES_PER_BASE + 1) == 0
+                        ? Shape.DISCRIMINATOR_BASE
+                        : Shape.DISCRIMINATOR_SUBTYPE;
+            }
+            if (shape == Shape.ALL_OF && !hasPlain) {
+                shape = Shape.PLAIN;
+            }
+            hasPlain |= shape == Shape.PLAIN;
+            shapes[i] = shape;
+        }
+        return shapes;
+    }
+
+    private static int countPlain(Shape[] shapes, int before) {
+        int count = 0;
+        for (int i = 0; i < before && count < 2; i++) {
+            if (shapes[i] == Shape.PLAIN) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Nearest earlier plain or {@code allOf} schema: consecutive extensions build inheritance chains.
+     */
+    private static int parentOf(Shape[] shapes, int index) {
+        for (int i = index - 1; i >= 0; i--) {
+            if (shapes[i] == Shape.PLAIN || shapes[i] == Shape.ALL_OF) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("No parent for allOf schema " + index);
+    }
+
+    private void appendPlain(StringBuilder yaml, int index, Random random, List<String> fileNames, int file) {
+        yaml.append("      type: object\n")
+                .append("      properties:\n");
+        appendProperties(yaml, index, "        ", random, fileNames, file);
+        appendNested(yaml, index, 1, "        ");
+    }
+
+    private void appendAllOf(StringBuilder yaml, int index, int parent, Random random, List<String> fileNames, int file) {
+        yaml.append("      allOf:\n")
+                .append("        - $ref: '#/components/schemas/").append(schemaName(parent)).append("'\n")
+                .append("        - type: object\n")
+                .append("          properties:\n");
+        appendProperties(yaml, index, "            ", random, fileNames, file);
+    }
+
+    private void appendOneOf(StringBuilder yaml, int index, Shape[] shapes) {
+        yaml.append("      oneOf:\n");
+        int found = 0;
+        for (int i = index - 1; i >= 0 && found < 2; i--) {
+            if (shapes[i] == Shape.PLAIN) {
+                yaml.append("        - $ref: '#/components/schemas/").append(schemaName(i)).append("'\n");
+                found++;
+            }
+        }
+    }
+
+    private void appendDiscriminatorBase(StringBuilder yaml, int index, Random random, List<String> fileNames, int file) {
+        yaml.append("      type: object\n")
+                .append("      discriminator: kind\n")
+                .append("      properties:\n")
+                .append("        kind:\n")
+                .append("          type: string\n");
+        appendProperties(yaml, index, "        ", random, fileNames, file);
+        yaml.append("      required:\n")
+                .append("        - kind\n");
+    }
+
+    // ————————————————————————————————————————
+    // Properties
+    // ————————————————————————————————————————
+
+    private void appendProperties(StringBuilder yaml, int schema, String indent, Random random,
+                                  List<String> fileNames, int file) {
+        for (int p = 0; p < fanOut; p++) {
+            if (p % 5 != 4 && random.nextDouble() < enumDensity) {
+                yaml.append(indent).append("status").append(p).append(":\n")
+                        .append(indent).append("  type: string\n")
+                        .append(indent).append("  enum:\n")
+                        .append(indent).append("    - ACTIVE\n")
+                        .append(indent).append("    - BLOCKED\n")
+                        .append(indent).append("    - DELETED\n");
+                continue;
+            }
+            yaml.append(indent).append("field").append(p).append(":\n");
+            switch (p % 5) {
+                case 0 -> yaml.append(indent).append("  type: string\n");
+                case 1 -> yaml.append(indent).append("  type: integer\n")
+                        .append(indent).append("  format: int64\n");
+                case 2 -> yaml.append(indent).append("  type: string\n")
+                        .append(indent).append("  format: date-time\n");
+                case 3 -> yaml.append(indent).append("  type: array\n")
+                        .append(indent).append("  items:\n")
+                        .append(indent).append("    type: string\n");
+                default -> yaml.append(indent).append("  $ref: '")
+                        .append(reference((schema + p) % schemaCount, fileNames, file)).append("'\n");
+            }
+        }
+    }
+
+    private void appendNested(StringBuilder yaml, int schema, int level, String indent) {
+        if (level > depth) {
+            return;
+        }
+        yaml.append(indent).append(nestedName(schema, level)).append(":\n")
+                .append(indent).append("  type: object\n")
+                .append(indent).append("  properties:\n")
+                .append(indent).append("    value").append(level).append(":\n")
+                .append(indent).append("      type: string\n");
+        appendNested(yaml, schema, level + 1, indent + "    ");
+    }
+
+    /**
+     * Plain property references from the root file point into external files explicitly;
+     * everything else uses local references, resolved by name against the merged schema registry.
+     */
+    private String reference(int target, List<String> fileNames, int fromFile) {
+        int targetFile = fileOf(target);
+        if (fromFile == 0 && targetFile != 0) {
+            return "./" + fileNames.get(targetFile) + "#/components/schemas/" + schemaName(target);
+        }
+        return "#/components/schemas/" + schemaName(target);
+    }
+
+    private int fileOf(int schema) {
+        return schema % (externalFiles + 1);
+    }
+
+    private static String schemaName(int index) {
+        return "Schema" + index;
+    }
+
+    private static String nestedName(int schema, int level) {
+        return "schema" + schema + "Level" + level;
+    }
+}
@@ -0,0 +1,96 @@
+package ru.yojo.codegen.generator.sink;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.yojo.codegen.context.YojoContext;
+import ru.yojo.codegen.generator.GenerationReport;
+import ru.yojo.codegen.generator.YojoGenerator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.yojo.codegen.generator.base.GenerationTestFixtures.createContext;
+import static ru.yojo.codegen.generator.base.GenerationTestFixtures.readTree;
+
+/**
+ * Verifies that every {@link OutputSink} receives the same sources as the file system,
+ * and that streamed sources ({@link SourceEmitter}) are written byte-for-byte like assembled ones.
+ */
+class OutputSinkTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void inMemorySinkMatchesFileSystemOutput() throws IOException {
+        Path diskDir = tempDir.resolve("disk");
+        new YojoGenerator().generateAll(createContext(diskDir, "example.sink"));
+        InMemoryOutputSink sink = new InMemoryOutputSink();
+        Path memoryDir = tempDir.resolve("memory");
+
+        new YojoGenerator(sink).generateAll(createContext(memoryDir, "example.sink"));
+
+        assertThat(memoryDir).doesNotExist();
+        Map<String, String> onDisk = readTree(diskDir);
+        assertThat(sink.getSources().keySet()).isEqualTo(onDisk.keySet());
+        sink.getSources().forEach((path, source) -> assertThat(source.toString()).isEqualTo(onDisk.get(path)));
+        assertThat(sink.getSource("common/RequestDtoSchema.java")).isNotNull();
+    }
+
+    @Test
+    void consumerSinkStreamsEverySource() throws IOException {
+        List<String> paths = new ArrayList<>();
+        YojoContext context = createContext(tempDir.resolve("stream"), "example.sink");
+        context.setIncremental(true);
+        context.setWriteReport(true);
+
+        GenerationReport report = new YojoGenerator(new ConsumerOutputSink((path, source) -> paths.add(path)))
+                .generateAll(context);
+
+        GenerationReport.SpecReport spec = report.getSpec("test.yaml");
+        assertThat(paths).hasSize(spec.getFilesWritten());
+        assertThat(paths).contains("messages/UserSignedUp.java", "io/github/somepath/RequestDtoByRef.java");
+        // Nothing touches the output directory: no sources, manifest or report
+        assertThat(tempDir.resolve("stream")).doesNotExist();
+    }
+
+    @Test
+    void streamedFileMatchesAssembledFile() throws IOException {
+        StringBuilder body = new StringBuilder();
+        while (body.length() < 3 * SourceEmitter.CHUNK_CHARS) {
+            body.append("    /** Привет, \uD83D\uDE00 ä \uD800 */").append(System.lineSeparator());
+        }
+        String source = "package example;" + System.lineSeparator() + body + "}";
+        SourceEmitter streamed = new SourceEmitter() {
+            @Override
+            public void emitTo(Appendable out) throws IOException {
+                out.append("package example;").append(System.lineSeparator());
+                SourceEmitter.appendTo(out, body);
+                out.append("}");
+            }
+
+            @Override
+            public int length() {
+                return source.length();
+            }
+        };
+        FileSystemOutputSink sink = new FileSystemOutputSink();
+        Path assembledFile = tempDir.resolve("assembled/Dto.java");
+        Path streamedFile = tempDir.resolve("streamed/Dto.java");
+
+        sink.write(assembledFile, "Dto.java", source);
+        sink.write(streamedFile, "Dto.java", streamed);
+
+        byte[] expected = Files.readAllBytes(assembledFile);
+        assertThat(Arrays.equals(Files.readAllBytes(streamedFile), expected)).isTrue();
+        assertThat(streamed.asString()).isEqualTo(source);
+        assertThat(streamed.utf8Length()).isEqualTo((long) expected.length);
+        assertThat(SourceEmitter.of(source).utf8Length()).isEqualTo((long) expected.length);
+    }
+}
@@ -0,0 +1,150 @@
+package ru.yojo.codegen.generator.sink;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import ru.yojo.codegen.generator.YojoGenerator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.yojo.codegen.generator.base.GenerationTestFixtures.createContext;
+
+/**
+ * Tests for {@link ZipOutputSink}.
+ */
+class ZipOutputSinkTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void archiveIsReproducibleAndLaidOutByPackage() throws IOException {
+        Path first = generate("first-sources.jar", true);
+        Path second = generate("second-sources.jar", true);
+
+        assertThat(Arrays.equals(Files.readAllBytes(first), Files.readAllBytes(second))).isTrue();
+        try (ZipFile zip = new ZipFile(first.toFile())) {
+            List<String> names = new ArrayList<>();
+            zip.stream().forEach(entry -> names.add(entry.getName()));
+            assertThat(names).contains(
+                    "example/zip/common/RequestDtoSchema.java",
+                    "example/zip/messages/UserSignedUp.java",
+                    "example/zip/io/github/somepath/RequestDtoByRef.java");
+            ZipEntry entry = zip.getEntry("example/zip/common/RequestDtoSchema.java");
+            assertThat(entry.getMethod()).isEqualTo(ZipEntry.DEFLATED);
+            assertThat(new String(zip.getInputStream(entry).readAllBytes(), UTF_8))
+                    .startsWith("package example.zip.common;");
+        }
+        assertThat(tempDir.resolve("out")).doesNotExist();
+    }
+
+    @Test
+    void storedEntriesMatchDeflatedOnes() throws IOException {
+        Path deflated = generate("deflated.zip", true);
+        Path stored = generate("stored.zip", false);
+
+        try (ZipFile deflatedZip = new ZipFile(deflated.toFile()); ZipFile storedZip = new ZipFile(stored.toFile())) {
+            assertThat(storedZip.size()).isEqualTo(deflatedZip.size());
+            ZipEntry entry = storedZip.getEntry("example/zip/common/RequestDtoSchema.java");
+            assertThat(entry.getMethod()).isEqualTo(ZipEntry.STORED);
+            assertThat(new String(storedZip.getInputStream(entry).readAllBytes(), UTF_8))
+                    .isEqualTo(new String(deflatedZip.getInputStream(deflatedZip.getEntry(entry.getName())).readAllBytes(), UTF_8));
+        }
+        assertThat(Files.size(stored)).isGreaterThan(Files.size(deflated));
+    }
+
+    @Test
+    void bufferedArchiveIsSortedAndHoldsTheStreamedEntries() throws IOException {
+        Path streamed = generate("streamed.jar", true);
+        Path buffered = generate("buffered.jar", true, true);
+
+        try (ZipFile streamedZip = new ZipFile(streamed.toFile()); ZipFile bufferedZip = new ZipFile(buffered.toFile())) {
+            List<String> names = new ArrayList<>();
+            bufferedZip.stream().forEach(entry -> names.add(entry.getName()));
+            assertThat(names).isEqualTo(names.stream().sorted().toList());
+            assertThat(names).isEqualTo(streamedZip.stream().map(ZipEntry::getName).sorted().toList());
+            for (String name : names) {
+                assertThat(read(bufferedZip, name)).as(name).isEqualTo(read(streamedZip, name));
+            }
+        }
+    }
+
+    @Test
+    void entriesAreStreamedAndLastContentWins() throws IOException {
+        Path zipFile = tempDir.resolve("jars").resolve("streamed.jar");
+        Path partFile = tempDir.resolve("jars").resolve("streamed.jar.part");
+        try (ZipOutputSink sink = new ZipOutputSink(zipFile, false, false)) {
+            sink.write(null, "common/First.java", "package example.zip.common;\nclass First {}\n");
+            sink.write(null, "common/Second.java", "package example.zip.common;\nclass Second {}\n");
+
+            assertThat(partFile).exists();
+            assertThat(zipFile).doesNotExist();
+
+            sink.write(null, "common/First.java", "package example.zip.common;\nclass First { int rewritten; }\n");
+        }
+
+        assertThat(partFile).doesNotExist();
+        try (ZipFile zip = new ZipFile(zipFile.toFile())) {
+            assertThat(zip.stream().map(ZipEntry::getName).toList())
+                    .isEqualTo(List.of("example/zip/common/First.java", "example/zip/common/Second.java"));
+            assertThat(read(zip, "example/zip/common/First.java")).contains("int rewritten;");
+        }
+    }
+
+    @Test
+    void defaultSinkWritesEntriesSorted() throws IOException {
+        Path zipFile = tempDir.resolve("default.jar");
+        try (ZipOutputSink sink = new ZipOutputSink(zipFile)) {
+            sink.write(null, "common/Second.java", "package example.zip.common;\nclass Second {}\n");
+            sink.write(null, "common/First.java", "package example.zip.common;\nclass First {}\n");
+
+            assertThat(tempDir.resolve("default.jar.part")).doesNotExist();
+        }
+
+        try (ZipFile zip = new ZipFile(zipFile.toFile())) {
+            assertThat(zip.stream().map(ZipEntry::getName).toList())
+                    .isEqualTo(List.of("example/zip/common/First.java", "example/zip/common/Second.java"));
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({"true", "false"})
+    void abortKeepsThePreviousArchive(boolean buffered) throws IOException {
+        Path zipFile = generate("sources.jar", true, buffered);
+        byte[] previous = Files.readAllBytes(zipFile);
+
+        ZipOutputSink sink = new ZipOutputSink(zipFile, true, buffered);
+        sink.write(null, "common/Partial.java", "package example.zip.common;\nclass Partial {}\n");
+        sink.abort();
+        sink.close();
+
+        assertThat(Arrays.equals(Files.readAllBytes(zipFile), previous)).isTrue();
+        assertThat(tempDir.resolve("jars").resolve("sources.jar.part")).doesNotExist();
+    }
+
+    private static String read(ZipFile zip, String name) throws IOException {
+        return new String(zip.getInputStream(zip.getEntry(name)).readAllBytes(), UTF_8);
+    }
+
+    private Path generate(String fileName, boolean deflate) throws IOException {
+        return generate(fileName, deflate, false);
+    }
+
+    private Path generate(String fileName, boolean deflate, boolean buffered) throws IOException {
+        Path zipFile = tempDir.resolve("jars").resolve(fileName);
+        try (ZipOutputSink sink = new ZipOutputSink(zipFile, deflate, buffered)) {
+            new YojoGenerator(sink).generateAll(createContext(tempDir.resolve("out"), "example.zip"));
+        }
+        return zipFile;
+    }
+}
@@ -0,0 +1,144 @@
+package ru.yojo.codegen.mapper;
+
+import org.junit.jupiter.api.Test;
+import ru.yojo.codegen.domain.VariableProperties;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that shape-keyed dispatch in {@link PropertyTypeResolver} picks exactly the handler
+ * the plain chain of {@link PropertyTypeHandler#canHandle(PropertyResolutionContext)} calls would pick.
+ */
+class PropertyTypeResolverTest {
+
+    private static final String ABSENT = "<absent>";
+
+    private final PropertyTypeResolver resolver = new PropertyTypeResolver(new SchemaMapper());
+
+    @Test
+    void dispatchMatchesHandlerChainForAllShapes() {
+        int checked = 0;
+        for (Map<String, Object> propertiesMap : propertiesMaps()) {
+            for (String preType : Arrays.asList(null, "Object", "String", "Array", "array", "Integer")) {
+                for (boolean existing : new boolean[]{false, true}) {
+                    for (boolean polymorph : new boolean[]{false, true}) {
+                        PropertyResolutionContext ctx = context("field", propertiesMap, preType, existing, polymorph);
+                        assertThat(resolver.findHandler(ctx))
+                                .as(propertiesMap + ", type " + preType + ", existing " + existing + ", polymorph " + polymorph)
+                                .isSameAs(chain(resolver.getHandlers(), ctx));
+                        checked++;
+                    }
+                }
+            }
+        }
+        assertThat(checked).isGreaterThan(1000);
+    }
+
+    @Test
+    void customHandlersAreAskedInChainOrder() {
+        PropertyTypeHandler custom = new PropertyTypeHandler() {
+            @Override
+            public boolean canHandle(PropertyResolutionContext ctx) {
+                return "special".equals(ctx.propertyName());
+            }
+
+            @Override
+            public void handle(PropertyResolutionContext ctx) {
+                ctx.variableProperties().setType("Special");
+            }
+        };
+        List<PropertyTypeHandler> handlers = new ArrayList<>();
+        handlers.add(custom);
+        handlers.addAll(resolver.getHandlers());
+        PropertyTypeResolver customResolver = new PropertyTypeResolver(handlers);
+        Map<String, Object> stringProperty = Map.of("type", "string");
+
+        PropertyResolutionContext special = context("special", stringProperty, "String", false, false);
+        PropertyResolutionContext plain = context("plain", stringProperty, "String", false, false);
+
+        assertThat(customResolver.resolve(special)).isTrue();
+        assertThat(special.variableProperties().getType()).isEqualTo("Special");
+        assertThat(customResolver.findHandler(plain)).isInstanceOf(DefaultTypeHandler.class);
+    }
+
+    @Test
+    void addHandlerRebuildsDispatchTable() {
+        PropertyTypeResolver partial = new PropertyTypeResolver(List.of(new EmptyPropertiesHandler()));
+        PropertyResolutionContext ctx = context("field", Map.of("type", "string"), "String", false, false);
+
+        assertThat(partial.findHandler(ctx)).isNull();
+        assertThat(partial.resolve(ctx)).isFalse();
+
+        partial.addHandler(new DefaultTypeHandler());
+
+        assertThat(partial.findHandler(ctx)).isInstanceOf(DefaultTypeHandler.class);
+    }
+
+    private static PropertyTypeHandler chain(List<PropertyTypeHandler> handlers, PropertyResolutionContext ctx) {
+        for (PropertyTypeHandler handler : handlers) {
+            if (handler.canHandle(ctx)) {
+                return handler;
+            }
+        }
+        return null;
+    }
+
+    private static List<Map<String, Object>> propertiesMaps() {
+        List<Map<String, Object>> maps = new ArrayList<>();
+        maps.add(new HashMap<>());
+        Map<String, Object> nullValues = new HashMap<>();
+        nullValues.put("type", null);
+        nullValues.put("$ref", null);
+        nullValues.put("enum", null);
+        maps.add(nullValues);
+        for (String type : List.of(ABSENT, "array", "ARRAY", "object", "Object", "string", "integer")) {
+            for (String format : List.of(ABSENT, "uuid", "existing", "date-time")) {
+                for (int keys = 0; keys < 16; keys++) {
+                    Map<String, Object> map = new HashMap<>();
+                    if (!ABSENT.equals(type)) {
+                        map.put("type", type);
+                    }
+                    if (!ABSENT.equals(format)) {
+                        map.put("format", format);
+                    }
+                    if ((keys & 1) != 0) {
+                        map.put("$ref", "#/components/schemas/Other");
+                    }
+                    if ((keys & 2) != 0) {
+                        map.put("additionalProperties", Map.of("type", "string"));
+                    }
+                    if ((keys & 4) != 0) {
+                        map.put("properties", Map.of("id", Map.of("type", "string")));
+                    }
+                    if ((keys & 8) != 0) {
+                        map.put("enum", List.of("A", "B"));
+                    }
+                    maps.add(map);
+                }
+            }
+        }
+        return maps;
+    }
+
+    private static PropertyResolutionContext context(String propertyName,
+                                                     Map<String, Object> propertiesMap,
+                                                     String preType,
+                                                     boolean existing,
+                                                     boolean polymorph) {
+        VariableProperties variableProperties = new VariableProperties();
+        variableProperties.setType(preType);
+        if (existing) {
+            variableProperties.setPackageOfExisingObject("com.example");
+            variableProperties.setNameOfExisingObject("Existing");
+        }
+        variableProperties.setPolymorph(polymorph);
+        return new PropertyResolutionContext("Schema", variableProperties, Map.of(), Map.of(),
+                propertyName, propertiesMap, null, new HashMap<>());
+    }
+}
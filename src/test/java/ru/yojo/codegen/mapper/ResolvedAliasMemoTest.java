@@ -0,0 +1,154 @@
+package ru.yojo.codegen.mapper;
+
+import org.junit.jupiter.api.Test;
+import ru.yojo.codegen.context.ProcessContext;
+import ru.yojo.codegen.domain.ValidationApi;
+import ru.yojo.codegen.domain.VariableProperties;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that properties referencing a memoized simple-type alias ({@link ResolvedAliasMemo}) are filled
+ * exactly as by resolving the alias definition directly into each property.
+ */
+class ResolvedAliasMemoTest {
+
+    private static final String REF_PREFIX = "#/components/schemas/";
+
+    private final SchemaMapper mapper = new SchemaMapper();
+
+    @Test
+    void memoizedResolutionMatchesDirectResolution() {
+        ProcessContext processContext = processContext(aliases());
+        // a copy of the registry is not indexed, so references into it are resolved directly, without the memo
+        Map<String, Object> unindexed = new LinkedHashMap<>(processContext.getSchemasMap());
+        Map<String, Object> currentSchema = Map.of("required", new ArrayList<>(List.of("first", "third")));
+        int checked = 0;
+        for (String alias : aliases().keySet()) {
+            for (Map<String, Object> sibling : siblings()) {
+                for (String propertyName : List.of("first", "second", "third")) {
+                    Map<String, Object> propertiesMap = new HashMap<>(sibling);
+                    propertiesMap.put("$ref", REF_PREFIX + alias);
+
+                    VariableProperties memoized = fill(processContext, processContext.getSchemasMap(), currentSchema, propertyName, propertiesMap);
+                    VariableProperties direct = fill(processContext, unindexed, currentSchema, propertyName, propertiesMap);
+
+                    assertThat(render(memoized)).as(alias + " " + propertiesMap + " " + propertyName).isEqualTo(render(direct));
+                    checked++;
+                }
+            }
+        }
+        assertThat(checked).isGreaterThan(50);
+        assertThat(processContext.getResolvedAliases().size()).isEqualTo(aliases().size());
+    }
+
+    @Test
+    void aliasIsResolvedOncePerNode() {
+        ProcessContext processContext = processContext(aliases());
+        ResolvedAliasMemo memo = processContext.getResolvedAliases();
+        Map<String, Object> schemas = processContext.getSchemasMap();
+
+        fill(processContext, schemas, Map.of(), "price", Map.of("$ref", REF_PREFIX + "Money"));
+        VariableProperties resolved = memo.get(REF_PREFIX + "Money", castMap(schemas.get("Money")));
+        fill(processContext, schemas, Map.of(), "total", Map.of("$ref", REF_PREFIX + "Money"));
+
+        assertThat(resolved).isNotNull();
+        assertThat(memo.get(REF_PREFIX + "Money", castMap(schemas.get("Money")))).isSameAs(resolved);
+
+        schemas.put("Money", Map.of("type", "integer", "format", "int64"));
+        VariableProperties replaced = fill(processContext, schemas, Map.of(), "price", Map.of("$ref", REF_PREFIX + "Money"));
+
+        assertThat(replaced.getType()).isEqualTo("Long");
+        assertThat(memo.get(REF_PREFIX + "Money", castMap(schemas.get("Money")))).isNotSameAs(resolved);
+    }
+
+    @Test
+    void enumAndStructuredAliasesAreNotMemoized() {
+        Map<String, Object> schemas = new LinkedHashMap<>();
+        schemas.put("Status", Map.of("type", "string", "enum", new ArrayList<>(List.of("ACTIVE", "BLOCKED"))));
+        schemas.put("Pair", Map.of("type", "string", "oneOf", new ArrayList<>(List.of(Map.of("$ref", REF_PREFIX + "Other")))));
+        ProcessContext processContext = processContext(schemas);
+
+        fill(processContext, schemas, Map.of(), "status", Map.of("$ref", REF_PREFIX + "Status"));
+        fill(processContext, schemas, Map.of(), "pair", Map.of("$ref", REF_PREFIX + "Pair"));
+
+        assertThat(processContext.getResolvedAliases().size()).isEqualTo(0);
+    }
+
+    @Test
+    void changingValidationSettingsDiscardsMemo() {
+        ProcessContext processContext = processContext(aliases());
+        fill(processContext, processContext.getSchemasMap(), Map.of(), "price", Map.of("$ref", REF_PREFIX + "Money"));
+        assertThat(processContext.getResolvedAliases().size()).isEqualTo(1);
+
+        processContext.setValidationApi(ValidationApi.JAVAX);
+
+        assertThat(processContext.getResolvedAliases().size()).isEqualTo(0);
+        VariableProperties javax = fill(processContext, processContext.getSchemasMap(), Map.of(), "price", Map.of("$ref", REF_PREFIX + "Money"));
+        assertThat(javax.getRequiredImports().stream().anyMatch(i -> i.startsWith("javax."))).isTrue();
+    }
+
+    private VariableProperties fill(ProcessContext processContext,
+                                    Map<String, Object> schemas,
+                                    Map<String, Object> currentSchema,
+                                    String propertyName,
+                                    Map<String, Object> propertiesMap) {
+        VariableProperties variableProperties = new VariableProperties();
+        mapper.fillProperties("Order", variableProperties, currentSchema, schemas, propertyName, propertiesMap,
+                processContext, new HashMap<>());
+        return variableProperties;
+    }
+
+    private static String render(VariableProperties variableProperties) {
+        StringBuilder stringBuilder = new StringBuilder();
+        variableProperties.appendTo(stringBuilder);
+        return stringBuilder
+               + " | type=" + variableProperties.getType()
+               + " | format=" + variableProperties.getFormat()
+               + " | valid=" + variableProperties.isValid()
+               + " | originalName=" + variableProperties.getOriginalEnumName()
+               + " | imports=" + new TreeSet<>(variableProperties.getRequiredImports())
+               + " | annotations=" + new TreeSet<>(variableProperties.getAnnotationSet());
+    }
+
+    private static ProcessContext processContext(Map<String, Object> schemas) {
+        ProcessContext processContext = new ProcessContext(new HashMap<>());
+        processContext.setSchemasMap(schemas);
+        processContext.setValidationApi(ValidationApi.JAKARTA);
+        processContext.setCommonPackage("example.common;");
+        return processContext;
+    }
+
+    private static Map<String, Object> aliases() {
+        Map<String, Object> schemas = new LinkedHashMap<>();
+        schemas.put("Money", Map.of("type", "string", "format", "big-decimal",
+                "minimum", "0", "maximum", "1000000", "x-digits", "integer = 10, fraction = 2"));
+        schemas.put("Uuid", Map.of("type", "string", "format", "uuid", "description", "Identifier"));
+        schemas.put("Code", Map.of("type", "string", "minLength", 2, "maxLength", 8, "pattern", "^[A-Z]+$"));
+        schemas.put("Amount", Map.of("type", "double", "multipleOf", "0.01", "minimum", "1"));
+        schemas.put("Counter", Map.of("type", "integer", "format", "int64", "default", 0, "x-final", true));
+        schemas.put("Email", Map.of("type", "string", "format", "email", "x-json-property", "e_mail"));
+        return schemas;
+    }
+
+    private static List<Map<String, Object>> siblings() {
+        return List.of(
+                Map.of(),
+                Map.of("description", "Overridden by the alias"),
+                Map.of("format", "date-time"),
+                Map.of("x-json-property", "wire", "title", "Title", "x-field-annotation", new ArrayList<>(List.of("@Deprecated")))
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> castMap(Object object) {
+        return (Map<String, Object>) object;
+    }
+}
@@ -0,0 +1,80 @@
+package ru.yojo.codegen.mapper;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link SchemaDependencyGraph}.
+ */
+class SchemaDependencyGraphTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void collectsReferencesFromNestedDefinitions() {
+        Map<String, Object> definition = new LinkedHashMap<>();
+        definition.put("allOf", List.of(Map.of("$ref", "#/components/schemas/base")));
+        definition.put("properties", Map.of(
+                "items", Map.of("type", "array", "items", Map.of("$ref", "./common.yaml#/components/schemas/Item")),
+                "self", Map.of("$ref", "#/components/schemas/Order")));
+        SchemaDependencyGraph graph = new SchemaDependencyGraph();
+
+        graph.addReferences("Order", definition);
+
+        assertThat(graph.getDependencies("Order")).containsExactly("Base", "Item");
+        assertThat(graph.getDependents("Item")).containsExactly("Order");
+    }
+
+    @Test
+    void computesTransitiveDependents() {
+        SchemaDependencyGraph graph = new SchemaDependencyGraph();
+        graph.addDependency("Order", "Item");
+        graph.addDependency("Item", "Price");
+        graph.addDependency("OrderMessage", "Order");
+        graph.addDependency("Invoice", "Customer");
+
+        assertThat(graph.transitiveDependents(List.of("Price")))
+                .containsExactly("Item", "Order", "OrderMessage", "Price");
+        assertThat(graph.transitiveDependents(List.of("Customer"))).containsExactly("Customer", "Invoice");
+    }
+
+    @Test
+    void detectsChangedDefinitionsAfterRoundTrip() throws IOException {
+        SchemaDependencyGraph previous = new SchemaDependencyGraph();
+        previous.fingerprint("Item", Map.of("type", "object"));
+        previous.fingerprint("Removed", Map.of("type", "string"));
+        previous.fingerprint("Order", Map.of("$ref", "#/components/schemas/Item"));
+        previous.addReferences("Order", Map.of("$ref", "#/components/schemas/Item"));
+        Path file = SchemaDependencyGraph.location(tempDir.toString(), "spec.yaml");
+        previous.write(file);
+
+        SchemaDependencyGraph read = SchemaDependencyGraph.read(file);
+        assertThat(read).isNotNull();
+        assertThat(read.getDependencies("Order")).containsExactly("Item");
+        assertThat(read.getFingerprint("Item")).isEqualTo(previous.getFingerprint("Item"));
+
+        SchemaDependencyGraph current = new SchemaDependencyGraph();
+        current.fingerprint("Item", Map.of("type", "object", "description", "changed"));
+        current.fingerprint("Order", Map.of("$ref", "#/components/schemas/Item"));
+        current.addReferences("Order", Map.of("$ref", "#/components/schemas/Item"));
+
+        Set<String> changed = current.changedNodes(read);
+        assertThat(changed).containsExactly("Item", "Removed");
+        assertThat(current.transitiveDependents(changed)).contains("Item", "Order");
+    }
+
+    @Test
+    void missingFileIsIgnored() {
+        assertThat(SchemaDependencyGraph.read(tempDir.resolve("absent.graph"))).isNull();
+    }
+}
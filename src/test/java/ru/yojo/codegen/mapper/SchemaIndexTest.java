@@ -0,0 +1,61 @@
+package ru.yojo.codegen.mapper;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link SchemaIndex}.
+ */
+class SchemaIndexTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "'#/components/schemas/User', User",
+            "'./common.yaml#/components/schemas/user', user",
+            "User, User",
+            "/User, /User"
+    })
+    void simpleNameMatchesLegacyRegex(String ref, String expected) {
+        assertThat(SchemaIndex.simpleName(ref)).isEqualTo(expected);
+        assertThat(SchemaIndex.simpleName(ref)).isEqualTo(ref.replaceAll(".+/", ""));
+    }
+
+    @Test
+    void resolvesNamesAndFlags() {
+        Map<String, Object> schemas = new LinkedHashMap<>();
+        schemas.put("status", Map.of("type", "string", "enum", List.of("A", "B")));
+        schemas.put("Pet", Map.of("oneOf", List.of(Map.of("$ref", "#/components/schemas/Cat"))));
+        schemas.put("Id", Map.of("type", "string", "format", "uuid"));
+        SchemaIndex index = new SchemaIndex(schemas);
+
+        assertThat(index.name("#/components/schemas/status")).isEqualTo("status");
+        assertThat(index.className("#/components/schemas/status")).isEqualTo("Status");
+        assertThat(index.target("#/components/schemas/Pet")).isSameAs(index.target("#/components/schemas/Pet"));
+        assertThat(index.isEnum("#/components/schemas/status")).isTrue();
+        assertThat(index.isPolymorphic("#/components/schemas/Pet")).isTrue();
+        assertThat(index.isPrimitiveAlias("#/components/schemas/Id")).isTrue();
+        assertThat(index.isPolymorphic("#/components/schemas/Id")).isFalse();
+    }
+
+    @Test
+    void observesRegistryChanges() {
+        Map<String, Object> schemas = new LinkedHashMap<>();
+        schemas.put("Pet", Map.of("oneOf", List.of()));
+        SchemaIndex index = new SchemaIndex(schemas);
+
+        schemas.remove("Pet");
+        schemas.put("Inner", Map.of("enum", List.of("X")));
+
+        assertThat(index.contains("#/components/schemas/Pet")).isFalse();
+        assertThat(index.isPolymorphic("#/components/schemas/Pet")).isFalse();
+        assertThat(index.resolve("#/components/schemas/Pet")).isEmpty();
+        assertThat(index.isEnum("#/components/schemas/Inner")).isTrue();
+    }
+}
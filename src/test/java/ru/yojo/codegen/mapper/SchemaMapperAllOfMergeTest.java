@@ -0,0 +1,240 @@
+package ru.yojo.codegen.mapper;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import ru.yojo.codegen.context.ProcessContext;
+import ru.yojo.codegen.domain.FillParameters;
+import ru.yojo.codegen.domain.ValidationApi;
+import ru.yojo.codegen.domain.VariableProperties;
+import ru.yojo.codegen.domain.lombok.Accessors;
+import ru.yojo.codegen.domain.lombok.LombokProperties;
+import ru.yojo.codegen.domain.schema.Schema;
+import ru.yojo.codegen.util.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies field order and first-wins merging of {@link SchemaMapper#getSchemaVariableProperties}
+ * for a schema composed via {@code allOf} of a growing number of referenced parts and for growing
+ * {@code allOf} chains, and that the merged fields share the spec-wide settings.
+ */
+class SchemaMapperAllOfMergeTest {
+
+    private static final String REF_PREFIX = "#/components/schemas/";
+    private static final int ROOT_FIELDS = 20;
+    private static final int PART_FIELDS = 8;
+
+    @ParameterizedTest
+    @CsvSource({"1", "8", "64", "256"})
+    void mergesPartsInOrderKeepingRootFields(int parts) {
+        Map<String, Object> schemas = new LinkedHashMap<>();
+        Map<String, Object> rootProperties = new LinkedHashMap<>();
+        for (int i = 0; i < ROOT_FIELDS; i++) {
+            rootProperties.put("r" + i, property("integer"));
+        }
+        rootProperties.put("shared", property("integer"));
+        List<Object> allOf = new ArrayList<>();
+        for (int part = 0; part < parts; part++) {
+            Map<String, Object> partProperties = new LinkedHashMap<>();
+            partProperties.put("common", property("string"));
+            for (int j = 0; j < PART_FIELDS; j++) {
+                partProperties.put("p" + part + "f" + j, property("string"));
+            }
+            if (part == 0) {
+                partProperties.put("shared", property("string"));
+            }
+            if (part == parts - 1) {
+                partProperties.put("r3", property("string"));
+            }
+            Map<String, Object> partSchema = new LinkedHashMap<>();
+            partSchema.put("type", "object");
+            partSchema.put("properties", partProperties);
+            schemas.put("Part" + part, partSchema);
+            allOf.add(new LinkedHashMap<>(Map.of("$ref", REF_PREFIX + "Part" + part)));
+        }
+        Map<String, Object> leaf = new LinkedHashMap<>();
+        leaf.put("type", "object");
+        leaf.put("properties", rootProperties);
+        leaf.put("allOf", allOf);
+        schemas.put("Leaf", leaf);
+
+        Set<String> expected = new LinkedHashSet<>(rootProperties.keySet());
+        for (int part = 0; part < parts; part++) {
+            expected.add("common");
+            for (int j = 0; j < PART_FIELDS; j++) {
+                expected.add("p" + part + "f" + j);
+            }
+        }
+
+        FillParameters fillParameters = new SchemaMapper().getSchemaVariableProperties(
+                "Leaf", leaf, schemas, rootProperties, processContext(schemas), new HashMap<>());
+
+        List<String> names = new ArrayList<>();
+        Map<String, String> types = new HashMap<>();
+        for (VariableProperties vp : fillParameters.getVariableProperties()) {
+            names.add(vp.getName());
+            types.put(vp.getName(), vp.getType());
+        }
+        assertThat(names).as(parts + " parts").isEqualTo(new ArrayList<>(expected));
+        assertThat(types.get("shared")).isEqualTo("Integer");
+        assertThat(types.get("r3")).isEqualTo("Integer");
+        assertThat(types.get("common")).isEqualTo("String");
+    }
+
+    @ParameterizedTest
+    @CsvSource({"2", "8", "64", "256"})
+    void mapsEveryLevelOfAnAllOfChain(int levels) {
+        // Level0 → allOf Level1 → allOf Level2 → ... ; every level redeclares "shared" with its own type
+        Map<String, Object> schemas = new LinkedHashMap<>();
+        for (int level = 0; level < levels; level++) {
+            Map<String, Object> levelProperties = new LinkedHashMap<>();
+            for (int j = 0; j < PART_FIELDS; j++) {
+                levelProperties.put("l" + level + "f" + j, property("string"));
+            }
+            levelProperties.put("shared", property(sharedType(level)));
+            Map<String, Object> levelSchema = new LinkedHashMap<>();
+            levelSchema.put("type", "object");
+            levelSchema.put("properties", levelProperties);
+            if (level < levels - 1) {
+                levelSchema.put("allOf", new ArrayList<>(List.of(
+                        new LinkedHashMap<>(Map.of("$ref", REF_PREFIX + "Level" + (level + 1))))));
+            }
+            schemas.put("Level" + level, levelSchema);
+        }
+        ProcessContext processContext = processContext(schemas);
+        processContext.setMessagesMap(new LinkedHashMap<>());
+        processContext.setLombokProperties(new LombokProperties(false, false, new Accessors(false, false, false)));
+
+        Map<String, Schema> mapped = new HashMap<>();
+        for (Schema schema : new SchemaMapper().mapSchemasToObjects(processContext)) {
+            mapped.put(schema.getSchemaName(), schema);
+        }
+
+        for (int level = 0; level < levels; level++) {
+            // Own fields first, then the fields of the referenced level that are not declared yet
+            List<String> expected = new ArrayList<>();
+            for (int j = 0; j < PART_FIELDS; j++) {
+                expected.add("l" + level + "f" + j);
+            }
+            expected.add("shared");
+            if (level < levels - 1) {
+                for (int j = 0; j < PART_FIELDS; j++) {
+                    expected.add("l" + (level + 1) + "f" + j);
+                }
+            }
+            List<String> names = new ArrayList<>();
+            String sharedType = null;
+            for (VariableProperties vp : mapped.get("Level" + level).getFillParameters().getVariableProperties()) {
+                names.add(vp.getName());
+                if ("shared".equals(vp.getName())) {
+                    sharedType = vp.getType();
+                }
+            }
+            assertThat(names).as("Level" + level + " of " + levels).isEqualTo(expected);
+            assertThat(sharedType).as("Level" + level + " of " + levels)
+                    .isEqualTo(level % 2 == 0 ? "String" : "Integer");
+        }
+    }
+
+    @Test
+    void rootFieldWinsOverPartFieldWithSameSafeName() {
+        Map<String, Object> schemas = new LinkedHashMap<>();
+        Map<String, Object> rootProperties = new LinkedHashMap<>();
+        rootProperties.put("class", property("integer"));
+        Map<String, Object> partProperties = new LinkedHashMap<>();
+        partProperties.put("class", new LinkedHashMap<>(Map.of("$ref", REF_PREFIX + "Missing")));
+        partProperties.put("name", property("string"));
+        Map<String, Object> partSchema = new LinkedHashMap<>();
+        partSchema.put("type", "object");
+        partSchema.put("properties", partProperties);
+        schemas.put("Part", partSchema);
+        Map<String, Object> leaf = new LinkedHashMap<>();
+        leaf.put("type", "object");
+        leaf.put("properties", rootProperties);
+        leaf.put("allOf", new ArrayList<>(List.of(new LinkedHashMap<>(Map.of("$ref", REF_PREFIX + "Part")))));
+        schemas.put("Leaf", leaf);
+
+        // The part field must be recognised as already declared, not filled and then dropped as a duplicate
+        ByteArrayOutputStream log = new ByteArrayOutputStream();
+        PrintStream originalOut = System.out;
+        PrintStream originalErr = System.err;
+        Logger.Output originalOutput = Logger.getOutput();
+        FillParameters fillParameters;
+        try {
+            System.setOut(new PrintStream(log, true));
+            System.setErr(new PrintStream(log, true));
+            Logger.setOutput(Logger.Output.CONSOLE);
+            fillParameters = new SchemaMapper().getSchemaVariableProperties(
+                    "Leaf", leaf, schemas, rootProperties, processContext(schemas), new HashMap<>());
+        } finally {
+            Logger.setOutput(originalOutput);
+            System.setOut(originalOut);
+            System.setErr(originalErr);
+        }
+
+        List<String> names = new ArrayList<>();
+        for (VariableProperties vp : fillParameters.getVariableProperties()) {
+            names.add(vp.getName());
+        }
+        assertThat(names).isEqualTo(List.of("classField", "name"));
+        assertThat(log.toString()).doesNotContain("Duplicate field");
+        assertThat(fillParameters.getVariableProperties().get(0).getType()).isEqualTo("Integer");
+    }
+
+    @Test
+    void mappedFieldsShareTheSettingsOfTheSpecification() {
+        Map<String, Object> schemas = new LinkedHashMap<>();
+        Map<String, Object> rootProperties = new LinkedHashMap<>();
+        rootProperties.put("id", property("integer"));
+        Map<String, Object> partProperties = new LinkedHashMap<>();
+        partProperties.put("name", property("string"));
+        Map<String, Object> partSchema = new LinkedHashMap<>();
+        partSchema.put("type", "object");
+        partSchema.put("properties", partProperties);
+        schemas.put("Part", partSchema);
+        Map<String, Object> leaf = new LinkedHashMap<>();
+        leaf.put("type", "object");
+        leaf.put("properties", rootProperties);
+        leaf.put("allOf", new ArrayList<>(List.of(new LinkedHashMap<>(Map.of("$ref", REF_PREFIX + "Part")))));
+        schemas.put("Leaf", leaf);
+        ProcessContext processContext = processContext(schemas);
+        processContext.setNullableAnnotation("org.jspecify.annotations.Nullable");
+
+        List<VariableProperties> fields = new SchemaMapper().getSchemaVariableProperties(
+                "Leaf", leaf, schemas, rootProperties, processContext, new HashMap<>()).getVariableProperties();
+
+        assertThat(fields).hasSize(2);
+        assertThat(fields.get(0).getSettings()).isSameAs(processContext.getFieldSettings());
+        assertThat(fields.get(1).getSettings()).isSameAs(fields.get(0).getSettings());
+        assertThat(fields.get(1).getNullableAnnotation()).isEqualTo("org.jspecify.annotations.Nullable");
+    }
+
+    private static String sharedType(int level) {
+        return level % 2 == 0 ? "string" : "integer";
+    }
+
+    private static Map<String, Object> property(String type) {
+        Map<String, Object> property = new LinkedHashMap<>();
+        property.put("type", type);
+        return property;
+    }
+
+    private static ProcessContext processContext(Map<String, Object> schemas) {
+        ProcessContext processContext = new ProcessContext(new HashMap<>());
+        processContext.setSchemasMap(schemas);
+        processContext.setValidationApi(ValidationApi.JAKARTA);
+        processContext.setCommonPackage("example.common;");
+        return processContext;
+    }
+}
@@ -0,0 +1,93 @@
+package ru.yojo.codegen.parser;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ExternalDocumentCache}.
+ */
+class ExternalDocumentCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void secondLookupIsServedFromCache() throws IOException {
+        Path file = writeSchema("common.yaml", "string");
+        ExternalDocumentCache cache = new ExternalDocumentCache();
+
+        cache.load(file);
+        cache.load(tempDir.resolve("./common.yaml"));
+
+        assertThat(cache.getMisses()).isEqualTo(1);
+        assertThat(cache.getHits()).isEqualTo(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void lookupsReturnIndependentCopies() throws IOException {
+        Path file = writeSchema("common.yaml", "string");
+        ExternalDocumentCache cache = new ExternalDocumentCache();
+
+        Map<String, Object> first = cache.load(file);
+        ((Map<String, Object>) first.get("components")).clear();
+        Map<String, Object> second = cache.load(file);
+
+        assertThat((Map<String, Object>) second.get("components")).containsKey("schemas");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void modifiedFileIsReloaded() throws IOException {
+        Path file = writeSchema("common.yaml", "string");
+        ExternalDocumentCache cache = new ExternalDocumentCache();
+        cache.load(file);
+
+        writeSchema("common.yaml", "integer");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 5_000));
+        Map<String, Object> reloaded = cache.load(file);
+
+        Map<String, Object> schemas = (Map<String, Object>) ((Map<String, Object>) reloaded.get("components")).get("schemas");
+        assertThat(((Map<String, Object>) schemas.get("Value")).get("type")).isEqualTo("integer");
+        assertThat(cache.getMisses()).isEqualTo(2);
+    }
+
+    @Test
+    void concurrentLookupsParseOnce() throws Exception {
+        Path file = writeSchema("common.yaml", "string");
+        ExternalDocumentCache cache = new ExternalDocumentCache();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Map<String, Object>>> futures = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                futures.add(executor.submit(() -> cache.load(file)));
+            }
+            for (Future<Map<String, Object>> future : futures) {
+                assertThat(future.get()).containsKey("components");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(cache.getMisses()).isEqualTo(1);
+        assertThat(cache.getHits()).isEqualTo(63);
+    }
+
+    private Path writeSchema(String name, String type) throws IOException {
+        return Files.writeString(tempDir.resolve(name),
+                "components:\n  schemas:\n    Value:\n      type: " + type + "\n");
+    }
+}
@@ -0,0 +1,142 @@
+package ru.yojo.codegen.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.yojo.codegen.context.YojoContext;
+import ru.yojo.codegen.generator.YojoGenerator;
+import ru.yojo.codegen.generator.sink.InMemoryOutputSink;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.yojo.codegen.generator.base.GenerationTestFixtures.createContext;
+
+/**
+ * Tests for {@link Logger} level gating and output modes.
+ */
+class LoggerTest {
+
+    private final Logger log = new Logger(LoggerTest.class);
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+    private PrintStream originalOut;
+    private PrintStream originalErr;
+
+    @BeforeEach
+    void redirect() {
+        originalOut = System.out;
+        originalErr = System.err;
+        System.setOut(new PrintStream(out, true));
+        System.setErr(new PrintStream(err, true));
+    }
+
+    @AfterEach
+    void restore() {
+        Logger.setOutput(Logger.Output.CONSOLE);
+        Logger.setGlobalLevel(Logger.Level.INFO);
+        System.setOut(originalOut);
+        System.setErr(originalErr);
+    }
+
+    @Test
+    void suppliersAreNotEvaluatedBelowLevel() {
+        AtomicInteger calls = new AtomicInteger();
+        Logger.setGlobalLevel(Logger.Level.WARN);
+
+        log.debug(() -> "debug " + calls.incrementAndGet());
+        log.info(() -> "info " + calls.incrementAndGet());
+        log.warn(() -> "warn " + calls.incrementAndGet());
+
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(out.toString()).isEmpty();
+        assertThat(err.toString()).contains("[WARN] LoggerTest: warn 1");
+    }
+
+    @Test
+    void instanceLevelOverridesGlobalLevel() {
+        Logger verbose = new Logger(LoggerTest.class);
+        verbose.setMinimumLevel(Logger.Level.DEBUG);
+        Logger.setGlobalLevel(Logger.Level.OFF);
+
+        verbose.debug("shown");
+        log.error("hidden");
+
+        assertThat(verbose.isDebugEnabled()).isTrue();
+        assertThat(log.isInfoEnabled()).isFalse();
+        assertThat(out.toString()).contains("[DEBUG] LoggerTest: shown");
+        assertThat(err.toString()).isEmpty();
+    }
+
+    @Test
+    void bufferedOutputPrintsOnFlushAndBeforeErrors() {
+        Logger.setOutput(Logger.Output.BUFFERED);
+
+        log.info("first");
+        assertThat(out.toString()).isEmpty();
+
+        log.error("boom");
+        assertThat(out.toString()).contains("first");
+        assertThat(err.toString()).contains("boom");
+
+        log.info("second");
+        Logger.flush();
+        assertThat(out.toString()).contains("second");
+    }
+
+    @Test
+    void deferredLinesKeepTheirPositionInCapturedOutput() {
+        AtomicReference<String> completed = new AtomicReference<>();
+        Logger.Buffer buffer = Logger.startBuffering();
+        try {
+            log.info("before");
+            log.infoDeferred(completed::get);
+            log.infoDeferred(() -> null);
+            log.info("after");
+        } finally {
+            Logger.stopBuffering();
+        }
+        completed.set("completed later");
+        buffer.flush();
+
+        assertThat(out.toString()).isEqualTo(String.join(System.lineSeparator(),
+                "[INFO] LoggerTest: before",
+                "[INFO] LoggerTest: completed later",
+                "[INFO] LoggerTest: after",
+                ""));
+    }
+
+    @Test
+    void asyncOutputKeepsOrder() {
+        Logger.setOutput(Logger.Output.ASYNC);
+
+        for (int i = 0; i < 1000; i++) {
+            log.info("line " + i);
+        }
+        Logger.flush();
+
+        String printed = out.toString();
+        assertThat(printed).contains("line 0", "line 999");
+        assertThat(printed.indexOf("line 10" + System.lineSeparator()))
+                .isLessThan(printed.indexOf("line 999"));
+    }
+
+    @Test
+    void bannerFollowsGenerationLogLevel() throws IOException {
+        YojoGenerator generator = new YojoGenerator(new InMemoryOutputSink());
+        assertThat(out.toString()).doesNotContain("YAML TO POJO GENERATOR");
+
+        generator.generateAll(createContext(Path.of("build/generated/logger"), "example.logger"));
+        assertThat(out.toString()).doesNotContain("YAML TO POJO GENERATOR");
+
+        YojoContext verbose = createContext(Path.of("build/generated/logger"), "example.logger");
+        verbose.setQuiet(false);
+        generator.generateAll(verbose);
+        assertThat(out.toString()).contains("YAML TO POJO GENERATOR");
+    }
+}